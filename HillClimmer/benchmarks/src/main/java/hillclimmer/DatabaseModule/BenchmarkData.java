@@ -0,0 +1,142 @@
+/*
+ * BenchmarkData class for generating benchmark data directories
+ */
+package hillclimmer.DatabaseModule;
+
+import hillclimmer.CustomerModule.Customer;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.function.IntFunction;
+import java.util.stream.Stream;
+
+/**
+ * Writes a throwaway data directory with the customer, vehicle, rental and
+ * payment tables at a given row count, and points user.dir at it so the DAOs
+ * (and DaoRegistry) read from it. JMH forks a fresh JVM per trial, so changing
+ * user.dir there does not leak into other runs.
+ *
+ * Rows are written as CSV text in the DAOs' stored format rather than through
+ * the DAOs, so a million-row table is built in seconds. Every customer shares
+ * one password hash to avoid hashing per row.
+ *
+ * @author las
+ */
+public final class BenchmarkData {
+    public static final String[] TABLES = {"customers", "vehicles", "rentals", "payments"};
+    private static final String[] VEHICLE_TYPES = {"Buggy", "Crossover", "Dirt Bike", "Mountain Bike"};
+    private static final String[] VEHICLE_PREFIXES = {"BG", "CR", "DB", "MB"};
+    private static final String[] PAYMENT_METHODS = {"Cash", "Credit Card", "Online Banking"};
+    private static final DateTimeFormatter PAYMENT_TIME = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Create a data directory holding every table at the given size and make it current
+     * @return the directory to pass to delete() afterwards
+     */
+    public static Path create(int rows) {
+        try {
+            Path root = Files.createTempDirectory("hillclimmer-bench-");
+            Path data = Files.createDirectories(root.resolve("data"));
+            Customer template = new Customer("C00001", "Bench Customer", "950101-14-5678", "+60123456789",
+                    "bench@email.com", "B", LocalDate.of(2030, 1, 1), 30, "Bench1!a");
+            LocalDate today = LocalDate.now();
+            LocalDateTime paidAt = today.atTime(10, 0);
+            int fleet = fleetSize(rows);
+
+            write(data.resolve("customers.csv"), rows, i -> String.format(
+                    "C%05d,Bench Customer %d,950101-14-5678,+60123456789,bench%d@email.com,B,2030-01-01,30,2025-01-01,0.0,true,\"%s\",\"%s\",false,,",
+                    i, i, i, template.getHashedPassword(), template.getSalt()));
+            write(data.resolve("vehicles.csv"), rows, i -> VEHICLE_PREFIXES[i % 4] + String.format("%06d", i) + ","
+                    + VEHICLE_TYPES[i % 4] + ",Model " + (i % 50) + "," + (80 + i % 120) + ".0,Good," + (i % 5 != 0));
+            // Rentals spread over the vehicles from a year ago to a year ahead, one to three days each
+            write(data.resolve("rentals.csv"), rows, i -> {
+                LocalDate start = today.plusDays((i * 7L) % 730 - 365);
+                LocalDate end = start.plusDays(i % 3);
+                String paid = i % 10 == 0 ? "Unpaid" : "Paid";
+                String status = "Paid".equals(paid)
+                        ? (start.isAfter(today) ? "Upcoming" : end.isBefore(today) ? "End" : "Active")
+                        : "Pending";
+                return i + "," + (1 + i % Math.max(rows / 5, 1)) + "," + (1 + i % fleet) + ","
+                        + start + "," + end + "," + (75.0 * (1 + i % 3)) + "," + paid + "," + status;
+            });
+            write(data.resolve("payments.csv"), rows, i -> String.format("PAY%07d,%d.0,%s,%s,%s,C%05d,REF%d,",
+                    i, 50 + i % 200, PAYMENT_METHODS[i % 3], i % 8 == 0 ? "Pending" : "Paid",
+                    paidAt.minusMinutes(i).format(PAYMENT_TIME), 1 + i % Math.max(rows / 5, 1), 1_000_000_000L + i));
+
+            System.setProperty("user.dir", root.toString());
+            DaoRegistry.clear();
+            return root;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static void delete(Path root) {
+        if (root == null) {
+            return;
+        }
+        try (Stream<Path> paths = Files.walk(root)) {
+            paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        } catch (IOException e) {
+            System.err.println("⚠️ Could not delete benchmark data " + root + ": " + e.getMessage());
+        }
+    }
+
+    // Registry DAO for one of TABLES
+    @SuppressWarnings("unchecked")
+    public static DataAccessObject<Object> dao(String table) {
+        switch (table) {
+            case "customers":
+                return (DataAccessObject<Object>) (DataAccessObject<?>) DaoRegistry.getCustomerDAO();
+            case "vehicles":
+                return (DataAccessObject<Object>) (DataAccessObject<?>) DaoRegistry.getVehicleDAO();
+            case "rentals":
+                return (DataAccessObject<Object>) (DataAccessObject<?>) DaoRegistry.getRentalDAO();
+            case "payments":
+                return (DataAccessObject<Object>) (DataAccessObject<?>) DaoRegistry.getPaymentDAO();
+            default:
+                throw new IllegalArgumentException("Unknown table: " + table);
+        }
+    }
+
+    // ID of the row in the middle of a table of the given size
+    public static String middleId(String table, int rows) {
+        int i = Math.max(rows / 2, 1);
+        switch (table) {
+            case "customers":
+                return String.format("C%05d", i);
+            case "vehicles":
+                return VEHICLE_PREFIXES[i % 4] + String.format("%06d", i);
+            case "rentals":
+                return String.valueOf(i);
+            case "payments":
+                return String.format("PAY%07d", i);
+            default:
+                throw new IllegalArgumentException("Unknown table: " + table);
+        }
+    }
+
+    // Vehicles the rental table is spread over
+    public static int fleetSize(int rows) {
+        return Math.max(rows / 10, 1);
+    }
+
+    private static void write(Path file, int rows, IntFunction<String> row) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            for (int i = 1; i <= rows; i++) {
+                writer.write(row.apply(i));
+                writer.newLine();
+            }
+        }
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * CsvParseBenchmark class for the customer and payment row parsers
+ */
+package hillclimmer.DatabaseModule;
+
+import hillclimmer.CustomerModule.Customer;
+import hillclimmer.PaymentModule.Payment;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of turning one stored row into an entity with CustomerDAO.csvToObject
+ * and PaymentDAO.csvToObject, cycling through generated rows so the parser
+ * does not see the same line every time.
+ *
+ * @author las
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CsvParseBenchmark {
+    private static final int LINES = 1024; // power of two for the index mask
+
+    private CustomerDAO customerDAO;
+    private PaymentDAO paymentDAO;
+    private String[] customerLines;
+    private String[] paymentLines;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        Path dataDirectory = BenchmarkData.create(LINES);
+        try {
+            customerLines = readLines(dataDirectory, "customers.csv");
+            paymentLines = readLines(dataDirectory, "payments.csv");
+            customerDAO = DaoRegistry.getCustomerDAO();
+            paymentDAO = DaoRegistry.getPaymentDAO();
+        } finally {
+            BenchmarkData.delete(dataDirectory);
+        }
+    }
+
+    @Benchmark
+    public Customer parseCustomer() {
+        return customerDAO.csvToObject(customerLines[next++ & (LINES - 1)]);
+    }
+
+    @Benchmark
+    public Payment parsePayment() {
+        return paymentDAO.csvToObject(paymentLines[next++ & (LINES - 1)]);
+    }
+
+    private static String[] readLines(Path dataDirectory, String file) throws Exception {
+        List<String> lines = Files.readAllLines(dataDirectory.resolve("data").resolve(file));
+        return lines.toArray(new String[0]);
+    }
+}
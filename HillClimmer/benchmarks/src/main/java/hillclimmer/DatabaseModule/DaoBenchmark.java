@@ -0,0 +1,86 @@
+/*
+ * DaoBenchmark class for DataAccessObject load and save paths
+ */
+package hillclimmer.DatabaseModule;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * loadAll, load and save for each main DAO at 1k, 100k and 1M rows.
+ * loadAllCold drops the entity cache first, so it measures reading and parsing
+ * the file and rebuilding the DAO's indexes; loadAllCached and load measure the
+ * warm path the application normally takes. save rewrites one existing row.
+ *
+ * @author las
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DaoBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int rows;
+
+    @Param({"customers", "vehicles", "rentals", "payments"})
+    public String table;
+
+    private Path dataDirectory;
+    private DataAccessObject<Object> dao;
+    private String sampleId;
+    private Object sample;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dataDirectory = BenchmarkData.create(rows);
+        dao = BenchmarkData.dao(table);
+        sampleId = BenchmarkData.middleId(table, rows);
+        sample = dao.load(sampleId);
+        if (sample == null || dao.loadAll().size() != rows) {
+            throw new IllegalStateException("Benchmark data for " + table + " did not load");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchmarkData.delete(dataDirectory);
+    }
+
+    @Benchmark
+    public List<Object> loadAllCold() {
+        dao.invalidateCache();
+        return dao.loadAll();
+    }
+
+    @Benchmark
+    public List<Object> loadAllCached() {
+        return dao.loadAll();
+    }
+
+    @Benchmark
+    public Object load() {
+        return dao.load(sampleId);
+    }
+
+    @Benchmark
+    public void save() {
+        dao.save(sample);
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * TransactionManagerBenchmark class for TransactionManager start-up cost
+ */
+package hillclimmer.PaymentModule;
+
+import hillclimmer.DatabaseModule.BenchmarkData;
+import hillclimmer.DatabaseModule.DaoRegistry;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Constructing a TransactionManager and reading total earnings over a payment
+ * table of 1k, 100k and 1M rows. coldConstruction drops the payment cache
+ * first, as on application start-up.
+ *
+ * @author las
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TransactionManagerBenchmark {
+
+    @Param({"1000", "100000", "1000000"})
+    public int rows;
+
+    private Path dataDirectory;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dataDirectory = BenchmarkData.create(rows);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchmarkData.delete(dataDirectory);
+    }
+
+    @Benchmark
+    public double construction() {
+        return new TransactionManager("TM001").getTotalEarnings();
+    }
+
+    @Benchmark
+    public double coldConstruction() {
+        DaoRegistry.getPaymentDAO().invalidateCache();
+        return new TransactionManager("TM001").getTotalEarnings();
+    }
+}
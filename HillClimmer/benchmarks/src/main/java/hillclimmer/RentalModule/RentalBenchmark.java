@@ -0,0 +1,84 @@
+/*
+ * RentalBenchmark class for availability checks and status updates
+ */
+package hillclimmer.RentalModule;
+
+import hillclimmer.DatabaseModule.BenchmarkData;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * The booking-time availability check and the periodic status update over a
+ * rental table of 1k, 100k and 1M rows. HillClimmer.isVehicleAvailableForDates
+ * is a private delegate to RentalManager.isVehicleAvailableForDates, so the
+ * RentalManager method is measured directly.
+ *
+ * @author las
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RentalBenchmark {
+    private static final int QUERIES = 4096; // power of two for the index mask
+
+    @Param({"1000", "100000", "1000000"})
+    public int rows;
+
+    private Path dataDirectory;
+    private RentalManager rentalManager;
+    private int[] vehicleIds;
+    private LocalDate[] startDates;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dataDirectory = BenchmarkData.create(rows);
+        rentalManager = new RentalManager();
+        rentalManager.updateRentalStatuses(); // loads the table and settles today's transitions
+
+        // Random bookings of one to three days within the table's date range
+        Random random = new Random(42);
+        int fleet = BenchmarkData.fleetSize(rows);
+        LocalDate today = LocalDate.now();
+        vehicleIds = new int[QUERIES];
+        startDates = new LocalDate[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            vehicleIds[i] = 1 + random.nextInt(fleet);
+            startDates[i] = today.plusDays(random.nextInt(730) - 365);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        BenchmarkData.delete(dataDirectory);
+    }
+
+    @Benchmark
+    public boolean isVehicleAvailableForDates() {
+        int i = next++ & (QUERIES - 1);
+        return rentalManager.isVehicleAvailableForDates(vehicleIds[i], startDates[i], startDates[i].plusDays(i % 3));
+    }
+
+    @Benchmark
+    public void updateRentalStatuses() {
+        rentalManager.updateRentalStatuses();
+    }
+}
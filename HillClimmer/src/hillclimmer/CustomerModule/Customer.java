@@ -122,6 +122,40 @@ public class Customer {
         this.safetyCheckPassed = false; // New customers haven't passed safety check yet
     }
 
+    // Hydration constructor: takes the stored hash and salt as-is, no hashing or salt generation
+    private Customer(String customerID, String name, String icNumber, String phoneNo,
+                     String email, String licenseType, LocalDate licenseExpiryDate,
+                     int age, String hashedPassword, String salt, String registrationDate) {
+        this.customerID = customerID;
+        this.name = name;
+        this.icNumber = icNumber;
+        this.phoneNo = phoneNo;
+        this.email = email;
+        this.licenseType = licenseType;
+        this.licenseExpiryDate = licenseExpiryDate;
+        this.age = age;
+        this.hashedPassword = hashedPassword;
+        this.salt = salt;
+        this.registrationDate = registrationDate;
+        this.isActive = true;
+        this.outstandingBalance = 0.0;
+        this.safetyCheckPassed = false;
+    }
+
+    /**
+     * Rebuilds a stored customer from its persisted credential fields.
+     * Used by CustomerDAO so loading a row costs no SecureRandom draw or SHA-256 digest.
+     * @param hashedPassword Stored Base64 password hash
+     * @param salt Stored Base64 salt
+     * @return Customer with the given credentials
+     */
+    public static Customer restore(String customerID, String name, String icNumber, String phoneNo,
+                                   String email, String licenseType, LocalDate licenseExpiryDate,
+                                   int age, String hashedPassword, String salt, String registrationDate) {
+        return new Customer(customerID, name, icNumber, phoneNo, email, licenseType,
+                            licenseExpiryDate, age, hashedPassword, salt, registrationDate);
+    }
+
     // Validation methods for Malaysian context
     public static boolean isValidIC(String icNumber) {
         if (!IC_PATTERN.matcher(icNumber).matches()) {
@@ -0,0 +1,67 @@
+/*
+ * CacheIndex class for keeping DAO secondary indexes in step with the entity cache
+ */
+package hillclimmer.DatabaseModule;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Files the cached entities of a DAO into its secondary indexes and running
+ * aggregates, driven from the onCacheReloaded/onCacheStored/onCacheEvicted hooks.
+ * Each entity is filed under a snapshot of its indexed fields taken at that time.
+ * An update stores a new instance whose fields no longer say where the old one
+ * was filed, so an entity is always unfiled under the snapshot it was filed with.
+ *
+ * @param <T> the entity type
+ * @param <K> the snapshot of one entity's indexed fields
+ * @author las
+ */
+abstract class CacheIndex<T, K> {
+    private final Map<String, K> filedKeys = new ConcurrentHashMap<>();
+
+    protected abstract K snapshot(T object);
+
+    protected abstract void file(String id, K keys);
+
+    protected abstract void unfile(String id, K keys);
+
+    protected abstract void clearIndexes();
+
+    void clear() {
+        filedKeys.clear();
+        clearIndexes();
+    }
+
+    /**
+     * Files an entity, first unfiling it from wherever it was filed before
+     */
+    void store(String id, T object) {
+        evict(id);
+        K keys = snapshot(object);
+        filedKeys.put(id, keys);
+        file(id, keys);
+    }
+
+    void evict(String id) {
+        K keys = filedKeys.remove(id);
+        if (keys != null) {
+            unfile(id, keys);
+        }
+    }
+
+    static <V> void addTo(Map<V, Set<String>> index, V key, String id) {
+        index.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(id);
+    }
+
+    static <V> void removeFrom(Map<V, Set<String>> index, V key, String id) {
+        Set<String> ids = index.get(key);
+        if (ids != null) {
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                index.remove(key);
+            }
+        }
+    }
+}
@@ -0,0 +1,349 @@
+/*
+ * CsvTokenizer class for splitting CSV rows into fields
+ */
+package hillclimmer.DatabaseModule;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * Shared CSV tokenizer used by every DAO. A row is copied into a reusable char
+ * buffer and split into field offsets in a single pass; quoted fields follow
+ * RFC 4180 ("" inside quotes is a literal quote, and a quoted field may contain
+ * commas and line breaks). Doubled quotes are unescaped in place, so fields are
+ * plain slices of the buffer.
+ *
+ * Numbers, booleans and ISO dates are parsed straight from the slices, so a row
+ * only allocates the Strings and values that end up in the entity. Instances
+ * are reused and not thread-safe; DAOs take the one bound to the current thread.
+ *
+ * @author las
+ */
+public final class CsvTokenizer {
+    private static final ThreadLocal<CsvTokenizer> perThread = ThreadLocal.withInitial(CsvTokenizer::new);
+
+    // Powers of ten that are exact as doubles, for the fast decimal path
+    private static final double[] POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+        1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+    private static final long MAX_EXACT_MANTISSA = 1L << 53;
+
+    private char[] buffer = new char[256];
+    private int[] starts = new int[16];
+    private int[] ends = new int[16];
+    private int count;
+
+    /**
+     * The tokenizer for the calling thread; valid until that thread tokenizes the next row
+     */
+    public static CsvTokenizer forCurrentThread() {
+        return perThread.get();
+    }
+
+    /**
+     * Split a row into fields, replacing the previous row
+     * @return this tokenizer, for chaining
+     */
+    public CsvTokenizer tokenize(CharSequence row) {
+        int length = row.length();
+        if (buffer.length < length) {
+            buffer = new char[Math.max(length, buffer.length * 2)];
+        }
+        if (row instanceof String) {
+            ((String) row).getChars(0, length, buffer, 0);
+        } else {
+            for (int i = 0; i < length; i++) {
+                buffer[i] = row.charAt(i);
+            }
+        }
+
+        count = 0;
+        int read = 0;
+        int write = 0;
+        while (true) {
+            if (count == starts.length) {
+                starts = Arrays.copyOf(starts, count * 2);
+                ends = Arrays.copyOf(ends, count * 2);
+            }
+            int start = write;
+            if (read < length && buffer[read] == '"') {
+                read++;
+                while (read < length) {
+                    char c = buffer[read++];
+                    if (c == '"') {
+                        if (read < length && buffer[read] == '"') {
+                            buffer[write++] = '"';
+                            read++;
+                        } else {
+                            break;
+                        }
+                    } else {
+                        buffer[write++] = c;
+                    }
+                }
+            }
+            // Unquoted field, or stray text after a closing quote
+            while (read < length && buffer[read] != ',') {
+                buffer[write++] = buffer[read++];
+            }
+            starts[count] = start;
+            ends[count] = write;
+            count++;
+            if (read < length) {
+                // Keep the delimiter so rest() can return the tail of the row
+                buffer[write++] = buffer[read++];
+            } else {
+                return this;
+            }
+        }
+    }
+
+    public int fieldCount() {
+        return count;
+    }
+
+    public String field(int index) {
+        checkIndex(index);
+        return new String(buffer, starts[index], ends[index] - starts[index]);
+    }
+
+    /**
+     * The given field and everything after it, delimiters included.
+     * For legacy rows whose last column was written without quoting.
+     */
+    public String rest(int index) {
+        checkIndex(index);
+        return new String(buffer, starts[index], ends[count - 1] - starts[index]);
+    }
+
+    public boolean isEmpty(int index) {
+        checkIndex(index);
+        return ends[index] == starts[index];
+    }
+
+    // True when the field is empty or whitespace only
+    public boolean isBlank(int index) {
+        checkIndex(index);
+        return trimmedStart(index) == trimmedEnd(index);
+    }
+
+    public int parseInt(int index) {
+        long value = parseLong(index);
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            throw invalid("int", index);
+        }
+        return (int) value;
+    }
+
+    public long parseLong(int index) {
+        checkIndex(index);
+        int pos = trimmedStart(index);
+        int end = trimmedEnd(index);
+        boolean negative = false;
+        if (pos < end && (buffer[pos] == '-' || buffer[pos] == '+')) {
+            negative = buffer[pos] == '-';
+            pos++;
+        }
+        if (pos == end) {
+            throw invalid("number", index);
+        }
+        long value = 0;
+        for (; pos < end; pos++) {
+            int digit = buffer[pos] - '0';
+            if (digit < 0 || digit > 9 || value > (Long.MAX_VALUE - digit) / 10) {
+                throw invalid("number", index);
+            }
+            value = value * 10 + digit;
+        }
+        return negative ? -value : value;
+    }
+
+    /**
+     * Parse a decimal field. Plain decimals such as "150.0" or "-2.75" are
+     * converted directly; anything else (exponents, very long mantissas) falls
+     * back to Double.parseDouble so the result is always correctly rounded.
+     */
+    public double parseDouble(int index) {
+        checkIndex(index);
+        int pos = trimmedStart(index);
+        int end = trimmedEnd(index);
+        boolean negative = false;
+        if (pos < end && (buffer[pos] == '-' || buffer[pos] == '+')) {
+            negative = buffer[pos] == '-';
+            pos++;
+        }
+        long mantissa = 0;
+        int fractionDigits = 0;
+        int digits = 0;
+        boolean seenPoint = false;
+        for (; pos < end; pos++) {
+            char c = buffer[pos];
+            if (c >= '0' && c <= '9') {
+                mantissa = mantissa * 10 + (c - '0');
+                digits++;
+                if (seenPoint) {
+                    fractionDigits++;
+                }
+                if (mantissa >= MAX_EXACT_MANTISSA) {
+                    return slowParseDouble(index);
+                }
+            } else if (c == '.' && !seenPoint) {
+                seenPoint = true;
+            } else {
+                return slowParseDouble(index);
+            }
+        }
+        if (digits == 0 || fractionDigits >= POWERS_OF_TEN.length) {
+            return slowParseDouble(index);
+        }
+        double value = mantissa / POWERS_OF_TEN[fractionDigits];
+        return negative ? -value : value;
+    }
+
+    // Same rules as Boolean.parseBoolean: true only for "true" in any case
+    public boolean parseBoolean(int index) {
+        checkIndex(index);
+        int pos = trimmedStart(index);
+        return trimmedEnd(index) - pos == 4
+                && Character.toLowerCase(buffer[pos]) == 't'
+                && Character.toLowerCase(buffer[pos + 1]) == 'r'
+                && Character.toLowerCase(buffer[pos + 2]) == 'u'
+                && Character.toLowerCase(buffer[pos + 3]) == 'e';
+    }
+
+    /**
+     * Epoch day of an ISO yyyy-MM-dd field, computed without building a LocalDate
+     */
+    public long parseEpochDay(int index) {
+        checkIndex(index);
+        int pos = trimmedStart(index);
+        if (trimmedEnd(index) - pos != 10 || buffer[pos + 4] != '-' || buffer[pos + 7] != '-') {
+            throw invalid("date", index);
+        }
+        int year = digits(index, pos, 4);
+        int month = digits(index, pos + 5, 2);
+        int day = digits(index, pos + 8, 2);
+        if (month < 1 || month > 12 || day < 1 || day > lengthOfMonth(year, month)) {
+            throw invalid("date", index);
+        }
+        // Same arithmetic as LocalDate.toEpochDay
+        long total = 365L * year;
+        total += (year + 3) / 4 - (year + 99) / 100 + (year + 399) / 400;
+        total += (367 * month - 362) / 12;
+        total += day - 1;
+        if (month > 2) {
+            total -= isLeapYear(year) ? 1 : 2;
+        }
+        return total - 719528; // days from 0000-01-01 to 1970-01-01
+    }
+
+    public LocalDate parseDate(int index) {
+        return LocalDate.ofEpochDay(parseEpochDay(index));
+    }
+
+    /**
+     * Quote a value for writing when it contains a delimiter, quote or line break;
+     * other values are returned unchanged so existing rows keep their format
+     */
+    public static String escape(String value) {
+        if (value == null) {
+            return "";
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return "\"" + value.replace("\"", "\"\"") + "\"";
+            }
+        }
+        return value;
+    }
+
+    /**
+     * True when a line ends inside a quoted field, i.e. the record continues on the next line.
+     * Follows the same rule as tokenize: only a quote at the start of a field opens a
+     * quoted field, so a stray quote in the middle of a value is plain text
+     */
+    public static boolean isOpenRecord(CharSequence text) {
+        boolean inQuotes = false;
+        boolean fieldStart = true;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (inQuotes) {
+                if (c == '"') {
+                    if (i + 1 < text.length() && text.charAt(i + 1) == '"') {
+                        i++;
+                    } else {
+                        inQuotes = false;
+                    }
+                }
+            } else if (c == ',') {
+                fieldStart = true;
+            } else {
+                inQuotes = fieldStart && c == '"';
+                fieldStart = false;
+            }
+        }
+        return inQuotes;
+    }
+
+    private int digits(int index, int pos, int length) {
+        int value = 0;
+        for (int i = pos; i < pos + length; i++) {
+            int digit = buffer[i] - '0';
+            if (digit < 0 || digit > 9) {
+                throw invalid("date", index);
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private static boolean isLeapYear(int year) {
+        return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+    }
+
+    private static int lengthOfMonth(int year, int month) {
+        switch (month) {
+            case 2:
+                return isLeapYear(year) ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+
+    private double slowParseDouble(int index) {
+        return Double.parseDouble(field(index).trim());
+    }
+
+    private int trimmedStart(int index) {
+        int pos = starts[index];
+        while (pos < ends[index] && buffer[pos] <= ' ') {
+            pos++;
+        }
+        return pos;
+    }
+
+    private int trimmedEnd(int index) {
+        int end = ends[index];
+        while (end > starts[index] && buffer[end - 1] <= ' ') {
+            end--;
+        }
+        return end;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException("Field " + index + " of " + count);
+        }
+    }
+
+    private NumberFormatException invalid(String kind, int index) {
+        return new NumberFormatException("Invalid " + kind + " in field " + index + ": \"" + field(index) + "\"");
+    }
+}
@@ -8,6 +8,7 @@ import hillclimmer.CustomerModule.Customer;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Date;
+import java.util.stream.Stream;
 
 /**
  * CustomerDAO class extending DataAccessObject for Customer data management.
@@ -20,10 +21,15 @@ public class CustomerDAO extends DataAccessObject<Customer> {
         super(System.getProperty("user.dir") + "/data/customers.csv"); // File for storing customer data
     }
 
+    // Customer table at another location, e.g. a generated dataset for benchmarks
+    public CustomerDAO(String filePath) {
+        super(filePath);
+    }
+
     @Override
     protected String objectToCSV(Customer customer) {
         return customer.getCustomerID() + "," +
-               customer.getName() + "," +
+               CsvTokenizer.escape(customer.getName()) + "," +
                customer.getIcNumber() + "," +
                customer.getPhoneNo() + "," +
                customer.getEmail() + "," +
@@ -44,60 +50,63 @@ public class CustomerDAO extends DataAccessObject<Customer> {
     protected Customer csvToObject(String csvLine) {
         try {
             // Handle quoted fields that may contain commas (like Base64 strings)
-            String[] parts = parseCSVLine(csvLine);
-            if (parts.length >= 12) {  // Support both old (12 fields) and new (16 fields) formats
-                String customerID = parts[0];
-                String name = parts[1];
-                String icNumber = parts[2];
-                String phoneNo = parts[3];
-                String email = parts[4];
-                String licenseType = parts[5];
+            CsvTokenizer fields = CsvTokenizer.forCurrentThread().tokenize(csvLine);
+            int fieldCount = fields.fieldCount();
+            if (fieldCount >= 12) {  // Support both old (12 fields) and new (16 fields) formats
+                String customerID = fields.field(0).trim();
+                String name = fields.field(1).trim();
+                String icNumber = fields.field(2).trim();
+                String phoneNo = fields.field(3).trim();
+                String email = fields.field(4).trim();
+                String licenseType = fields.field(5).trim();
                 LocalDate licenseExpiryDate = null;
-                if (!parts[6].isEmpty()) {
+                if (!fields.isBlank(6)) {
                     try {
-                        licenseExpiryDate = LocalDate.parse(parts[6]);
+                        licenseExpiryDate = fields.parseDate(6);
                     } catch (Exception e) {
-                        System.err.println("Warning: Invalid license expiry date format for customer " + parts[0] + ": " + parts[6]);
+                        System.err.println("Warning: Invalid license expiry date format for customer " + customerID + ": " + fields.field(6).trim());
                     }
                 }
-                int age = Integer.parseInt(parts[7].trim());
-                String registrationDate = parts[8];
-                double outstandingBalance = Double.parseDouble(parts[9].trim());
-                boolean isActive = Boolean.parseBoolean(parts[10].trim());
+                int age = fields.parseInt(7);
+                String registrationDate = fields.field(8).trim();
+                double outstandingBalance = fields.parseDouble(9);
+                boolean isActive = fields.parseBoolean(10);
                 
-                // Create customer with a temporary password (will be replaced)
-                Customer customer = new Customer(customerID, name, icNumber, phoneNo, email,
-                    licenseType, licenseExpiryDate, age, "TempPass123!");
+                Customer customer;
                 
                 // Handle password information based on format
-                if (parts.length >= 16) {
+                if (fieldCount >= 16) {
                     // New format with hashed password and salt
-                    String hashedPassword = parts[11];
-                    String salt = parts[12];
-                    boolean safetyCheckPassed = parts.length > 13 ? Boolean.parseBoolean(parts[13].trim()) : false;
-                    String safetyCheckID = parts.length > 14 && !parts[14].trim().isEmpty() ? parts[14].trim() : null;
-                    Date safetyCheckDate = parts.length > 15 && !parts[15].trim().isEmpty() ?
-                        new Date(Long.parseLong(parts[15].trim())) : null;
+                    String hashedPassword = fields.field(11).trim();
+                    String salt = fields.field(12).trim();
+                    boolean safetyCheckPassed = fields.parseBoolean(13);
+                    String safetyCheckID = !fields.isBlank(14) ? fields.field(14).trim() : null;
+                    Date safetyCheckDate = !fields.isBlank(15) ? new Date(fields.parseLong(15)) : null;
                     
-                    // Set hashed password information
-                    if (hashedPassword != null && !hashedPassword.isEmpty() && 
-                        salt != null && !salt.isEmpty()) {
-                        customer.setHashedPassword(hashedPassword);
-                        customer.setSalt(salt);
-                        customer.clearPlainPassword();
+                    if (!hashedPassword.isEmpty() && !salt.isEmpty()) {
+                        // Restore the stored hash directly; nothing is re-hashed on load
+                        customer = Customer.restore(customerID, name, icNumber, phoneNo, email,
+                            licenseType, licenseExpiryDate, age, hashedPassword, salt, registrationDate);
+                    } else {
+                        // No stored credentials: fall back to a temporary password
+                        customer = new Customer(customerID, name, icNumber, phoneNo, email,
+                            licenseType, licenseExpiryDate, age, "TempPass123!");
                     }
                     
                     customer.setSafetyCheckPassed(safetyCheckPassed);
                     customer.setSafetyCheckID(safetyCheckID);
                     customer.setSafetyCheckDate(safetyCheckDate);
-                } else if (parts.length >= 12) {
+                } else {
                     // Old format: try to set password, but handle validation errors gracefully
-                    String password = parts[11];
-                    boolean safetyCheckPassed = parts.length > 12 ? Boolean.parseBoolean(parts[12].trim()) : false;
-                    String safetyCheckID = parts.length > 13 && !parts[13].trim().isEmpty() ? parts[13].trim() : null;
-                    Date safetyCheckDate = parts.length > 14 && !parts[14].trim().isEmpty() ?
-                        new Date(Long.parseLong(parts[14].trim())) : null;
+                    String password = fields.field(11).trim();
+                    boolean safetyCheckPassed = fieldCount > 12 ? fields.parseBoolean(12) : false;
+                    String safetyCheckID = fieldCount > 13 && !fields.isBlank(13) ? fields.field(13).trim() : null;
+                    Date safetyCheckDate = fieldCount > 14 && !fields.isBlank(14) ?
+                        new Date(fields.parseLong(14)) : null;
                     
+                    // Create customer with a temporary password (will be replaced)
+                    customer = new Customer(customerID, name, icNumber, phoneNo, email,
+                        licenseType, licenseExpiryDate, age, "TempPass123!");
                     try {
                         customer.setPassword(password);
                     } catch (IllegalArgumentException e) {
@@ -126,33 +135,6 @@ public class CustomerDAO extends DataAccessObject<Customer> {
         return null;
     }
 
-    /**
-     * Parse CSV line handling quoted fields that may contain commas
-     */
-    private String[] parseCSVLine(String line) {
-        java.util.List<String> parts = new java.util.ArrayList<>();
-        boolean inQuotes = false;
-        StringBuilder current = new StringBuilder();
-
-        for (int i = 0; i < line.length(); i++) {
-            char c = line.charAt(i);
-
-            if (c == '"') {
-                inQuotes = !inQuotes;
-            } else if (c == ',' && !inQuotes) {
-                parts.add(current.toString().trim());
-                current = new StringBuilder();
-            } else {
-                current.append(c);
-            }
-        }
-
-        // Add the last part
-        parts.add(current.toString().trim());
-
-        return parts.toArray(new String[0]);
-    }
-
     @Override
     protected String getId(Customer customer) {
         return customer.getCustomerID();
@@ -163,10 +145,19 @@ public class CustomerDAO extends DataAccessObject<Customer> {
         // Use the same ID generation logic as the public method
         String newCustomerId = generateNextCustomerId();
         
-        // Create new customer with generated ID
-        Customer newCustomer = new Customer(newCustomerId, customer.getName(), customer.getIcNumber(),
-                                          customer.getPhoneNo(), customer.getEmail(), customer.getLicenseType(),
-                                          customer.getLicenseExpiryDate(), customer.getAge(), "TempPass123!");
+        // Create new customer with generated ID, reusing the existing hash when there is one
+        Customer newCustomer;
+        if (customer.getHashedPassword() != null) {
+            newCustomer = Customer.restore(newCustomerId, customer.getName(), customer.getIcNumber(),
+                                           customer.getPhoneNo(), customer.getEmail(), customer.getLicenseType(),
+                                           customer.getLicenseExpiryDate(), customer.getAge(),
+                                           customer.getHashedPassword(), customer.getSalt(),
+                                           customer.getRegistrationDate());
+        } else {
+            newCustomer = new Customer(newCustomerId, customer.getName(), customer.getIcNumber(),
+                                       customer.getPhoneNo(), customer.getEmail(), customer.getLicenseType(),
+                                       customer.getLicenseExpiryDate(), customer.getAge(), "TempPass123!");
+        }
         
         // Copy other properties
         newCustomer.setRegistrationDate(customer.getRegistrationDate());
@@ -176,13 +167,6 @@ public class CustomerDAO extends DataAccessObject<Customer> {
         newCustomer.setSafetyCheckID(customer.getSafetyCheckID());
         newCustomer.setSafetyCheckDate(customer.getSafetyCheckDate());
         
-        // Copy password information if available
-        if (customer.getHashedPassword() != null) {
-            newCustomer.setHashedPassword(customer.getHashedPassword());
-            newCustomer.setSalt(customer.getSalt());
-            newCustomer.clearPlainPassword();
-        }
-        
         return newCustomer;
     }
 
@@ -196,28 +180,23 @@ public class CustomerDAO extends DataAccessObject<Customer> {
      * Uses max ID approach for consistency and robustness
      */
     public String generateNextCustomerId() {
-        List<Customer> existingCustomers = loadAll();
-        int maxId = existingCustomers.stream()
-                .mapToInt(c -> {
-                    try {
-                        return Integer.parseInt(c.getCustomerID().substring(1));
-                    } catch (NumberFormatException e) {
-                        return 0;
-                    }
-                })
-                .max()
-                .orElse(0);
-        
-        return "C" + String.format("%03d", maxId + 1);
+        return nextId("C", CustomerDAO::customerNumber, n -> "C" + String.format("%03d", n));
+    }
+
+    private static long customerNumber(Customer c) {
+        try {
+            return Integer.parseInt(c.getCustomerID().substring(1));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
     }
     
     public Customer findByEmail(String email) {
-        for (Customer c : loadAll()) {
-            if (c.getEmail().equals(email)) {
-                return c;
-            }
+        try (Stream<Customer> customers = stream()) {
+            return customers.filter(c -> c.getEmail().equals(email))
+                    .findFirst()
+                    .orElse(null);
         }
-        return null;
     }
 
     public void updateContactInfo(String customerID, String phoneNo, String email) {
@@ -0,0 +1,39 @@
+/*
+ * DaoLockWaitEvent class for recording data file lock waits with Java Flight Recorder
+ */
+package hillclimmer.DatabaseModule;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * JFR event for the time a thread waited to take a data file's read or write
+ * lock. Only outermost acquisitions are timed, as in LockStats. Waits shorter
+ * than the threshold (1 ms unless the recording overrides it) are dropped, so
+ * uncontended locking does not flood a recording.
+ *
+ * @author las
+ */
+@Name("hillclimmer.DaoLockWait")
+@Label("DAO Lock Wait")
+@Category({"HillClimmer", "Database"})
+@Description("Wait to acquire a data file's read/write lock")
+@Threshold("1 ms")
+class DaoLockWaitEvent extends Event {
+    @Label("Entity Type")
+    String entityType;
+
+    @Label("File")
+    String file;
+
+    @Label("Mode")
+    String mode;
+
+    @Label("Queued Threads")
+    @Description("Threads still waiting for the lock when this one got it")
+    int queuedThreads;
+}
@@ -0,0 +1,37 @@
+/*
+ * DaoReadEvent class for recording data file reads with Java Flight Recorder
+ */
+package hillclimmer.DatabaseModule;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event for one full read of a data file: parsing the CSV rows and folding
+ * any pending mutation log over them. Reads served from the entity cache do no
+ * file I/O and emit no event.
+ *
+ * @author las
+ */
+@Name("hillclimmer.DaoRead")
+@Label("DAO File Read")
+@Category({"HillClimmer", "Database"})
+@Description("Data file parsed into entities")
+class DaoReadEvent extends Event {
+    @Label("Entity Type")
+    String entityType;
+
+    @Label("File")
+    String file;
+
+    @Label("Rows")
+    int rows;
+
+    @Label("Bytes Read")
+    @DataAmount
+    long bytes;
+}
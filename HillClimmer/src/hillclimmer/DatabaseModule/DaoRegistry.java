@@ -0,0 +1,76 @@
+/*
+ * DaoRegistry class for sharing DAO instances
+ */
+package hillclimmer.DatabaseModule;
+
+import java.io.File;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Hands out one canonical DAO instance per data file, so every module that
+ * works on the same CSV shares its lock, entity cache and secondary indexes
+ * instead of re-parsing the file into a private copy.
+ * Instances are keyed by absolute file path, so changing user.dir (as the
+ * tests do) yields fresh instances for the new data directory.
+ * Each instance is registered over JMX as hillclimmer:type=DataAccessObject,name=&lt;table&gt;,
+ * replacing the bean for the same table in a previous data directory.
+ *
+ * @author las
+ */
+public final class DaoRegistry {
+    private static final ConcurrentHashMap<String, DataAccessObject<?>> instances = new ConcurrentHashMap<>();
+
+    private DaoRegistry() {
+    }
+
+    public static CustomerDAO getCustomerDAO() {
+        return get("customers.csv", CustomerDAO.class, CustomerDAO::new);
+    }
+
+    public static ManagerDAO getManagerDAO() {
+        return get("managers.csv", ManagerDAO.class, ManagerDAO::new);
+    }
+
+    public static VehicleDAO getVehicleDAO() {
+        return get("vehicles.csv", VehicleDAO.class, VehicleDAO::new);
+    }
+
+    public static RentalDAO getRentalDAO() {
+        return get("rentals.csv", RentalDAO.class, RentalDAO::new);
+    }
+
+    public static PaymentDAO getPaymentDAO() {
+        return get("payments.csv", PaymentDAO.class, PaymentDAO::new);
+    }
+
+    public static InvoiceDAO getInvoiceDAO() {
+        return get("invoices.csv", InvoiceDAO.class, InvoiceDAO::new);
+    }
+
+    public static ReminderDAO getReminderDAO() {
+        return get("reminders.csv", ReminderDAO.class, ReminderDAO::new);
+    }
+
+    public static RentalPeriodDAO getRentalPeriodDAO() {
+        return get("rentalperiods.csv", RentalPeriodDAO.class, RentalPeriodDAO::new);
+    }
+
+    public static SafetyCheckDAO getSafetyCheckDAO() {
+        return get("safetychecks.csv", SafetyCheckDAO.class, SafetyCheckDAO::new);
+    }
+
+    /**
+     * Drops all registered instances (e.g. after tests switch data directories).
+     * Callers still holding an old instance keep working; it just stops being shared.
+     */
+    public static void clear() {
+        instances.clear();
+    }
+
+    private static <D extends DataAccessObject<?>> D get(String fileName, Class<D> type, Supplier<D> factory) {
+        String key = new File(System.getProperty("user.dir") + "/data/" + fileName).getAbsolutePath();
+        return type.cast(instances.computeIfAbsent(key, path -> MBeans.register("DataAccessObject",
+                fileName.substring(0, fileName.lastIndexOf('.')), factory.get(), DataAccessObjectMXBean.class)));
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * DaoStats class for DAO operation and I/O statistics
+ */
+package hillclimmer.DatabaseModule;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Activity statistics for one data file: call counts and latencies per DAO
+ * operation (including time spent waiting for the file lock), CSV rows parsed,
+ * bytes written to the base file and mutation log, and corrupted lines skipped
+ * while reading (rows that fail to parse or that the DAO rejects).
+ * Shared by every DAO instance on the file, like LockStats.
+ *
+ * @author las
+ */
+public class DaoStats {
+    private final OperationStats operations = new OperationStats();
+    private final LongAdder rowsParsed = new LongAdder();
+    private final LongAdder bytesWritten = new LongAdder();
+    private final LongAdder corruptedLines = new LongAdder();
+
+    void recordRowParsed() {
+        rowsParsed.increment();
+    }
+
+    void recordBytesWritten(long bytes) {
+        bytesWritten.add(bytes);
+    }
+
+    void recordCorruptedLine() {
+        corruptedLines.increment();
+    }
+
+    public OperationStats getOperations() {
+        return operations;
+    }
+
+    public long getRowsParsed() {
+        return rowsParsed.sum();
+    }
+
+    public long getBytesWritten() {
+        return bytesWritten.sum();
+    }
+
+    public long getCorruptedLinesSkipped() {
+        return corruptedLines.sum();
+    }
+
+    public void reset() {
+        operations.reset();
+        rowsParsed.reset();
+        bytesWritten.reset();
+        corruptedLines.reset();
+    }
+
+    @Override
+    public String toString() {
+        return "DaoStats{operations=" + operations.getCounts() + ", rowsParsed=" + getRowsParsed()
+                + ", bytesWritten=" + getBytesWritten() + ", corruptedLines=" + getCorruptedLinesSkipped() + "}";
+    }
+}
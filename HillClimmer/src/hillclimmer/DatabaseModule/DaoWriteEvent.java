@@ -0,0 +1,39 @@
+/*
+ * DaoWriteEvent class for recording data file writes with Java Flight Recorder
+ */
+package hillclimmer.DatabaseModule;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event for one write to a data file: a full rewrite of the base file
+ * ("rewrite") or records appended to the mutation log ("append").
+ *
+ * @author las
+ */
+@Name("hillclimmer.DaoWrite")
+@Label("DAO File Write")
+@Category({"HillClimmer", "Database"})
+@Description("Entities written to a data file or its mutation log")
+class DaoWriteEvent extends Event {
+    @Label("Entity Type")
+    String entityType;
+
+    @Label("File")
+    String file;
+
+    @Label("Mode")
+    String mode;
+
+    @Label("Rows")
+    int rows;
+
+    @Label("Bytes Written")
+    @DataAmount
+    long bytes;
+}
@@ -6,30 +6,129 @@ package hillclimmer.DatabaseModule;
 
 import java.io.*;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.LongFunction;
+import java.util.function.LongSupplier;
+import java.util.function.ToLongFunction;
+import java.util.stream.Stream;
 
 /**
  * Base DataAccessObject class for handling data storage using CSV files.
  * Follows DAO principles for CRUD operations.
  * Subclasses should implement specific object handling.
  *
+ * In append-only mode, save/update/delete append a single record to a
+ * mutation log next to the CSV file instead of rewriting the whole table.
+ * Reads fold the log over the base file, and the base file is compacted in
+ * the background once the log reaches the compaction threshold.
+ *
+ * Entities are kept in an ID-keyed write-through cache that is primed from the
+ * file on first access, so point lookups and listings do no file I/O and only
+ * writes touch disk. The cache can be switched off for cold reads.
+ * The cache owns its entities: load, loadAll, stream and subclass queries hand
+ * out copies, and save/update cache a copy of the object passed in. Editing a
+ * loaded entity therefore changes nothing until it is saved, and never races
+ * another thread's reads or a file rewrite. A read-modify-write that must not
+ * lose concurrent updates (e.g. adding to a balance) goes through modify, which
+ * applies the change and saves it under the write lock.
+ * Batches of changes go through saveAll/updateAll/deleteAll, which apply the
+ * whole batch under one lock with a single file write.
+ * Counts, sums and first-match searches should use stream(), which visits
+ * entities one at a time instead of copying the table into a list.
+ *
+ * All instances opened on the same file share one read/write lock, so writers are
+ * mutually excluded even across instances while readers proceed in parallel.
+ * Production code should obtain instances from DaoRegistry so the cache and
+ * indexes are shared too. Per-file wait and hold times are kept in LockStats,
+ * and per-file operation latencies and I/O volume in DaoStats; both are
+ * published over JMX through DataAccessObjectMXBean. File reads, file writes and
+ * lock waits are also emitted as Java Flight Recorder events (DaoReadEvent,
+ * DaoWriteEvent, DaoLockWaitEvent).
+ *
  * @author las
  */
-public abstract class DataAccessObject<T> {
+public abstract class DataAccessObject<T> implements DataAccessObjectMXBean {
+    // Mutation log record prefixes: upsert carries the full CSV row, delete carries the ID
+    private static final String LOG_UPSERT = "U,";
+    private static final String LOG_DELETE = "D,";
+    private static final int DEFAULT_COMPACTION_THRESHOLD = 500;
+
+    // Single shared daemon thread so compaction never blocks a booking or shutdown
+    private static final ExecutorService compactionExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "dao-compaction");
+        t.setDaemon(true);
+        return t;
+    });
+
     protected String filePath;
-    protected final Object fileLock = new Object(); // Synchronization lock for file operations
+    protected final String logPath;
+    private final String entityType; // For JFR events, e.g. "Customer" for CustomerDAO
+    private final ReentrantReadWriteLock fileLock; // Read/write lock for file operations, shared per data file
+    private final LockStats lockStats;
+    private final DaoStats stats;
+    private final IdAllocator idAllocator;
+
+    // Lock, lock and activity statistics, write counter and mutation log state per data file, shared by every DAO instance that opens the same file
+    private static final ConcurrentHashMap<String, ReentrantReadWriteLock> fileLocks = new ConcurrentHashMap<>();
+    private static final ConcurrentHashMap<String, LockStats> fileLockStats = new ConcurrentHashMap<>();
+    private static final ConcurrentHashMap<String, DaoStats> fileStats = new ConcurrentHashMap<>();
+    private static final ConcurrentHashMap<String, AtomicLong> fileGenerations = new ConcurrentHashMap<>();
+    private static final ConcurrentHashMap<String, LogState> fileLogStates = new ConcurrentHashMap<>();
+
+    // ID-keyed write-through entity cache, primed from the file on first access
+    private final ConcurrentHashMap<String, T> cache = new ConcurrentHashMap<>();
+    private final AtomicLong fileGeneration;
+    private volatile long cacheGeneration;
+    private volatile boolean cachePrimed = false;
+    private volatile boolean cacheEnabled;
+    private final AtomicLong cacheHits = new AtomicLong();
+    private final AtomicLong cacheMisses = new AtomicLong();
+    private volatile long lastRowCount = -1; // Rows in the last full read or rewrite, for monitoring
+
+    private volatile boolean appendOnly;
+    private volatile int compactionThreshold;
+    private final LogState logState;
+
+    // Mutation log bookkeeping for one data file. Writers set the record count under the
+    // file's write lock; readers that fold the log under the shared read lock only fill
+    // in an unknown count, so they can never put back a stale one.
+    private static final class LogState {
+        private final AtomicInteger recordCount = new AtomicInteger(-1); // -1 until the log has been counted
+        private boolean compactionScheduled = false; // Guarded by the write lock
+    }
 
     public DataAccessObject(String filePath) {
         this.filePath = filePath;
+        this.logPath = filePath + ".log";
+        String daoName = getClass().getSimpleName();
+        this.entityType = daoName.isEmpty() ? new File(filePath).getName() : daoName.replaceFirst("DAO$", "");
+        String absolutePath = new File(filePath).getAbsolutePath();
+        this.fileLock = fileLocks.computeIfAbsent(absolutePath, path -> new ReentrantReadWriteLock());
+        this.lockStats = fileLockStats.computeIfAbsent(absolutePath, path -> new LockStats());
+        this.stats = fileStats.computeIfAbsent(absolutePath, path -> new DaoStats());
+        this.idAllocator = IdAllocator.forFile(absolutePath);
+        this.fileGeneration = fileGenerations.computeIfAbsent(absolutePath, path -> new AtomicLong());
+        this.logState = fileLogStates.computeIfAbsent(absolutePath, path -> new LogState());
+        this.cacheEnabled = !"false".equalsIgnoreCase(System.getProperty("hillclimmer.dao.cache"));
+        this.appendOnly = Boolean.getBoolean("hillclimmer.dao.appendOnly");
+        this.compactionThreshold = Integer.getInteger("hillclimmer.dao.compactionThreshold", DEFAULT_COMPACTION_THRESHOLD);
         // Ensure the file exists
-        synchronized (fileLock) {
-            try {
-                File file = new File(filePath);
-                if (!file.exists()) {
-                    file.createNewFile();
-                }
-            } catch (IOException e) {
-                System.err.println("Error creating file: " + e.getMessage());
+        long stamp = beginWrite();
+        try {
+            File file = new File(filePath);
+            if (!file.exists()) {
+                file.createNewFile();
             }
+        } catch (IOException e) {
+            System.err.println("Error creating file: " + e.getMessage());
+        } finally {
+            endWrite(stamp);
         }
     }
 
@@ -38,12 +137,35 @@ public abstract class DataAccessObject<T> {
     protected abstract T csvToObject(String csvLine);
     protected abstract String getId(T object);
 
+    /**
+     * Independent copy of an entity, for handing cached entities out and taking
+     * saved ones in. The default round-trips the entity through its CSV row, so a
+     * copy holds exactly what would be persisted; subclasses may override it with
+     * a cheaper copy.
+     */
+    protected T copyOf(T object) {
+        return object == null ? null : csvToObject(objectToCSV(object));
+    }
+
     // Save object to file
     public void save(T object) {
-        synchronized (fileLock) {
-            List<T> allObjects = loadAll();
+        long started = System.nanoTime();
+        long stamp = beginWrite();
+        try {
+            if (appendOnly) {
+                String currentId = getId(object);
+                if (currentId.equals("0") || currentId.isEmpty()) {
+                    object = generateNewId(object, currentObjects());
+                }
+                if (appendToLog(LOG_UPSERT + objectToCSV(object))) {
+                    cacheStore(object);
+                }
+                return;
+            }
+
+            List<T> allObjects = currentObjects();
             boolean exists = false;
-            
+
             // Check if object already exists
             for (int i = 0; i < allObjects.size(); i++) {
                 if (getId(allObjects.get(i)).equals(getId(object))) {
@@ -52,7 +174,7 @@ public abstract class DataAccessObject<T> {
                     break;
                 }
             }
-            
+
             if (!exists) {
                 // Generate new ID if the object doesn't exist and ID is default (0 or empty)
                 String currentId = getId(object);
@@ -61,9 +183,14 @@ public abstract class DataAccessObject<T> {
                 }
                 allObjects.add(object);
             }
-            
+
             // Always rewrite the entire file to ensure data integrity
-            writeAllToFile(allObjects);
+            if (writeAllToFile(allObjects)) {
+                cacheStore(object);
+            }
+        } finally {
+            endWrite(stamp);
+            stats.getOperations().record("save", started);
         }
     }
 
@@ -74,80 +201,898 @@ public abstract class DataAccessObject<T> {
         return object;
     }
 
+    /**
+     * Allocate the next ID in one of this file's sequences in O(1).
+     * The sequence is seeded once from the highest stored ID number; IDs already
+     * present (e.g. saved with an explicit ID) are skipped.
+     * @param idNumber numeric part of a stored entity's ID in this sequence, or 0 if it belongs to another
+     * @param format turns a sequence number into the ID string (e.g. 7 -> "C007")
+     */
+    protected final String nextId(String sequence, ToLongFunction<T> idNumber, LongFunction<String> format) {
+        return nextId(sequence, () -> maxIdNumber(loadAll(), idNumber), format);
+    }
+
+    // Variant for generateNewId, which already holds the current rows
+    protected final String nextId(String sequence, List<T> existingObjects,
+                                  ToLongFunction<T> idNumber, LongFunction<String> format) {
+        return nextId(sequence, () -> maxIdNumber(existingObjects, idNumber), format);
+    }
+
+    /**
+     * Record an ID number assigned outside nextId so the sequence never issues it again
+     */
+    protected final void observeId(String sequence, long number, ToLongFunction<T> idNumber) {
+        idAllocator.observe(sequence, number, () -> maxIdNumber(loadAll(), idNumber));
+    }
+
+    private String nextId(String sequence, LongSupplier seed, LongFunction<String> format) {
+        while (true) {
+            String id = format.apply(idAllocator.next(sequence, seed));
+            if (!cache.containsKey(id)) {
+                return id;
+            }
+        }
+    }
+
+    private long maxIdNumber(List<T> objects, ToLongFunction<T> idNumber) {
+        long max = 0;
+        for (T obj : objects) {
+            max = Math.max(max, idNumber.applyAsLong(obj));
+        }
+        return max;
+    }
+
     // Load object by ID
     public T load(String id) {
-        synchronized (fileLock) {
-            List<T> allObjects = loadAll();
+        long started = System.nanoTime();
+        long stamp = beginRead();
+        try {
+            if (cacheEnabled) {
+                return copyOf(cache.get(id));
+            }
+            List<T> allObjects = readAllFromFile();
             for (T obj : allObjects) {
                 if (getId(obj).equals(id)) {
                     return obj;
                 }
             }
             return null;
+        } finally {
+            endRead(stamp);
+            stats.getOperations().record("load", started);
         }
     }
 
     // Update object (same as save)
     public void update(T object) {
-        synchronized (fileLock) {
-            save(object);
+        save(object);
+    }
+
+    /**
+     * Load the entity with this ID, apply a change to it and save it, all under
+     * the write lock, so concurrent read-modify-write updates are never lost.
+     * @return the saved entity, or null (and no change applied) if there is none with this ID
+     */
+    public T modify(String id, Consumer<? super T> change) {
+        long stamp = beginWrite();
+        try {
+            T object = load(id);
+            if (object != null) {
+                change.accept(object);
+                save(object);
+            }
+            return object;
+        } finally {
+            endWrite(stamp);
         }
     }
 
     // Delete object by ID
     public void delete(String id) {
-        synchronized (fileLock) {
-            List<T> allObjects = loadAll();
+        long started = System.nanoTime();
+        long stamp = beginWrite();
+        try {
+            if (appendOnly) {
+                if (appendToLog(LOG_DELETE + id)) {
+                    cacheEvict(id);
+                }
+                return;
+            }
+            List<T> allObjects = currentObjects();
             allObjects.removeIf(obj -> getId(obj).equals(id));
-            writeAllToFile(allObjects);
+            if (writeAllToFile(allObjects)) {
+                cacheEvict(id);
+            }
+        } finally {
+            endWrite(stamp);
+            stats.getOperations().record("delete", started);
+        }
+    }
+
+    /**
+     * Save a batch of objects in one locked pass with a single file write
+     * (or a single log append in append-only mode). Objects with a default
+     * ID (0 or empty) that are not yet stored get new IDs, as with save.
+     */
+    public void saveAll(Collection<? extends T> objects) {
+        if (objects.isEmpty()) {
+            return;
+        }
+        long started = System.nanoTime();
+        long stamp = beginWrite();
+        try {
+            List<T> allObjects = currentObjects();
+            Map<String, Integer> positions = new HashMap<>();
+            for (int i = 0; i < allObjects.size(); i++) {
+                positions.put(getId(allObjects.get(i)), i);
+            }
+
+            List<T> saved = new ArrayList<>(objects.size());
+            for (T object : objects) {
+                Integer position = positions.get(getId(object));
+                if (position != null) {
+                    allObjects.set(position, object);
+                } else {
+                    String currentId = getId(object);
+                    if (currentId.equals("0") || currentId.isEmpty()) {
+                        object = generateNewId(object, allObjects);
+                    }
+                    positions.put(getId(object), allObjects.size());
+                    allObjects.add(object);
+                }
+                saved.add(object);
+            }
+
+            boolean written;
+            if (appendOnly) {
+                List<String> records = new ArrayList<>(saved.size());
+                for (T object : saved) {
+                    records.add(LOG_UPSERT + objectToCSV(object));
+                }
+                written = appendToLog(records);
+            } else {
+                written = writeAllToFile(allObjects);
+            }
+            if (written) {
+                for (T object : saved) {
+                    cacheStore(object);
+                }
+            }
+        } finally {
+            endWrite(stamp);
+            stats.getOperations().record("saveAll", started);
+        }
+    }
+
+    // Update a batch of objects (same as saveAll)
+    public void updateAll(Collection<? extends T> objects) {
+        saveAll(objects);
+    }
+
+    /**
+     * Delete a batch of objects by ID in one locked pass with a single file write
+     */
+    public void deleteAll(Collection<String> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        long started = System.nanoTime();
+        long stamp = beginWrite();
+        try {
+            boolean written;
+            if (appendOnly) {
+                List<String> records = new ArrayList<>(ids.size());
+                for (String id : ids) {
+                    records.add(LOG_DELETE + id);
+                }
+                written = appendToLog(records);
+            } else {
+                Set<String> doomed = new HashSet<>(ids);
+                List<T> allObjects = currentObjects();
+                allObjects.removeIf(obj -> doomed.contains(getId(obj)));
+                written = writeAllToFile(allObjects);
+            }
+            if (written) {
+                for (String id : ids) {
+                    cacheEvict(id);
+                }
+            }
+        } finally {
+            endWrite(stamp);
+            stats.getOperations().record("deleteAll", started);
         }
     }
 
     // Load all objects
     public List<T> loadAll() {
-        synchronized (fileLock) {
-            List<T> objects = new ArrayList<>();
-            try (BufferedReader br = new BufferedReader(new FileReader(filePath))) {
-                String line;
-                while ((line = br.readLine()) != null) {
-                    if (!line.trim().isEmpty()) {
+        long started = System.nanoTime();
+        long stamp = beginRead();
+        try {
+            if (cacheEnabled) {
+                return sortedCacheValues();
+            }
+            return readAllFromFile();
+        } finally {
+            endRead(stamp);
+            stats.getOperations().record("loadAll", started);
+        }
+    }
+
+    /**
+     * Stream all entities without materialising them in a list. With the cache
+     * enabled each cached entity is copied as it is reached; otherwise the file is
+     * parsed lazily one line at a time, so short-circuiting operations such as
+     * findFirst stop reading early.
+     *
+     * The read lock is held until the stream is closed, so always use
+     * try-with-resources and close the stream on the thread that opened it.
+     */
+    public Stream<T> stream() {
+        long stamp = beginRead();
+        try {
+            if (cacheEnabled) {
+                return cache.values().stream().map(this::copyOf).onClose(() -> endRead(stamp));
+            }
+            if (new File(logPath).exists()) {
+                // Folding the log needs every row at once
+                return readAllFromFile().stream().onClose(() -> endRead(stamp));
+            }
+            BufferedReader br = new BufferedReader(new FileReader(filePath));
+            return Stream.iterate(nextRecord(br), Objects::nonNull, record -> nextRecord(br))
+                    .map(this::parseLine)
+                    .filter(Objects::nonNull)
+                    .onClose(() -> {
                         try {
-                            T obj = csvToObject(line);
-                            if (obj != null) {
-                                objects.add(obj);
-                            }
-                        } catch (Exception e) {
-                            // Skip corrupted lines silently
-                            System.err.println("Warning: Skipping corrupted line in " + filePath);
+                            br.close();
+                        } catch (IOException e) {
+                            System.err.println("Error closing file: " + e.getMessage());
+                        } finally {
+                            endRead(stamp);
+                        }
+                    });
+        } catch (IOException e) {
+            endRead(stamp);
+            System.err.println("Error reading file: " + e.getMessage());
+            return Stream.empty();
+        } catch (RuntimeException e) {
+            endRead(stamp);
+            throw e;
+        }
+    }
+
+    // Number of stored entities; the cache size when the cache is enabled
+    public long count() {
+        long started = System.nanoTime();
+        long stamp = beginRead();
+        try {
+            if (cacheEnabled) {
+                return cache.size();
+            }
+            try (Stream<T> entities = stream()) {
+                return entities.count();
+            }
+        } finally {
+            endRead(stamp);
+            stats.getOperations().record("count", started);
+        }
+    }
+
+    // Next CSV record; a line ending inside a quoted field continues on the following line
+    private static String readRecord(BufferedReader br) throws IOException {
+        String line = br.readLine();
+        if (line == null || !CsvTokenizer.isOpenRecord(line)) {
+            return line;
+        }
+        StringBuilder record = new StringBuilder(line);
+        String next;
+        while (CsvTokenizer.isOpenRecord(record) && (next = br.readLine()) != null) {
+            record.append('\n').append(next);
+        }
+        return record.toString();
+    }
+
+    private static String nextRecord(BufferedReader br) {
+        try {
+            return readRecord(br);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    // Parse one CSV row; blank and corrupted lines yield null. Rows the subclass
+    // rejects (null) are counted as corrupted along with ones that throw.
+    private T parseLine(String line) {
+        if (line.trim().isEmpty()) {
+            return null;
+        }
+        try {
+            T obj = csvToObject(line);
+            if (obj != null) {
+                stats.recordRowParsed();
+            } else {
+                stats.recordCorruptedLine();
+            }
+            return obj;
+        } catch (Exception e) {
+            // Skip corrupted lines silently
+            stats.recordCorruptedLine();
+            System.err.println("Warning: Skipping corrupted line in " + filePath);
+            return null;
+        }
+    }
+
+    // Parse the base file and fold any pending mutation log over it; callers hold the lock
+    private List<T> readAllFromFile() {
+        DaoReadEvent event = new DaoReadEvent();
+        event.begin();
+        List<T> objects = new ArrayList<>();
+        try (BufferedReader br = new BufferedReader(new FileReader(filePath))) {
+            String line;
+            while ((line = readRecord(br)) != null) {
+                T obj = parseLine(line);
+                if (obj != null) {
+                    objects.add(obj);
+                }
+            }
+        } catch (IOException e) {
+            System.err.println("Error reading file: " + e.getMessage());
+        }
+        if (new File(logPath).exists()) {
+            objects = applyLog(objects);
+        }
+        lastRowCount = objects.size();
+        event.end();
+        if (event.shouldCommit()) {
+            event.entityType = entityType;
+            event.file = filePath;
+            event.rows = objects.size();
+            event.bytes = new File(filePath).length() + new File(logPath).length();
+            event.commit();
+        }
+        return objects;
+    }
+
+    // Objects to base a write on: the cache when enabled, otherwise a fresh parse
+    private List<T> currentObjects() {
+        if (cacheEnabled) {
+            warmCache();
+            return new ArrayList<>(cache.values());
+        }
+        return readAllFromFile();
+    }
+
+    /**
+     * Enable or disable the in-memory entity cache.
+     * With the cache disabled every read goes back to the file (cold-start behaviour).
+     */
+    public void setCacheEnabled(boolean cacheEnabled) {
+        long stamp = beginWrite();
+        try {
+            this.cacheEnabled = cacheEnabled;
+            dropCache();
+        } finally {
+            endWrite(stamp);
+        }
+    }
+
+    public boolean isCacheEnabled() {
+        return cacheEnabled;
+    }
+
+    /**
+     * Discard cached entities so the next access re-primes the cache from the file.
+     * Use after the CSV file has been edited outside this application.
+     */
+    public void invalidateCache() {
+        long stamp = beginWrite();
+        try {
+            dropCache();
+        } finally {
+            endWrite(stamp);
+        }
+    }
+
+    public long getCacheHits() {
+        return cacheHits.get();
+    }
+
+    public long getCacheMisses() {
+        return cacheMisses.get();
+    }
+
+    public int getCacheSize() {
+        return cache.size();
+    }
+
+    // The cache is usable when it has been primed and no DAO has written this file since
+    private boolean isCacheCurrent() {
+        return cacheEnabled && cachePrimed && cacheGeneration == fileGeneration.get();
+    }
+
+    // Prime the cache from the file if needed; returns true when it was already warm
+    private boolean warmCache() {
+        if (isCacheCurrent()) {
+            return true;
+        }
+        long stamp = beginWrite();
+        try {
+            if (isCacheCurrent()) {
+                return true;
+            }
+            long generation = fileGeneration.get();
+            List<T> objects = readAllFromFile();
+            cache.clear();
+            for (T obj : objects) {
+                cache.put(getId(obj), obj);
+            }
+            cacheGeneration = generation;
+            cachePrimed = true;
+            onCacheReloaded(cache.values());
+            return false;
+        } finally {
+            endWrite(stamp);
+        }
+    }
+
+    private void countLookup(boolean hit) {
+        if (hit) {
+            cacheHits.incrementAndGet();
+        } else {
+            cacheMisses.incrementAndGet();
+        }
+    }
+
+    // Copies of the cached entities in ID order, matching the order rows are written to the file
+    private List<T> sortedCacheValues() {
+        List<T> objects = new ArrayList<>(cache.size());
+        for (T object : cache.values()) {
+            objects.add(copyOf(object));
+        }
+        objects.sort((a, b) -> getId(a).compareTo(getId(b)));
+        return objects;
+    }
+
+    // Cache a copy, so the caller's later edits to the saved object stay out of the cache
+    private void cacheStore(T object) {
+        afterWrite(() -> {
+            T cached = copyOf(object);
+            cache.put(getId(cached), cached);
+            onCacheStored(cached);
+        });
+    }
+
+    private void cacheEvict(String id) {
+        afterWrite(() -> {
+            T removed = cache.remove(id);
+            if (removed != null) {
+                onCacheEvicted(removed);
+            }
+        });
+    }
+
+    // Advance the file generation after a write and apply the change to a current cache.
+    // If another DAO instance wrote the file since we primed, drop the cache instead.
+    private void afterWrite(Runnable cacheChange) {
+        boolean wasCurrent = isCacheCurrent();
+        long generation = fileGeneration.incrementAndGet();
+        if (wasCurrent) {
+            cacheChange.run();
+            cacheGeneration = generation;
+        } else {
+            dropCache();
+        }
+    }
+
+    private void dropCache() {
+        cachePrimed = false;
+        cache.clear();
+        onCacheReloaded(Collections.emptyList());
+    }
+
+    /**
+     * Take the read lock with the cache primed and current (when enabled), counting
+     * the lookup as a cache hit or miss. Writers cannot run until endRead, so the
+     * cache and subclass indexes stay consistent for the whole query.
+     * Priming needs the write lock, so it happens before the read lock is taken.
+     * @return stamp to pass to endRead
+     */
+    protected final long beginRead() {
+        boolean hit = true;
+        while (true) {
+            if (cacheEnabled && !warmCache()) {
+                hit = false;
+            }
+            long stamp = lockRead();
+            if (!cacheEnabled || isCacheCurrent()) {
+                if (cacheEnabled) {
+                    countLookup(hit);
+                } else {
+                    cacheMisses.incrementAndGet();
+                }
+                return stamp;
+            }
+            // Another instance wrote the file between priming and locking; prime again
+            unlockRead(stamp);
+        }
+    }
+
+    protected final void endRead(long stamp) {
+        unlockRead(stamp);
+    }
+
+    /**
+     * Take the exclusive write lock. Must not be called while holding only the read lock.
+     * @return stamp to pass to endWrite
+     */
+    protected final long beginWrite() {
+        if (fileLock.getReadHoldCount() > 0 && !fileLock.isWriteLockedByCurrentThread()) {
+            throw new IllegalStateException("Cannot upgrade a read lock to a write lock on " + filePath);
+        }
+        if (fileLock.isWriteLockedByCurrentThread()) {
+            fileLock.writeLock().lock();
+            return NESTED;
+        }
+        DaoLockWaitEvent event = new DaoLockWaitEvent();
+        long requested = System.nanoTime();
+        event.begin();
+        fileLock.writeLock().lock();
+        long acquired = System.nanoTime();
+        lockStats.recordWriteWait(acquired - requested);
+        commitLockWait(event, "write");
+        return acquired;
+    }
+
+    protected final void endWrite(long stamp) {
+        if (stamp != NESTED) {
+            lockStats.recordWriteHold(System.nanoTime() - stamp);
+        }
+        fileLock.writeLock().unlock();
+    }
+
+    /**
+     * Lock contention statistics for this DAO's data file (shared by all instances on the file)
+     */
+    public LockStats getLockStats() {
+        return lockStats;
+    }
+
+    /**
+     * Operation latencies and I/O volume for this DAO's data file (shared by all instances on the file)
+     */
+    public DaoStats getStats() {
+        return stats;
+    }
+
+    // DataAccessObjectMXBean attributes
+
+    @Override
+    public String getFilePath() {
+        return new File(filePath).getAbsolutePath();
+    }
+
+    // Cache size while the cache is current, otherwise the row count of the last
+    // full read or rewrite (-1 before the first); never touches the file or the lock
+    @Override
+    public long getRowCount() {
+        return isCacheCurrent() ? cache.size() : lastRowCount;
+    }
+
+    // Base file plus any pending mutation log
+    @Override
+    public long getFileSizeBytes() {
+        return new File(filePath).length() + new File(logPath).length();
+    }
+
+    @Override
+    public Map<String, Long> getOperationCounts() {
+        return stats.getOperations().getCounts();
+    }
+
+    @Override
+    public Map<String, Double> getOperationTotalMillis() {
+        return stats.getOperations().getTotalMillis();
+    }
+
+    @Override
+    public Map<String, Double> getOperationMaxMillis() {
+        return stats.getOperations().getMaxMillis();
+    }
+
+    @Override
+    public long getRowsParsed() {
+        return stats.getRowsParsed();
+    }
+
+    @Override
+    public long getBytesWritten() {
+        return stats.getBytesWritten();
+    }
+
+    @Override
+    public long getCorruptedLinesSkipped() {
+        return stats.getCorruptedLinesSkipped();
+    }
+
+    // Share of locked reads that found the cache already primed and current
+    @Override
+    public double getCacheHitRate() {
+        long hits = cacheHits.get();
+        long lookups = hits + cacheMisses.get();
+        return lookups == 0 ? 0.0 : (double) hits / lookups;
+    }
+
+    @Override
+    public double getReadLockWaitMillis() {
+        return lockStats.getReadWaitNanos() / 1e6;
+    }
+
+    @Override
+    public double getWriteLockWaitMillis() {
+        return lockStats.getWriteWaitNanos() / 1e6;
+    }
+
+    // Zero the file's activity and lock statistics and this instance's cache counters
+    @Override
+    public void resetStatistics() {
+        stats.reset();
+        lockStats.reset();
+        cacheHits.set(0);
+        cacheMisses.set(0);
+    }
+
+    // Stamps are the acquisition time of an outermost lock; reentrant acquisitions are not timed
+    private static final long NESTED = Long.MIN_VALUE;
+
+    private long lockRead() {
+        if (fileLock.getReadHoldCount() > 0 || fileLock.isWriteLockedByCurrentThread()) {
+            fileLock.readLock().lock();
+            return NESTED;
+        }
+        DaoLockWaitEvent event = new DaoLockWaitEvent();
+        long requested = System.nanoTime();
+        event.begin();
+        fileLock.readLock().lock();
+        long acquired = System.nanoTime();
+        lockStats.recordReadWait(acquired - requested);
+        commitLockWait(event, "read");
+        return acquired;
+    }
+
+    private void commitLockWait(DaoLockWaitEvent event, String mode) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.entityType = entityType;
+            event.file = filePath;
+            event.mode = mode;
+            event.queuedThreads = fileLock.getQueueLength();
+            event.commit();
+        }
+    }
+
+    private void unlockRead(long stamp) {
+        if (stamp != NESTED) {
+            lockStats.recordReadHold(System.nanoTime() - stamp);
+        }
+        fileLock.readLock().unlock();
+    }
+
+    // Copy of a cached entity by ID, for subclasses resolving their secondary indexes
+    protected T getCached(String id) {
+        return copyOf(cache.get(id));
+    }
+
+    // Hooks for subclasses that keep secondary indexes in step with the cache.
+    // They run under the write lock after each change to the cached entities.
+    protected void onCacheReloaded(Collection<T> objects) {
+    }
+
+    protected void onCacheStored(T object) {
+    }
+
+    protected void onCacheEvicted(T object) {
+    }
+
+    /**
+     * Enable or disable append-only mode for this DAO.
+     * Switching it off compacts any pending log so the base file is complete again.
+     */
+    public void setAppendOnly(boolean appendOnly) {
+        long stamp = beginWrite();
+        try {
+            this.appendOnly = appendOnly;
+            if (!appendOnly && new File(logPath).exists()) {
+                compact();
+            }
+        } finally {
+            endWrite(stamp);
+        }
+    }
+
+    public boolean isAppendOnly() {
+        return appendOnly;
+    }
+
+    /**
+     * Set how many log records may accumulate before the base file is rewritten.
+     */
+    public void setCompactionThreshold(int compactionThreshold) {
+        if (compactionThreshold < 1) {
+            throw new IllegalArgumentException("Compaction threshold must be at least 1");
+        }
+        this.compactionThreshold = compactionThreshold;
+    }
+
+    public int getCompactionThreshold() {
+        return compactionThreshold;
+    }
+
+    /**
+     * Number of records currently in the mutation log (0 when the base file is fully
+     * compacted), or -1 until the log has been counted by a read or an append.
+     * Takes no lock and never reads the log, so JMX polls cannot wait on a writer.
+     */
+    @Override
+    public int getLogRecordCount() {
+        return logState.recordCount.get();
+    }
+
+    /**
+     * Fold the mutation log into the base file and remove the log.
+     */
+    public void compact() {
+        long started = System.nanoTime();
+        long stamp = beginWrite();
+        try {
+            logState.compactionScheduled = false;
+            if (!new File(logPath).exists()) {
+                return;
+            }
+            // Same logical content, so cached entities stay valid
+            writeAllToFile(currentObjects());
+        } finally {
+            endWrite(stamp);
+            stats.getOperations().record("compact", started);
+        }
+    }
+
+    // Replay the mutation log over the rows read from the base file, last record wins
+    private List<T> applyLog(List<T> baseObjects) {
+        Map<String, T> folded = new LinkedHashMap<>();
+        for (T obj : baseObjects) {
+            folded.put(getId(obj), obj);
+        }
+        int records = 0;
+        try (BufferedReader br = new BufferedReader(new FileReader(logPath))) {
+            String line;
+            while ((line = readRecord(br)) != null) {
+                if (line.trim().isEmpty()) {
+                    continue;
+                }
+                records++;
+                try {
+                    if (line.startsWith(LOG_DELETE)) {
+                        folded.remove(line.substring(LOG_DELETE.length()));
+                    } else if (line.startsWith(LOG_UPSERT)) {
+                        T obj = csvToObject(line.substring(LOG_UPSERT.length()));
+                        if (obj != null) {
+                            stats.recordRowParsed();
+                            folded.put(getId(obj), obj);
+                        } else {
+                            stats.recordCorruptedLine();
                         }
                     }
+                } catch (Exception e) {
+                    stats.recordCorruptedLine();
+                    System.err.println("Warning: Skipping corrupted log record in " + logPath);
                 }
-            } catch (IOException e) {
-                System.err.println("Error reading file: " + e.getMessage());
             }
-            return objects;
+        } catch (IOException e) {
+            System.err.println("Error reading log: " + e.getMessage());
         }
+        // May run under the read lock, so only fill in a count no writer has set
+        logState.recordCount.compareAndSet(-1, records);
+        return new ArrayList<>(folded.values());
+    }
+
+    // Append one record to the mutation log and trigger compaction when it grows too large
+    private boolean appendToLog(String record) {
+        return appendToLog(Collections.singletonList(record));
     }
 
-    // Helper method to write all objects to file
-    private void writeAllToFile(List<T> objects) {
-        synchronized (fileLock) {
-            try {
-                // Sort objects by ID before writing
-                objects.sort((a, b) -> getId(a).compareTo(getId(b)));
-                
-                java.io.FileWriter fw = new java.io.FileWriter(filePath, false);
-                try (java.io.BufferedWriter bw = new java.io.BufferedWriter(fw)) {
-                    for (T obj : objects) {
-                        String csvLine = objectToCSV(obj);
-                        bw.write(csvLine);
-                        bw.newLine();
+    private boolean appendToLog(List<String> records) {
+        DaoWriteEvent event = new DaoWriteEvent();
+        event.begin();
+        int existingRecords = countLogRecords();
+        File log = new File(logPath);
+        long existingBytes = log.length();
+        try (BufferedWriter bw = new BufferedWriter(new FileWriter(log, true))) {
+            for (String record : records) {
+                bw.write(record);
+                bw.newLine();
+            }
+        } catch (IOException e) {
+            System.err.println("Error writing to log: " + e.getMessage());
+            return false;
+        }
+        long bytes = log.length() - existingBytes;
+        stats.recordBytesWritten(bytes);
+        commitWrite(event, "append", records.size(), bytes);
+        int logRecords = existingRecords + records.size();
+        logState.recordCount.set(logRecords);
+        if (logRecords >= compactionThreshold && !logState.compactionScheduled) {
+            logState.compactionScheduled = true;
+            compactionExecutor.submit(this::compact);
+        }
+        return true;
+    }
+
+    // Count log records lazily; the count is cached once known. Callers hold the write lock
+    private int countLogRecords() {
+        int known = logState.recordCount.get();
+        if (known >= 0) {
+            return known;
+        }
+        int records = 0;
+        File log = new File(logPath);
+        if (log.exists()) {
+            try (BufferedReader br = new BufferedReader(new FileReader(log))) {
+                String line;
+                while ((line = readRecord(br)) != null) {
+                    if (!line.trim().isEmpty()) {
+                        records++;
                     }
-                    bw.flush();
                 }
             } catch (IOException e) {
-                System.err.println("Error writing to file: " + e.getMessage());
+                System.err.println("Error reading log: " + e.getMessage());
             }
         }
+        logState.recordCount.set(records);
+        return records;
+    }
+
+    // Helper method to write all objects to file; callers hold the write lock
+    private boolean writeAllToFile(List<T> objects) {
+        DaoWriteEvent event = new DaoWriteEvent();
+        event.begin();
+        try {
+            // Sort objects by ID before writing
+            objects.sort((a, b) -> getId(a).compareTo(getId(b)));
+
+            java.io.FileWriter fw = new java.io.FileWriter(filePath, false);
+            try (java.io.BufferedWriter bw = new java.io.BufferedWriter(fw)) {
+                for (T obj : objects) {
+                    String csvLine = objectToCSV(obj);
+                    bw.write(csvLine);
+                    bw.newLine();
+                }
+                bw.flush();
+            }
+            long bytes = new File(filePath).length();
+            stats.recordBytesWritten(bytes);
+            // The base file now holds every logged change, so the log can go
+            File log = new File(logPath);
+            if (log.exists() && !log.delete()) {
+                System.err.println("Warning: Could not remove mutation log " + logPath);
+            }
+            logState.recordCount.set(0);
+            lastRowCount = objects.size();
+            commitWrite(event, "rewrite", objects.size(), bytes);
+            return true;
+        } catch (IOException e) {
+            System.err.println("Error writing to file: " + e.getMessage());
+            return false;
+        }
+    }
+
+    private void commitWrite(DaoWriteEvent event, String mode, int rows, long bytes) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.entityType = entityType;
+            event.file = filePath;
+            event.mode = mode;
+            event.rows = rows;
+            event.bytes = bytes;
+            event.commit();
+        }
     }
 }
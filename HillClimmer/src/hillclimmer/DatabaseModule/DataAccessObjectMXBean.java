@@ -0,0 +1,57 @@
+/*
+ * DataAccessObjectMXBean interface for DAO monitoring over JMX
+ */
+package hillclimmer.DatabaseModule;
+
+import java.util.Map;
+
+/**
+ * JMX view of one DAO: per-operation counts and latencies, parsing and write
+ * volume, cache effectiveness, lock waits and the current table size.
+ * DaoRegistry registers each DAO it hands out as hillclimmer:type=DataAccessObject,name=&lt;table&gt;.
+ *
+ * @author las
+ */
+public interface DataAccessObjectMXBean {
+    String getFilePath();
+
+    long getRowCount();
+
+    long getFileSizeBytes();
+
+    int getLogRecordCount();
+
+    Map<String, Long> getOperationCounts();
+
+    Map<String, Double> getOperationTotalMillis();
+
+    Map<String, Double> getOperationMaxMillis();
+
+    long getRowsParsed();
+
+    long getBytesWritten();
+
+    long getCorruptedLinesSkipped();
+
+    boolean isCacheEnabled();
+
+    boolean isAppendOnly();
+
+    int getCacheSize();
+
+    long getCacheHits();
+
+    long getCacheMisses();
+
+    double getCacheHitRate();
+
+    double getReadLockWaitMillis();
+
+    double getWriteLockWaitMillis();
+
+    void invalidateCache();
+
+    void compact();
+
+    void resetStatistics();
+}
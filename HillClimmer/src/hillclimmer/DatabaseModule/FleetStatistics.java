@@ -0,0 +1,120 @@
+/*
+ * FleetStatistics class for running vehicle inventory aggregates
+ */
+package hillclimmer.DatabaseModule;
+
+import hillclimmer.VehicleModule.Vehicle;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Inventory figures for the fleet: vehicles per type, how many can be rented
+ * now, and the cheapest, dearest and mean daily price. Every distinct price
+ * keeps its own vehicle count, so removing or repricing the cheapest vehicle
+ * moves the minimum to the next price still in use. Maintained by VehicleDAO
+ * alongside its entity cache; the startup banner and manager reports read it.
+ *
+ * @author las
+ */
+public class FleetStatistics {
+    private final KeyedCounters<String> countsByType = new KeyedCounters<>();
+    private final KeyedCounters<Long> vehiclesByPrice = new KeyedCounters<>();
+    private final LongAdder vehicleCount = new LongAdder();
+    private final LongAdder availableCount = new LongAdder();
+    private final LongAdder priceCentsSum = new LongAdder();
+
+    // Statistics read straight off the vehicle file, for VehicleDAO with its cache disabled
+    static FleetStatistics of(Iterable<Vehicle> vehicles) {
+        FleetStatistics statistics = new FleetStatistics();
+        for (Vehicle vehicle : vehicles) {
+            statistics.add(vehicle.getVehicleType(), vehicle.isAvailable(), toCents(vehicle.getModelPricing()));
+        }
+        return statistics;
+    }
+
+    void add(String type, boolean available, long priceCents) {
+        adjust(type, available, priceCents, 1);
+    }
+
+    void remove(String type, boolean available, long priceCents) {
+        adjust(type, available, priceCents, -1);
+    }
+
+    void reset() {
+        countsByType.clear();
+        vehiclesByPrice.clear();
+        vehicleCount.reset();
+        availableCount.reset();
+        priceCentsSum.reset();
+    }
+
+    // Detached copy for getFleetStatistics; the live figures move with every rental and return
+    FleetStatistics copy() {
+        FleetStatistics copy = new FleetStatistics();
+        copy.countsByType.addAll(countsByType);
+        copy.vehiclesByPrice.addAll(vehiclesByPrice);
+        copy.vehicleCount.add(vehicleCount.sum());
+        copy.availableCount.add(availableCount.sum());
+        copy.priceCentsSum.add(priceCentsSum.sum());
+        return copy;
+    }
+
+    private void adjust(String type, boolean available, long priceCents, int delta) {
+        countsByType.adjust(type == null ? "" : type, delta);
+        vehiclesByPrice.adjust(priceCents, delta);
+        vehicleCount.add(delta);
+        if (available) {
+            availableCount.add(delta);
+        }
+        priceCentsSum.add(delta * priceCents);
+    }
+
+    // Daily price in whole cents, as the price counts are keyed
+    static long toCents(double amount) {
+        return Math.round(amount * 100);
+    }
+
+    public long getVehicleCount() {
+        return vehicleCount.sum();
+    }
+
+    public long getCount(String vehicleType) {
+        return vehicleType == null ? 0 : countsByType.get(vehicleType);
+    }
+
+    // Vehicle counts per type, in type order
+    public Map<String, Long> getCountsByType() {
+        return countsByType.sums();
+    }
+
+    public long getAvailableCount() {
+        return availableCount.sum();
+    }
+
+    public long getUnavailableCount() {
+        return vehicleCount.sum() - availableCount.sum();
+    }
+
+    // Lowest daily price, or 0 for an empty fleet
+    public double getMinPrice() {
+        return vehiclesByPrice.isEmpty() ? 0 : vehiclesByPrice.lowestKey() / 100.0;
+    }
+
+    // Highest daily price, or 0 for an empty fleet
+    public double getMaxPrice() {
+        return vehiclesByPrice.isEmpty() ? 0 : vehiclesByPrice.highestKey() / 100.0;
+    }
+
+    // Mean daily price, or 0 for an empty fleet
+    public double getAveragePrice() {
+        long count = vehicleCount.sum();
+        return count == 0 ? 0 : priceCentsSum.sum() / 100.0 / count;
+    }
+
+    @Override
+    public String toString() {
+        return "FleetStatistics{vehicles=" + getVehicleCount() + ", byType=" + getCountsByType()
+                + ", available=" + getAvailableCount() + ", minPrice=" + getMinPrice()
+                + ", maxPrice=" + getMaxPrice() + ", averagePrice=" + getAveragePrice() + "}";
+    }
+}
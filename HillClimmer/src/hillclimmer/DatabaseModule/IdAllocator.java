@@ -0,0 +1,173 @@
+/*
+ * IdAllocator class for generating entity IDs
+ */
+package hillclimmer.DatabaseModule;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Central ID allocation service. Each data file has its own set of named
+ * sequences (e.g. "C" for customers, "MB"/"DB"/... per vehicle type), each an
+ * AtomicLong seeded once from the existing rows, so issuing an ID is a single
+ * lock-free increment and two threads can never receive the same number.
+ *
+ * Sequences are persisted with a hi/lo scheme: a block of IDs is reserved at a
+ * time and only the end of each block is written to id_sequences.properties
+ * in the data directory. On restart a sequence resumes after the larger of the
+ * highest stored row and the persisted mark, so an ID issued before the restart
+ * is never issued again, even if its row was deleted (a restart skips the
+ * unused rest of the last block).
+ *
+ * Timestamp-style IDs (payments) come from a shared monotonic clock instead.
+ *
+ * @author las
+ */
+public final class IdAllocator {
+    private static final String SEQUENCE_FILE = "id_sequences.properties";
+    private static final int DEFAULT_BLOCK_SIZE = 32;
+
+    private static final ConcurrentHashMap<String, IdAllocator> allocators = new ConcurrentHashMap<>();
+    private static final AtomicLong lastTimestamp = new AtomicLong();
+    private static final Object persistLock = new Object();
+
+    private final File sequenceFile;
+    private final String keyPrefix;
+    private final int blockSize;
+    private final ConcurrentHashMap<String, Sequence> sequences = new ConcurrentHashMap<>();
+
+    private static final class Sequence {
+        private final AtomicLong last;
+        private volatile long reservedThrough;
+
+        private Sequence(long seed) {
+            this.last = new AtomicLong(seed);
+            this.reservedThrough = seed;
+        }
+    }
+
+    private IdAllocator(File dataFile) {
+        this.sequenceFile = new File(dataFile.getParentFile(), SEQUENCE_FILE);
+        this.keyPrefix = dataFile.getName() + ".";
+        this.blockSize = Math.max(1, Integer.getInteger("hillclimmer.ids.blockSize", DEFAULT_BLOCK_SIZE));
+    }
+
+    /**
+     * The allocator shared by every DAO instance on the given data file
+     */
+    public static IdAllocator forFile(String dataFilePath) {
+        File dataFile = new File(dataFilePath).getAbsoluteFile();
+        return allocators.computeIfAbsent(dataFile.getPath(), path -> new IdAllocator(dataFile));
+    }
+
+    /**
+     * Issue the next number in a sequence.
+     * @param seed highest number already in use, consulted only the first time the sequence is used
+     */
+    public long next(String sequence, LongSupplier seed) {
+        Sequence seq = sequenceFor(sequence, seed);
+        long id = seq.last.incrementAndGet();
+        if (id > seq.reservedThrough) {
+            reserve(sequence, seq, id);
+        }
+        return id;
+    }
+
+    /**
+     * Record a number assigned outside the allocator so it is never issued again
+     */
+    public void observe(String sequence, long id, LongSupplier seed) {
+        Sequence seq = sequenceFor(sequence, seed);
+        long current;
+        while ((current = seq.last.get()) < id) {
+            if (seq.last.compareAndSet(current, id)) {
+                if (id > seq.reservedThrough) {
+                    reserve(sequence, seq, id);
+                }
+                return;
+            }
+        }
+    }
+
+    /**
+     * Timestamp-based ID in the existing "P1700000000000" style, strictly increasing
+     * across threads so two payments created in the same millisecond never collide
+     */
+    public static String nextTimestampId(String prefix) {
+        while (true) {
+            long last = lastTimestamp.get();
+            long next = Math.max(System.currentTimeMillis(), last + 1);
+            if (lastTimestamp.compareAndSet(last, next)) {
+                return prefix + next;
+            }
+        }
+    }
+
+    private Sequence sequenceFor(String sequence, LongSupplier seed) {
+        Sequence seq = sequences.get(sequence);
+        if (seq != null) {
+            return seq;
+        }
+        return sequences.computeIfAbsent(sequence,
+                name -> new Sequence(Math.max(seed.getAsLong(), readMark(keyPrefix + name))));
+    }
+
+    // Rare path: reserve a new block starting at id and persist its last ID before handing any of it out
+    private void reserve(String sequence, Sequence seq, long id) {
+        synchronized (seq) {
+            if (id <= seq.reservedThrough) {
+                return;
+            }
+            long reservedThrough = id + blockSize - 1;
+            writeMark(keyPrefix + sequence, reservedThrough);
+            seq.reservedThrough = reservedThrough;
+        }
+    }
+
+    private long readMark(String key) {
+        synchronized (persistLock) {
+            String value = load().getProperty(key);
+            if (value == null) {
+                return 0;
+            }
+            try {
+                return Long.parseLong(value.trim());
+            } catch (NumberFormatException e) {
+                System.err.println("Warning: Ignoring invalid ID sequence mark " + key + "=" + value);
+                return 0;
+            }
+        }
+    }
+
+    private void writeMark(String key, long id) {
+        synchronized (persistLock) {
+            Properties marks = load();
+            marks.setProperty(key, String.valueOf(id));
+            try (OutputStream out = new FileOutputStream(sequenceFile)) {
+                marks.store(out, "Last reserved ID per sequence");
+            } catch (IOException e) {
+                System.err.println("Warning: Could not persist ID sequences: " + e.getMessage());
+            }
+        }
+    }
+
+    private Properties load() {
+        Properties marks = new Properties();
+        if (sequenceFile.exists()) {
+            try (InputStream in = new FileInputStream(sequenceFile)) {
+                marks.load(in);
+            } catch (IOException e) {
+                System.err.println("Warning: Could not read ID sequences: " + e.getMessage());
+            }
+        }
+        return marks;
+    }
+}
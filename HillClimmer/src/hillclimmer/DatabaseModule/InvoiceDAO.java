@@ -33,15 +33,15 @@ public class InvoiceDAO extends DataAccessObject<Invoice> {
 
     @Override
     protected Invoice csvToObject(String csvLine) {
-        String[] parts = csvLine.split(",");
-        if (parts.length >= 7) {
-            String invoiceID = parts[0];
-            String vehicleID = parts[1];
-            String customerID = parts[2];
-            String issueDate = parts[3];
-            String dueDate = parts[4];
-            String itemListStr = parts[5];
-            double discount = Double.parseDouble(parts[6]);
+        CsvTokenizer fields = CsvTokenizer.forCurrentThread().tokenize(csvLine);
+        if (fields.fieldCount() >= 7) {
+            String invoiceID = fields.field(0);
+            String vehicleID = fields.field(1);
+            String customerID = fields.field(2);
+            String issueDate = fields.field(3);
+            String dueDate = fields.field(4);
+            String itemListStr = fields.field(5);
+            double discount = fields.parseDouble(6);
 
             Invoice invoice = new Invoice(invoiceID, vehicleID, customerID, issueDate, dueDate);
             if (!itemListStr.isEmpty()) {
@@ -66,20 +66,16 @@ public class InvoiceDAO extends DataAccessObject<Invoice> {
     
     @Override
     protected Invoice generateNewId(Invoice invoice, java.util.List<Invoice> existingInvoices) {
-        // Generate new invoice ID based on existing invoices
-        int maxId = existingInvoices.stream()
-                .mapToInt(i -> {
-                    try {
-                        return Integer.parseInt(i.getInvoiceID().substring(1));
-                    } catch (NumberFormatException e) {
-                        return 0;
-                    }
-                })
-                .max()
-                .orElse(0);
-        
+        // Next invoice ID from the allocator, seeded once from existing invoices
+        String newInvoiceId = nextId("I", existingInvoices, i -> {
+            try {
+                return Integer.parseInt(i.getInvoiceID().substring(1));
+            } catch (NumberFormatException e) {
+                return 0;
+            }
+        }, n -> "I" + String.format("%03d", n));
+
         // Create new invoice with generated ID
-        String newInvoiceId = "I" + String.format("%03d", maxId + 1);
         Invoice newInvoice = new Invoice(newInvoiceId, invoice.getVehicleID(), invoice.getCustomerID(),
                                        invoice.getIssueDate(), invoice.getDueDate());
         
@@ -0,0 +1,63 @@
+/*
+ * KeyedCounters class for per-category counts in running aggregates
+ */
+package hillclimmer.DatabaseModule;
+
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * One counter per category (a payment status, a vehicle type, a price in cents),
+ * moved up and down as entities are filed and unfiled. A category whose count
+ * drops to zero is removed, so the keys are exactly the categories present and
+ * the lowest and highest of them can be read directly.
+ * The building block of PaymentMetrics and FleetStatistics.
+ *
+ * @author las
+ */
+final class KeyedCounters<K extends Comparable<K>> {
+    private final NavigableMap<K, LongAdder> counters = new ConcurrentSkipListMap<>();
+
+    void adjust(K key, long delta) {
+        LongAdder counter = counters.computeIfAbsent(key, k -> new LongAdder());
+        counter.add(delta);
+        if (counter.sum() <= 0) {
+            counters.remove(key);
+        }
+    }
+
+    long get(K key) {
+        LongAdder counter = counters.get(key);
+        return counter != null ? counter.sum() : 0;
+    }
+
+    boolean isEmpty() {
+        return counters.isEmpty();
+    }
+
+    K lowestKey() {
+        return counters.firstKey();
+    }
+
+    K highestKey() {
+        return counters.lastKey();
+    }
+
+    void addAll(KeyedCounters<K> other) {
+        other.counters.forEach((key, counter) -> adjust(key, counter.sum()));
+    }
+
+    void clear() {
+        counters.clear();
+    }
+
+    // Counts in key order, as a plain map callers may keep
+    Map<K, Long> sums() {
+        Map<K, Long> result = new TreeMap<>();
+        counters.forEach((key, counter) -> result.put(key, counter.sum()));
+        return result;
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * LockStats class for DAO lock contention statistics
+ */
+package hillclimmer.DatabaseModule;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contention statistics for one data file's read/write lock: how often each
+ * mode was taken, how long callers waited to get it and how long they held it.
+ * Only outermost acquisitions are counted, so reentrant calls are not double-counted.
+ *
+ * @author las
+ */
+public class LockStats {
+    private final LongAdder readAcquisitions = new LongAdder();
+    private final LongAdder readWaitNanos = new LongAdder();
+    private final LongAdder readHoldNanos = new LongAdder();
+    private final LongAdder writeAcquisitions = new LongAdder();
+    private final LongAdder writeWaitNanos = new LongAdder();
+    private final LongAdder writeHoldNanos = new LongAdder();
+
+    void recordReadWait(long waitNanos) {
+        readAcquisitions.increment();
+        readWaitNanos.add(waitNanos);
+    }
+
+    void recordReadHold(long holdNanos) {
+        readHoldNanos.add(holdNanos);
+    }
+
+    void recordWriteWait(long waitNanos) {
+        writeAcquisitions.increment();
+        writeWaitNanos.add(waitNanos);
+    }
+
+    void recordWriteHold(long holdNanos) {
+        writeHoldNanos.add(holdNanos);
+    }
+
+    public long getReadAcquisitions() {
+        return readAcquisitions.sum();
+    }
+
+    public long getReadWaitNanos() {
+        return readWaitNanos.sum();
+    }
+
+    public long getReadHoldNanos() {
+        return readHoldNanos.sum();
+    }
+
+    public long getWriteAcquisitions() {
+        return writeAcquisitions.sum();
+    }
+
+    public long getWriteWaitNanos() {
+        return writeWaitNanos.sum();
+    }
+
+    public long getWriteHoldNanos() {
+        return writeHoldNanos.sum();
+    }
+
+    public void reset() {
+        readAcquisitions.reset();
+        readWaitNanos.reset();
+        readHoldNanos.reset();
+        writeAcquisitions.reset();
+        writeWaitNanos.reset();
+        writeHoldNanos.reset();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("LockStats{reads=%d, readWait=%.3fms, readHold=%.3fms, writes=%d, writeWait=%.3fms, writeHold=%.3fms}",
+                getReadAcquisitions(), getReadWaitNanos() / 1e6, getReadHoldNanos() / 1e6,
+                getWriteAcquisitions(), getWriteWaitNanos() / 1e6, getWriteHoldNanos() / 1e6);
+    }
+}
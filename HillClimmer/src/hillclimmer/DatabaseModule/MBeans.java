@@ -0,0 +1,55 @@
+/*
+ * MBeans class for publishing runtime statistics over JMX
+ */
+package hillclimmer.DatabaseModule;
+
+import java.lang.management.ManagementFactory;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
+
+/**
+ * Registers DAOs and managers with the platform MBean server under the
+ * "hillclimmer" domain, so JConsole or VisualVM can watch a running instance.
+ * A bean registered under a name already in use replaces the old one (e.g. when
+ * DaoRegistry hands out fresh DAOs for a new data directory). Registration
+ * failures are reported and otherwise ignored; monitoring never stops the app.
+ *
+ * @author las
+ */
+public final class MBeans {
+    public static final String DOMAIN = "hillclimmer";
+
+    private MBeans() {
+    }
+
+    /**
+     * Register bean as an MXBean named hillclimmer:type=&lt;type&gt;[,name=&lt;name&gt;]
+     * @return the bean, for use in initialisers
+     */
+    public static <I, B extends I> B register(String type, String name, B bean, Class<I> mxbeanInterface) {
+        try {
+            ObjectName objectName = objectName(type, name);
+            MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            synchronized (MBeans.class) {
+                if (server.isRegistered(objectName)) {
+                    server.unregisterMBean(objectName);
+                }
+                server.registerMBean(new StandardMBean(bean, mxbeanInterface, true), objectName);
+            }
+        } catch (JMException | RuntimeException e) {
+            System.err.println("Warning: Could not register MBean " + type + " " + name + ": " + e.getMessage());
+        }
+        return bean;
+    }
+
+    public static ObjectName objectName(String type, String name) throws JMException {
+        return new ObjectName(DOMAIN + ":type=" + value(type) + (name != null ? ",name=" + value(name) : ""));
+    }
+
+    // Plain names stay readable in JConsole; anything else is quoted
+    private static String value(String value) {
+        return value.matches("[\\w.\\- ]+") ? value : ObjectName.quote(value);
+    }
+}
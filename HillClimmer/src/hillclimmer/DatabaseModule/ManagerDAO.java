@@ -18,7 +18,7 @@ public class ManagerDAO extends DataAccessObject<Manager> {
     @Override
     protected String objectToCSV(Manager manager) {
         return manager.getManagerID() + "," +
-               manager.getName() + "," +
+               CsvTokenizer.escape(manager.getName()) + "," +
                "\"" + (manager.getHashedPassword() != null ? manager.getHashedPassword() : "") + "\"" + "," +
                "\"" + (manager.getSalt() != null ? manager.getSalt() : "") + "\"" + "," +
                manager.getAuthorizationLevel();
@@ -27,13 +27,13 @@ public class ManagerDAO extends DataAccessObject<Manager> {
     @Override
     protected Manager csvToObject(String csvLine) {
         try {
-            String[] parts = parseCSVLine(csvLine);
-            if (parts.length >= 5) {
-                String managerID = parts[0];
-                String name = parts[1];
-                String hashedPassword = parts[2];
-                String salt = parts[3];
-                int authorizationLevel = Integer.parseInt(parts[4].trim());
+            CsvTokenizer fields = CsvTokenizer.forCurrentThread().tokenize(csvLine);
+            if (fields.fieldCount() >= 5) {
+                String managerID = fields.field(0).trim();
+                String name = fields.field(1).trim();
+                String hashedPassword = fields.field(2).trim();
+                String salt = fields.field(3).trim();
+                int authorizationLevel = fields.parseInt(4);
 
                 Manager manager = new Manager(managerID, name, authorizationLevel);
                 manager.setHashedPassword(hashedPassword);
@@ -47,33 +47,6 @@ public class ManagerDAO extends DataAccessObject<Manager> {
         return null;
     }
 
-    /**
-     * Parse CSV line handling quoted fields that may contain commas
-     */
-    private String[] parseCSVLine(String line) {
-        java.util.List<String> parts = new java.util.ArrayList<>();
-        boolean inQuotes = false;
-        StringBuilder current = new StringBuilder();
-
-        for (int i = 0; i < line.length(); i++) {
-            char c = line.charAt(i);
-
-            if (c == '"') {
-                inQuotes = !inQuotes;
-            } else if (c == ',' && !inQuotes) {
-                parts.add(current.toString().trim());
-                current = new StringBuilder();
-            } else {
-                current.append(c);
-            }
-        }
-
-        // Add the last part
-        parts.add(current.toString().trim());
-
-        return parts.toArray(new String[0]);
-    }
-
     @Override
     protected String getId(Manager manager) {
         return manager.getManagerID();
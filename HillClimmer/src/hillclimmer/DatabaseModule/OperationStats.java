@@ -0,0 +1,85 @@
+/*
+ * OperationStats class for per-operation call counts and latencies
+ */
+package hillclimmer.DatabaseModule;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongFunction;
+
+/**
+ * Call count, cumulative latency and worst-case latency per named operation
+ * (e.g. "load", "save"). Recording is lock-free, so it can sit on every DAO and
+ * manager call; the maps returned by the getters are snapshots in operation order.
+ *
+ * @author las
+ */
+public class OperationStats {
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+
+    private static final class Counter {
+        final LongAdder count = new LongAdder();
+        final LongAdder totalNanos = new LongAdder();
+        final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+    }
+
+    /**
+     * Record one call of the operation that started at startNanos (a System.nanoTime() value)
+     */
+    public void record(String operation, long startNanos) {
+        long elapsed = System.nanoTime() - startNanos;
+        Counter counter = counters.computeIfAbsent(operation, k -> new Counter());
+        counter.count.increment();
+        counter.totalNanos.add(elapsed);
+        counter.maxNanos.accumulate(elapsed);
+    }
+
+    public long getCount(String operation) {
+        Counter counter = counters.get(operation);
+        return counter != null ? counter.count.sum() : 0;
+    }
+
+    public long getTotalCount() {
+        long total = 0;
+        for (Counter counter : counters.values()) {
+            total += counter.count.sum();
+        }
+        return total;
+    }
+
+    public Map<String, Long> getCounts() {
+        return snapshot(counter -> counter.count.sum());
+    }
+
+    public Map<String, Double> getTotalMillis() {
+        return millis(snapshot(counter -> counter.totalNanos.sum()));
+    }
+
+    public Map<String, Double> getMaxMillis() {
+        return millis(snapshot(counter -> counter.maxNanos.get()));
+    }
+
+    public void reset() {
+        counters.clear();
+    }
+
+    private Map<String, Long> snapshot(ToLongFunction<Counter> value) {
+        Map<String, Long> result = new TreeMap<>();
+        counters.forEach((operation, counter) -> result.put(operation, value.applyAsLong(counter)));
+        return result;
+    }
+
+    private static Map<String, Double> millis(Map<String, Long> nanos) {
+        Map<String, Double> result = new TreeMap<>();
+        nanos.forEach((operation, value) -> result.put(operation, value / 1e6));
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "OperationStats{counts=" + getCounts() + ", totalMillis=" + getTotalMillis() + "}";
+    }
+}
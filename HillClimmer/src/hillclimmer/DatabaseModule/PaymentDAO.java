@@ -5,15 +5,42 @@
 package hillclimmer.DatabaseModule;
 
 import hillclimmer.PaymentModule.Payment;
-import hillclimmer.PaymentModule.CashPayment;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * PaymentDAO class extending DataAccessObject for Payment data management.
+ * Keeps indexes over the entity cache: reference number -> payment (unique),
+ * customer ID -> payments, and a time-ordered index on the payment timestamp,
+ * so reference lookups are O(1), customer history costs O(result size) and
+ * date-range queries are a range scan. Running counts and revenue are kept in
+ * a PaymentMetrics alongside the indexes, so summaries never scan the table.
  *
  * @author las
  */
 public class PaymentDAO extends DataAccessObject<Payment> {
+    // Timestamps are written as "dd/MM/yyyy HH:mm" (older rows: "dd/MM/yyyy")
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+    // Secondary indexes: key -> IDs of payments filed under that key
+    private final Map<String, String> paymentsByReference = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> paymentsByCustomer = new ConcurrentHashMap<>();
+    private final NavigableMap<LocalDateTime, Set<String>> paymentsByTime = new ConcurrentSkipListMap<>();
+    private final PaymentIndexes indexes = new PaymentIndexes();
+    private final PaymentMetrics metrics = new PaymentMetrics();
 
     public PaymentDAO() {
         super(System.getProperty("user.dir") + "/data/payments.csv");
@@ -28,37 +55,32 @@ public class PaymentDAO extends DataAccessObject<Payment> {
                payment.getTimestamp() + "," +
                payment.getCustomerID() + "," +
                payment.getReferenceNumber() + "," +
-               payment.getPaymentSlip().replace("\n", "\\n");
+               CsvTokenizer.escape(payment.getPaymentSlip().replace("\n", "\\n"));
     }
 
     @Override
     protected Payment csvToObject(String csvLine) {
-        String[] parts = csvLine.split(",", -1); // -1 to handle empty fields
-        if (parts.length >= 7) {
-            String paymentID = parts[0];
-            double totalAmount = Double.parseDouble(parts[1]);
-            String paymentMethod = parts[2];
-            String paymentStatus = parts[3];
-            String timestamp = parts[4];
-            String customerID = parts[5];
-            String referenceNumber = parts.length > 6 ? parts[6] : "";
-            String paymentSlip = parts.length > 7 ? parts[7].replace("\\n", "\n") : "";
+        CsvTokenizer fields = CsvTokenizer.forCurrentThread().tokenize(csvLine);
+        if (fields.fieldCount() >= 7) {
+            String paymentID = fields.field(0);
+            double totalAmount = fields.parseDouble(1);
+            String paymentMethod = fields.field(2);
+            String paymentStatus = fields.field(3);
+            String timestamp = fields.field(4);
+            String customerID = fields.field(5);
+            String referenceNumber = fields.field(6);
+            // Older rows wrote the slip unquoted, so it runs to the end of the line
+            String paymentSlip = fields.fieldCount() > 7 ? fields.rest(7).replace("\\n", "\n") : "";
 
             // Create appropriate payment type
             Payment payment = Payment.createPayment(paymentMethod, paymentID, totalAmount, timestamp, customerID);
             payment.updateStatus(paymentStatus);
 
-            // Restore additional fields if they exist
+            // Restore the stored reference and slip instead of the freshly generated ones
             if (!referenceNumber.isEmpty()) {
-                // Note: We can't directly set private fields, but the payment slip is restored
-                // The reference number is generated in constructor, so we keep the original
-            }
-            if (!paymentSlip.isEmpty()) {
-                // For cash payments, we need to restore the payment slip
-                if (payment instanceof CashPayment) {
-                    // The payment slip will be regenerated when needed
-                }
+                payment.setReferenceNumber(referenceNumber);
             }
+            payment.setPaymentSlip(paymentSlip);
 
             return payment;
         }
@@ -72,24 +94,42 @@ public class PaymentDAO extends DataAccessObject<Payment> {
     
     @Override
     protected Payment generateNewId(Payment payment, java.util.List<Payment> existingPayments) {
-        // Generate new payment ID using timestamp to ensure uniqueness
-        String newPaymentId = "P" + System.currentTimeMillis();
+        // Generate new payment ID from the monotonic timestamp clock to ensure uniqueness
+        String newPaymentId = IdAllocator.nextTimestampId("P");
         
-        // Create new payment with generated ID based on type
-        return Payment.createPayment(payment.getPaymentMethod(), newPaymentId, 
-                                   payment.getTotalAmount(), payment.getTimestamp(), 
+        // Create new payment with generated ID based on type, keeping its reference and slip
+        Payment newPayment = Payment.createPayment(payment.getPaymentMethod(), newPaymentId,
+                                   payment.getTotalAmount(), payment.getTimestamp(),
                                    payment.getCustomerID());
+        newPayment.updateStatus(payment.getPaymentStatus());
+        newPayment.setReferenceNumber(payment.getReferenceNumber());
+        newPayment.setPaymentSlip(payment.getPaymentSlip());
+        return newPayment;
     }
 
     // Additional methods
     public double getTotalEarnings() {
-        double total = 0;
-        for (Payment p : loadAll()) {
-            if ("Paid".equals(p.getPaymentStatus())) {
-                total += p.getTotalAmount();
+        return getMetrics().getRevenue();
+    }
+
+    /**
+     * Counts per status and method and Paid revenue, as of the last completed write.
+     * Served from the running aggregates when the cache is enabled; otherwise
+     * computed with one pass over the file.
+     * @return a snapshot that later writes do not change
+     */
+    public PaymentMetrics getMetrics() {
+        long stamp = beginRead();
+        try {
+            if (isCacheEnabled()) {
+                return metrics.copy();
             }
+            try (Stream<Payment> payments = stream()) {
+                return PaymentMetrics.of(payments::iterator);
+            }
+        } finally {
+            endRead(stamp);
         }
-        return total;
     }
 
     /**
@@ -102,55 +142,184 @@ public class PaymentDAO extends DataAccessObject<Payment> {
             return null;
         }
 
-        List<Payment> payments = loadAll();
-        for (Payment payment : payments) {
-            if (referenceNumber.equals(payment.getReferenceNumber())) {
-                return payment;
+        long stamp = beginRead();
+        try {
+            if (isCacheEnabled()) {
+                String paymentId = paymentsByReference.get(referenceNumber);
+                return paymentId != null ? getCached(paymentId) : null;
+            }
+            try (Stream<Payment> payments = stream()) {
+                return payments.filter(p -> referenceNumber.equals(p.getReferenceNumber()))
+                        .findFirst()
+                        .orElse(null);
             }
+        } finally {
+            endRead(stamp);
         }
+    }
 
-        // If not found with exact match, try a more robust search
-        // This handles cases where CSV parsing might be affected by embedded commas in payment slips
-        return searchByReferenceInRawData(referenceNumber);
+    /**
+     * Payment history of one customer, in payment ID order
+     */
+    public List<Payment> getByCustomerId(String customerID) {
+        long stamp = beginRead();
+        try {
+            if (isCacheEnabled()) {
+                return resolve(paymentsByCustomer.get(customerID));
+            }
+            return loadAll().stream()
+                    .filter(p -> customerID.equals(p.getCustomerID()))
+                    .collect(Collectors.toList());
+        } finally {
+            endRead(stamp);
+        }
     }
 
     /**
-     * Fallback search method that searches raw CSV data for reference numbers
-     * This handles cases where payment slips contain commas that break normal CSV parsing
+     * Payments made between two dates (inclusive), oldest first.
+     * Payments whose timestamp cannot be parsed are not included.
      */
-    private Payment searchByReferenceInRawData(String referenceNumber) {
+    public List<Payment> getByDateRange(LocalDate startDate, LocalDate endDate) {
+        LocalDateTime from = startDate.atStartOfDay();
+        LocalDateTime to = endDate.plusDays(1).atStartOfDay();
+        long stamp = beginRead();
         try {
-            List<String> lines = java.nio.file.Files.readAllLines(
-                java.nio.file.Paths.get(System.getProperty("user.dir") + "/data/payments.csv"));
-
-            for (String line : lines) {
-                if (line.contains(referenceNumber)) {
-                    // Found a line containing the reference number
-                    // Parse it more carefully, assuming the reference number is in the expected position
-                    String[] parts = line.split(",", 8); // Split into at most 8 parts
-                    if (parts.length >= 7) {
-                        String paymentID = parts[0];
-                        double totalAmount = Double.parseDouble(parts[1]);
-                        String paymentMethod = parts[2];
-                        String paymentStatus = parts[3];
-                        String timestamp = parts[4];
-                        String customerID = parts[5];
-                        String refNum = parts[6];
-
-                        // Check if this is the reference number we're looking for
-                        if (referenceNumber.equals(refNum)) {
-                            Payment payment = Payment.createPayment(paymentMethod, paymentID, totalAmount, timestamp, customerID);
-                            payment.updateStatus(paymentStatus);
-                            return payment;
-                        }
-                    }
+            List<Payment> result = new ArrayList<>();
+            if (isCacheEnabled()) {
+                for (Set<String> paymentIds : paymentsByTime.subMap(from, true, to, false).values()) {
+                    result.addAll(resolve(paymentIds));
                 }
+                return result;
             }
-        } catch (Exception e) {
-            // If file reading fails, return null
+            try (Stream<Payment> payments = stream()) {
+                payments.filter(p -> {
+                    LocalDateTime time = parseTimestamp(p.getTimestamp());
+                    return time != null && !time.isBefore(from) && time.isBefore(to);
+                }).forEach(result::add);
+            }
+            result.sort((a, b) -> {
+                int byTime = parseTimestamp(a.getTimestamp()).compareTo(parseTimestamp(b.getTimestamp()));
+                return byTime != 0 ? byTime : getId(a).compareTo(getId(b));
+            });
+            return result;
+        } finally {
+            endRead(stamp);
+        }
+    }
+
+    /**
+     * Parse a stored payment timestamp ("dd/MM/yyyy HH:mm" or "dd/MM/yyyy")
+     * @return the timestamp, or null if it is in neither format
+     */
+    public static LocalDateTime parseTimestamp(String timestamp) {
+        if (timestamp == null) {
             return null;
         }
+        try {
+            return LocalDateTime.parse(timestamp.trim(), TIMESTAMP_FORMAT);
+        } catch (DateTimeParseException e) {
+            try {
+                return LocalDate.parse(timestamp.trim(), DATE_FORMAT).atStartOfDay();
+            } catch (DateTimeParseException ignored) {
+                return null;
+            }
+        }
+    }
 
-        return null;
+    // Resolve indexed payment IDs to cached payments in file (ID) order
+    private List<Payment> resolve(Set<String> paymentIds) {
+        List<Payment> result = new ArrayList<>();
+        if (paymentIds == null) {
+            return result;
+        }
+        for (String paymentId : paymentIds) {
+            Payment payment = getCached(paymentId);
+            if (payment != null) {
+                result.add(payment);
+            }
+        }
+        result.sort((a, b) -> getId(a).compareTo(getId(b)));
+        return result;
+    }
+
+    @Override
+    protected void onCacheReloaded(Collection<Payment> payments) {
+        indexes.clear();
+        for (Payment payment : payments) {
+            indexes.store(getId(payment), payment);
+        }
+    }
+
+    @Override
+    protected void onCacheStored(Payment payment) {
+        indexes.store(getId(payment), payment);
+    }
+
+    @Override
+    protected void onCacheEvicted(Payment payment) {
+        indexes.evict(getId(payment));
+    }
+
+    // Files payments by reference, customer and time, and counts them in the metrics
+    private final class PaymentIndexes extends CacheIndex<Payment, IndexKeys> {
+        @Override
+        protected IndexKeys snapshot(Payment payment) {
+            return new IndexKeys(payment);
+        }
+
+        @Override
+        protected void file(String paymentId, IndexKeys keys) {
+            metrics.add(keys.status, keys.method, keys.cents);
+            if (keys.referenceNumber != null) {
+                paymentsByReference.put(keys.referenceNumber, paymentId);
+            }
+            if (keys.customerID != null) {
+                addTo(paymentsByCustomer, keys.customerID, paymentId);
+            }
+            if (keys.time != null) {
+                addTo(paymentsByTime, keys.time, paymentId);
+            }
+        }
+
+        @Override
+        protected void unfile(String paymentId, IndexKeys keys) {
+            metrics.remove(keys.status, keys.method, keys.cents);
+            if (keys.referenceNumber != null) {
+                paymentsByReference.remove(keys.referenceNumber, paymentId);
+            }
+            if (keys.customerID != null) {
+                removeFrom(paymentsByCustomer, keys.customerID, paymentId);
+            }
+            if (keys.time != null) {
+                removeFrom(paymentsByTime, keys.time, paymentId);
+            }
+        }
+
+        @Override
+        protected void clearIndexes() {
+            paymentsByReference.clear();
+            paymentsByCustomer.clear();
+            paymentsByTime.clear();
+            metrics.reset();
+        }
+    }
+
+    // Snapshot of the indexed and aggregated fields of a payment at the time it was filed
+    private static final class IndexKeys {
+        private final String referenceNumber;
+        private final String customerID;
+        private final LocalDateTime time;
+        private final String status;
+        private final String method;
+        private final long cents;
+
+        private IndexKeys(Payment payment) {
+            this.referenceNumber = payment.getReferenceNumber();
+            this.customerID = payment.getCustomerID();
+            this.time = parseTimestamp(payment.getTimestamp());
+            this.status = payment.getPaymentStatus();
+            this.method = payment.getPaymentMethod();
+            this.cents = PaymentMetrics.toCents(payment.getTotalAmount());
+        }
     }
 }
@@ -0,0 +1,110 @@
+/*
+ * PaymentMetrics class for running payment aggregates
+ */
+package hillclimmer.DatabaseModule;
+
+import hillclimmer.PaymentModule.Payment;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Running aggregates over the payment table: payment counts per status and per
+ * payment method, and revenue from Paid payments in fixed-point cents so repeated
+ * adds and removes never drift. PaymentDAO adjusts the counters from its cache
+ * hooks on every save, update and delete, and rebuilds them whenever the cache is
+ * reloaded from the payment log, so reading a summary never scans the table.
+ *
+ * @author las
+ */
+public class PaymentMetrics {
+    private final KeyedCounters<String> countsByStatus = new KeyedCounters<>();
+    private final KeyedCounters<String> countsByMethod = new KeyedCounters<>();
+    private final LongAdder paymentCount = new LongAdder();
+    private final LongAdder revenueCents = new LongAdder();
+
+    // Metrics from one pass over the payment file, for PaymentDAO with its cache disabled
+    static PaymentMetrics of(Iterable<Payment> payments) {
+        PaymentMetrics metrics = new PaymentMetrics();
+        for (Payment payment : payments) {
+            metrics.add(payment.getPaymentStatus(), payment.getPaymentMethod(), toCents(payment.getTotalAmount()));
+        }
+        return metrics;
+    }
+
+    void add(String status, String method, long cents) {
+        adjust(status, method, cents, 1);
+    }
+
+    void remove(String status, String method, long cents) {
+        adjust(status, method, cents, -1);
+    }
+
+    void reset() {
+        countsByStatus.clear();
+        countsByMethod.clear();
+        paymentCount.reset();
+        revenueCents.reset();
+    }
+
+    // Detached copy for getMetrics, so a report printed while payments are taken stays self-consistent
+    PaymentMetrics copy() {
+        PaymentMetrics copy = new PaymentMetrics();
+        copy.countsByStatus.addAll(countsByStatus);
+        copy.countsByMethod.addAll(countsByMethod);
+        copy.paymentCount.add(paymentCount.sum());
+        copy.revenueCents.add(revenueCents.sum());
+        return copy;
+    }
+
+    private void adjust(String status, String method, long cents, int delta) {
+        countsByStatus.adjust(status == null ? "" : status, delta);
+        countsByMethod.adjust(method == null ? "" : method, delta);
+        paymentCount.add(delta);
+        if ("Paid".equals(status)) {
+            revenueCents.add(delta * cents);
+        }
+    }
+
+    /**
+     * Amount in whole cents, rounded half up
+     */
+    public static long toCents(double amount) {
+        return Math.round(amount * 100);
+    }
+
+    public long getCount(String status) {
+        return status == null ? 0 : countsByStatus.get(status);
+    }
+
+    public long getCountByMethod(String paymentMethod) {
+        return paymentMethod == null ? 0 : countsByMethod.get(paymentMethod);
+    }
+
+    // Payment counts per status, in status order
+    public Map<String, Long> getCountsByStatus() {
+        return countsByStatus.sums();
+    }
+
+    // Payment counts per method, in method order
+    public Map<String, Long> getCountsByMethod() {
+        return countsByMethod.sums();
+    }
+
+    public long getPaymentCount() {
+        return paymentCount.sum();
+    }
+
+    public long getRevenueCents() {
+        return revenueCents.sum();
+    }
+
+    public double getRevenue() {
+        return revenueCents.sum() / 100.0;
+    }
+
+    @Override
+    public String toString() {
+        return "PaymentMetrics{payments=" + getPaymentCount() + ", byStatus=" + getCountsByStatus()
+                + ", byMethod=" + getCountsByMethod() + ", revenueCents=" + getRevenueCents() + "}";
+    }
+}
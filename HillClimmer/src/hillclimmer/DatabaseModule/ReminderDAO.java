@@ -22,7 +22,7 @@ public class ReminderDAO extends DataAccessObject<Reminder> {
     protected String objectToCSV(Reminder reminder) {
         return reminder.getReminderId() + "," +
                reminder.getReminderType() + "," +
-               reminder.getMessage().replace(",", ";") + "," +
+               CsvTokenizer.escape(reminder.getMessage()) + "," +
                reminder.getDueDate() + "," +
                reminder.getCreatedDate() + "," +
                reminder.getStatus() + "," +
@@ -35,36 +35,38 @@ public class ReminderDAO extends DataAccessObject<Reminder> {
         return String.valueOf(reminder.getReminderId());
     }
     
+    /**
+     * Reserve the next reminder ID for callers that assign IDs before saving
+     */
+    public int generateNextReminderId() {
+        return Integer.parseInt(nextId("R", Reminder::getReminderId, String::valueOf));
+    }
+
     @Override
     protected Reminder generateNewId(Reminder reminder, java.util.List<Reminder> existingReminders) {
-        // Generate new reminder ID based on existing reminders
-        int maxId = existingReminders.stream()
-                .mapToInt(Reminder::getReminderId)
-                .max()
-                .orElse(0);
-        
-        // Create new reminder with generated ID
-        return new Reminder(maxId + 1, reminder.getReminderType(), reminder.getMessage(), 
-                          reminder.getDueDate(), reminder.getAssociatedId(), 
-                          reminder.getPriority());
+        // Next reminder ID from the allocator, seeded once from existing reminders
+        int newId = Integer.parseInt(nextId("R", existingReminders, Reminder::getReminderId, String::valueOf));
+
+        // Same reminder under the generated ID, keeping its creation time and status
+        return Reminder.restore(newId, reminder.getReminderType(), reminder.getMessage(),
+                                reminder.getDueDate(), reminder.getCreatedDate(), reminder.getStatus(),
+                                reminder.getAssociatedId(), reminder.getPriority());
     }
 
     @Override
     protected Reminder csvToObject(String csvLine) {
-        String[] parts = csvLine.split(",");
-        if (parts.length >= 8) {
-            int reminderId = Integer.parseInt(parts[0]);
-            String reminderType = parts[1];
-            String message = parts[2].replace(";", ",");
-            LocalDateTime dueDate = LocalDateTime.parse(parts[3]);
-            // createdDate is set automatically in Reminder constructor
-            String status = parts[5];
-            int associatedId = Integer.parseInt(parts[6]);
-            String priority = parts[7];
+        CsvTokenizer fields = CsvTokenizer.forCurrentThread().tokenize(csvLine);
+        if (fields.fieldCount() >= 8) {
+            int reminderId = fields.parseInt(0);
+            String reminderType = fields.field(1);
+            String message = fields.field(2);
+            LocalDateTime dueDate = LocalDateTime.parse(fields.field(3));
+            LocalDateTime createdDate = LocalDateTime.parse(fields.field(4));
+            String status = fields.field(5);
+            int associatedId = fields.parseInt(6);
+            String priority = fields.field(7);
 
-            Reminder reminder = new Reminder(reminderId, reminderType, message, dueDate, associatedId, priority);
-            reminder.setStatus(status);
-            return reminder;
+            return Reminder.restore(reminderId, reminderType, message, dueDate, createdDate, status, associatedId, priority);
         }
         return null;
     }
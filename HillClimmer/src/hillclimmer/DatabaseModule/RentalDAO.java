@@ -4,16 +4,48 @@
  */
 package hillclimmer.DatabaseModule;
 
+import hillclimmer.RentalModule.AvailabilityEngine;
 import hillclimmer.RentalModule.Rental;
+import java.time.Clock;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
+ * RentalDAO class extending DataAccessObject for Rental data management.
+ * Keeps secondary indexes by customer, vehicle, rental status and payment status
+ * over the entity cache so per-customer and per-vehicle queries cost O(result size),
+ * plus an AvailabilityEngine of booked date ranges per vehicle for conflict checks.
+ * The total cost of Paid rentals is kept as a running sum in cents for reports,
+ * and rentals are bucketed by the next day their status changes so the daily
+ * status sweep only touches rentals starting or ending that day. "Today" for that
+ * bucketing comes from the DAO's clock, which RentalStatusScheduler shares.
  *
  * @author las
  */
 public class RentalDAO extends DataAccessObject<Rental> {
+    // Secondary indexes: key -> IDs of rentals filed under that key
+    private final Map<Integer, Set<String>> rentalsByCustomer = new ConcurrentHashMap<>();
+    private final Map<Integer, Set<String>> rentalsByVehicle = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> rentalsByStatus = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> rentalsByPaymentStatus = new ConcurrentHashMap<>();
+    private final NavigableMap<LocalDate, Set<String>> rentalsByTransition = new ConcurrentSkipListMap<>();
+    private final RentalIndexes indexes = new RentalIndexes();
+    private final AvailabilityEngine availability = new AvailabilityEngine();
+    private final LongAdder paidRevenueCents = new LongAdder();
+    private volatile Clock clock = Clock.systemDefaultZone();
     
     public RentalDAO() {
         super(System.getProperty("user.dir") + "/data/rentals.csv");
@@ -34,16 +66,16 @@ public class RentalDAO extends DataAccessObject<Rental> {
     @Override
     protected Rental csvToObject(String csvLine) {
         try {
-            String[] parts = csvLine.split(",");
-            if (parts.length >= 7) {
-                int rentalId = Integer.parseInt(parts[0]);
-                int customerId = Integer.parseInt(parts[1]);
-                int vehicleId = Integer.parseInt(parts[2]);
-                LocalDate startDate = LocalDate.parse(parts[3]);
-                LocalDate endDate = LocalDate.parse(parts[4]);
-                double totalCost = Double.parseDouble(parts[5]);
-                String paymentStatus = parts.length > 6 ? parts[6] : "Unpaid"; // Default to Unpaid for backward compatibility
-                String status = parts.length > 7 ? parts[7] : "Upcoming"; // Default to Upcoming for backward compatibility
+            CsvTokenizer fields = CsvTokenizer.forCurrentThread().tokenize(csvLine);
+            if (fields.fieldCount() >= 7) {
+                int rentalId = fields.parseInt(0);
+                int customerId = fields.parseInt(1);
+                int vehicleId = fields.parseInt(2);
+                LocalDate startDate = fields.parseDate(3);
+                LocalDate endDate = fields.parseDate(4);
+                double totalCost = fields.parseDouble(5);
+                String paymentStatus = fields.field(6);
+                String status = fields.fieldCount() > 7 ? fields.field(7) : "Upcoming"; // Default to Upcoming for backward compatibility
                 
                 Rental rental = new Rental(rentalId, customerId, vehicleId, startDate, endDate, totalCost);
                 rental.setPaymentStatus(paymentStatus);
@@ -70,39 +102,397 @@ public class RentalDAO extends DataAccessObject<Rental> {
     }
     
     public List<Rental> getByCustomerId(int customerId) {
-        return loadAll().stream()
-                .filter(rental -> rental.getCustomerId() == customerId)
-                .collect(Collectors.toList());
+        long stamp = beginRead();
+        try {
+            if (isCacheEnabled()) {
+                return resolve(rentalsByCustomer.get(customerId), null);
+            }
+            return loadAll().stream()
+                    .filter(rental -> rental.getCustomerId() == customerId)
+                    .collect(Collectors.toList());
+        } finally {
+            endRead(stamp);
+        }
     }
-    
+
     public List<Rental> getByVehicleId(int vehicleId) {
-        return loadAll().stream()
-                .filter(rental -> rental.getVehicleId() == vehicleId)
-                .collect(Collectors.toList());
+        long stamp = beginRead();
+        try {
+            if (isCacheEnabled()) {
+                return resolve(rentalsByVehicle.get(vehicleId), null);
+            }
+            return loadAll().stream()
+                    .filter(rental -> rental.getVehicleId() == vehicleId)
+                    .collect(Collectors.toList());
+        } finally {
+            endRead(stamp);
+        }
     }
-    
+
+    public List<Rental> getByStatus(String status) {
+        long stamp = beginRead();
+        try {
+            if (isCacheEnabled()) {
+                return resolve(rentalsByStatus.get(status), null);
+            }
+            return loadAll().stream()
+                    .filter(rental -> status.equals(rental.getStatus()))
+                    .collect(Collectors.toList());
+        } finally {
+            endRead(stamp);
+        }
+    }
+
+    public List<Rental> getByPaymentStatus(String paymentStatus) {
+        long stamp = beginRead();
+        try {
+            if (isCacheEnabled()) {
+                return resolve(rentalsByPaymentStatus.get(paymentStatus), null);
+            }
+            return loadAll().stream()
+                    .filter(rental -> paymentStatus.equals(rental.getPaymentStatus()))
+                    .collect(Collectors.toList());
+        } finally {
+            endRead(stamp);
+        }
+    }
+
+    /**
+     * Number of rentals whose payment status is Paid
+     */
+    public long countPaidRentals() {
+        long stamp = beginRead();
+        try {
+            if (isCacheEnabled()) {
+                Set<String> paid = rentalsByPaymentStatus.get("Paid");
+                return paid != null ? paid.size() : 0;
+            }
+            try (Stream<Rental> rentals = stream()) {
+                return rentals.filter(rental -> "Paid".equals(rental.getPaymentStatus())).count();
+            }
+        } finally {
+            endRead(stamp);
+        }
+    }
+
+    /**
+     * Total cost of all rentals whose payment status is Paid
+     */
+    public double getPaidRevenue() {
+        long stamp = beginRead();
+        try {
+            if (isCacheEnabled()) {
+                return paidRevenueCents.sum() / 100.0;
+            }
+            try (Stream<Rental> rentals = stream()) {
+                return rentals.filter(rental -> "Paid".equals(rental.getPaymentStatus()))
+                        .mapToLong(rental -> Math.round(rental.getTotalCost() * 100))
+                        .sum() / 100.0;
+            }
+        } finally {
+            endRead(stamp);
+        }
+    }
+
+    /**
+     * Rentals whose stored status is out of date on the given day, i.e. whose
+     * next status change falls on or before it. With the cache enabled this reads
+     * only the due date buckets; otherwise every rental is checked.
+     */
+    public List<Rental> getDueForStatusChange(LocalDate today) {
+        long stamp = beginRead();
+        try {
+            if (isCacheEnabled()) {
+                Set<String> due = new HashSet<>();
+                for (Set<String> rentalIds : rentalsByTransition.headMap(today, true).values()) {
+                    due.addAll(rentalIds);
+                }
+                return resolve(due, null);
+            }
+            try (Stream<Rental> rentals = stream()) {
+                return rentals.filter(rental -> {
+                    LocalDate change = rental.nextStatusChange(today);
+                    return change != null && !change.isAfter(today);
+                }).sorted((a, b) -> getId(a).compareTo(getId(b))).collect(Collectors.toList());
+            }
+        } finally {
+            endRead(stamp);
+        }
+    }
+
+    public Clock getClock() {
+        return clock;
+    }
+
+    /**
+     * Sets the clock that decides "today" when rentals are bucketed by their next
+     * status change. The cache is dropped so every rental is re-bucketed against it.
+     */
+    public void setClock(Clock clock) {
+        if (clock == null) {
+            throw new IllegalArgumentException("Clock cannot be null");
+        }
+        if (!clock.equals(this.clock)) {
+            this.clock = clock;
+            invalidateCache();
+        }
+    }
+
+    /**
+     * Earliest day on which some rental's status changes, or null if none will
+     */
+    public LocalDate getNextStatusChange() {
+        long stamp = beginRead();
+        try {
+            if (isCacheEnabled()) {
+                return rentalsByTransition.isEmpty() ? null : rentalsByTransition.firstKey();
+            }
+            LocalDate today = LocalDate.now(clock);
+            try (Stream<Rental> rentals = stream()) {
+                return rentals.map(rental -> rental.nextStatusChange(today))
+                        .filter(Objects::nonNull)
+                        .min(LocalDate::compareTo)
+                        .orElse(null);
+            }
+        } finally {
+            endRead(stamp);
+        }
+    }
+
     public List<Rental> getActiveRentalsByCustomerId(int customerId) {
-        return loadAll().stream()
-                .filter(rental -> rental.getCustomerId() == customerId && "Active".equals(rental.getStatus()))
-                .collect(Collectors.toList());
+        long stamp = beginRead();
+        try {
+            if (isCacheEnabled()) {
+                return resolve(rentalsByCustomer.get(customerId), "Active");
+            }
+            return loadAll().stream()
+                    .filter(rental -> rental.getCustomerId() == customerId && "Active".equals(rental.getStatus()))
+                    .collect(Collectors.toList());
+        } finally {
+            endRead(stamp);
+        }
     }
-    
+
     public List<Rental> getActiveRentals() {
-        return loadAll().stream()
-                .filter(rental -> "Active".equals(rental.getStatus()))
-                .collect(Collectors.toList());
+        return getByStatus("Active");
     }
-    
+
+    /**
+     * Checks whether a vehicle has no non-cancelled rental overlapping the given dates (inclusive)
+     */
+    public boolean isVehicleAvailable(int vehicleId, LocalDate startDate, LocalDate endDate) {
+        long stamp = beginRead();
+        try {
+            if (isCacheEnabled()) {
+                return availability.isAvailable(vehicleId, startDate, endDate);
+            }
+            return getConflictingRentals(vehicleId, startDate, endDate).isEmpty();
+        } finally {
+            endRead(stamp);
+        }
+    }
+
+    /**
+     * Gets the non-cancelled rentals of a vehicle overlapping the given dates, ordered by start date
+     */
+    public List<Rental> getConflictingRentals(int vehicleId, LocalDate startDate, LocalDate endDate) {
+        long stamp = beginRead();
+        try {
+            if (isCacheEnabled()) {
+                List<Rental> conflicts = new ArrayList<>();
+                for (String rentalId : availability.findConflicts(vehicleId, startDate, endDate)) {
+                    Rental rental = getCached(rentalId);
+                    if (rental != null) {
+                        conflicts.add(rental);
+                    }
+                }
+                return conflicts;
+            }
+            return loadAll().stream()
+                    .filter(rental -> rental.getVehicleId() == vehicleId && AvailabilityEngine.holdsBooking(rental))
+                    .filter(rental -> !startDate.isAfter(rental.getEndDate()) && !endDate.isBefore(rental.getStartDate()))
+                    .sorted((a, b) -> a.getStartDate().compareTo(b.getStartDate()))
+                    .collect(Collectors.toList());
+        } finally {
+            endRead(stamp);
+        }
+    }
+
+    /**
+     * Filters vehicle IDs down to those with no non-cancelled rental overlapping the given dates.
+     * Uses the per-vehicle day-occupancy bitmaps, so each candidate costs one BitSet intersection.
+     */
+    public Set<Integer> filterAvailableVehicles(Collection<Integer> vehicleIds, LocalDate startDate, LocalDate endDate) {
+        Set<Integer> available = new HashSet<>();
+        long stamp = beginRead();
+        try {
+            if (isCacheEnabled()) {
+                if (availability.isTracked(startDate)) {
+                    BitSet dayMask = availability.dayMask(startDate, endDate);
+                    for (Integer vehicleId : vehicleIds) {
+                        if (availability.isFree(vehicleId, dayMask)) {
+                            available.add(vehicleId);
+                        }
+                    }
+                } else {
+                    for (Integer vehicleId : vehicleIds) {
+                        if (availability.isAvailable(vehicleId, startDate, endDate)) {
+                            available.add(vehicleId);
+                        }
+                    }
+                }
+                return available;
+            }
+            Set<Integer> booked;
+            try (Stream<Rental> rentals = stream()) {
+                booked = rentals.filter(AvailabilityEngine::holdsBooking)
+                        .filter(rental -> !startDate.isAfter(rental.getEndDate()) && !endDate.isBefore(rental.getStartDate()))
+                        .map(Rental::getVehicleId)
+                        .collect(Collectors.toSet());
+            }
+            for (Integer vehicleId : vehicleIds) {
+                if (!booked.contains(vehicleId)) {
+                    available.add(vehicleId);
+                }
+            }
+            return available;
+        } finally {
+            endRead(stamp);
+        }
+    }
+
+    // Resolve indexed rental IDs to cached rentals in file (ID) order, optionally filtered by status
+    private List<Rental> resolve(Set<String> rentalIds, String status) {
+        List<Rental> result = new ArrayList<>();
+        if (rentalIds == null) {
+            return result;
+        }
+        for (String rentalId : rentalIds) {
+            Rental rental = getCached(rentalId);
+            if (rental != null && (status == null || status.equals(rental.getStatus()))) {
+                result.add(rental);
+            }
+        }
+        result.sort((a, b) -> getId(a).compareTo(getId(b)));
+        return result;
+    }
+
+    @Override
+    protected void onCacheReloaded(Collection<Rental> rentals) {
+        indexes.clear();
+        availability.clear();
+        for (Rental rental : rentals) {
+            indexes.store(getId(rental), rental);
+            availability.book(rental);
+        }
+    }
+
+    @Override
+    protected void onCacheStored(Rental rental) {
+        indexes.store(getId(rental), rental);
+        availability.book(rental);
+    }
+
+    @Override
+    protected void onCacheEvicted(Rental rental) {
+        indexes.evict(getId(rental));
+        availability.release(getId(rental));
+    }
+
+    // Files rentals by customer, vehicle, status, payment status and next status change
+    private final class RentalIndexes extends CacheIndex<Rental, IndexKeys> {
+        @Override
+        protected IndexKeys snapshot(Rental rental) {
+            return new IndexKeys(rental, LocalDate.now(clock));
+        }
+
+        @Override
+        protected void file(String rentalId, IndexKeys keys) {
+            addTo(rentalsByCustomer, keys.customerId, rentalId);
+            addTo(rentalsByVehicle, keys.vehicleId, rentalId);
+            if (keys.status != null) {
+                addTo(rentalsByStatus, keys.status, rentalId);
+            }
+            if (keys.paymentStatus != null) {
+                addTo(rentalsByPaymentStatus, keys.paymentStatus, rentalId);
+            }
+            if ("Paid".equals(keys.paymentStatus)) {
+                paidRevenueCents.add(keys.costCents);
+            }
+            if (keys.transitionDate != null) {
+                addTo(rentalsByTransition, keys.transitionDate, rentalId);
+            }
+        }
+
+        @Override
+        protected void unfile(String rentalId, IndexKeys keys) {
+            removeFrom(rentalsByCustomer, keys.customerId, rentalId);
+            removeFrom(rentalsByVehicle, keys.vehicleId, rentalId);
+            if (keys.status != null) {
+                removeFrom(rentalsByStatus, keys.status, rentalId);
+            }
+            if (keys.paymentStatus != null) {
+                removeFrom(rentalsByPaymentStatus, keys.paymentStatus, rentalId);
+            }
+            if ("Paid".equals(keys.paymentStatus)) {
+                paidRevenueCents.add(-keys.costCents);
+            }
+            if (keys.transitionDate != null) {
+                removeFrom(rentalsByTransition, keys.transitionDate, rentalId);
+            }
+        }
+
+        @Override
+        protected void clearIndexes() {
+            rentalsByCustomer.clear();
+            rentalsByVehicle.clear();
+            rentalsByStatus.clear();
+            rentalsByPaymentStatus.clear();
+            rentalsByTransition.clear();
+            paidRevenueCents.reset();
+        }
+    }
+
+    // Snapshot of the indexed fields of a rental at the time it was filed
+    private static final class IndexKeys {
+        private final int customerId;
+        private final int vehicleId;
+        private final String status;
+        private final String paymentStatus;
+        private final long costCents;
+        private final LocalDate transitionDate;
+
+        private IndexKeys(Rental rental, LocalDate today) {
+            this.customerId = rental.getCustomerId();
+            this.vehicleId = rental.getVehicleId();
+            this.status = rental.getStatus();
+            this.paymentStatus = rental.getPaymentStatus();
+            this.costCents = Math.round(rental.getTotalCost() * 100);
+            this.transitionDate = rental.nextStatusChange(today);
+        }
+    }
+
+    /**
+     * Reserve the next rental ID for callers that create rentals with an explicit ID
+     */
+    public int generateNextRentalId() {
+        return Integer.parseInt(nextId("R", Rental::getRentalId, String::valueOf));
+    }
+
+    /**
+     * Mark an explicitly assigned rental ID as used so the allocator skips it
+     */
+    public void reserveRentalId(int rentalId) {
+        observeId("R", rentalId, Rental::getRentalId);
+    }
+
     @Override
     protected Rental generateNewId(Rental rental, List<Rental> existingRentals) {
-        // Generate new rental ID based on existing rentals
-        int maxId = existingRentals.stream()
-                .mapToInt(Rental::getRentalId)
-                .max()
-                .orElse(0);
-        
+        // Next rental ID from the allocator, seeded once from existing rentals
+        int newId = Integer.parseInt(nextId("R", existingRentals, Rental::getRentalId, String::valueOf));
+
         // Create new rental with generated ID, preserving payment status and rental status
-        Rental newRental = new Rental(maxId + 1, rental.getCustomerId(), rental.getVehicleId(), 
+        Rental newRental = new Rental(newId, rental.getCustomerId(), rental.getVehicleId(), 
                          rental.getStartDate(), rental.getEndDate(), rental.getTotalCost());
         newRental.setPaymentStatus(rental.getPaymentStatus());
         newRental.setStatus(rental.getStatus());
@@ -7,6 +7,7 @@ import hillclimmer.DurationModule.RentalPeriod;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * RentalPeriodDAO class extending DataAccessObject for RentalPeriod data management.
@@ -23,16 +24,20 @@ public class RentalPeriodDAO extends DataAccessObject<RentalPeriod> {
         return String.valueOf(period.getPeriodId());
     }
     
+    /**
+     * Reserve the next period ID for callers that assign IDs before saving
+     */
+    public int generateNextPeriodId() {
+        return Integer.parseInt(nextId("RP", RentalPeriod::getPeriodId, String::valueOf));
+    }
+
     @Override
     protected RentalPeriod generateNewId(RentalPeriod period, java.util.List<RentalPeriod> existingPeriods) {
-        // Generate new period ID based on existing periods
-        int maxId = existingPeriods.stream()
-                .mapToInt(RentalPeriod::getPeriodId)
-                .max()
-                .orElse(0);
-        
+        // Next period ID from the allocator, seeded once from existing periods
+        int newId = Integer.parseInt(nextId("RP", existingPeriods, RentalPeriod::getPeriodId, String::valueOf));
+
         // Create new rental period with generated ID
-        RentalPeriod newPeriod = new RentalPeriod(maxId + 1, period.getRentalId(), 
+        RentalPeriod newPeriod = new RentalPeriod(newId, period.getRentalId(), 
                                                 period.getStartDate(), period.getEndDate(), 
                                                 period.getDailyRate(), period.isIncludesInsurance());
         newPeriod.setStatus(period.getStatus());
@@ -54,23 +59,23 @@ public class RentalPeriodDAO extends DataAccessObject<RentalPeriod> {
                period.getDailyRate() + "," +
                period.getTotalCost() + "," +
                period.isIncludesInsurance() + "," +
-               (period.getNotes() != null ? period.getNotes().replace(",", ";") : "");
+               (period.getNotes() != null ? CsvTokenizer.escape(period.getNotes()) : "");
     }
 
     @Override
     protected RentalPeriod csvToObject(String csvLine) {
         try {
-            String[] parts = csvLine.split(",");
-            if (parts.length >= 10) {
-                int periodId = Integer.parseInt(parts[0]);
-                int rentalId = Integer.parseInt(parts[1]);
-                LocalDate startDate = LocalDate.parse(parts[2]);
-                LocalDate endDate = LocalDate.parse(parts[3]);
+            CsvTokenizer fields = CsvTokenizer.forCurrentThread().tokenize(csvLine);
+            if (fields.fieldCount() >= 10) {
+                int periodId = fields.parseInt(0);
+                int rentalId = fields.parseInt(1);
+                LocalDate startDate = fields.parseDate(2);
+                LocalDate endDate = fields.parseDate(3);
                 // Skip createdDate and totalCost as they are calculated/set automatically
-                String status = parts[5];
-                double dailyRate = Double.parseDouble(parts[6]);
-                boolean includesInsurance = Boolean.parseBoolean(parts[8]);
-                String notes = parts[9].replace(";", ",");
+                String status = fields.field(5);
+                double dailyRate = fields.parseDouble(6);
+                boolean includesInsurance = fields.parseBoolean(8);
+                String notes = fields.field(9);
 
                 RentalPeriod period = new RentalPeriod(periodId, rentalId, startDate, endDate, dailyRate, includesInsurance);
                 period.setStatus(status);
@@ -97,10 +102,11 @@ public class RentalPeriodDAO extends DataAccessObject<RentalPeriod> {
     }
 
     public double getTotalRevenueFromActivePeriods() {
-        return loadAll().stream()
-                .filter(period -> "ACTIVE".equals(period.getStatus()))
-                .mapToDouble(RentalPeriod::getTotalCost)
-                .sum();
+        try (Stream<RentalPeriod> periods = stream()) {
+            return periods.filter(period -> "ACTIVE".equals(period.getStatus()))
+                    .mapToDouble(RentalPeriod::getTotalCost)
+                    .sum();
+        }
     }
 
     public List<RentalPeriod> getOverduePeriods() {
@@ -27,21 +27,21 @@ public class SafetyCheckDAO extends DataAccessObject<SafetyCheck> {
                safetyCheck.getTotalQuestions() + "," +
                safetyCheck.isPassed() + "," +
                (safetyCheck.getCompletedDate() != null ? safetyCheck.getCompletedDate().getTime() : "") + "," +
-               String.join(";", safetyCheck.getWrongAnswers());
+               CsvTokenizer.escape(String.join(";", safetyCheck.getWrongAnswers()));
     }
 
     @Override
     protected SafetyCheck csvToObject(String csvLine) {
         try {
-            String[] parts = csvLine.split(",");
-            if (parts.length >= 7) {
-                String checkID = parts[0];
-                String customerID = parts[1];
-                int score = Integer.parseInt(parts[2]);
-                int totalQuestions = Integer.parseInt(parts[3]);
-                boolean passed = Boolean.parseBoolean(parts[4]);
-                Date completedDate = parts[5].isEmpty() ? null : new Date(Long.parseLong(parts[5]));
-                String[] wrongAnswersArray = parts[6].split(";");
+            CsvTokenizer fields = CsvTokenizer.forCurrentThread().tokenize(csvLine);
+            if (fields.fieldCount() >= 7) {
+                String checkID = fields.field(0);
+                String customerID = fields.field(1);
+                int score = fields.parseInt(2);
+                int totalQuestions = fields.parseInt(3);
+                boolean passed = fields.parseBoolean(4);
+                Date completedDate = fields.isEmpty(5) ? null : new Date(fields.parseLong(5));
+                String[] wrongAnswersArray = fields.isEmpty(6) ? new String[0] : fields.field(6).split(";");
                 java.util.List<String> wrongAnswers = java.util.Arrays.asList(wrongAnswersArray);
 
                 // Create SafetyCheck object and set all properties
@@ -68,19 +68,14 @@ public class SafetyCheckDAO extends DataAccessObject<SafetyCheck> {
     
     @Override
     protected SafetyCheck generateNewId(SafetyCheck safetyCheck, java.util.List<SafetyCheck> existingChecks) {
-        // Generate new safety check ID based on existing checks
-        int maxId = existingChecks.stream()
-                .mapToInt(check -> {
-                    try {
-                        return Integer.parseInt(check.getCheckID().substring(2)); // Remove "SC" prefix
-                    } catch (NumberFormatException e) {
-                        return 0;
-                    }
-                })
-                .max()
-                .orElse(0);
-        
-        String newCheckId = "SC" + String.format("%03d", maxId + 1);
+        // Next safety check ID from the allocator, seeded once from existing checks
+        String newCheckId = nextId("SC", existingChecks, check -> {
+            try {
+                return Integer.parseInt(check.getCheckID().substring(2)); // Remove "SC" prefix
+            } catch (NumberFormatException e) {
+                return 0;
+            }
+        }, n -> "SC" + String.format("%03d", n));
         
         // Create new safety check with generated ID
         SafetyCheck newCheck = new SafetyCheck(safetyCheck.getCustomerID());
@@ -5,13 +5,19 @@
 package hillclimmer.DatabaseModule;
 
 import hillclimmer.VehicleModule.*;
+import java.util.Collection;
+import java.util.stream.Stream;
 
 /**
  * VehicleDAO class extending DataAccessObject for Vehicle data management.
+ * Keeps running FleetStatistics over the entity cache, so inventory counts and
+ * price ranges are read without scanning the fleet.
  *
  * @author las
  */
 public class VehicleDAO extends DataAccessObject<Vehicle> {
+    private final FleetStatistics statistics = new FleetStatistics();
+    private final CountedVehicles counted = new CountedVehicles();
 
     public VehicleDAO() {
         super(System.getProperty("user.dir") + "/data/vehicles.csv"); // File for storing vehicle data
@@ -21,7 +27,7 @@ public class VehicleDAO extends DataAccessObject<Vehicle> {
     protected String objectToCSV(Vehicle vehicle) {
         return vehicle.getVehicleID() + "," +
                vehicle.getVehicleType() + "," +
-               vehicle.getVehicleModel() + "," +
+               CsvTokenizer.escape(vehicle.getVehicleModel()) + "," +
                vehicle.getModelPricing() + "," +
                vehicle.getVehicleCon() + "," +
                vehicle.isAvailable();
@@ -29,14 +35,14 @@ public class VehicleDAO extends DataAccessObject<Vehicle> {
 
     @Override
     protected Vehicle csvToObject(String csvLine) {
-        String[] parts = csvLine.split(",");
-        if (parts.length == 6) {
-            String vehicleID = parts[0];
-            String vehicleType = parts[1];
-            String vehicleModel = parts[2];
-            double modelPricing = Double.parseDouble(parts[3]);
-            String vehicleCon = parts[4];
-            boolean available = Boolean.parseBoolean(parts[5]);
+        CsvTokenizer fields = CsvTokenizer.forCurrentThread().tokenize(csvLine);
+        if (fields.fieldCount() == 6) {
+            String vehicleID = fields.field(0);
+            String vehicleType = fields.field(1);
+            String vehicleModel = fields.field(2);
+            double modelPricing = fields.parseDouble(3);
+            String vehicleCon = fields.field(4);
+            boolean available = fields.parseBoolean(5);
 
             // Create Vehicle based on type
             switch (vehicleType) {
@@ -60,6 +66,29 @@ public class VehicleDAO extends DataAccessObject<Vehicle> {
         return vehicle.getVehicleID();
     }
     
+    /**
+     * Reserve the next vehicle ID for a type prefix (MB, DB, BG, CR) without saving anything
+     */
+    public String generateNextVehicleId(String prefix) {
+        return nextId(prefix, v -> vehicleNumber(v, prefix), n -> formatVehicleId(prefix, n));
+    }
+
+    // Numeric part of a vehicle ID with the given prefix, or 0 for other types
+    private static long vehicleNumber(Vehicle v, String prefix) {
+        if (!v.getVehicleID().startsWith(prefix)) {
+            return 0;
+        }
+        try {
+            return Integer.parseInt(v.getVehicleID().substring(prefix.length()));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private static String formatVehicleId(String prefix, long number) {
+        return prefix + String.format("%03d", number);
+    }
+
     @Override
     protected Vehicle generateNewId(Vehicle vehicle, java.util.List<Vehicle> existingVehicles) {
         // Generate new vehicle ID based on existing vehicles with proper prefixes
@@ -81,21 +110,8 @@ public class VehicleDAO extends DataAccessObject<Vehicle> {
                 prefix = "V"; // Fallback for unknown types
         }
 
-        // Find the highest ID number for this vehicle type
-        int maxId = existingVehicles.stream()
-                .filter(v -> v.getVehicleID().startsWith(prefix))
-                .mapToInt(v -> {
-                    try {
-                        return Integer.parseInt(v.getVehicleID().substring(2));
-                    } catch (NumberFormatException e) {
-                        return 0;
-                    }
-                })
-                .max()
-                .orElse(0);
-        
-        String newVehicleId = prefix + String.format("%03d", maxId + 1);
-        
+        String newVehicleId = nextId(prefix, existingVehicles, v -> vehicleNumber(v, prefix), n -> formatVehicleId(prefix, n));
+
         // Create new vehicle with generated ID based on type
         switch (vehicle.getVehicleType()) {
             case "Mountain Bike":
@@ -143,4 +159,78 @@ public class VehicleDAO extends DataAccessObject<Vehicle> {
             update(v);
         }
     }
+
+    /**
+     * Fleet size per type, how much of it is available and the daily price range,
+     * as they stand after the last completed write. Kept running over the cached
+     * vehicles; with the cache disabled the vehicle file is read once instead.
+     * @return a detached copy, safe to read while vehicles are rented and returned
+     */
+    public FleetStatistics getFleetStatistics() {
+        long stamp = beginRead();
+        try {
+            if (isCacheEnabled()) {
+                return statistics.copy();
+            }
+            try (Stream<Vehicle> vehicles = stream()) {
+                return FleetStatistics.of(vehicles::iterator);
+            }
+        } finally {
+            endRead(stamp);
+        }
+    }
+
+    @Override
+    protected void onCacheReloaded(Collection<Vehicle> vehicles) {
+        counted.clear();
+        for (Vehicle vehicle : vehicles) {
+            counted.store(getId(vehicle), vehicle);
+        }
+    }
+
+    @Override
+    protected void onCacheStored(Vehicle vehicle) {
+        counted.store(getId(vehicle), vehicle);
+    }
+
+    @Override
+    protected void onCacheEvicted(Vehicle vehicle) {
+        counted.evict(getId(vehicle));
+    }
+
+    // Counts each cached vehicle once in the fleet statistics
+    private final class CountedVehicles extends CacheIndex<Vehicle, StatisticsKeys> {
+        @Override
+        protected StatisticsKeys snapshot(Vehicle vehicle) {
+            return new StatisticsKeys(vehicle);
+        }
+
+        @Override
+        protected void file(String vehicleID, StatisticsKeys keys) {
+            statistics.add(keys.type, keys.available, keys.priceCents);
+        }
+
+        @Override
+        protected void unfile(String vehicleID, StatisticsKeys keys) {
+            statistics.remove(keys.type, keys.available, keys.priceCents);
+        }
+
+        @Override
+        protected void clearIndexes() {
+            statistics.reset();
+        }
+    }
+
+    // Snapshot of the counted fields of a vehicle at the time it was counted
+    private static final class StatisticsKeys {
+        private final String type;
+        private final boolean available;
+        private final long priceCents;
+
+        private StatisticsKeys(Vehicle vehicle) {
+            this.type = vehicle.getVehicleType();
+            this.available = vehicle.isAvailable();
+            this.priceCents = FleetStatistics.toCents(vehicle.getModelPricing());
+        }
+    }
 }
@@ -0,0 +1,191 @@
+/*
+ * WriteBehindQueue class for asynchronous, batched DAO writes
+ */
+package hillclimmer.DatabaseModule;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Write-behind buffer in front of a DAO. enqueue() records the latest state of
+ * an entity and returns at once; the buffered entities are written with one
+ * saveAll (one file write) when the batch is full or when the oldest buffered
+ * change has waited maxDelayMillis, whichever comes first. Several changes to
+ * the same entity before a flush are coalesced into one write of its latest state.
+ *
+ * All queues share one daemon flusher thread, which only holds a queue while
+ * it has a flush scheduled, and one JVM shutdown hook, which flushes every
+ * queue still reachable if the process exits without close(), e.g. via
+ * System.exit. A queue that is dropped without close() therefore costs no
+ * thread or hook; close() writes what is buffered and makes later enqueues
+ * synchronous.
+ *
+ * @author las
+ */
+public class WriteBehindQueue<T> implements AutoCloseable {
+    public static final long DEFAULT_MAX_DELAY_MILLIS = 200;
+    public static final int DEFAULT_MAX_BATCH_SIZE = 256;
+
+    private final DataAccessObject<T> dao;
+    private final long maxDelayNanos;
+    private final int maxBatchSize;
+    private final Object lock = new Object();
+    private final Object flushLock = new Object(); // one batch in flight at a time, so batches land in order
+    private final AtomicLong batchesWritten = new AtomicLong();
+    private final AtomicLong objectsWritten = new AtomicLong();
+
+    private LinkedHashMap<String, T> pending = new LinkedHashMap<>();
+    private ScheduledFuture<?> scheduledFlush; // Guarded by lock; null when no flush is scheduled
+    private boolean closed;
+
+    private static final ScheduledExecutorService FLUSHER = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "write-behind-flusher");
+        t.setDaemon(true);
+        return t;
+    });
+    // Open queues, weakly held so an unclosed queue can still be collected
+    private static final Set<WriteBehindQueue<?>> LIVE_QUEUES = Collections.newSetFromMap(new WeakHashMap<>());
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(WriteBehindQueue::flushAll, "write-behind-shutdown"));
+    }
+
+    public WriteBehindQueue(DataAccessObject<T> dao) {
+        this(dao, DEFAULT_MAX_DELAY_MILLIS, DEFAULT_MAX_BATCH_SIZE);
+    }
+
+    public WriteBehindQueue(DataAccessObject<T> dao, long maxDelayMillis, int maxBatchSize) {
+        if (dao == null || maxDelayMillis < 0 || maxBatchSize < 1) {
+            throw new IllegalArgumentException("Invalid write-behind settings");
+        }
+        this.dao = dao;
+        this.maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(maxDelayMillis);
+        this.maxBatchSize = maxBatchSize;
+        synchronized (LIVE_QUEUES) {
+            LIVE_QUEUES.add(this);
+        }
+    }
+
+    /**
+     * Buffer the current state of an entity for writing. After close() the
+     * entity is written immediately instead.
+     */
+    public void enqueue(T object) {
+        synchronized (lock) {
+            if (!closed) {
+                pending.put(dao.getId(object), object);
+                if (pending.size() >= maxBatchSize) {
+                    scheduleFlush(0);
+                } else if (scheduledFlush == null) {
+                    scheduleFlush(maxDelayNanos);
+                }
+                return;
+            }
+        }
+        dao.save(object);
+    }
+
+    /**
+     * Write everything buffered so far, on the calling thread
+     */
+    public void flush() {
+        synchronized (flushLock) {
+            Map<String, T> batch;
+            synchronized (lock) {
+                if (pending.isEmpty()) {
+                    return;
+                }
+                batch = pending;
+                pending = new LinkedHashMap<>();
+            }
+            try {
+                dao.saveAll(batch.values());
+                batchesWritten.incrementAndGet();
+                objectsWritten.addAndGet(batch.size());
+            } catch (RuntimeException e) {
+                System.err.println("⚠️ Write-behind flush failed, will retry: " + e.getMessage());
+                synchronized (lock) {
+                    // Keep newer changes that arrived meanwhile
+                    batch.forEach(pending::putIfAbsent);
+                    if (!closed && scheduledFlush == null) {
+                        scheduleFlush(maxDelayNanos);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Flush and stop scheduling background writes; later enqueues write synchronously
+     */
+    @Override
+    public void close() {
+        synchronized (lock) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            if (scheduledFlush != null) {
+                scheduledFlush.cancel(false);
+                scheduledFlush = null;
+            }
+        }
+        flush(); // waits for a background batch already in flight
+        synchronized (LIVE_QUEUES) {
+            LIVE_QUEUES.remove(this);
+        }
+    }
+
+    public int getPendingCount() {
+        synchronized (lock) {
+            return pending.size();
+        }
+    }
+
+    public long getBatchesWritten() {
+        return batchesWritten.get();
+    }
+
+    public long getObjectsWritten() {
+        return objectsWritten.get();
+    }
+
+    // Caller holds the lock. A full batch replaces a pending delayed flush with an immediate one
+    private void scheduleFlush(long delayNanos) {
+        if (scheduledFlush != null) {
+            if (delayNanos > 0 || scheduledFlush.getDelay(TimeUnit.NANOSECONDS) <= 0) {
+                return;
+            }
+            scheduledFlush.cancel(false);
+        }
+        scheduledFlush = FLUSHER.schedule(this::runScheduledFlush, delayNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private void runScheduledFlush() {
+        synchronized (lock) {
+            scheduledFlush = null; // changes from here on schedule the next flush
+        }
+        flush();
+    }
+
+    // Shutdown hook: write whatever the queues nobody closed still hold
+    private static void flushAll() {
+        List<WriteBehindQueue<?>> queues;
+        synchronized (LIVE_QUEUES) {
+            queues = new ArrayList<>(LIVE_QUEUES);
+        }
+        for (WriteBehindQueue<?> queue : queues) {
+            queue.flush();
+        }
+    }
+}
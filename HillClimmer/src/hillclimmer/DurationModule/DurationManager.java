@@ -3,37 +3,132 @@
  */
 package hillclimmer.DurationModule;
 
+import hillclimmer.DatabaseModule.MBeans;
+import hillclimmer.DatabaseModule.OperationStats;
+import hillclimmer.DatabaseModule.ReminderDAO;
+import hillclimmer.DatabaseModule.RentalPeriodDAO;
+import hillclimmer.DatabaseModule.WriteBehindQueue;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
- * DurationManager class for coordinating reminder and rental period operations
+ * DurationManager class for coordinating reminder and rental period operations.
+ * Reminders live in a ReminderStore indexed by ID, associatedId, type and status,
+ * and by due time in its ReminderScheduler, which can also fire them on a
+ * background thread; rental periods are indexed by end date so
+ * return-reminder generation only looks at periods ending in the window.
+ *
+ * When built with a ReminderDAO and RentalPeriodDAO, state is loaded from them
+ * at startup and every change is handed to a write-behind queue, so creating a
+ * reminder or changing a status returns without waiting for the file write.
+ * Call shutdown() (or flush()) to make pending changes durable. The no-argument
+ * constructor keeps everything in memory only. Statistics are published over JMX
+ * (see DurationManagerMXBean) once registerMBean is called; the application
+ * registers its long-lived manager.
  * @author las
  */
-public class DurationManager {
-    private List<Reminder> reminders;
+public class DurationManager implements DurationManagerMXBean {
+    private static final Duration DUE_SOON_WINDOW = Duration.ofHours(24);
+
     private List<RentalPeriod> rentalPeriods;
     private int nextReminderId;
     private int nextPeriodId;
     private final Object reminderLock = new Object();
     private final Object periodLock = new Object();
-
+    private final ReminderStore reminderStore = new ReminderStore(reminderLock);
+    private final ReminderScheduler reminderScheduler = reminderStore.getScheduler();
+    // End date -> periods ending that day, with the date each period was filed under
+    private final NavigableMap<LocalDate, List<RentalPeriod>> periodsByEndDate = new TreeMap<>();
+    private final Map<Integer, LocalDate> periodEndDates = new HashMap<>();
+    // Persistence; null when running in memory only
+    private final ReminderDAO reminderDAO;
+    private final RentalPeriodDAO rentalPeriodDAO;
+    private final WriteBehindQueue<Reminder> reminderWrites;
+    private final WriteBehindQueue<RentalPeriod> periodWrites;
+    private final OperationStats operations = new OperationStats();
+
+    // In-memory only; IDs start at 1 and nothing survives a restart
     public DurationManager() {
-        this.reminders = new ArrayList<>();
         this.rentalPeriods = new ArrayList<>();
         this.nextReminderId = 1;
         this.nextPeriodId = 1;
+        this.reminderDAO = null;
+        this.rentalPeriodDAO = null;
+        this.reminderWrites = null;
+        this.periodWrites = null;
+    }
+
+    // Backed by the given DAOs: loads the stored schedule and writes changes behind
+    public DurationManager(ReminderDAO reminderDAO, RentalPeriodDAO rentalPeriodDAO) {
+        if (reminderDAO == null || rentalPeriodDAO == null) {
+            throw new IllegalArgumentException("ReminderDAO and RentalPeriodDAO cannot be null");
+        }
+        this.reminderDAO = reminderDAO;
+        this.rentalPeriodDAO = rentalPeriodDAO;
+        this.rentalPeriods = new ArrayList<>(rentalPeriodDAO.loadAll());
+        for (Reminder reminder : reminderDAO.loadAll()) {
+            reminderStore.add(reminder);
+        }
+        synchronized (periodLock) {
+            for (RentalPeriod period : rentalPeriods) {
+                fileByEndDate(period);
+            }
+        }
+        this.reminderWrites = new WriteBehindQueue<>(reminderDAO);
+        this.periodWrites = new WriteBehindQueue<>(rentalPeriodDAO);
+    }
+
+    /**
+     * Publish this manager as hillclimmer:type=DurationManager
+     * @return this manager, for use in initialisers
+     */
+    public DurationManager registerMBean() {
+        return MBeans.register("DurationManager", null, this, DurationManagerMXBean.class);
     }
 
     // Reminder management methods
     public void addReminder(Reminder reminder) {
+        long started = System.nanoTime();
         synchronized (reminderLock) {
-            reminder.setReminderId(nextReminderId++);
-            reminders.add(reminder);
+            reminder.setReminderId(reminderDAO != null ? reminderDAO.generateNextReminderId() : nextReminderId++);
+            reminderStore.add(reminder);
+            persist(reminder);
         }
+        operations.record("addReminder", started);
+    }
+
+    /**
+     * Fire reminders on a background thread as they fall due; each is marked SENT
+     * and passed to the callback
+     */
+    public void startReminderDispatch(Consumer<Reminder> callback) {
+        reminderScheduler.start(reminder -> {
+            persist(reminder);
+            callback.accept(reminder);
+        });
+    }
+
+    public void stopReminderDispatch() {
+        reminderScheduler.stop();
+    }
+
+    // Open reminders due within the given number of hours from now
+    public List<Reminder> getRemindersDueWithin(long hours) {
+        return reminderScheduler.getDueWithin(LocalDateTime.now(), Duration.ofHours(hours));
+    }
+
+    // Earliest due time among pending reminders, or null if there are none
+    public LocalDateTime getNextReminderDueTime() {
+        return reminderScheduler.getNextDueTime();
     }
 
     public Reminder createReturnReminder(int rentalId, LocalDateTime returnDate) {
@@ -55,77 +150,82 @@ public class DurationManager {
     }
 
     public List<Reminder> getAllReminders() {
-        synchronized (reminderLock) {
-            return new ArrayList<>(reminders);
-        }
+        return reminderStore.getAll();
     }
 
     public List<Reminder> getPendingReminders() {
-        synchronized (reminderLock) {
-            return reminders.stream()
-                    .filter(r -> "PENDING".equals(r.getStatus()))
-                    .collect(Collectors.toList());
-        }
+        return reminderScheduler.getPending();
     }
 
     public List<Reminder> getPendingRemindersForCustomer(int customerId) {
-        synchronized (reminderLock) {
-            return reminders.stream()
-                    .filter(r -> "PENDING".equals(r.getStatus()) && r.getAssociatedId() == customerId)
-                    .collect(Collectors.toList());
-        }
+        return reminderStore.getByAssociatedIdAndStatus(customerId, "PENDING");
     }
 
     public void markReminderCompleted(int associatedId, String reminderType) {
+        long started = System.nanoTime();
         synchronized (reminderLock) {
-            for (Reminder reminder : reminders) {
-                if (reminder.getAssociatedId() == associatedId && 
-                    reminderType.equals(reminder.getReminderType())) {
-                    reminder.setStatus("COMPLETED");
-                    break;
-                }
+            Reminder reminder = reminderStore.findFirst(associatedId, reminderType);
+            if (reminder != null) {
+                reminderStore.update(reminder.getReminderId(), r -> r.setStatus("COMPLETED"));
+                persist(reminder);
             }
         }
+        operations.record("markReminderCompleted", started);
     }
 
     public List<Reminder> getOverdueReminders() {
-        return reminders.stream()
-                .filter(Reminder::isOverdue)
-                .collect(Collectors.toList());
+        return reminderScheduler.getOverdue(LocalDateTime.now());
     }
 
+    // Open reminders due in the next 24 hours
     public List<Reminder> getRemindersDueSoon() {
-        return reminders.stream()
-                .filter(Reminder::isDueSoon)
-                .collect(Collectors.toList());
+        return reminderScheduler.getDueWithin(LocalDateTime.now(), DUE_SOON_WINDOW);
     }
 
     public List<Reminder> getRemindersByType(String type) {
-        return reminders.stream()
-                .filter(r -> type.equals(r.getReminderType()))
-                .collect(Collectors.toList());
+        return reminderStore.getByType(type);
+    }
+
+    public List<Reminder> getRemindersByStatus(String status) {
+        return reminderStore.getByStatus(status);
+    }
+
+    public List<Reminder> getRemindersForAssociatedId(int associatedId) {
+        return reminderStore.getByAssociatedId(associatedId);
     }
 
     public void markReminderAsSent(int reminderId) {
-        reminders.stream()
-                .filter(r -> r.getReminderId() == reminderId)
-                .findFirst()
-                .ifPresent(Reminder::markAsSent);
+        long started = System.nanoTime();
+        synchronized (reminderLock) {
+            Reminder reminder = reminderStore.update(reminderId, Reminder::markAsSent);
+            if (reminder != null) {
+                persist(reminder);
+            }
+        }
+        operations.record("markReminderAsSent", started);
     }
 
     public void markReminderAsCompleted(int reminderId) {
-        reminders.stream()
-                .filter(r -> r.getReminderId() == reminderId)
-                .findFirst()
-                .ifPresent(Reminder::markAsCompleted);
+        long started = System.nanoTime();
+        synchronized (reminderLock) {
+            Reminder reminder = reminderStore.update(reminderId, Reminder::markAsCompleted);
+            if (reminder != null) {
+                persist(reminder);
+            }
+        }
+        operations.record("markReminderAsCompleted", started);
     }
 
     // Rental period management methods
     public void addRentalPeriod(RentalPeriod period) {
+        long started = System.nanoTime();
         synchronized (periodLock) {
-            period.setPeriodId(nextPeriodId++);
+            period.setPeriodId(rentalPeriodDAO != null ? rentalPeriodDAO.generateNextPeriodId() : nextPeriodId++);
             rentalPeriods.add(period);
+            fileByEndDate(period);
+            persist(period);
         }
+        operations.record("addRentalPeriod", started);
     }
 
     public RentalPeriod createBasicRentalPeriod(int rentalId, LocalDate startDate, LocalDate endDate, double dailyRate) {
@@ -178,33 +278,55 @@ public class DurationManager {
     }
 
     public void extendRentalPeriod(int periodId, int additionalDays) {
-        rentalPeriods.stream()
-                .filter(p -> p.getPeriodId() == periodId)
-                .findFirst()
-                .ifPresent(p -> p.extendPeriod(additionalDays));
+        long started = System.nanoTime();
+        synchronized (periodLock) {
+            rentalPeriods.stream()
+                    .filter(p -> p.getPeriodId() == periodId)
+                    .findFirst()
+                    .ifPresent(p -> {
+                        p.extendPeriod(additionalDays);
+                        fileByEndDate(p);
+                        persist(p);
+                    });
+        }
+        operations.record("extendRentalPeriod", started);
     }
 
     public void completeRentalPeriod(int periodId) {
-        rentalPeriods.stream()
-                .filter(p -> p.getPeriodId() == periodId)
-                .findFirst()
-                .ifPresent(RentalPeriod::completePeriod);
+        long started = System.nanoTime();
+        synchronized (periodLock) {
+            rentalPeriods.stream()
+                    .filter(p -> p.getPeriodId() == periodId)
+                    .findFirst()
+                    .ifPresent(p -> {
+                        p.completePeriod();
+                        persist(p);
+                    });
+        }
+        operations.record("completeRentalPeriod", started);
     }
 
     public void cancelRentalPeriod(int periodId) {
-        rentalPeriods.stream()
-                .filter(p -> p.getPeriodId() == periodId)
-                .findFirst()
-                .ifPresent(RentalPeriod::cancelPeriod);
+        long started = System.nanoTime();
+        synchronized (periodLock) {
+            rentalPeriods.stream()
+                    .filter(p -> p.getPeriodId() == periodId)
+                    .findFirst()
+                    .ifPresent(p -> {
+                        p.cancelPeriod();
+                        persist(p);
+                    });
+        }
+        operations.record("cancelRentalPeriod", started);
     }
 
     // Utility methods
+    @Override
     public int getTotalActiveReminders() {
-        return (int) reminders.stream()
-                .filter(r -> "PENDING".equals(r.getStatus()))
-                .count();
+        return reminderScheduler.getPendingCount();
     }
 
+    @Override
     public int getTotalActiveRentalPeriods() {
         return (int) rentalPeriods.stream()
                 .filter(RentalPeriod::isActive)
@@ -220,30 +342,161 @@ public class DurationManager {
         }
     }
 
-    public void generateReturnRemindersForActivePeriods() {
-        rentalPeriods.stream()
-                .filter(RentalPeriod::isActive)
-                .filter(RentalPeriod::isEndingSoon)
-                .forEach(period -> {
-                    LocalDateTime returnDate = period.getEndDate().atStartOfDay();
-                    createReturnReminder(period.getRentalId(), returnDate);
-                });
+    // Safe to run repeatedly: a period that already has its return reminder is skipped
+    public int generateReturnRemindersForActivePeriods() {
+        long started = System.nanoTime();
+        LocalDate today = LocalDate.now();
+        // Active periods ending after today and before today + 3 (RentalPeriod.isEndingSoon)
+        int created = createMissingReturnReminders(activePeriodsEnding(today, false, today.plusDays(3), false));
+        operations.record("generateReturnReminders", started);
+        return created;
     }
 
-    public void generateOneDayReturnReminders() {
-        rentalPeriods.stream()
-                .filter(RentalPeriod::isActive)
-                .filter(RentalPeriod::isEndingWithinOneDay)
-                .forEach(period -> {
-                    LocalDateTime returnDate = period.getEndDate().atStartOfDay();
-                    createReturnReminder(period.getRentalId(), returnDate);
-                });
+    // Safe to run repeatedly: a period that already has its return reminder is skipped
+    public int generateOneDayReturnReminders() {
+        long started = System.nanoTime();
+        LocalDate today = LocalDate.now();
+        // Active periods ending tomorrow (RentalPeriod.isEndingWithinOneDay)
+        int created = createMissingReturnReminders(activePeriodsEnding(today, false, today.plusDays(1), true));
+        operations.record("generateOneDayReturnReminders", started);
+        return created;
+    }
+
+    // Create a return reminder for each period that has none for its end date; returns how many were created
+    private int createMissingReturnReminders(List<RentalPeriod> periods) {
+        int created = 0;
+        synchronized (reminderLock) {
+            for (RentalPeriod period : periods) {
+                LocalDateTime due = period.getEndDate().atStartOfDay();
+                if (!reminderStore.contains(period.getRentalId(), "RETURN", due)) {
+                    createReturnReminder(period.getRentalId(), due);
+                    created++;
+                }
+            }
+        }
+        return created;
+    }
+
+    // Write all buffered changes now
+    @Override
+    public void flush() {
+        long started = System.nanoTime();
+        if (reminderWrites != null) {
+            reminderWrites.flush();
+            periodWrites.flush();
+        }
+        operations.record("flush", started);
+    }
+
+    // Stop reminder dispatch and write all buffered changes; later changes are written synchronously
+    public void shutdown() {
+        stopReminderDispatch();
+        if (reminderWrites != null) {
+            reminderWrites.close();
+            periodWrites.close();
+        }
+    }
+
+    // DurationManagerMXBean attributes
+
+    @Override
+    public int getReminderCount() {
+        return reminderStore.size();
+    }
+
+    @Override
+    public Map<String, Long> getReminderCountsByStatus() {
+        Map<String, Long> counts = new TreeMap<>();
+        for (String status : new String[] {"PENDING", "SENT", "COMPLETED", "OVERDUE"}) {
+            counts.put(status, (long) reminderStore.getByStatus(status).size());
+        }
+        return counts;
+    }
+
+    @Override
+    public int getRentalPeriodCount() {
+        synchronized (periodLock) {
+            return rentalPeriods.size();
+        }
+    }
+
+    @Override
+    public int getPendingReminderWrites() {
+        return reminderWrites != null ? reminderWrites.getPendingCount() : 0;
+    }
+
+    @Override
+    public int getPendingPeriodWrites() {
+        return periodWrites != null ? periodWrites.getPendingCount() : 0;
+    }
+
+    @Override
+    public Map<String, Long> getOperationCounts() {
+        return operations.getCounts();
+    }
+
+    @Override
+    public Map<String, Double> getOperationTotalMillis() {
+        return operations.getTotalMillis();
+    }
+
+    @Override
+    public Map<String, Double> getOperationMaxMillis() {
+        return operations.getMaxMillis();
+    }
+
+    @Override
+    public void resetStatistics() {
+        operations.reset();
+    }
+
+    private void persist(Reminder reminder) {
+        if (reminderWrites != null) {
+            reminderWrites.enqueue(reminder);
+        }
+    }
+
+    private void persist(RentalPeriod period) {
+        if (periodWrites != null) {
+            periodWrites.enqueue(period);
+        }
+    }
+
+    // Active periods whose end date lies in the given range, read from the end-date index
+    private List<RentalPeriod> activePeriodsEnding(LocalDate from, boolean fromInclusive, LocalDate to, boolean toInclusive) {
+        synchronized (periodLock) {
+            List<RentalPeriod> result = new ArrayList<>();
+            for (List<RentalPeriod> periods : periodsByEndDate.subMap(from, fromInclusive, to, toInclusive).values()) {
+                for (RentalPeriod period : periods) {
+                    if (period.isActive()) {
+                        result.add(period);
+                    }
+                }
+            }
+            return result;
+        }
+    }
+
+    // File a period under its current end date, moving it if the date changed. Caller holds periodLock.
+    private void fileByEndDate(RentalPeriod period) {
+        LocalDate previous = periodEndDates.remove(period.getPeriodId());
+        if (previous != null) {
+            List<RentalPeriod> periods = periodsByEndDate.get(previous);
+            periods.remove(period);
+            if (periods.isEmpty()) {
+                periodsByEndDate.remove(previous);
+            }
+        }
+        if (period.getEndDate() != null) {
+            periodEndDates.put(period.getPeriodId(), period.getEndDate());
+            periodsByEndDate.computeIfAbsent(period.getEndDate(), k -> new ArrayList<>()).add(period);
+        }
     }
 
     @Override
     public String toString() {
         return "DurationManager{" +
-                "totalReminders=" + reminders.size() +
+                "totalReminders=" + reminderStore.size() +
                 ", activeReminders=" + getTotalActiveReminders() +
                 ", totalRentalPeriods=" + rentalPeriods.size() +
                 ", activeRentalPeriods=" + getTotalActiveRentalPeriods() +
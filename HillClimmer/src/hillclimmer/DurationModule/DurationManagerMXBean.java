@@ -0,0 +1,40 @@
+/*
+ * DurationManagerMXBean interface for reminder and rental period monitoring over JMX
+ */
+package hillclimmer.DurationModule;
+
+import java.util.Map;
+
+/**
+ * JMX view of a DurationManager: call counts and latencies of reminder and
+ * rental period changes and sweeps, reminder and period counts, and how many
+ * changes are still waiting in the write-behind queues.
+ * Registered as hillclimmer:type=DurationManager when backed by DAOs.
+ *
+ * @author las
+ */
+public interface DurationManagerMXBean {
+    int getReminderCount();
+
+    int getTotalActiveReminders();
+
+    Map<String, Long> getReminderCountsByStatus();
+
+    int getRentalPeriodCount();
+
+    int getTotalActiveRentalPeriods();
+
+    int getPendingReminderWrites();
+
+    int getPendingPeriodWrites();
+
+    Map<String, Long> getOperationCounts();
+
+    Map<String, Double> getOperationTotalMillis();
+
+    Map<String, Double> getOperationMaxMillis();
+
+    void flush();
+
+    void resetStatistics();
+}
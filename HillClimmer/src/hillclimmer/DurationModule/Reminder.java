@@ -39,6 +39,21 @@ public class Reminder {
         this.priority = priority;
     }
 
+    /**
+     * Rebuilds a stored reminder with its persisted creation time and status.
+     * Used by ReminderDAO so reloading and re-saving a reminder keeps when it was created.
+     * @param createdDate Stored creation time
+     * @param status Stored status
+     * @return Reminder with the given creation time and status
+     */
+    public static Reminder restore(int reminderId, String reminderType, String message, LocalDateTime dueDate,
+                                   LocalDateTime createdDate, String status, int associatedId, String priority) {
+        Reminder reminder = new Reminder(reminderId, reminderType, message, dueDate, associatedId, priority);
+        reminder.createdDate = createdDate;
+        reminder.status = status;
+        return reminder;
+    }
+
     // Getters
     public int getReminderId() {
         return reminderId;
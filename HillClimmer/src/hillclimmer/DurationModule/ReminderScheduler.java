@@ -0,0 +1,267 @@
+/*
+ * ReminderScheduler class for due-time reminder indexing and dispatch
+ */
+package hillclimmer.DurationModule;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Due-time index over reminders, used by DurationManager. Open (not completed)
+ * reminders are kept in a map ordered by dueDate, so "overdue" is a head scan
+ * and "due within N hours" is a range scan over just the matching reminders.
+ * Reminders still PENDING are also kept in a second ordered map that acts as
+ * the firing queue.
+ *
+ * Once started, a dedicated daemon thread sleeps until the earliest pending
+ * due time, marks the due reminders SENT and hands them to the callback. The
+ * callback runs without any lock held. All index state is guarded by the lock
+ * passed in by the owner, so it stays consistent with the owner's reminder list.
+ * Reminders without a due date are pending but never fire.
+ *
+ * @author las
+ */
+public class ReminderScheduler {
+    private static final LocalDateTime NO_DUE_DATE = LocalDateTime.MAX;
+
+    private final Object lock;
+    private final Consumer<Reminder> onStatusChange;
+    private final NavigableMap<LocalDateTime, Map<Integer, Reminder>> openByDue = new TreeMap<>();
+    private final NavigableMap<LocalDateTime, Map<Integer, Reminder>> pendingByDue = new TreeMap<>();
+    // Due time and status each reminder was filed under, so in-place edits can be unfiled
+    private final Map<Integer, Filed> filed = new HashMap<>();
+
+    private ScheduledExecutorService executor;
+    private ScheduledFuture<?> nextFiring;
+    private LocalDateTime nextFiringTime;
+    private Consumer<Reminder> callback;
+
+    private static final class Filed {
+        private final LocalDateTime due;
+        private final boolean open;
+        private final boolean pending;
+
+        private Filed(Reminder reminder) {
+            this.due = reminder.getDueDate() != null ? reminder.getDueDate() : NO_DUE_DATE;
+            this.open = !"COMPLETED".equals(reminder.getStatus());
+            this.pending = "PENDING".equals(reminder.getStatus());
+        }
+    }
+
+    public ReminderScheduler(Object lock) {
+        this(lock, reminder -> { });
+    }
+
+    // onStatusChange runs under the lock for each reminder the dispatcher marks SENT
+    public ReminderScheduler(Object lock, Consumer<Reminder> onStatusChange) {
+        this.lock = lock;
+        this.onStatusChange = onStatusChange;
+    }
+
+    /**
+     * File a reminder, or re-file it after its status or due date changed
+     */
+    public void refile(Reminder reminder) {
+        synchronized (lock) {
+            unfile(reminder.getReminderId());
+            Filed keys = new Filed(reminder);
+            filed.put(reminder.getReminderId(), keys);
+            if (keys.open) {
+                openByDue.computeIfAbsent(keys.due, k -> new LinkedHashMap<>()).put(reminder.getReminderId(), reminder);
+            }
+            if (keys.pending) {
+                pendingByDue.computeIfAbsent(keys.due, k -> new LinkedHashMap<>()).put(reminder.getReminderId(), reminder);
+                if (executor != null && (nextFiringTime == null || keys.due.isBefore(nextFiringTime))) {
+                    scheduleNextFiring();
+                }
+            }
+        }
+    }
+
+    public void remove(Reminder reminder) {
+        synchronized (lock) {
+            unfile(reminder.getReminderId());
+        }
+    }
+
+    public void clear() {
+        synchronized (lock) {
+            openByDue.clear();
+            pendingByDue.clear();
+            filed.clear();
+        }
+    }
+
+    // Open reminders whose due time is before the given time, earliest first
+    public List<Reminder> getOverdue(LocalDateTime now) {
+        synchronized (lock) {
+            return flatten(openByDue.headMap(now, false).values());
+        }
+    }
+
+    // Open reminders due after now and before now + window, earliest first
+    public List<Reminder> getDueWithin(LocalDateTime now, Duration window) {
+        synchronized (lock) {
+            return flatten(openByDue.subMap(now, false, now.plus(window), false).values());
+        }
+    }
+
+    // PENDING reminders in creation (ID) order
+    public List<Reminder> getPending() {
+        synchronized (lock) {
+            List<Reminder> result = flatten(pendingByDue.values());
+            result.sort((a, b) -> Integer.compare(a.getReminderId(), b.getReminderId()));
+            return result;
+        }
+    }
+
+    public int getPendingCount() {
+        synchronized (lock) {
+            int count = 0;
+            for (Map<Integer, Reminder> bucket : pendingByDue.values()) {
+                count += bucket.size();
+            }
+            return count;
+        }
+    }
+
+    // Earliest due time among PENDING reminders, or null if none will fire
+    public LocalDateTime getNextDueTime() {
+        synchronized (lock) {
+            LocalDateTime first = pendingByDue.isEmpty() ? null : pendingByDue.firstKey();
+            return NO_DUE_DATE.equals(first) ? null : first;
+        }
+    }
+
+    /**
+     * Start firing due reminders on a dedicated thread. Reminders already due fire immediately.
+     * @param callback receives each reminder after it is marked SENT
+     */
+    public void start(Consumer<Reminder> callback) {
+        if (callback == null) {
+            throw new IllegalArgumentException("Reminder callback cannot be null");
+        }
+        synchronized (lock) {
+            if (executor != null) {
+                return;
+            }
+            this.callback = callback;
+            executor = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "reminder-dispatch");
+                t.setDaemon(true);
+                return t;
+            });
+            scheduleNextFiring();
+        }
+    }
+
+    public void stop() {
+        synchronized (lock) {
+            if (executor != null) {
+                executor.shutdownNow();
+                executor = null;
+                nextFiring = null;
+                nextFiringTime = null;
+            }
+        }
+    }
+
+    public boolean isRunning() {
+        synchronized (lock) {
+            return executor != null;
+        }
+    }
+
+    // Fire everything due now, then sleep until the next due time
+    private void fireDue() {
+        List<Reminder> due;
+        Consumer<Reminder> target;
+        synchronized (lock) {
+            if (executor == null) {
+                return;
+            }
+            due = flatten(pendingByDue.headMap(LocalDateTime.now(), true).values());
+            for (Reminder reminder : due) {
+                reminder.markAsSent();
+                onStatusChange.accept(reminder);
+                refile(reminder);
+            }
+            target = callback;
+            nextFiringTime = null;
+            scheduleNextFiring();
+        }
+        for (Reminder reminder : due) {
+            try {
+                target.accept(reminder);
+            } catch (RuntimeException e) {
+                System.err.println("⚠️ Reminder callback failed for reminder " + reminder.getReminderId() + ": " + e.getMessage());
+            }
+        }
+    }
+
+    // Caller holds the lock
+    private void scheduleNextFiring() {
+        if (nextFiring != null) {
+            nextFiring.cancel(false);
+            nextFiring = null;
+        }
+        LocalDateTime first = pendingByDue.isEmpty() ? null : pendingByDue.firstKey();
+        if (first == null || NO_DUE_DATE.equals(first)) {
+            nextFiringTime = null;
+            return;
+        }
+        long delayMillis = Math.max(0, Duration.between(LocalDateTime.now(), first).toMillis());
+        try {
+            nextFiring = executor.schedule(this::fireDue, delayMillis, TimeUnit.MILLISECONDS);
+            nextFiringTime = first;
+        } catch (RejectedExecutionException e) {
+            // Stopped while rescheduling
+        }
+    }
+
+    // Caller holds the lock
+    private void unfile(int reminderId) {
+        Filed keys = filed.remove(reminderId);
+        if (keys == null) {
+            return;
+        }
+        if (keys.open) {
+            unfile(openByDue, keys.due, reminderId);
+        }
+        if (keys.pending) {
+            unfile(pendingByDue, keys.due, reminderId);
+        }
+    }
+
+    private static void unfile(Map<LocalDateTime, Map<Integer, Reminder>> index, LocalDateTime due, int reminderId) {
+        Map<Integer, Reminder> bucket = index.get(due);
+        if (bucket != null) {
+            bucket.remove(reminderId);
+            if (bucket.isEmpty()) {
+                index.remove(due);
+            }
+        }
+    }
+
+    private static List<Reminder> flatten(Collection<Map<Integer, Reminder>> buckets) {
+        List<Reminder> result = new ArrayList<>();
+        for (Map<Integer, Reminder> bucket : buckets) {
+            result.addAll(bucket.values());
+        }
+        return result;
+    }
+}
@@ -0,0 +1,219 @@
+/*
+ * ReminderStore class for thread-safe, indexed reminder storage
+ */
+package hillclimmer.DurationModule;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.Consumer;
+
+/**
+ * Thread-safe reminder store used by DurationManager. Reminders are held by ID
+ * and indexed by associatedId, type and status, so per-customer, per-rental and
+ * per-type lookups read one bucket instead of scanning every reminder. Each
+ * bucket is ordered by reminder ID, i.e. creation order. A hash index on
+ * (associatedId, type, dueDate) answers "does this reminder already exist" in
+ * O(1), so generated reminders can be created at most once.
+ *
+ * Adds and status transitions take the store's lock and update the reminder,
+ * every index and the due-time ReminderScheduler in one step, including
+ * reminders the scheduler marks SENT when it fires them. Lookups read the
+ * concurrent indexes without locking, so they never block on a writer; a
+ * reminder only moves between buckets while a change is applied under the lock.
+ *
+ * @author las
+ */
+public class ReminderStore {
+    private final Object lock;
+    private final ReminderScheduler scheduler;
+    private final NavigableMap<Integer, Reminder> byId = new ConcurrentSkipListMap<>();
+    private final ConcurrentMap<Integer, NavigableMap<Integer, Reminder>> byAssociatedId = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, NavigableMap<Integer, Reminder>> byType = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, NavigableMap<Integer, Reminder>> byStatus = new ConcurrentHashMap<>();
+    private final ConcurrentMap<DueKey, Integer> byDueKey = new ConcurrentHashMap<>();
+    // Keys each reminder was filed under, so in-place edits can be unfiled. Guarded by lock.
+    private final Map<Integer, Filed> filed = new HashMap<>();
+
+    private static final class Filed {
+        private final int associatedId;
+        private final String type;
+        private final String status;
+        private final DueKey dueKey;
+
+        private Filed(Reminder reminder) {
+            this.associatedId = reminder.getAssociatedId();
+            this.type = key(reminder.getReminderType());
+            this.status = key(reminder.getStatus());
+            this.dueKey = new DueKey(associatedId, type, reminder.getDueDate());
+        }
+    }
+
+    // Identity of a generated reminder: what it is for, what kind, and when it is due
+    private static final class DueKey {
+        private final int associatedId;
+        private final String type;
+        private final LocalDateTime dueDate;
+
+        private DueKey(int associatedId, String type, LocalDateTime dueDate) {
+            this.associatedId = associatedId;
+            this.type = type;
+            this.dueDate = dueDate;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof DueKey)) {
+                return false;
+            }
+            DueKey other = (DueKey) o;
+            return associatedId == other.associatedId && type.equals(other.type) && Objects.equals(dueDate, other.dueDate);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(associatedId, type, dueDate);
+        }
+    }
+
+    public ReminderStore(Object lock) {
+        this.lock = lock;
+        this.scheduler = new ReminderScheduler(lock, this::refileIndexes);
+    }
+
+    // Due-time index over the same reminders, kept in step by this store
+    public ReminderScheduler getScheduler() {
+        return scheduler;
+    }
+
+    public void add(Reminder reminder) {
+        synchronized (lock) {
+            byId.put(reminder.getReminderId(), reminder);
+            refileIndexes(reminder);
+            scheduler.refile(reminder);
+        }
+    }
+
+    /**
+     * Apply a change to a stored reminder and re-index it atomically
+     * @return the reminder, or null if no reminder has that ID
+     */
+    public Reminder update(int reminderId, Consumer<Reminder> change) {
+        synchronized (lock) {
+            Reminder reminder = byId.get(reminderId);
+            if (reminder != null) {
+                change.accept(reminder);
+                refileIndexes(reminder);
+                scheduler.refile(reminder);
+            }
+            return reminder;
+        }
+    }
+
+    public Reminder get(int reminderId) {
+        return byId.get(reminderId);
+    }
+
+    public int size() {
+        return byId.size();
+    }
+
+    // Every reminder in ID order
+    public List<Reminder> getAll() {
+        return new ArrayList<>(byId.values());
+    }
+
+    public List<Reminder> getByAssociatedId(int associatedId) {
+        return snapshot(byAssociatedId.get(associatedId));
+    }
+
+    public List<Reminder> getByType(String type) {
+        return snapshot(byType.get(key(type)));
+    }
+
+    public List<Reminder> getByStatus(String status) {
+        return snapshot(byStatus.get(key(status)));
+    }
+
+    // Reminders for an entity with the given status, read from the smaller of the two buckets
+    public List<Reminder> getByAssociatedIdAndStatus(int associatedId, String status) {
+        NavigableMap<Integer, Reminder> forEntity = byAssociatedId.get(associatedId);
+        NavigableMap<Integer, Reminder> withStatus = byStatus.get(key(status));
+        if (forEntity == null || withStatus == null) {
+            return new ArrayList<>();
+        }
+        NavigableMap<Integer, Reminder> smaller = forEntity.size() <= withStatus.size() ? forEntity : withStatus;
+        NavigableMap<Integer, Reminder> other = smaller == forEntity ? withStatus : forEntity;
+        List<Reminder> result = new ArrayList<>();
+        for (Reminder reminder : smaller.values()) {
+            if (other.containsKey(reminder.getReminderId())) {
+                result.add(reminder);
+            }
+        }
+        return result;
+    }
+
+    // Whether a reminder of this type, for this entity and due date, exists in any status
+    public boolean contains(int associatedId, String type, LocalDateTime dueDate) {
+        return byDueKey.containsKey(new DueKey(associatedId, key(type), dueDate));
+    }
+
+    // Lowest-ID reminder for an entity with the given type, or null
+    public Reminder findFirst(int associatedId, String type) {
+        NavigableMap<Integer, Reminder> forEntity = byAssociatedId.get(associatedId);
+        if (forEntity != null) {
+            for (Reminder reminder : forEntity.values()) {
+                if (key(type).equals(key(reminder.getReminderType()))) {
+                    return reminder;
+                }
+            }
+        }
+        return null;
+    }
+
+    // Re-file a reminder under its current keys. Called with the lock held.
+    private void refileIndexes(Reminder reminder) {
+        int reminderId = reminder.getReminderId();
+        Filed previous = filed.remove(reminderId);
+        if (previous != null) {
+            unfile(byAssociatedId, previous.associatedId, reminderId);
+            unfile(byType, previous.type, reminderId);
+            unfile(byStatus, previous.status, reminderId);
+            byDueKey.remove(previous.dueKey, reminderId);
+        }
+        Filed keys = new Filed(reminder);
+        filed.put(reminderId, keys);
+        byAssociatedId.computeIfAbsent(keys.associatedId, k -> new ConcurrentSkipListMap<>()).put(reminderId, reminder);
+        byType.computeIfAbsent(keys.type, k -> new ConcurrentSkipListMap<>()).put(reminderId, reminder);
+        byStatus.computeIfAbsent(keys.status, k -> new ConcurrentSkipListMap<>()).put(reminderId, reminder);
+        byDueKey.putIfAbsent(keys.dueKey, reminderId);
+    }
+
+    private static <K> void unfile(ConcurrentMap<K, NavigableMap<Integer, Reminder>> index, K key, int reminderId) {
+        NavigableMap<Integer, Reminder> bucket = index.get(key);
+        if (bucket != null) {
+            bucket.remove(reminderId);
+            if (bucket.isEmpty()) {
+                index.remove(key, bucket);
+            }
+        }
+    }
+
+    private static List<Reminder> snapshot(NavigableMap<Integer, Reminder> bucket) {
+        return bucket == null ? new ArrayList<>() : new ArrayList<>(bucket.values());
+    }
+
+    private static String key(String value) {
+        return value != null ? value : "";
+    }
+}
@@ -35,12 +35,14 @@ import java.io.Console;
  */
 public class HillClimmer {
     private static final Scanner scanner = new Scanner(System.in);
-    private static CustomerDAO customerDAO = new CustomerDAO();
-    private static ManagerDAO managerDAO = new ManagerDAO();
+    private static CustomerDAO customerDAO = DaoRegistry.getCustomerDAO();
+    private static ManagerDAO managerDAO = DaoRegistry.getManagerDAO();
     private static VehicleManager vehicleManager;
     private static RentalManager rentalManager = new RentalManager();
-    private static DurationManager durationManager = new DurationManager();
-    private static TransactionManager transactionManager = new TransactionManager("TM001");
+    private static RentalDAO rentalDAO = DaoRegistry.getRentalDAO();
+    private static RentalStatusScheduler rentalStatusScheduler;
+    private static DurationManager durationManager = new DurationManager(DaoRegistry.getReminderDAO(), DaoRegistry.getRentalPeriodDAO()).registerMBean();
+    private static TransactionManager transactionManager = new TransactionManager("TM001").registerMBean();
 
     // Current logged in user
     private static Customer currentCustomer = null;
@@ -502,21 +504,7 @@ public class HillClimmer {
      * @return true if available, false if there's a date conflict
      */
     private static boolean isVehicleAvailableForDates(int vehicleId, LocalDate startDate, LocalDate endDate) {
-        List<Rental> allRentals = rentalManager.getAllRentals();
-
-        for (Rental rental : allRentals) {
-            if (rental.getVehicleId() == vehicleId) {
-                LocalDate existingStart = rental.getStartDate();
-                LocalDate existingEnd = rental.getEndDate();
-
-                // Check for date overlap: new rental overlaps with existing rental if
-                // newStart <= existingEnd AND newEnd >= existingStart
-                if (!startDate.isAfter(existingEnd) && !endDate.isBefore(existingStart)) {
-                    return false; // Conflict found
-                }
-            }
-        }
-        return true; // No conflicts
+        return rentalManager.isVehicleAvailableForDates(vehicleId, startDate, endDate);
     }
 
     /**
@@ -528,18 +516,8 @@ public class HillClimmer {
      */
     private static List<String> getConflictingDates(int vehicleId, LocalDate startDate, LocalDate endDate) {
         List<String> conflicts = new ArrayList<>();
-        List<Rental> allRentals = rentalManager.getAllRentals();
-
-        for (Rental rental : allRentals) {
-            if (rental.getVehicleId() == vehicleId) {
-                LocalDate existingStart = rental.getStartDate();
-                LocalDate existingEnd = rental.getEndDate();
-
-                // Check for date overlap
-                if (!startDate.isAfter(existingEnd) && !endDate.isBefore(existingStart)) {
-                    conflicts.add(existingStart + " to " + existingEnd);
-                }
-            }
+        for (Rental rental : rentalManager.getConflictingRentals(vehicleId, startDate, endDate)) {
+            conflicts.add(rental.getStartDate() + " to " + rental.getEndDate());
         }
         return conflicts;
     }
@@ -613,7 +591,7 @@ public class HillClimmer {
 
             // Initialize default vehicle manager with exception handling
             try {
-                vehicleManager = new VehicleManager("VM001", 2, "Ahmad Abdullah", 5);
+                vehicleManager = new VehicleManager("VM001", 2, "Ahmad Abdullah", 5).registerMBean();
                 System.out.println("   ✅ Vehicle manager initialized");
             } catch (Exception e) {
                 System.err.println("   ❌ Vehicle manager initialization failed: " + e.getMessage());
@@ -649,6 +627,15 @@ public class HillClimmer {
                 System.out.println("   ⚠️ Rental status update skipped: " + e.getMessage());
             }
 
+            // Keep statuses current at midnight while the system stays up
+            try {
+                rentalStatusScheduler = new RentalStatusScheduler(rentalDAO);
+                rentalStatusScheduler.start();
+                System.out.println("   ✅ Rental status scheduler started");
+            } catch (Exception e) {
+                System.out.println("   ⚠️ Rental status scheduler not started: " + e.getMessage());
+            }
+
             System.out.println("✅ System initialization completed successfully");
 
         } catch (RuntimeException e) {
@@ -673,6 +660,11 @@ public class HillClimmer {
         System.out.println("🧹 Cleaning up resources...");
 
         try {
+            if (rentalStatusScheduler != null) {
+                rentalStatusScheduler.stop();
+            }
+            durationManager.shutdown(); // write buffered reminder and period changes
+
             // Clear current user sessions
             currentCustomer = null;
             currentManager = null;
@@ -730,7 +722,7 @@ public class HillClimmer {
             // Ensure vehicleManager is initialized
             if (vehicleManager == null) {
                 try {
-                    vehicleManager = new VehicleManager("VM001", 2, "Ahmad Abdullah", 5);
+                    vehicleManager = new VehicleManager("VM001", 2, "Ahmad Abdullah", 5).registerMBean();
                     loadVehiclesFromCSV();
                 } catch (Exception e) {
                     System.err.println("❌ Error initializing vehicle manager: " + e.getMessage());
@@ -738,36 +730,20 @@ public class HillClimmer {
                 }
             }
             
-            List<Vehicle> allVehicles = vehicleManager.getAllVehicles();
+            // Counts and prices are maintained incrementally, so this is one snapshot read
+            FleetStatistics stats = vehicleManager.getFleetStatistics();
 
-            if (allVehicles == null) {
-                System.out.println("❌ No vehicle data available");
-                pauseForUserConfirmation();
-                return;
-            }
-
-            // Count vehicles by type
-            long mountainBikes = allVehicles.stream().filter(v -> v.getVehicleType().equals("Mountain Bike")).count();
-            long dirtBikes = allVehicles.stream().filter(v -> v.getVehicleType().equals("Dirt Bike")).count();
-            long buggies = allVehicles.stream().filter(v -> v.getVehicleType().equals("Buggy")).count();
-            long crossovers = allVehicles.stream().filter(v -> v.getVehicleType().equals("Crossover")).count();
-            long availableVehicles = allVehicles.stream().filter(Vehicle::isAvailable).count();
-
-            System.out.println("Total Vehicles: " + allVehicles.size());
-            System.out.println("🚵 Mountain Bikes: " + mountainBikes);
-            System.out.println("🏍️  Dirt Bikes: " + dirtBikes);
-            System.out.println("🚙 Buggies: " + buggies);
-            System.out.println("🚗 Crossovers: " + crossovers);
-            System.out.println("✅ Available for Rent: " + availableVehicles);
-            System.out.println("❌ Currently Rented: " + (allVehicles.size() - availableVehicles));
+            System.out.println("Total Vehicles: " + stats.getVehicleCount());
+            System.out.println("🚵 Mountain Bikes: " + stats.getCount("Mountain Bike"));
+            System.out.println("🏍️  Dirt Bikes: " + stats.getCount("Dirt Bike"));
+            System.out.println("🚙 Buggies: " + stats.getCount("Buggy"));
+            System.out.println("🚗 Crossovers: " + stats.getCount("Crossover"));
+            System.out.println("✅ Available for Rent: " + stats.getAvailableCount());
+            System.out.println("❌ Currently Rented: " + stats.getUnavailableCount());
 
             // Show price range
-            double minPrice = allVehicles.stream().mapToDouble(Vehicle::getModelPricing).min().orElse(0);
-            double maxPrice = allVehicles.stream().mapToDouble(Vehicle::getModelPricing).max().orElse(0);
-            double avgPrice = allVehicles.stream().mapToDouble(Vehicle::getModelPricing).average().orElse(0);
-
-            System.out.println("💰 Price Range: RM" + String.format("%.0f", minPrice) + " - RM" + String.format("%.0f", maxPrice));
-            System.out.println("📊 Average Price: RM" + String.format("%.1f", avgPrice));
+            System.out.println("💰 Price Range: RM" + String.format("%.0f", stats.getMinPrice()) + " - RM" + String.format("%.0f", stats.getMaxPrice()));
+            System.out.println("📊 Average Price: RM" + String.format("%.1f", stats.getAveragePrice()));
 
         } catch (Exception e) {
             System.err.println("❌ Error calculating vehicle statistics: " + e.getMessage());
@@ -910,7 +886,7 @@ public class HillClimmer {
                 isManagerMode = true;
                 
                 // Initialize managers with authenticated manager
-                vehicleManager = new VehicleManager(currentManager);
+                vehicleManager = new VehicleManager(currentManager).registerMBean();
                 rentalManager = new RentalManager(currentManager);
             
                 System.out.println("✅ Manager login successful!");
@@ -1485,9 +1461,7 @@ public class HillClimmer {
         System.out.println("\n=== PROCESS VEHICLE RETURN ===");
         
         // Get all active rentals
-        List<Rental> activeRentals = rentalManager.getAllRentals().stream()
-            .filter(rental -> "Active".equals(rental.getStatus()))
-            .collect(Collectors.toList());
+        List<Rental> activeRentals = rentalManager.getActiveRentals();
         
         if (activeRentals.isEmpty()) {
             System.out.println("❌ No active rentals to process.");
@@ -1726,23 +1700,7 @@ public class HillClimmer {
 
     // Helper method to check if a vehicle type is allowed for a license type
     private static boolean isVehicleAllowedForLicense(String vehicleType, String licenseType) {
-        if (licenseType == null) return false;
-
-        switch (licenseType.toUpperCase()) {
-            case "B":
-                // License B can drive Dirt Bikes and Mountain Bikes only
-                return "Dirt Bike".equals(vehicleType) || "Mountain Bike".equals(vehicleType);
-            case "B2":
-                // License B2 can drive Dirt Bikes, Mountain Bikes, and possibly more
-                return "Dirt Bike".equals(vehicleType) || "Mountain Bike".equals(vehicleType) ||
-                       "Buggy".equals(vehicleType);
-            case "D":
-                // License D can drive all vehicle types
-                return true;
-            default:
-                // Unknown license types can only drive bikes for safety
-                return "Dirt Bike".equals(vehicleType) || "Mountain Bike".equals(vehicleType);
-        }
+        return FleetSearchService.isAllowedForLicense(vehicleType, licenseType);
     }
 
     // Helper method to get allowed vehicle types as a string
@@ -1782,7 +1740,7 @@ public class HillClimmer {
         // Ensure vehicleManager is initialized for customer operations
         if (vehicleManager == null) {
             try {
-                vehicleManager = new VehicleManager("VM001", 2, "Ahmad Abdullah", 5);
+                vehicleManager = new VehicleManager("VM001", 2, "Ahmad Abdullah", 5).registerMBean();
                 loadVehiclesFromCSV();
             } catch (Exception e) {
                 System.err.println("❌ Error initializing vehicle manager: " + e.getMessage());
@@ -1790,14 +1748,30 @@ public class HillClimmer {
             }
         }
         
-        // Filter vehicles based on customer's license type
-        List<Vehicle> availableVehicles = vehicleManager.getAllVehicles().stream()
-            .filter(Vehicle::isAvailable)
-            .filter(v -> isVehicleAllowedForLicense(v.getVehicleType(), currentCustomer.getLicenseType()))
-            .toList();
+        // Ask for dates first so only vehicles free for the whole period are offered
+        LocalDate startDate;
+        LocalDate endDate;
+        try {
+            startDate = readDate("Rental start date (DD/MM/YYYY): ", true);
+            endDate = readDate("Rental end date (DD/MM/YYYY): ", false);
+        } catch (UserExitException e) {
+            return; // Back to customer menu
+        }
+
+        if (startDate.isAfter(endDate) || startDate.isBefore(LocalDate.now())) {
+            System.out.println("❌ Invalid date range.");
+            pauseForUserConfirmation();
+            return;
+        }
+
+        // Filter vehicles by customer's license type and date availability
+        FleetSearchService fleetSearch = new FleetSearchService(vehicleManager, rentalDAO);
+        List<Vehicle> availableVehicles = fleetSearch.findAvailableVehicles(
+            startDate, endDate, currentCustomer.getLicenseType());
 
         if (availableVehicles.isEmpty()) {
-            System.out.println("❌ No vehicles are currently available for rental with your license type (" + currentCustomer.getLicenseType() + ").");
+            System.out.println("❌ No vehicles are available from " + startDate + " to " + endDate +
+                " for your license type (" + currentCustomer.getLicenseType() + ").");
             System.out.println("License " + currentCustomer.getLicenseType() + " can drive: " + getAllowedVehicleTypes(currentCustomer.getLicenseType()));
             pauseForUserConfirmation();
             return;
@@ -1811,7 +1785,7 @@ public class HillClimmer {
         Vehicle selectedVehicle = null; // Declare outside loop
 
         while (true) {
-            System.out.println("\n🚗 Available Vehicles (Page " + currentPage + " of " + totalPages + "):");
+            System.out.println("\n🚗 Vehicles Available " + startDate + " to " + endDate + " (Page " + currentPage + " of " + totalPages + "):");
             System.out.println("License Type: " + currentCustomer.getLicenseType() + " | Allowed: " + getAllowedVehicleTypes(currentCustomer.getLicenseType()));
             System.out.println("=".repeat(80));
 
@@ -1874,17 +1848,7 @@ public class HillClimmer {
         }
 
         try {
-            // Continue with the rest of the rental process using selectedVehicle
-            LocalDate startDate = readDate("Rental start date (DD/MM/YYYY): ", true);
-            LocalDate endDate = readDate("Rental end date (DD/MM/YYYY): ", false);
-
-            if (startDate.isAfter(endDate) || startDate.isBefore(LocalDate.now())) {
-                System.out.println("❌ Invalid date range.");
-                pauseForUserConfirmation();
-                return;
-            }
-
-            // Check for vehicle availability conflicts
+            // Re-check for conflicts in case the vehicle was booked while the customer was browsing
             int vehicleId = Integer.parseInt(selectedVehicle.getVehicleID().substring(2));
             if (!isVehicleAvailableForDates(vehicleId, startDate, endDate)) {
                 System.out.println("❌ VEHICLE UNAVAILABLE FOR SELECTED DATES");
@@ -1915,12 +1879,7 @@ public class HillClimmer {
             }
 
             // Create rental
-            List<Rental> allRentals = rentalManager.getAllRentals();
-            int maxId = allRentals.stream()
-                .mapToInt(Rental::getRentalId)
-                .max()
-                .orElse(0);
-            int rentalId = maxId + 1;
+            int rentalId = rentalManager.nextRentalId();
             rentalManager.addRentalWithId(rentalId, Integer.parseInt(currentCustomer.getCustomerID().substring(1)),
                 Integer.parseInt(selectedVehicle.getVehicleID().substring(2)), startDate, endDate, totalCost);
             
@@ -2012,7 +1971,7 @@ public class HillClimmer {
             }
 
             // Create payment based on method
-            String paymentID = "P" + System.currentTimeMillis();
+            String paymentID = IdAllocator.nextTimestampId("P");
             String timestamp = LocalDate.now().format(DateTimeFormatter.ofPattern("dd/MM/yyyy"));
             Payment payment = null;
 
@@ -2125,9 +2084,7 @@ public class HillClimmer {
     private static void viewRentals() {
         System.out.println("\n=== MY RENTALS ===");
 
-        List<Rental> customerRentals = rentalManager.getAllRentals().stream()
-            .filter(r -> r.getCustomerId() == Integer.parseInt(currentCustomer.getCustomerID().substring(1)))
-            .toList();
+        List<Rental> customerRentals = rentalManager.getRentalsByCustomer(Integer.parseInt(currentCustomer.getCustomerID().substring(1)));
 
         if (customerRentals.isEmpty()) {
             System.out.println("You have no rental history.");
@@ -2379,9 +2336,7 @@ public class HillClimmer {
         System.out.println("\n=== PAYMENT HISTORY ===");
         System.out.println("Customer ID: " + currentCustomer.getCustomerID());
 
-        List<Payment> customerPayments = transactionManager.getTransactionList().stream()
-            .filter(p -> p.getCustomerID().equals(currentCustomer.getCustomerID()))
-            .toList();
+        List<Payment> customerPayments = transactionManager.getTransactionsByCustomer(currentCustomer.getCustomerID());
 
         if (customerPayments.isEmpty()) {
             System.out.println("No payment history found.");
@@ -2655,16 +2610,16 @@ public class HillClimmer {
                     customerDAO.update(currentCustomer);
 
                     // Mark any pending rentals as paid
-                    List<Rental> customerRentals = rentalManager.getAllRentals().stream()
-                        .filter(r -> r.getCustomerId() == Integer.parseInt(currentCustomer.getCustomerID().substring(1)))
-                        .toList();
+                    List<Rental> customerRentals = rentalManager.getRentalsByCustomer(Integer.parseInt(currentCustomer.getCustomerID().substring(1)));
 
+                    List<Rental> paidRentals = new ArrayList<>();
                     for (Rental rental : customerRentals) {
                         if ("Pending".equals(rental.getPaymentStatus())) {
                             rental.setPaymentStatus("Paid");
-                            rentalManager.updateRental(rental);
+                            paidRentals.add(rental);
                         }
                     }
+                    rentalManager.updateRentals(paidRentals);
                     
                     try {
                         // Update rental statuses after marking rentals as paid
@@ -2684,7 +2639,7 @@ public class HillClimmer {
 
             // Original payment processing logic (unchanged)
             // Create payment based on method
-            String paymentID = "P" + System.currentTimeMillis();
+            String paymentID = IdAllocator.nextTimestampId("P");
             String timestamp = LocalDate.now().format(DateTimeFormatter.ofPattern("dd/MM/yyyy"));
             Payment payment = null;
 
@@ -2710,16 +2665,16 @@ public class HillClimmer {
                 
                 // If customer paid outstanding balance online, mark any pending rentals as paid
                 // (since they effectively switched from cash payment to online payment)
-                List<Rental> customerRentals = rentalManager.getAllRentals().stream()
-                    .filter(r -> r.getCustomerId() == Integer.parseInt(currentCustomer.getCustomerID().substring(1)))
-                    .toList();
+                List<Rental> customerRentals = rentalManager.getRentalsByCustomer(Integer.parseInt(currentCustomer.getCustomerID().substring(1)));
                 
+                List<Rental> paidRentals = new ArrayList<>();
                 for (Rental rental : customerRentals) {
                     if ("Pending".equals(rental.getPaymentStatus())) {
                         rental.setPaymentStatus("Paid");
-                        rentalManager.updateRental(rental);
+                        paidRentals.add(rental);
                     }
                 }
+                rentalManager.updateRentals(paidRentals);
                 
                 try {
                     // Update rental statuses after marking rentals as paid
@@ -2737,17 +2692,19 @@ public class HillClimmer {
                 transactionManager.recordTransaction(payment);
                 
                 // Mark any unpaid rentals as pending (awaiting cash payment at counter)
-                List<Rental> customerRentals = rentalManager.getAllRentals().stream()
-                    .filter(r -> r.getCustomerId() == Integer.parseInt(currentCustomer.getCustomerID().substring(1)))
-                    .toList();
+                List<Rental> customerRentals = rentalManager.getRentalsByCustomer(Integer.parseInt(currentCustomer.getCustomerID().substring(1)));
                 
+                List<Rental> pendingRentals = new ArrayList<>();
                 for (Rental rental : customerRentals) {
                     if ("Unpaid".equals(rental.getPaymentStatus())) {
                         rental.setPaymentStatus("Pending");
-                        rentalManager.updateRental(rental);
-                        System.out.println("✅ Rental " + rental.getRentalId() + " marked as Pending (awaiting cash payment)");
+                        pendingRentals.add(rental);
                     }
                 }
+                rentalManager.updateRentals(pendingRentals);
+                for (Rental rental : pendingRentals) {
+                    System.out.println("✅ Rental " + rental.getRentalId() + " marked as Pending (awaiting cash payment)");
+                }
                 
                 System.out.println("📄 PAYMENT SLIP GENERATED");
                 System.out.println("=".repeat(50));
@@ -2848,7 +2805,7 @@ public class HillClimmer {
         // Ensure vehicleManager is initialized
         if (vehicleManager == null) {
             try {
-                vehicleManager = new VehicleManager("VM001", 2, "Ahmad Abdullah", 5);
+                vehicleManager = new VehicleManager("VM001", 2, "Ahmad Abdullah", 5).registerMBean();
                 loadVehiclesFromCSV();
             } catch (Exception e) {
                 System.err.println("❌ Error initializing vehicle manager: " + e.getMessage());
@@ -2979,24 +2936,7 @@ public class HillClimmer {
                 prefix = "V"; // Fallback
         }
 
-        // Get all existing vehicles to find the highest ID for this type
-        List<Vehicle> allVehicles = vehicleManager.getAllVehicles();
-        int maxId = 0;
-
-        for (Vehicle v : allVehicles) {
-            if (v.getVehicleID().startsWith(prefix)) {
-                try {
-                    int idNum = Integer.parseInt(v.getVehicleID().substring(2));
-                    if (idNum > maxId) {
-                        maxId = idNum;
-                    }
-                } catch (NumberFormatException e) {
-                    // Skip invalid IDs
-                }
-            }
-        }
-
-        return prefix + String.format("%03d", maxId + 1);
+        return DaoRegistry.getVehicleDAO().generateNextVehicleId(prefix);
     }
 
     private static void removeVehicle() {
@@ -3382,24 +3322,16 @@ public class HillClimmer {
     private static void showSystemReports() {
         System.out.println("\n=== SYSTEM REPORTS ===");
         try {
-            System.out.println("Total Vehicles: " + (vehicleManager != null ? vehicleManager.getAllVehicles().size() : 0));
-            System.out.println("Total Customers: " + customerDAO.getAll().size());
+            System.out.println("Total Vehicles: " + (vehicleManager != null ? vehicleManager.getFleetStatistics().getVehicleCount() : 0));
+            System.out.println("Total Customers: " + customerDAO.count());
             
             // Only count rentals with "Paid" status as active
-            List<Rental> allRentals = rentalManager.getAllRentals();
-            long activeRentals = allRentals.stream()
-                .filter(rental -> "Paid".equals(rental.getPaymentStatus()))
-                .count();
-            System.out.println("Active Rentals: " + activeRentals);
+            System.out.println("Active Rentals: " + rentalDAO.countPaidRentals());
             
             System.out.println("Pending Reminders: " + durationManager.getPendingReminders().size());
             
             // Only count revenue from paid rentals
-            double totalRevenue = allRentals.stream()
-                .filter(rental -> "Paid".equals(rental.getPaymentStatus()))
-                .mapToDouble(Rental::getTotalCost)
-                .sum();
-            System.out.println("Total Revenue: RM" + String.format("%.2f", totalRevenue));
+            System.out.println("Total Revenue: RM" + String.format("%.2f", rentalDAO.getPaidRevenue()));
         } catch (Exception e) {
             System.err.println("❌ Error generating system report: " + e.getMessage());
             e.printStackTrace();
@@ -3527,13 +3459,8 @@ public class HillClimmer {
             
             String confirm = readString("Confirm rental creation? (y/n): ");
             if (confirm.toLowerCase().startsWith("y")) {
-                // Generate rental ID - find max existing ID and add 1
-                List<Rental> allRentals = rentalManager.getAllRentals();
-                int maxId = allRentals.stream()
-                    .mapToInt(Rental::getRentalId)
-                    .max()
-                    .orElse(0);
-                int rentalId = maxId + 1;
+                // Generate rental ID from the shared allocator
+                int rentalId = rentalManager.nextRentalId();
 
                 // Add rental with specific ID
                 rentalManager.addRentalWithId(rentalId, customerId, vehicleId, startDate, endDate, totalCost);
@@ -3646,7 +3573,7 @@ public class HillClimmer {
             }
 
             // Create PaymentDAO instance to search for payment
-            PaymentDAO paymentDAO = new PaymentDAO();
+            PaymentDAO paymentDAO = DaoRegistry.getPaymentDAO();
 
             // Find the payment by reference number
             Payment payment = paymentDAO.getByReferenceNumber(referenceNumber.trim());
@@ -3710,14 +3637,7 @@ public class HillClimmer {
 
         try {
             // Get all rentals with pending payment status
-            List<Rental> allRentals = rentalManager.getAllRentals();
-            List<Rental> pendingRentals = new ArrayList<>();
-
-            for (Rental rental : allRentals) {
-                if ("Pending".equals(rental.getPaymentStatus())) {
-                    pendingRentals.add(rental);
-                }
-            }
+            List<Rental> pendingRentals = rentalManager.getRentalsByPaymentStatus("Pending");
 
             if (pendingRentals.isEmpty()) {
                 System.out.println("✅ No pending cash payments found.");
@@ -3766,7 +3686,7 @@ public class HillClimmer {
             String confirm = readString("Confirm cash payment received? (y/n): ");
             if (confirm.toLowerCase().startsWith("y")) {
                 // Create a CashPayment object to handle the payment processing
-                String paymentID = "CASH" + System.currentTimeMillis();
+                String paymentID = IdAllocator.nextTimestampId("CASH");
                 String customerId = "C" + String.format("%03d", selectedRental.getCustomerId());
                 CashPayment cashPayment = new CashPayment(paymentID, selectedRental.getTotalCost(),
                     LocalDateTime.now().format(DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm")),
@@ -3776,7 +3696,7 @@ public class HillClimmer {
                 cashPayment.markAsPaid(currentManager != null ? currentManager.getName() : "Manager");
 
                 // Save the payment to database
-                PaymentDAO paymentDAO = new PaymentDAO();
+                PaymentDAO paymentDAO = DaoRegistry.getPaymentDAO();
                 paymentDAO.save(cashPayment);
 
                 // Update rental status to "Paid"
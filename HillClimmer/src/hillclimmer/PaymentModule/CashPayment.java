@@ -29,8 +29,9 @@ public class CashPayment extends Payment {
         generatePaymentSlip();
     }
 
+    // Show the payment slip and counter instructions; the cash itself is paid later at the counter
     @Override
-    public void processPayment() {
+    protected void collectPayment() {
         System.out.println("\n=== CASH PAYMENT ===");
         System.out.println("Amount to pay: RM" + String.format("%.2f", totalAmount));
         System.out.println("Reference Number: " + referenceNumber);
@@ -28,8 +28,9 @@ public class CreditCardPayment extends Payment {
         this.cardType = "";
     }
 
+    // Collect and validate card details, then charge the card
     @Override
-    public void processPayment() {
+    protected void collectPayment() {
         System.out.println("\n=== CREDIT CARD PAYMENT ===");
         System.out.println("Amount to pay: RM" + String.format("%.2f", totalAmount));
         System.out.println("Reference Number: " + referenceNumber);
@@ -142,7 +143,7 @@ public class CreditCardPayment extends Payment {
             System.out.println("Contacting " + cardType + " payment gateway...");
 
             try {
-                Thread.sleep(2000); // Simulate processing time
+                PaymentGatewayEvent.simulateDelay(paymentMethod, "charge", totalAmount, 2000); // Simulate processing time
             } catch (InterruptedException e) {
                 Thread.currentThread().interrupt();
             }
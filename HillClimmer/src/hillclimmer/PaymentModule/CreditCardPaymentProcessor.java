@@ -22,6 +22,18 @@ public class CreditCardPaymentProcessor implements PaymentProcessor {
 
     @Override
     public PaymentResult processPayment(double amount) {
+        PaymentProcessingEvent event = PaymentProcessingEvent.begin(getPaymentMethodName(), amount);
+        PaymentResult result = null;
+        try {
+            result = chargeCard(amount);
+            return result;
+        } finally {
+            event.end(result != null ? result.getTransactionId() : null, paymentStatus);
+        }
+    }
+
+    // Prompts for the card details, validates them and charges the card
+    private PaymentResult chargeCard(double amount) {
         if (!validateAmount(amount)) {
             paymentStatus = "Failed";
             return PaymentResult.failure("Invalid payment amount", amount, getPaymentMethodName());
@@ -71,7 +83,7 @@ public class CreditCardPaymentProcessor implements PaymentProcessor {
             System.out.println("Contacting " + cardType + " payment gateway...");
 
             try {
-                Thread.sleep(2000); // Simulate processing time
+                PaymentGatewayEvent.simulateDelay(getPaymentMethodName(), "charge", amount, 2000); // Simulate processing time
             } catch (InterruptedException e) {
                 Thread.currentThread().interrupt();
             }
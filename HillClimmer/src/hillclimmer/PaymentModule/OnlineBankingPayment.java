@@ -33,8 +33,9 @@ public class OnlineBankingPayment extends Payment {
         this.generatedOTP = "";
     }
 
+    // Bank login, OTP check and debit
     @Override
-    public void processPayment() {
+    protected void collectPayment() {
         System.out.println("\n=== ONLINE BANKING PAYMENT ===");
         System.out.println("Amount to pay: RM" + String.format("%.2f", totalAmount));
         System.out.println("Reference Number: " + referenceNumber);
@@ -88,7 +89,7 @@ public class OnlineBankingPayment extends Payment {
             // Simulate login verification
             System.out.println("\n🔄 Verifying credentials with " + bankName + "...");
             try {
-                Thread.sleep(1500);
+                PaymentGatewayEvent.simulateDelay(paymentMethod, "login verification", totalAmount, 1500);
             } catch (InterruptedException e) {
                 Thread.currentThread().interrupt();
             }
@@ -123,7 +124,7 @@ public class OnlineBankingPayment extends Payment {
             // Process payment
             System.out.println("\n🔄 Processing payment through " + bankName + "...");
             try {
-                Thread.sleep(2000);
+                PaymentGatewayEvent.simulateDelay(paymentMethod, "charge", totalAmount, 2000);
             } catch (InterruptedException e) {
                 Thread.currentThread().interrupt();
             }
@@ -62,8 +62,21 @@ public abstract class Payment {
         return paymentSlip;
     }
 
-    // Abstract method for processing payment
-    public abstract void processPayment();
+    /**
+     * Takes the payment through its payment method, recorded as one
+     * PaymentProcessingEvent from the first prompt to the final status
+     */
+    public final void processPayment() {
+        PaymentProcessingEvent event = PaymentProcessingEvent.begin(paymentMethod, totalAmount);
+        try {
+            collectPayment();
+        } finally {
+            event.end(paymentID, paymentStatus);
+        }
+    }
+
+    // Method-specific prompts and checks; sets paymentStatus to the outcome
+    protected abstract void collectPayment();
 
     public void refundPayment() {
         // Simulate refund
@@ -86,6 +99,15 @@ public abstract class Payment {
         this.paymentStatus = newStatus;
     }
 
+    // Setters for restoring persisted fields (used by DAO)
+    public void setReferenceNumber(String referenceNumber) {
+        this.referenceNumber = referenceNumber;
+    }
+
+    public void setPaymentSlip(String paymentSlip) {
+        this.paymentSlip = paymentSlip;
+    }
+
     private String generateReferenceNumber() {
         return "REF" + System.currentTimeMillis() + (int)(Math.random() * 1000);
     }
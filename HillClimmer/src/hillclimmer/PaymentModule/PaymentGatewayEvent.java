@@ -0,0 +1,50 @@
+/*
+ * PaymentGatewayEvent class for recording payment gateway waits with Java Flight Recorder
+ */
+package hillclimmer.PaymentModule;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event for time spent waiting on the (simulated) payment gateway, e.g. the
+ * bank login check or the card charge.
+ *
+ * @author las
+ */
+@Name("hillclimmer.PaymentGateway")
+@Label("Payment Gateway Wait")
+@Category({"HillClimmer", "Payment"})
+@Description("Wait for the payment gateway to respond")
+class PaymentGatewayEvent extends Event {
+    @Label("Payment Method")
+    String paymentMethod;
+
+    @Label("Stage")
+    String stage;
+
+    @Label("Amount")
+    double amount;
+
+    /**
+     * Simulate a gateway round trip of the given length, recorded as one event
+     */
+    static void simulateDelay(String paymentMethod, String stage, double amount, long millis) throws InterruptedException {
+        PaymentGatewayEvent event = new PaymentGatewayEvent();
+        event.begin();
+        try {
+            Thread.sleep(millis);
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.paymentMethod = paymentMethod;
+                event.stage = stage;
+                event.amount = amount;
+                event.commit();
+            }
+        }
+    }
+}
@@ -0,0 +1,52 @@
+/*
+ * PaymentProcessingEvent class for recording payment processing with Java Flight Recorder
+ */
+package hillclimmer.PaymentModule;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event spanning one processPayment call, from the first prompt to the final
+ * status. The simulated gateway delays inside it are recorded separately as
+ * PaymentGatewayEvents, so the rest of the span is customer input.
+ *
+ * @author las
+ */
+@Name("hillclimmer.PaymentProcessing")
+@Label("Payment Processing")
+@Category({"HillClimmer", "Payment"})
+@Description("One payment taken through its payment method")
+class PaymentProcessingEvent extends Event {
+    @Label("Payment Method")
+    String paymentMethod;
+
+    @Label("Payment ID")
+    String paymentId;
+
+    @Label("Amount")
+    double amount;
+
+    @Label("Status")
+    String status;
+
+    static PaymentProcessingEvent begin(String paymentMethod, double amount) {
+        PaymentProcessingEvent event = new PaymentProcessingEvent();
+        event.paymentMethod = paymentMethod;
+        event.amount = amount;
+        event.begin();
+        return event;
+    }
+
+    void end(String paymentId, String status) {
+        end();
+        if (shouldCommit()) {
+            this.paymentId = paymentId;
+            this.status = status;
+            commit();
+        }
+    }
+}
@@ -5,82 +5,156 @@
  */
 package hillclimmer.PaymentModule;
 
+import hillclimmer.DatabaseModule.DaoRegistry;
+import hillclimmer.DatabaseModule.MBeans;
+import hillclimmer.DatabaseModule.OperationStats;
 import hillclimmer.DatabaseModule.PaymentDAO;
+import hillclimmer.DatabaseModule.PaymentMetrics;
 import java.util.*;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
+ * Records payments and reports on them. Earnings and status counts come from the
+ * running aggregates kept by PaymentDAO, so they reflect every persisted payment
+ * (including ones saved by other parts of the system) without rescanning the table.
+ * Call statistics are published over JMX (see TransactionManagerMXBean) once
+ * registerMBean is called; the application registers its long-lived manager.
  *
  * @author las
  */
-public class TransactionManager {
+public class TransactionManager implements TransactionManagerMXBean {
     private String transactionManagerID;
-    private List<Payment> transactionList;
-    private double totalEarnings;
     private PaymentDAO paymentDAO;
     private final Object transactionLock = new Object();
+    private final OperationStats operations = new OperationStats();
+    private final LongAdder recorded = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
 
     public TransactionManager(String transactionManagerID) {
         this.transactionManagerID = transactionManagerID;
-        this.transactionList = new ArrayList<>();
-        this.totalEarnings = 0.0;
-        this.paymentDAO = new PaymentDAO();
-        // Load transactions from DAO
-        this.transactionList = paymentDAO.loadAll();
-        calculateTotalEarnings();
+        this.paymentDAO = DaoRegistry.getPaymentDAO();
     }
 
+    /**
+     * Publish this manager as hillclimmer:type=TransactionManager,name=&lt;ID&gt;
+     * @return this manager, for use in initialisers
+     */
+    public TransactionManager registerMBean() {
+        return MBeans.register("TransactionManager", transactionManagerID, this, TransactionManagerMXBean.class);
+    }
+
+    @Override
     public String getTransactionManagerID() {
         return transactionManagerID;
     }
 
     public List<Payment> getTransactionList() {
-        return new ArrayList<>(transactionList);
+        return paymentDAO.loadAll();
     }
 
+    @Override
     public double getTotalEarnings() {
-        synchronized (transactionLock) {
-            return totalEarnings;
-        }
+        return paymentDAO.getMetrics().getRevenue();
+    }
+
+    // Snapshot of the payment counters and revenue
+    public PaymentMetrics getMetrics() {
+        return paymentDAO.getMetrics();
     }
 
     // Record a successful transaction
     public void recordTransaction(Payment payment) {
+        long started = System.nanoTime();
         synchronized (transactionLock) {
             if ("Paid".equals(payment.getPaymentStatus())) {
-                transactionList.add(payment);
-                paymentDAO.save(payment); // Persist
-                totalEarnings += payment.getTotalAmount();
+                paymentDAO.save(payment); // Persist; the DAO updates the aggregates
+                recorded.increment();
                 System.out.println("Transaction recorded: " + payment.getPaymentID());
             } else {
+                rejected.increment();
                 System.out.println("Cannot record unpaid transaction: " + payment.getPaymentID());
             }
         }
+        operations.record("recordTransaction", started);
     }
 
     // Get transaction summary
     public String getTransactionSummary() {
-        int paid = 0, pending = 0, failed = 0;
-        for (Payment p : transactionList) {
-            switch (p.getPaymentStatus()) {
-                case "Paid": paid++; break;
-                case "Pending": pending++; break;
-                case "Failed": failed++; break;
-            }
-        }
+        // One snapshot, so the counts and earnings agree with each other
+        PaymentMetrics metrics = paymentDAO.getMetrics();
         return "Transaction Summary:\n" +
-               "Paid: " + paid + "\n" +
-               "Pending: " + pending + "\n" +
-               "Failed: " + failed + "\n" +
-               "Total Earnings: " + totalEarnings;
+               "Paid: " + metrics.getCount("Paid") + "\n" +
+               "Pending: " + metrics.getCount("Pending") + "\n" +
+               "Failed: " + metrics.getCount("Failed") + "\n" +
+               "Total Earnings: " + metrics.getRevenue();
     }
 
     // Get transaction by ID
     public Payment getTransactionByID(String paymentID) {
-        return paymentDAO.load(paymentID);
+        long started = System.nanoTime();
+        try {
+            return paymentDAO.load(paymentID);
+        } finally {
+            operations.record("getTransactionByID", started);
+        }
+    }
+
+    // Get all persisted payments of one customer
+    public List<Payment> getTransactionsByCustomer(String customerID) {
+        long started = System.nanoTime();
+        try {
+            return paymentDAO.getByCustomerId(customerID);
+        } finally {
+            operations.record("getTransactionsByCustomer", started);
+        }
+    }
+
+    // TransactionManagerMXBean attributes
+
+    @Override
+    public long getTransactionsRecorded() {
+        return recorded.sum();
+    }
+
+    @Override
+    public long getTransactionsRejected() {
+        return rejected.sum();
+    }
+
+    @Override
+    public Map<String, Long> getOperationCounts() {
+        return operations.getCounts();
+    }
+
+    @Override
+    public Map<String, Double> getOperationTotalMillis() {
+        return operations.getTotalMillis();
+    }
+
+    @Override
+    public Map<String, Double> getOperationMaxMillis() {
+        return operations.getMaxMillis();
+    }
+
+    @Override
+    public long getPaymentCount() {
+        return paymentDAO.getMetrics().getPaymentCount();
+    }
+
+    @Override
+    public Map<String, Long> getPaymentCountsByStatus() {
+        return paymentDAO.getMetrics().getCountsByStatus();
+    }
+
+    @Override
+    public Map<String, Long> getPaymentCountsByMethod() {
+        return paymentDAO.getMetrics().getCountsByMethod();
     }
 
-    // Calculate total earnings
-    private void calculateTotalEarnings() {
-        totalEarnings = paymentDAO.getTotalEarnings();
+    @Override
+    public void resetStatistics() {
+        operations.reset();
+        recorded.reset();
+        rejected.reset();
     }
 }
@@ -0,0 +1,37 @@
+/*
+ * TransactionManagerMXBean interface for payment monitoring over JMX
+ */
+package hillclimmer.PaymentModule;
+
+import java.util.Map;
+
+/**
+ * JMX view of a TransactionManager: call counts and latencies of its operations,
+ * recorded and rejected transactions, and the persisted payment aggregates.
+ * Registered as hillclimmer:type=TransactionManager,name=&lt;transactionManagerID&gt;.
+ *
+ * @author las
+ */
+public interface TransactionManagerMXBean {
+    String getTransactionManagerID();
+
+    long getTransactionsRecorded();
+
+    long getTransactionsRejected();
+
+    Map<String, Long> getOperationCounts();
+
+    Map<String, Double> getOperationTotalMillis();
+
+    Map<String, Double> getOperationMaxMillis();
+
+    long getPaymentCount();
+
+    Map<String, Long> getPaymentCountsByStatus();
+
+    Map<String, Long> getPaymentCountsByMethod();
+
+    double getTotalEarnings();
+
+    void resetStatistics();
+}
@@ -0,0 +1,184 @@
+/*
+ * AvailabilityEngine class for vehicle booking conflict detection
+ */
+package hillclimmer.RentalModule;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Keeps one interval tree of booked date ranges per vehicle so overlap checks
+ * and conflict listing run in O(log n + k) instead of scanning every rental.
+ * Alongside each tree it keeps a day-occupancy bitmap (one bit per day from a
+ * fixed origin) so a fleet-wide date search is one BitSet intersection per vehicle.
+ * Bookings of one vehicle may overlap, so each bitmap is backed by per-day booking
+ * counts: a day's bit is cleared only when the last booking covering it is released.
+ * Cancelled rentals do not hold a booking. Owned by RentalDAO, which feeds it
+ * under its write lock as rentals are created, updated and deleted; queries
+ * only read and may run concurrently under the read lock.
+ *
+ * @author las
+ */
+public class AvailabilityEngine {
+    // Days before the origin are never searched for new bookings, so they are not tracked in the bitmaps
+    private static final int BITMAP_HISTORY_DAYS = 366;
+
+    private final Map<Integer, IntervalTree<String>> bookingsByVehicle = new HashMap<>();
+    private final Map<Integer, Occupancy> occupancyByVehicle = new HashMap<>();
+    private final long originDay = LocalDate.now().toEpochDay() - BITMAP_HISTORY_DAYS;
+    // Bounds each rental was booked under, so a rental moved to new dates releases its old ones
+    private final Map<String, Booking> bookings = new HashMap<>();
+
+    private static final class Booking {
+        private final int vehicleId;
+        private final long start;
+        private final long end;
+
+        private Booking(int vehicleId, long start, long end) {
+            this.vehicleId = vehicleId;
+            this.start = start;
+            this.end = end;
+        }
+    }
+
+    // Booked days of one vehicle: how many bookings cover each day, and the days covered at all
+    private static final class Occupancy {
+        private final BitSet days = new BitSet();
+        private int[] counts = new int[0];
+
+        private void add(int from, int to) {
+            if (to >= counts.length) {
+                counts = Arrays.copyOf(counts, Math.max(to + 1, counts.length * 2));
+            }
+            for (int day = from; day <= to; day++) {
+                if (counts[day]++ == 0) {
+                    days.set(day);
+                }
+            }
+        }
+
+        private void remove(int from, int to) {
+            for (int day = from; day <= to; day++) {
+                if (--counts[day] == 0) {
+                    days.clear(day);
+                }
+            }
+        }
+    }
+
+    public void clear() {
+        bookingsByVehicle.clear();
+        occupancyByVehicle.clear();
+        bookings.clear();
+    }
+
+    /**
+     * Records (or re-records) the booking held by a rental
+     */
+    public void book(Rental rental) {
+        String rentalId = String.valueOf(rental.getRentalId());
+        release(rentalId);
+        if (!holdsBooking(rental)) {
+            return;
+        }
+        Booking booking = new Booking(rental.getVehicleId(),
+                rental.getStartDate().toEpochDay(), rental.getEndDate().toEpochDay());
+        bookingsByVehicle.computeIfAbsent(booking.vehicleId, k -> new IntervalTree<>())
+                .insert(booking.start, booking.end, rentalId);
+        bookings.put(rentalId, booking);
+        long from = firstTrackedDay(booking.start);
+        if (booking.end - originDay >= from) {
+            occupancyByVehicle.computeIfAbsent(booking.vehicleId, k -> new Occupancy())
+                    .add((int) from, (int) (booking.end - originDay));
+        }
+    }
+
+    public void release(String rentalId) {
+        Booking booking = bookings.remove(rentalId);
+        if (booking == null) {
+            return;
+        }
+        IntervalTree<String> tree = bookingsByVehicle.get(booking.vehicleId);
+        if (tree != null) {
+            tree.remove(booking.start, booking.end, rentalId);
+            if (tree.isEmpty()) {
+                bookingsByVehicle.remove(booking.vehicleId);
+                occupancyByVehicle.remove(booking.vehicleId);
+                return;
+            }
+        }
+        long from = firstTrackedDay(booking.start);
+        Occupancy occupancy = occupancyByVehicle.get(booking.vehicleId);
+        if (occupancy != null && booking.end - originDay >= from) {
+            occupancy.remove((int) from, (int) (booking.end - originDay));
+        }
+    }
+
+    public boolean isAvailable(int vehicleId, LocalDate startDate, LocalDate endDate) {
+        IntervalTree<String> tree = bookingsByVehicle.get(vehicleId);
+        return tree == null || !tree.overlaps(startDate.toEpochDay(), endDate.toEpochDay());
+    }
+
+    /**
+     * @return IDs of rentals whose booking overlaps the given dates, ordered by start date
+     */
+    public List<String> findConflicts(int vehicleId, LocalDate startDate, LocalDate endDate) {
+        IntervalTree<String> tree = bookingsByVehicle.get(vehicleId);
+        if (tree == null) {
+            return new ArrayList<>();
+        }
+        return tree.findOverlapping(startDate.toEpochDay(), endDate.toEpochDay());
+    }
+
+    /**
+     * Builds a day mask for a search, to be passed to isFree for each candidate vehicle
+     */
+    public BitSet dayMask(LocalDate startDate, LocalDate endDate) {
+        BitSet mask = new BitSet();
+        setDays(mask, startDate.toEpochDay(), endDate.toEpochDay());
+        return mask;
+    }
+
+    /**
+     * @return true if the bitmaps track this date; earlier dates must be checked with isAvailable
+     */
+    public boolean isTracked(LocalDate date) {
+        return date.toEpochDay() >= originDay;
+    }
+
+    /**
+     * @return true if the vehicle has no booked day in the mask
+     */
+    public boolean isFree(int vehicleId, BitSet dayMask) {
+        Occupancy occupancy = occupancyByVehicle.get(vehicleId);
+        return occupancy == null || !occupancy.days.intersects(dayMask);
+    }
+
+    // Bitmap index of the first day of a booking, clamped to the origin
+    private long firstTrackedDay(long startDay) {
+        return Math.max(startDay, originDay) - originDay;
+    }
+
+    private void setDays(BitSet bits, long startDay, long endDay) {
+        long from = firstTrackedDay(startDay);
+        long to = endDay - originDay;
+        if (to >= from) {
+            bits.set((int) from, (int) to + 1);
+        }
+    }
+
+    public int getBookingCount() {
+        return bookings.size();
+    }
+
+    public static boolean holdsBooking(Rental rental) {
+        return rental.getStartDate() != null && rental.getEndDate() != null
+                && !rental.getEndDate().isBefore(rental.getStartDate())
+                && !"Cancelled".equals(rental.getStatus());
+    }
+}
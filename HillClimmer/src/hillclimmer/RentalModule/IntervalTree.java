@@ -0,0 +1,222 @@
+/*
+ * IntervalTree class for date range overlap queries
+ */
+package hillclimmer.RentalModule;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Augmented AVL tree of closed intervals [start, end] over epoch days.
+ * Each node stores the largest end in its subtree so overlap queries skip
+ * whole subtrees, giving O(log n) inserts/removes and O(log n + k) queries.
+ * Not thread-safe; callers provide their own locking.
+ *
+ * @param <V> value attached to each interval (e.g. a rental ID)
+ * @author las
+ */
+public class IntervalTree<V extends Comparable<V>> {
+
+    private static final class Node<V> {
+        private final long start;
+        private final long end;
+        private final V value;
+        private long maxEnd;
+        private int height;
+        private Node<V> left;
+        private Node<V> right;
+
+        private Node(long start, long end, V value) {
+            this.start = start;
+            this.end = end;
+            this.value = value;
+            this.maxEnd = end;
+            this.height = 1;
+        }
+    }
+
+    private Node<V> root;
+    private int size;
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        root = null;
+        size = 0;
+    }
+
+    public void insert(long start, long end, V value) {
+        if (end < start) {
+            throw new IllegalArgumentException("Interval end " + end + " is before start " + start);
+        }
+        root = insert(root, new Node<>(start, end, value));
+    }
+
+    /**
+     * Removes the interval previously inserted with exactly these bounds and value
+     * @return true if it was present
+     */
+    public boolean remove(long start, long end, V value) {
+        int before = size;
+        root = remove(root, start, end, value);
+        return size < before;
+    }
+
+    /**
+     * @return true if any stored interval overlaps [start, end]
+     */
+    public boolean overlaps(long start, long end) {
+        Node<V> node = root;
+        while (node != null) {
+            if (node.start <= end && start <= node.end) {
+                return true;
+            }
+            // If the left subtree reaches far enough it must hold an overlap or nothing
+            // to the right can overlap either (right starts are >= this start > end)
+            if (node.left != null && node.left.maxEnd >= start) {
+                node = node.left;
+            } else {
+                node = node.right;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return values of all intervals overlapping [start, end], ordered by interval start
+     */
+    public List<V> findOverlapping(long start, long end) {
+        List<V> result = new ArrayList<>();
+        collect(root, start, end, result);
+        return result;
+    }
+
+    private void collect(Node<V> node, long start, long end, List<V> result) {
+        if (node == null || node.maxEnd < start) {
+            return;
+        }
+        collect(node.left, start, end, result);
+        if (node.start > end) {
+            return; // this node and its right subtree start after the query
+        }
+        if (start <= node.end) {
+            result.add(node.value);
+        }
+        collect(node.right, start, end, result);
+    }
+
+    private int compare(Node<V> a, long start, long end, V value) {
+        int c = Long.compare(a.start, start);
+        if (c == 0) {
+            c = Long.compare(a.end, end);
+        }
+        if (c == 0) {
+            c = a.value.compareTo(value);
+        }
+        return c;
+    }
+
+    private Node<V> insert(Node<V> node, Node<V> added) {
+        if (node == null) {
+            size++;
+            return added;
+        }
+        int c = compare(node, added.start, added.end, added.value);
+        if (c > 0) {
+            node.left = insert(node.left, added);
+        } else if (c < 0) {
+            node.right = insert(node.right, added);
+        } else {
+            return node; // already present
+        }
+        return rebalance(node);
+    }
+
+    private Node<V> remove(Node<V> node, long start, long end, V value) {
+        if (node == null) {
+            return null;
+        }
+        int c = compare(node, start, end, value);
+        if (c > 0) {
+            node.left = remove(node.left, start, end, value);
+        } else if (c < 0) {
+            node.right = remove(node.right, start, end, value);
+        } else {
+            size--;
+            if (node.left == null) {
+                return node.right;
+            }
+            if (node.right == null) {
+                return node.left;
+            }
+            Node<V> successor = node.right;
+            while (successor.left != null) {
+                successor = successor.left;
+            }
+            Node<V> replacement = new Node<>(successor.start, successor.end, successor.value);
+            size++; // the recursive removal of the successor decrements again
+            replacement.right = remove(node.right, successor.start, successor.end, successor.value);
+            replacement.left = node.left;
+            node = replacement;
+        }
+        return rebalance(node);
+    }
+
+    private int height(Node<V> node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private void refresh(Node<V> node) {
+        node.height = 1 + Math.max(height(node.left), height(node.right));
+        long max = node.end;
+        if (node.left != null && node.left.maxEnd > max) {
+            max = node.left.maxEnd;
+        }
+        if (node.right != null && node.right.maxEnd > max) {
+            max = node.right.maxEnd;
+        }
+        node.maxEnd = max;
+    }
+
+    private Node<V> rebalance(Node<V> node) {
+        refresh(node);
+        int balance = height(node.left) - height(node.right);
+        if (balance > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        }
+        if (balance < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    private Node<V> rotateRight(Node<V> node) {
+        Node<V> pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        refresh(node);
+        refresh(pivot);
+        return pivot;
+    }
+
+    private Node<V> rotateLeft(Node<V> node) {
+        Node<V> pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        refresh(node);
+        refresh(pivot);
+        return pivot;
+    }
+}
@@ -97,6 +97,50 @@ public class Rental {
         this.status = status;
     }
     
+    /**
+     * The status this rental should have on the given day:
+     * - Pending: Created but not paid yet (paymentStatus != "Paid")
+     * - Upcoming: Paid and startDate > day (pre-booking)
+     * - Active: Paid and startDate <= day and endDate >= day (ongoing)
+     * - End: Paid and endDate < day (completed)
+     * Cancelled rentals stay Cancelled. The date-based rules above used to overwrite
+     * them, bringing a paid cancellation back as Active or End.
+     */
+    public String statusOn(LocalDate day) {
+        if ("Cancelled".equals(status)) {
+            return status;
+        }
+        if (!"Paid".equals(paymentStatus)) {
+            return "Pending";
+        }
+        if (startDate.isAfter(day)) {
+            return "Upcoming";
+        }
+        if (endDate.isBefore(day)) {
+            return "End";
+        }
+        return "Active";
+    }
+
+    /**
+     * First day on or after today on which the stored status is out of date:
+     * today if it is already wrong, startDate for Upcoming, endDate + 1 for Active.
+     * @return the day, or null if the status never changes with time alone
+     */
+    public LocalDate nextStatusChange(LocalDate today) {
+        if (!statusOn(today).equals(status)) {
+            return today;
+        }
+        switch (status) {
+            case "Upcoming":
+                return startDate;
+            case "Active":
+                return endDate.plusDays(1);
+            default:
+                return null;
+        }
+    }
+
     @Override
     public String toString() {
         return "Rental{" +
@@ -4,6 +4,7 @@
  */
 package hillclimmer.RentalModule;
 
+import hillclimmer.DatabaseModule.DaoRegistry;
 import hillclimmer.DatabaseModule.RentalDAO;
 import hillclimmer.DatabaseModule.Manager;
 import hillclimmer.DatabaseModule.PaymentDAO;
@@ -18,16 +19,19 @@ import java.util.List;
 public class RentalManager {
     private RentalDAO rentalDAO;
     private Manager authenticatedManager;
+    private RentalStatusScheduler statusScheduler;
 
     // Constructor with Manager for authorization
     public RentalManager(Manager manager) {
-        this.rentalDAO = new RentalDAO();
+        this.rentalDAO = DaoRegistry.getRentalDAO();
+        this.statusScheduler = new RentalStatusScheduler(rentalDAO);
         this.authenticatedManager = manager;
     }
 
     // Legacy constructor for backward compatibility
     public RentalManager() {
-        this.rentalDAO = new RentalDAO();
+        this.rentalDAO = DaoRegistry.getRentalDAO();
+        this.statusScheduler = new RentalStatusScheduler(rentalDAO);
     }
     
     public void addRental(int customerId, int vehicleId, LocalDate startDate, LocalDate endDate, double totalCost) {
@@ -43,6 +47,7 @@ public class RentalManager {
     public void addRentalWithId(int rentalId, int customerId, int vehicleId, LocalDate startDate, LocalDate endDate, double totalCost) {
         if (hasPermission("add")) {
             Rental rental = new Rental(rentalId, customerId, vehicleId, startDate, endDate, totalCost);
+            rentalDAO.reserveRentalId(rentalId);
             rentalDAO.save(rental);
             System.out.println("✅ Rental added successfully by " + getManagerName());
         } else {
@@ -50,6 +55,11 @@ public class RentalManager {
         }
     }
     
+    // Next free rental ID for addRentalWithId
+    public int nextRentalId() {
+        return rentalDAO.generateNextRentalId();
+    }
+
     public List<Rental> getAllRentals() {
         if (hasPermission("view")) {
             return rentalDAO.getAll();
@@ -77,6 +87,19 @@ public class RentalManager {
         }
     }
     
+    // Update several rentals with a single write to storage
+    public void updateRentals(List<Rental> rentals) {
+        if (rentals.isEmpty()) {
+            return;
+        }
+        if (hasPermission("update")) {
+            rentalDAO.updateAll(rentals);
+            System.out.println("✅ " + rentals.size() + " rental(s) updated successfully by " + getManagerName());
+        } else {
+            System.out.println("❌ Insufficient permissions to update rental.");
+        }
+    }
+    
     public void deleteRental(int rentalId) {
         if (hasPermission("remove")) {
             rentalDAO.delete(String.valueOf(rentalId));
@@ -93,6 +116,22 @@ public class RentalManager {
     public List<Rental> getRentalsByVehicle(int vehicleId) {
         return rentalDAO.getByVehicleId(vehicleId);
     }
+
+    public List<Rental> getActiveRentals() {
+        return rentalDAO.getActiveRentals();
+    }
+    
+    public List<Rental> getRentalsByPaymentStatus(String paymentStatus) {
+        return rentalDAO.getByPaymentStatus(paymentStatus);
+    }
+    
+    public boolean isVehicleAvailableForDates(int vehicleId, LocalDate startDate, LocalDate endDate) {
+        return rentalDAO.isVehicleAvailable(vehicleId, startDate, endDate);
+    }
+    
+    public List<Rental> getConflictingRentals(int vehicleId, LocalDate startDate, LocalDate endDate) {
+        return rentalDAO.getConflictingRentals(vehicleId, startDate, endDate);
+    }
     
     public double calculateTotalCost(LocalDate startDate, LocalDate endDate, double dailyRate) {
         long days = java.time.temporal.ChronoUnit.DAYS.between(startDate, endDate) + 1;
@@ -167,39 +206,17 @@ public class RentalManager {
      * - Upcoming: Paid and startDate > today (pre-booking)
      * - Active: Paid and startDate <= today and endDate >= today (ongoing)
      * - End: Paid and endDate < today (completed)
+     * Cancelled rentals keep their status; this sweep used to reset a paid one to Active or End.
+     * Only rentals whose status is due to change are visited (see RentalStatusScheduler).
      */
     public void updateRentalStatuses() {
-        List<Rental> allRentals = rentalDAO.getAll();
-        LocalDate today = LocalDate.now();
-        boolean hasUpdates = false;
-
-        for (Rental rental : allRentals) {
-            String currentStatus = rental.getStatus();
-            String newStatus = currentStatus;
-
-            // If rental is not paid, it should be Pending
-            if (!"Paid".equals(rental.getPaymentStatus())) {
-                newStatus = "Pending";
-            } else {
-                // For paid rentals, determine status based on dates
-                if (rental.getStartDate().isAfter(today)) {
-                    newStatus = "Upcoming";
-                } else if (rental.getEndDate().isBefore(today)) {
-                    newStatus = "End";
-                } else {
-                    newStatus = "Active";
-                }
-            }
-
-            if (!currentStatus.equals(newStatus)) {
-                rental.setStatus(newStatus);
-                rentalDAO.update(rental);
-                hasUpdates = true;
-            }
-        }
-
-        if (hasUpdates) {
+        if (statusScheduler.runDueTransitions(LocalDate.now(rentalDAO.getClock())) > 0) {
             System.out.println("✅ Rental statuses updated based on current date");
         }
     }
+
+    // Scheduler that applies status changes for this manager's rentals
+    public RentalStatusScheduler getStatusScheduler() {
+        return statusScheduler;
+    }
 }
@@ -0,0 +1,153 @@
+/*
+ * RentalStatusScheduler class for date-driven rental status transitions
+ */
+package hillclimmer.RentalModule;
+
+import hillclimmer.DatabaseModule.RentalDAO;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Moves paid rentals through Upcoming -> Active -> End as days pass. RentalDAO
+ * buckets rentals by the next day their status changes (startDate for Upcoming,
+ * endDate + 1 for Active), so a run only visits the buckets that are due and
+ * costs O(rentals starting or ending) rather than O(all rentals ever made).
+ *
+ * Once started, a daemon thread runs the transitions just after midnight and
+ * also checks the date every minute, so a missed midnight (sleep, clock jump
+ * forward) is caught up within a minute. If the clock jumps backwards the DAO
+ * cache is reloaded so every rental is re-bucketed against the new date.
+ * The scheduler reads the date from the RentalDAO's clock, so its runs and the
+ * DAO's buckets always agree on what day it is.
+ * Each run is recorded as a RentalStatusSweepEvent for Java Flight Recorder.
+ *
+ * @author las
+ */
+public class RentalStatusScheduler {
+    private static final long WATCH_INTERVAL_SECONDS = 60;
+
+    private final RentalDAO rentalDAO;
+    private final Object runLock = new Object();
+    private ScheduledExecutorService executor;
+    private LocalDate lastRunDate;
+
+    public RentalStatusScheduler(RentalDAO rentalDAO) {
+        if (rentalDAO == null) {
+            throw new IllegalArgumentException("RentalDAO cannot be null");
+        }
+        this.rentalDAO = rentalDAO;
+    }
+
+    // Sets the clock on the RentalDAO too, so its buckets are filed against the same date
+    public RentalStatusScheduler(RentalDAO rentalDAO, Clock clock) {
+        this(rentalDAO);
+        rentalDAO.setClock(clock);
+    }
+
+    /**
+     * Apply every status change due on or before the given day, with one write to storage
+     * @return the number of rentals whose status changed
+     */
+    public int runDueTransitions(LocalDate today) {
+        RentalStatusSweepEvent event = new RentalStatusSweepEvent();
+        event.begin();
+        synchronized (runLock) {
+            List<Rental> due = rentalDAO.getDueForStatusChange(today);
+            List<Rental> changed = new ArrayList<>();
+            for (Rental rental : due) {
+                String newStatus = rental.statusOn(today);
+                if (!newStatus.equals(rental.getStatus())) {
+                    rental.setStatus(newStatus);
+                    changed.add(rental);
+                }
+            }
+            if (!changed.isEmpty()) {
+                rentalDAO.updateAll(changed); // re-files each rental under its next change date
+            }
+            lastRunDate = today;
+            event.end();
+            if (event.shouldCommit()) {
+                event.day = today.toString();
+                event.rentalsDue = due.size();
+                event.rentalsChanged = changed.size();
+                event.commit();
+            }
+            return changed.size();
+        }
+    }
+
+    // Start the background thread; runs once immediately to catch up
+    public synchronized void start() {
+        if (executor != null) {
+            return;
+        }
+        executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "rental-status-scheduler");
+            t.setDaemon(true);
+            return t;
+        });
+        executor.execute(this::checkDate);
+        executor.scheduleWithFixedDelay(this::checkDate, WATCH_INTERVAL_SECONDS, WATCH_INTERVAL_SECONDS, TimeUnit.SECONDS);
+        scheduleMidnight();
+    }
+
+    public synchronized void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    public synchronized boolean isRunning() {
+        return executor != null;
+    }
+
+    // Day of the last completed run, or null if none has run yet
+    public LocalDate getLastRunDate() {
+        synchronized (runLock) {
+            return lastRunDate;
+        }
+    }
+
+    private synchronized void scheduleMidnight() {
+        if (executor == null) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now(rentalDAO.getClock());
+        long delayMillis = Duration.between(now, now.toLocalDate().plusDays(1).atStartOfDay()).toMillis() + 1;
+        try {
+            executor.schedule(() -> {
+                checkDate();
+                scheduleMidnight();
+            }, delayMillis, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // Stopped while rescheduling
+        }
+    }
+
+    // Run when the date differs from the last run: at midnight, or after a clock jump
+    void checkDate() {
+        try {
+            LocalDate today = LocalDate.now(rentalDAO.getClock());
+            LocalDate last = getLastRunDate();
+            if (today.equals(last)) {
+                return;
+            }
+            if (last != null && today.isBefore(last)) {
+                // Buckets were filed against a later date; rebuild them for today
+                rentalDAO.invalidateCache();
+            }
+            runDueTransitions(today);
+        } catch (RuntimeException e) {
+            System.err.println("⚠️ Rental status update failed: " + e.getMessage());
+        }
+    }
+}
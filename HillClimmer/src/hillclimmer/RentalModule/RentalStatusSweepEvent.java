@@ -0,0 +1,31 @@
+/*
+ * RentalStatusSweepEvent class for recording rental status sweeps with Java Flight Recorder
+ */
+package hillclimmer.RentalModule;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * JFR event for one RentalStatusScheduler run: how many rentals were due for a
+ * status change on the day and how many actually changed and were written.
+ *
+ * @author las
+ */
+@Name("hillclimmer.RentalStatusSweep")
+@Label("Rental Status Sweep")
+@Category({"HillClimmer", "Rental"})
+@Description("Date-driven rental status transitions applied for one day")
+class RentalStatusSweepEvent extends Event {
+    @Label("Day")
+    String day;
+
+    @Label("Rentals Due")
+    int rentalsDue;
+
+    @Label("Rentals Changed")
+    int rentalsChanged;
+}
@@ -0,0 +1,106 @@
+/*
+ * FleetSearchService class for date-aware vehicle searches
+ */
+package hillclimmer.VehicleModule;
+
+import hillclimmer.DatabaseModule.RentalDAO;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Answers "which vehicles can this customer rent between these dates" in one call.
+ * Vehicle attributes (availability flag, license, type, price) are filtered from
+ * VehicleManager; date conflicts are resolved by RentalDAO's day-occupancy bitmaps.
+ *
+ * @author las
+ */
+public class FleetSearchService {
+    private final VehicleManager vehicleManager;
+    private final RentalDAO rentalDAO;
+
+    public FleetSearchService(VehicleManager vehicleManager, RentalDAO rentalDAO) {
+        if (vehicleManager == null || rentalDAO == null) {
+            throw new IllegalArgumentException("VehicleManager and RentalDAO cannot be null");
+        }
+        this.vehicleManager = vehicleManager;
+        this.rentalDAO = rentalDAO;
+    }
+
+    /**
+     * Finds vehicles free for the whole date range that the license type may drive
+     */
+    public List<Vehicle> findAvailableVehicles(LocalDate startDate, LocalDate endDate, String licenseType) {
+        return findAvailableVehicles(startDate, endDate, licenseType, null, null, null);
+    }
+
+    /**
+     * Finds vehicles free for the whole date range (inclusive) matching the given filters
+     * @param vehicleType vehicle type to match, or null for any
+     * @param minPrice minimum daily price, or null for no lower bound
+     * @param maxPrice maximum daily price, or null for no upper bound
+     * @return matching vehicles in fleet order
+     */
+    public List<Vehicle> findAvailableVehicles(LocalDate startDate, LocalDate endDate, String licenseType,
+                                               String vehicleType, Double minPrice, Double maxPrice) {
+        if (startDate == null || endDate == null || endDate.isBefore(startDate)) {
+            throw new IllegalArgumentException("Invalid date range: " + startDate + " to " + endDate);
+        }
+
+        // Cheap attribute filters first, then one date check per distinct rental-side vehicle ID
+        List<Vehicle> candidates = new ArrayList<>();
+        Set<Integer> candidateIds = new HashSet<>();
+        for (Vehicle vehicle : vehicleManager.getAllVehicles()) {
+            if (!vehicle.isAvailable()
+                    || !isAllowedForLicense(vehicle.getVehicleType(), licenseType)
+                    || (vehicleType != null && !vehicleType.equals(vehicle.getVehicleType()))
+                    || (minPrice != null && vehicle.getModelPricing() < minPrice)
+                    || (maxPrice != null && vehicle.getModelPricing() > maxPrice)) {
+                continue;
+            }
+            candidates.add(vehicle);
+            candidateIds.add(rentalVehicleId(vehicle));
+        }
+
+        Set<Integer> free = rentalDAO.filterAvailableVehicles(candidateIds, startDate, endDate);
+        List<Vehicle> result = new ArrayList<>();
+        for (Vehicle vehicle : candidates) {
+            if (free.contains(rentalVehicleId(vehicle))) {
+                result.add(vehicle);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Rentals refer to vehicles by the numeric part of the vehicle ID (e.g. "MB003" -> 3)
+     */
+    public static int rentalVehicleId(Vehicle vehicle) {
+        return Integer.parseInt(vehicle.getVehicleID().substring(2));
+    }
+
+    /**
+     * Checks if a vehicle type is allowed for a license type
+     */
+    public static boolean isAllowedForLicense(String vehicleType, String licenseType) {
+        if (licenseType == null) return false;
+
+        switch (licenseType.toUpperCase()) {
+            case "B":
+                // License B can drive Dirt Bikes and Mountain Bikes only
+                return "Dirt Bike".equals(vehicleType) || "Mountain Bike".equals(vehicleType);
+            case "B2":
+                // License B2 can drive Dirt Bikes, Mountain Bikes, and possibly more
+                return "Dirt Bike".equals(vehicleType) || "Mountain Bike".equals(vehicleType) ||
+                       "Buggy".equals(vehicleType);
+            case "D":
+                // License D can drive all vehicle types
+                return true;
+            default:
+                // Unknown license types can only drive bikes for safety
+                return "Dirt Bike".equals(vehicleType) || "Mountain Bike".equals(vehicleType);
+        }
+    }
+}
@@ -4,15 +4,22 @@
  */
 package hillclimmer.VehicleModule;
 
+import hillclimmer.DatabaseModule.DaoRegistry;
+import hillclimmer.DatabaseModule.FleetStatistics;
+import hillclimmer.DatabaseModule.MBeans;
+import hillclimmer.DatabaseModule.OperationStats;
 import hillclimmer.DatabaseModule.VehicleDAO;
 import hillclimmer.DatabaseModule.Manager;
 import java.util.*;
 
 /**
+ * Fleet changes on behalf of a manager, with permissions checked per action.
+ * Call statistics are published over JMX (see VehicleManagerMXBean) once
+ * registerMBean is called.
  *
  * @author las
  */
-public class VehicleManager {
+public class VehicleManager implements VehicleManagerMXBean {
     private String managerID;
     private int authorizeLv;
     private String managerName;
@@ -23,6 +30,7 @@ public class VehicleManager {
     @SuppressWarnings("unused")
     private Manager authenticatedManager;
     private final Object vehicleLock = new Object();
+    private final OperationStats operations = new OperationStats();
 
     // Constructor with Manager object for authentication
     public VehicleManager(Manager manager) {
@@ -35,7 +43,7 @@ public class VehicleManager {
         this.managerName = manager.getName();
         this.modifierRules = manager.getAuthorizationLevel();
         this.changeCount = 0;
-        this.vehicleDAO = new VehicleDAO();
+        this.vehicleDAO = DaoRegistry.getVehicleDAO();
         this.vehicles = vehicleDAO.loadAll(); // Load from persistent storage
     }
 
@@ -46,12 +54,21 @@ public class VehicleManager {
         this.managerName = managerName;
         this.modifierRules = modifierRules;
         this.changeCount = 0;
-        this.vehicleDAO = new VehicleDAO();
+        this.vehicleDAO = DaoRegistry.getVehicleDAO();
         this.vehicles = vehicleDAO.loadAll(); // Load from persistent storage
     }
 
+    /**
+     * Publish this manager as hillclimmer:type=VehicleManager,name=&lt;ID&gt;
+     * @return this manager, for use in initialisers
+     */
+    public VehicleManager registerMBean() {
+        return MBeans.register("VehicleManager", managerID, this, VehicleManagerMXBean.class);
+    }
+
     // Add a new vehicle to the pool
     public void addVehicle(Vehicle newVehicle) {
+        long started = System.nanoTime();
         synchronized (vehicleLock) {
             if (hasPermission("add")) {
                 vehicles.add(newVehicle);
@@ -62,10 +79,12 @@ public class VehicleManager {
                 System.out.println("Insufficient permissions to add vehicle.");
             }
         }
+        operations.record("addVehicle", started);
     }
 
     // Remove a vehicle by ID
     public void removeVehicle(String vehicleID) {
+        long started = System.nanoTime();
         if (hasPermission("remove")) {
             Vehicle toRemove = null;
             for (Vehicle v : vehicles) {
@@ -85,10 +104,12 @@ public class VehicleManager {
         } else {
             System.out.println("Insufficient permissions to remove vehicle.");
         }
+        operations.record("removeVehicle", started);
     }
 
     // Update vehicle availability
     public void setVehicleAvailability(String vehicleID, boolean available) {
+        long started = System.nanoTime();
         synchronized (vehicleLock) {
             if (hasPermission("update")) {
                 Vehicle v = vehicleDAO.load(vehicleID);
@@ -104,10 +125,12 @@ public class VehicleManager {
                 System.out.println("Insufficient permissions to update availability.");
             }
         }
+        operations.record("setVehicleAvailability", started);
     }
 
     // Update vehicle pricing
     public void setVehiclePricing(String vehicleID, double newPrice) {
+        long started = System.nanoTime();
         synchronized (vehicleLock) {
             if (hasPermission("update")) {
                 Vehicle v = vehicleDAO.load(vehicleID);
@@ -123,6 +146,48 @@ public class VehicleManager {
                 System.out.println("Insufficient permissions to update pricing.");
             }
         }
+        operations.record("setVehiclePricing", started);
+    }
+
+    // Update pricing for several vehicles with a single write to storage
+    public void setVehiclePricing(Map<String, Double> newPrices) {
+        long started = System.nanoTime();
+        synchronized (vehicleLock) {
+            if (hasPermission("update")) {
+                List<Vehicle> changed = new ArrayList<>();
+                for (Map.Entry<String, Double> entry : newPrices.entrySet()) {
+                    Vehicle v = vehicleDAO.load(entry.getKey());
+                    if (v != null) {
+                        v.setModelPricing(entry.getValue());
+                        changed.add(v);
+                    } else {
+                        System.out.println("Vehicle " + entry.getKey() + " not found.");
+                    }
+                }
+                vehicleDAO.updateAll(changed); // Persist all changes at once
+                changeCount += changed.size();
+                System.out.println("Pricing updated for " + changed.size() + " vehicle(s).");
+            } else {
+                System.out.println("Insufficient permissions to update pricing.");
+            }
+        }
+        operations.record("setVehiclePricingBatch", started);
+    }
+
+    // Add several vehicles with a single write to storage
+    public void importVehicles(List<Vehicle> newVehicles) {
+        long started = System.nanoTime();
+        synchronized (vehicleLock) {
+            if (hasPermission("add")) {
+                vehicles.addAll(newVehicles);
+                vehicleDAO.saveAll(newVehicles); // Persist all at once
+                changeCount += newVehicles.size();
+                System.out.println(newVehicles.size() + " vehicle(s) imported successfully.");
+            } else {
+                System.out.println("Insufficient permissions to add vehicle.");
+            }
+        }
+        operations.record("importVehicles", started);
     }
 
     // Set authorization level
@@ -149,6 +214,7 @@ public class VehicleManager {
 
     // Set vehicle details (generic, can be expanded)
     public void setVehicleDetails(String vehicleID, String newDetails) {
+        long started = System.nanoTime();
         if (hasPermission("update")) {
             Vehicle v = vehicleDAO.load(vehicleID);
             if (v != null) {
@@ -169,6 +235,7 @@ public class VehicleManager {
         } else {
             System.out.println("Insufficient permissions to update details.");
         }
+        operations.record("setVehicleDetails", started);
     }
 
     // Helper method to check permissions based on authorizeLv
@@ -189,6 +256,58 @@ public class VehicleManager {
         }
     }
 
+    // Snapshot of fleet counts and prices, maintained by the DAO as vehicles change
+    public FleetStatistics getFleetStatistics() {
+        return vehicleDAO.getFleetStatistics();
+    }
+
+    // VehicleManagerMXBean attributes
+
+    @Override
+    public String getManagerID() {
+        return managerID;
+    }
+
+    @Override
+    public int getChangeCount() {
+        return changeCount;
+    }
+
+    @Override
+    public Map<String, Long> getOperationCounts() {
+        return operations.getCounts();
+    }
+
+    @Override
+    public Map<String, Double> getOperationTotalMillis() {
+        return operations.getTotalMillis();
+    }
+
+    @Override
+    public Map<String, Double> getOperationMaxMillis() {
+        return operations.getMaxMillis();
+    }
+
+    @Override
+    public long getVehicleCount() {
+        return vehicleDAO.getFleetStatistics().getVehicleCount();
+    }
+
+    @Override
+    public long getAvailableVehicleCount() {
+        return vehicleDAO.getFleetStatistics().getAvailableCount();
+    }
+
+    @Override
+    public Map<String, Long> getVehicleCountsByType() {
+        return vehicleDAO.getFleetStatistics().getCountsByType();
+    }
+
+    @Override
+    public void resetStatistics() {
+        operations.reset();
+    }
+
     // Get manager details
     public void getManagerDetails() {
         System.out.println("Manager ID: " + managerID);
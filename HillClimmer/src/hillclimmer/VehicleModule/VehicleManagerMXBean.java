@@ -0,0 +1,33 @@
+/*
+ * VehicleManagerMXBean interface for fleet management monitoring over JMX
+ */
+package hillclimmer.VehicleModule;
+
+import java.util.Map;
+
+/**
+ * JMX view of a VehicleManager: call counts and latencies of its fleet changes,
+ * its change count and the current fleet size.
+ * Registered as hillclimmer:type=VehicleManager,name=&lt;managerID&gt;.
+ *
+ * @author las
+ */
+public interface VehicleManagerMXBean {
+    String getManagerID();
+
+    int getChangeCount();
+
+    Map<String, Long> getOperationCounts();
+
+    Map<String, Double> getOperationTotalMillis();
+
+    Map<String, Double> getOperationMaxMillis();
+
+    long getVehicleCount();
+
+    long getAvailableVehicleCount();
+
+    Map<String, Long> getVehicleCountsByType();
+
+    void resetStatistics();
+}
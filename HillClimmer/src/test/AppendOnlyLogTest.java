@@ -0,0 +1,118 @@
+package test;
+
+import hillclimmer.DatabaseModule.RentalDAO;
+import hillclimmer.RentalModule.Rental;
+import java.io.File;
+import java.time.LocalDate;
+
+/**
+ * Test to verify the append-only mutation log mode of DataAccessObject
+ */
+public class AppendOnlyLogTest {
+
+    private static final int TEST_CUSTOMER_ID = 997;
+
+    public static void main(String[] args) {
+        System.out.println("🧪 Append-Only Log Test");
+        System.out.println("=======================");
+
+        RentalDAO rentalDAO = new RentalDAO();
+
+        try {
+            // Clean up any leftover test rentals
+            for (Rental r : rentalDAO.loadAll()) {
+                if (r.getCustomerId() == TEST_CUSTOMER_ID) {
+                    rentalDAO.delete(String.valueOf(r.getRentalId()));
+                }
+            }
+
+            rentalDAO.setAppendOnly(true);
+            rentalDAO.setCompactionThreshold(1000);
+            int rowsBefore = rentalDAO.loadAll().size();
+            File baseFile = new File(System.getProperty("user.dir") + "/data/rentals.csv");
+            long baseSizeBefore = baseFile.length();
+
+            // Test 1: Saves append to the log and leave the base file untouched
+            LocalDate today = LocalDate.now();
+            rentalDAO.save(new Rental(0, TEST_CUSTOMER_ID, 1, today.plusDays(30), today.plusDays(31), 80.0));
+            rentalDAO.save(new Rental(0, TEST_CUSTOMER_ID, 2, today.plusDays(40), today.plusDays(41), 90.0));
+
+            if (baseFile.length() == baseSizeBefore && rentalDAO.getLogRecordCount() == 2) {
+                System.out.println("✅ Test 1 PASSED: Saves went to the mutation log only");
+            } else {
+                System.out.println("❌ Test 1 FAILED: Base file size " + baseSizeBefore + " → " + baseFile.length() +
+                    ", log records: " + rentalDAO.getLogRecordCount());
+            }
+
+            // Test 2: Reads fold the log over the base file
+            Rental first = null;
+            int testRows = 0;
+            for (Rental r : rentalDAO.loadAll()) {
+                if (r.getCustomerId() == TEST_CUSTOMER_ID) {
+                    testRows++;
+                    if (r.getVehicleId() == 1) {
+                        first = r;
+                    }
+                }
+            }
+            if (testRows == 2 && first != null && rentalDAO.loadAll().size() == rowsBefore + 2) {
+                System.out.println("✅ Test 2 PASSED: loadAll sees logged rows");
+            } else {
+                System.out.println("❌ Test 2 FAILED: Expected 2 logged rows, found " + testRows);
+            }
+
+            // Test 3: Update and delete are logged and folded (last record wins)
+            if (first != null) {
+                first.setStatus("Cancelled");
+                rentalDAO.update(first);
+                Rental reloaded = rentalDAO.getById(first.getRentalId());
+                rentalDAO.delete(String.valueOf(first.getRentalId()));
+                Rental deleted = rentalDAO.getById(first.getRentalId());
+                if (reloaded != null && "Cancelled".equals(reloaded.getStatus()) && deleted == null) {
+                    System.out.println("✅ Test 3 PASSED: Update and delete folded correctly");
+                } else {
+                    System.out.println("❌ Test 3 FAILED: Update or delete not reflected in reads");
+                }
+            }
+
+            // Test 4: Compaction rewrites the base file and removes the log
+            rentalDAO.compact();
+            File logFile = new File(baseFile.getPath() + ".log");
+            if (!logFile.exists() && rentalDAO.getLogRecordCount() == 0
+                    && rentalDAO.loadAll().size() == rowsBefore + 1) {
+                System.out.println("✅ Test 4 PASSED: Compaction folded the log into the base file");
+            } else {
+                System.out.println("❌ Test 4 FAILED: Log still present or row count wrong after compaction");
+            }
+
+            // Test 5: Two DAOs on the same file share one log record count
+            RentalDAO otherDAO = new RentalDAO();
+            otherDAO.setAppendOnly(true);
+            otherDAO.setCompactionThreshold(1000);
+            rentalDAO.save(new Rental(0, TEST_CUSTOMER_ID, 3, today.plusDays(50), today.plusDays(51), 70.0));
+            otherDAO.save(new Rental(0, TEST_CUSTOMER_ID, 4, today.plusDays(60), today.plusDays(61), 60.0));
+            rentalDAO.save(new Rental(0, TEST_CUSTOMER_ID, 5, today.plusDays(70), today.plusDays(71), 50.0));
+            if (rentalDAO.getLogRecordCount() == 3 && otherDAO.getLogRecordCount() == 3) {
+                System.out.println("✅ Test 5 PASSED: Both DAOs count all 3 records in the shared log");
+            } else {
+                System.out.println("❌ Test 5 FAILED: Log records seen " + rentalDAO.getLogRecordCount()
+                    + " and " + otherDAO.getLogRecordCount());
+            }
+            otherDAO.setAppendOnly(false);
+
+        } catch (Exception e) {
+            System.out.println("❌ Test FAILED with exception: " + e.getMessage());
+            e.printStackTrace();
+        } finally {
+            // Clean up test data and return to normal rewrite mode
+            for (Rental r : rentalDAO.loadAll()) {
+                if (r.getCustomerId() == TEST_CUSTOMER_ID) {
+                    rentalDAO.delete(String.valueOf(r.getRentalId()));
+                }
+            }
+            rentalDAO.setAppendOnly(false);
+        }
+
+        System.out.println("\n🎯 Append-Only Log Test Complete");
+    }
+}
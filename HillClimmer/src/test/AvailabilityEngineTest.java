@@ -0,0 +1,149 @@
+package test;
+
+import hillclimmer.DatabaseModule.RentalDAO;
+import hillclimmer.RentalModule.AvailabilityEngine;
+import hillclimmer.RentalModule.IntervalTree;
+import hillclimmer.RentalModule.Rental;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Test to verify the interval tree and RentalDAO booking conflict detection
+ */
+public class AvailabilityEngineTest {
+
+    private static final int TEST_CUSTOMER_ID = 995;
+    private static final int TEST_VEHICLE_ID = 995;
+
+    public static void main(String[] args) {
+        System.out.println("🧪 Availability Engine Test");
+        System.out.println("===========================");
+
+        // Test 1: Interval tree agrees with a brute-force scan under random inserts and removes
+        IntervalTree<Integer> tree = new IntervalTree<>();
+        List<long[]> intervals = new ArrayList<>();
+        Random random = new Random(42);
+        boolean treeCorrect = true;
+        for (int i = 0; i < 2000 && treeCorrect; i++) {
+            if (!intervals.isEmpty() && random.nextInt(3) == 0) {
+                long[] removed = intervals.remove(random.nextInt(intervals.size()));
+                tree.remove(removed[0], removed[1], (int) removed[2]);
+            } else {
+                long start = random.nextInt(1000);
+                long[] added = {start, start + random.nextInt(10), i};
+                intervals.add(added);
+                tree.insert(added[0], added[1], i);
+            }
+            long queryStart = random.nextInt(1000);
+            long queryEnd = queryStart + random.nextInt(15);
+            List<Integer> expected = new ArrayList<>();
+            for (long[] interval : intervals) {
+                if (interval[0] <= queryEnd && queryStart <= interval[1]) {
+                    expected.add((int) interval[2]);
+                }
+            }
+            List<Integer> actual = tree.findOverlapping(queryStart, queryEnd);
+            Collections.sort(expected);
+            Collections.sort(actual);
+            treeCorrect = tree.size() == intervals.size() && expected.equals(actual)
+                    && tree.overlaps(queryStart, queryEnd) == !expected.isEmpty();
+        }
+        if (treeCorrect) {
+            System.out.println("✅ Test 1 PASSED: Interval tree matches brute-force overlap checks");
+        } else {
+            System.out.println("❌ Test 1 FAILED: Interval tree disagrees with brute-force overlap checks");
+        }
+
+        RentalDAO rentalDAO = new RentalDAO();
+        try {
+            cleanUp(rentalDAO);
+            LocalDate base = LocalDate.now().plusDays(100);
+
+            // Test 2: A booked range blocks overlapping dates (inclusive ends) but not adjacent ones
+            rentalDAO.save(new Rental(0, TEST_CUSTOMER_ID, TEST_VEHICLE_ID, base, base.plusDays(4), 250.0));
+            boolean blocked = !rentalDAO.isVehicleAvailable(TEST_VEHICLE_ID, base.plusDays(4), base.plusDays(6));
+            boolean adjacentFree = rentalDAO.isVehicleAvailable(TEST_VEHICLE_ID, base.plusDays(5), base.plusDays(6));
+            int conflicts = rentalDAO.getConflictingRentals(TEST_VEHICLE_ID, base.minusDays(1), base).size();
+            if (blocked && adjacentFree && conflicts == 1) {
+                System.out.println("✅ Test 2 PASSED: Overlaps detected, adjacent dates free");
+            } else {
+                System.out.println("❌ Test 2 FAILED: blocked=" + blocked + " adjacentFree=" + adjacentFree + " conflicts=" + conflicts);
+            }
+
+            // Test 3: Cancelling or moving a rental releases its old dates
+            Rental rental = rentalDAO.getByCustomerId(TEST_CUSTOMER_ID).get(0);
+            rental.setStatus("Cancelled");
+            rentalDAO.update(rental);
+            boolean freedByCancel = rentalDAO.isVehicleAvailable(TEST_VEHICLE_ID, base, base.plusDays(4));
+            rental.setStatus("Pending");
+            rental.setStartDate(base.plusDays(20));
+            rental.setEndDate(base.plusDays(21));
+            rentalDAO.update(rental);
+            boolean oldDatesFree = rentalDAO.isVehicleAvailable(TEST_VEHICLE_ID, base, base.plusDays(4));
+            boolean newDatesBlocked = !rentalDAO.isVehicleAvailable(TEST_VEHICLE_ID, base.plusDays(21), base.plusDays(21));
+            if (freedByCancel && oldDatesFree && newDatesBlocked) {
+                System.out.println("✅ Test 3 PASSED: Cancel and reschedule update the booking tree");
+            } else {
+                System.out.println("❌ Test 3 FAILED: cancel=" + freedByCancel + " oldFree=" + oldDatesFree + " newBlocked=" + newDatesBlocked);
+            }
+
+            // Test 4: Delete releases the booking; cold mode agrees with the engine
+            rentalDAO.delete(String.valueOf(rental.getRentalId()));
+            boolean freedByDelete = rentalDAO.isVehicleAvailable(TEST_VEHICLE_ID, base.plusDays(21), base.plusDays(21));
+            rentalDAO.save(new Rental(0, TEST_CUSTOMER_ID, TEST_VEHICLE_ID, base, base.plusDays(2), 150.0));
+            rentalDAO.setCacheEnabled(false);
+            boolean coldBlocked = !rentalDAO.isVehicleAvailable(TEST_VEHICLE_ID, base.plusDays(1), base.plusDays(1));
+            rentalDAO.setCacheEnabled(true);
+            if (freedByDelete && coldBlocked) {
+                System.out.println("✅ Test 4 PASSED: Delete releases dates and cold mode agrees");
+            } else {
+                System.out.println("❌ Test 4 FAILED: deleteFree=" + freedByDelete + " coldBlocked=" + coldBlocked);
+            }
+
+        } catch (Exception e) {
+            System.out.println("❌ Test FAILED with exception: " + e.getMessage());
+            e.printStackTrace();
+        } finally {
+            cleanUp(rentalDAO);
+        }
+
+        // Test 5: Day bitmaps follow overlapping bookings as they are booked, moved and released
+        AvailabilityEngine engine = new AvailabilityEngine();
+        List<Rental> booked = new ArrayList<>();
+        LocalDate today = LocalDate.now();
+        boolean bitmapsCorrect = true;
+        for (int i = 0; i < 2000 && bitmapsCorrect; i++) {
+            if (!booked.isEmpty() && random.nextInt(3) == 0) {
+                engine.release(String.valueOf(booked.remove(random.nextInt(booked.size())).getRentalId()));
+            } else {
+                LocalDate start = today.plusDays(random.nextInt(60) - 10);
+                Rental rental = new Rental(i, TEST_CUSTOMER_ID, random.nextInt(3), start, start.plusDays(random.nextInt(7)), 0.0);
+                engine.book(rental);
+                booked.add(rental);
+            }
+            int vehicleId = random.nextInt(3);
+            LocalDate queryStart = today.plusDays(random.nextInt(60));
+            LocalDate queryEnd = queryStart.plusDays(random.nextInt(5));
+            BitSet mask = engine.dayMask(queryStart, queryEnd);
+            bitmapsCorrect = engine.isFree(vehicleId, mask) == engine.isAvailable(vehicleId, queryStart, queryEnd)
+                    && engine.getBookingCount() == booked.size();
+        }
+        if (bitmapsCorrect) {
+            System.out.println("✅ Test 5 PASSED: Day bitmaps agree with the interval trees under overlapping bookings");
+        } else {
+            System.out.println("❌ Test 5 FAILED: Day bitmap disagrees with the interval tree");
+        }
+
+        System.out.println("\n🎯 Availability Engine Test Complete");
+    }
+
+    private static void cleanUp(RentalDAO rentalDAO) {
+        for (Rental r : rentalDAO.getByCustomerId(TEST_CUSTOMER_ID)) {
+            rentalDAO.delete(String.valueOf(r.getRentalId()));
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package test;
+
+import hillclimmer.DatabaseModule.RentalDAO;
+import hillclimmer.DatabaseModule.VehicleDAO;
+import hillclimmer.RentalModule.Rental;
+import hillclimmer.VehicleModule.MountainBike;
+import hillclimmer.VehicleModule.Vehicle;
+import hillclimmer.VehicleModule.VehicleManager;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Test to verify the saveAll / updateAll / deleteAll batch API
+ */
+public class BatchMutationTest {
+
+    private static final int TEST_CUSTOMER_ID = 993;
+    private static final int BATCH_SIZE = 50;
+
+    public static void main(String[] args) {
+        System.out.println("🧪 Batch Mutation Test");
+        System.out.println("======================");
+
+        RentalDAO rentalDAO = new RentalDAO();
+        VehicleDAO vehicleDAO = new VehicleDAO();
+
+        try {
+            cleanUp(rentalDAO);
+            LocalDate start = LocalDate.now().plusDays(300);
+
+            // Test 1: saveAll assigns unique IDs and writes once
+            List<Rental> batch = new ArrayList<>();
+            for (int i = 0; i < BATCH_SIZE; i++) {
+                batch.add(new Rental(0, TEST_CUSTOMER_ID, 1, start.plusDays(i), start.plusDays(i), 50.0));
+            }
+            long writesBefore = rentalDAO.getLockStats().getWriteAcquisitions();
+            rentalDAO.saveAll(batch);
+            long writes = rentalDAO.getLockStats().getWriteAcquisitions() - writesBefore;
+            List<Rental> saved = rentalDAO.getByCustomerId(TEST_CUSTOMER_ID);
+            Set<Integer> ids = new HashSet<>();
+            for (Rental r : saved) {
+                ids.add(r.getRentalId());
+            }
+            if (saved.size() == BATCH_SIZE && ids.size() == BATCH_SIZE && writes == 1) {
+                System.out.println("✅ Test 1 PASSED: " + BATCH_SIZE + " rentals saved with unique IDs in one write");
+            } else {
+                System.out.println("❌ Test 1 FAILED: saved=" + saved.size() + " uniqueIds=" + ids.size() + " writes=" + writes);
+            }
+
+            // Test 2: updateAll persists every change
+            for (Rental r : saved) {
+                r.setStatus("Cancelled");
+            }
+            rentalDAO.updateAll(saved);
+            rentalDAO.invalidateCache();
+            boolean allCancelled = rentalDAO.getByCustomerId(TEST_CUSTOMER_ID).stream()
+                    .allMatch(r -> "Cancelled".equals(r.getStatus()));
+            if (allCancelled) {
+                System.out.println("✅ Test 2 PASSED: updateAll persisted every change");
+            } else {
+                System.out.println("❌ Test 2 FAILED: Some updates were not persisted");
+            }
+
+            // Test 3: Batches in append-only mode go to the log as one append
+            rentalDAO.setAppendOnly(true);
+            rentalDAO.setCompactionThreshold(1000);
+            List<Rental> logged = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                logged.add(new Rental(0, TEST_CUSTOMER_ID, 2, start.plusDays(i), start.plusDays(i), 60.0));
+            }
+            rentalDAO.saveAll(logged);
+            int logRecords = rentalDAO.getLogRecordCount();
+            rentalDAO.setAppendOnly(false);
+            if (logRecords == 10 && rentalDAO.getByCustomerId(TEST_CUSTOMER_ID).size() == BATCH_SIZE + 10) {
+                System.out.println("✅ Test 3 PASSED: Append-only batch logged " + logRecords + " records");
+            } else {
+                System.out.println("❌ Test 3 FAILED: logRecords=" + logRecords);
+            }
+
+            // Test 4: deleteAll removes the whole batch
+            List<String> toDelete = new ArrayList<>();
+            for (Rental r : rentalDAO.getByCustomerId(TEST_CUSTOMER_ID)) {
+                toDelete.add(String.valueOf(r.getRentalId()));
+            }
+            rentalDAO.deleteAll(toDelete);
+            if (rentalDAO.getByCustomerId(TEST_CUSTOMER_ID).isEmpty()) {
+                System.out.println("✅ Test 4 PASSED: deleteAll removed " + toDelete.size() + " rentals");
+            } else {
+                System.out.println("❌ Test 4 FAILED: Rentals left after deleteAll");
+            }
+
+            // Test 5: Bulk vehicle import and price change
+            VehicleManager vehicleManager = new VehicleManager("VM001", 2, "Ahmad Abdullah", 5);
+            List<Vehicle> imports = new ArrayList<>();
+            Map<String, Double> prices = new HashMap<>();
+            for (int i = 0; i < 5; i++) {
+                String id = "MB" + (950 + i);
+                imports.add(new MountainBike(id, "Batch Bike " + i, 30.0, "Good", true));
+                prices.put(id, 99.0);
+            }
+            vehicleManager.importVehicles(imports);
+            vehicleManager.setVehiclePricing(prices);
+            VehicleDAO freshDAO = new VehicleDAO();
+            boolean pricesOk = prices.keySet().stream()
+                    .allMatch(id -> freshDAO.load(id) != null && freshDAO.load(id).getModelPricing() == 99.0);
+            if (pricesOk) {
+                System.out.println("✅ Test 5 PASSED: Bulk import and price change persisted");
+            } else {
+                System.out.println("❌ Test 5 FAILED: Imported vehicles or prices missing");
+            }
+            vehicleDAO.deleteAll(prices.keySet());
+
+        } catch (Exception e) {
+            System.out.println("❌ Test FAILED with exception: " + e.getMessage());
+            e.printStackTrace();
+        } finally {
+            rentalDAO.setAppendOnly(false);
+            cleanUp(rentalDAO);
+        }
+
+        System.out.println("\n🎯 Batch Mutation Test Complete");
+    }
+
+    private static void cleanUp(RentalDAO rentalDAO) {
+        List<String> ids = new ArrayList<>();
+        for (Rental r : rentalDAO.getByCustomerId(TEST_CUSTOMER_ID)) {
+            ids.add(String.valueOf(r.getRentalId()));
+        }
+        rentalDAO.deleteAll(ids);
+    }
+}
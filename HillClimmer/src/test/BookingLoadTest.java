@@ -0,0 +1,305 @@
+package test;
+
+import hillclimmer.CustomerModule.Customer;
+import hillclimmer.DatabaseModule.CustomerDAO;
+import hillclimmer.DatabaseModule.DaoRegistry;
+import hillclimmer.DatabaseModule.IdAllocator;
+import hillclimmer.PaymentModule.Payment;
+import hillclimmer.PaymentModule.TransactionManager;
+import hillclimmer.RentalModule.Rental;
+import hillclimmer.RentalModule.RentalManager;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Stream;
+
+/**
+ * Load test for the booking path. N simulated customers run concurrently
+ * against a generated data set in a temporary directory, each looping over:
+ * browse (availability check only) or book (availability check, rental creation
+ * through RentalManager, then either a payment recorded through
+ * TransactionManager or the amount added to the customer's outstanding balance
+ * through CustomerDAO), the same calls HillClimmer makes.
+ *
+ * Reports throughput and p50/p99/p99.9 latency per operation, and checks the
+ * end state: overlapping rentals for one vehicle (double bookings) and customer
+ * balances lower than the sum of the amounts added (lost updates).
+ *
+ * Usage: java test.BookingLoadTest [--threads N] [--seconds N] [--think MS]
+ *        [--browse PCT] [--pay PCT] [--customers N] [--vehicles N] [--skew X]
+ */
+public class BookingLoadTest {
+
+    private static final String[] OPERATIONS = {"availability", "createRental", "recordPayment", "updateBalance", "booking"};
+
+    private int threads = 8;
+    private int seconds = 5;
+    private int thinkMillis = 0;
+    private int browsePercent = 50;
+    private int payPercent = 60;
+    private int customers = 500;
+    private int vehicles = 50;
+    private double skew = 2.0;
+
+    private final Map<String, List<long[]>> samples = new ConcurrentHashMap<>();
+    private final AtomicLong errors = new AtomicLong();
+    private AtomicLongArray expectedBalanceCents;
+    private double[] initialBalance;
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("🧪 Booking Load Test");
+        System.out.println("====================");
+
+        BookingLoadTest test = new BookingLoadTest();
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            String value = args[i + 1];
+            switch (args[i]) {
+                case "--threads": test.threads = Integer.parseInt(value); break;
+                case "--seconds": test.seconds = Integer.parseInt(value); break;
+                case "--think": test.thinkMillis = Integer.parseInt(value); break;
+                case "--browse": test.browsePercent = Integer.parseInt(value); break;
+                case "--pay": test.payPercent = Integer.parseInt(value); break;
+                case "--customers": test.customers = Integer.parseInt(value); break;
+                case "--vehicles": test.vehicles = Integer.parseInt(value); break;
+                case "--skew": test.skew = Double.parseDouble(value); break;
+                default:
+                    System.out.println("❌ Unknown option " + args[i]);
+                    return;
+            }
+        }
+        test.run();
+
+        System.out.println("\n🎯 Booking Load Test Complete");
+    }
+
+    private void run() throws Exception {
+        String previousDir = System.getProperty("user.dir");
+        Path base = Files.createTempDirectory("hillclimmer-load-");
+        PrintStream console = System.out;
+        try {
+            new DatasetGenerator(42, skew, LocalDate.now(), customers, vehicles, customers)
+                    .generate(Files.createDirectories(base.resolve("data")));
+            System.setProperty("user.dir", base.toString());
+            DaoRegistry.clear();
+            System.out.println("   " + threads + " customers for " + seconds + "s, think " + thinkMillis + "ms, "
+                    + browsePercent + "% browse, " + payPercent + "% of bookings paid, data in " + base);
+
+            CustomerDAO customerDAO = DaoRegistry.getCustomerDAO();
+            initialBalance = new double[customers + 1];
+            for (Customer customer : customerDAO.loadAll()) {
+                initialBalance[Integer.parseInt(customer.getCustomerID().substring(1))] = customer.getOutstandingBalance();
+            }
+            expectedBalanceCents = new AtomicLongArray(customers + 1);
+            RentalManager rentalManager = new RentalManager();
+            TransactionManager transactionManager = new TransactionManager("TM-LOAD");
+            int firstRentalId = rentalManager.nextRentalId();
+
+            // The real path prints a line per rental and payment; keep the report readable
+            System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+            CountDownLatch start = new CountDownLatch(1);
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+            List<Thread> workers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                Thread worker = new Thread(() -> simulateCustomer(start, deadline, rentalManager, transactionManager, customerDAO),
+                        "load-customer-" + t);
+                workers.add(worker);
+                worker.start();
+            }
+            long began = System.nanoTime();
+            start.countDown();
+            for (Thread worker : workers) {
+                worker.join();
+            }
+            double elapsed = (System.nanoTime() - began) / 1e9;
+            System.setOut(console);
+
+            report(elapsed);
+            checkEndState(rentalManager, customerDAO, firstRentalId);
+        } finally {
+            System.setOut(console);
+            System.setProperty("user.dir", previousDir);
+            DaoRegistry.clear();
+            try (Stream<Path> paths = Files.walk(base)) {
+                paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+            } catch (IOException e) {
+                System.err.println("⚠️ Could not delete " + base + ": " + e.getMessage());
+            }
+        }
+    }
+
+    private void simulateCustomer(CountDownLatch start, long deadline, RentalManager rentalManager,
+                                  TransactionManager transactionManager, CustomerDAO customerDAO) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long[][] local = new long[OPERATIONS.length][];
+        int[] counts = new int[OPERATIONS.length];
+        try {
+            start.await();
+            while (System.nanoTime() < deadline) {
+                int customerNumber = 1 + random.nextInt(customers);
+                int vehicleNumber = 1 + (int) (vehicles * Math.pow(random.nextDouble(), skew));
+                LocalDate startDate = LocalDate.now().plusDays(1 + random.nextInt(120));
+                LocalDate endDate = startDate.plusDays(random.nextInt(3));
+                try {
+                    long bookingStart = System.nanoTime();
+                    long t0 = System.nanoTime();
+                    boolean available = rentalManager.isVehicleAvailableForDates(vehicleNumber, startDate, endDate);
+                    record(local, counts, 0, System.nanoTime() - t0);
+                    if (available && random.nextInt(100) >= browsePercent) {
+                        double amount = 100.0 * (endDate.toEpochDay() - startDate.toEpochDay() + 1);
+                        int rentalId = createRental(local, counts, rentalManager, customerNumber, vehicleNumber, startDate, endDate, amount);
+                        if (random.nextInt(100) < payPercent) {
+                            recordPayment(local, counts, rentalManager, transactionManager, rentalId, customerNumber, amount);
+                        } else {
+                            updateBalance(local, counts, customerDAO, customerNumber, amount);
+                        }
+                        record(local, counts, 4, System.nanoTime() - bookingStart);
+                    }
+                } catch (RuntimeException e) {
+                    errors.incrementAndGet();
+                }
+                if (thinkMillis > 0) {
+                    Thread.sleep(random.nextInt(2 * thinkMillis + 1));
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (int op = 0; op < OPERATIONS.length; op++) {
+            if (counts[op] > 0) {
+                samples.computeIfAbsent(OPERATIONS[op], k -> new CopyOnWriteArrayList<>()).add(Arrays.copyOf(local[op], counts[op]));
+            }
+        }
+    }
+
+    // Same calls as HillClimmer's booking flow
+    private static int createRental(long[][] local, int[] counts, RentalManager rentalManager, int customerNumber,
+                                    int vehicleNumber, LocalDate startDate, LocalDate endDate, double amount) {
+        long t0 = System.nanoTime();
+        int rentalId = rentalManager.nextRentalId();
+        rentalManager.addRentalWithId(rentalId, customerNumber, vehicleNumber, startDate, endDate, amount);
+        Rental rental = rentalManager.getRentalById(rentalId);
+        if (rental != null) {
+            rental.setPaymentStatus("Unpaid");
+            rental.setStatus("Pending");
+            rentalManager.updateRental(rental);
+        }
+        record(local, counts, 1, System.nanoTime() - t0);
+        return rentalId;
+    }
+
+    private static void recordPayment(long[][] local, int[] counts, RentalManager rentalManager,
+                                      TransactionManager transactionManager, int rentalId, int customerNumber, double amount) {
+        long t0 = System.nanoTime();
+        Payment payment = Payment.createPayment("Credit Card", IdAllocator.nextTimestampId("P"), amount,
+                LocalDate.now().format(DateTimeFormatter.ofPattern("dd/MM/yyyy")), String.format("C%03d", customerNumber));
+        payment.updateStatus("Paid");
+        transactionManager.recordTransaction(payment);
+        Rental rental = rentalManager.getRentalById(rentalId);
+        if (rental != null) {
+            rental.setPaymentStatus("Paid");
+            rentalManager.updateRental(rental);
+        }
+        record(local, counts, 2, System.nanoTime() - t0);
+    }
+
+    private void updateBalance(long[][] local, int[] counts, CustomerDAO customerDAO, int customerNumber, double amount) {
+        long t0 = System.nanoTime();
+        customerDAO.modify(String.format("C%03d", customerNumber),
+                customer -> customer.setOutstandingBalance(customer.getOutstandingBalance() + amount));
+        expectedBalanceCents.addAndGet(customerNumber, Math.round(amount * 100));
+        record(local, counts, 3, System.nanoTime() - t0);
+    }
+
+    private static void record(long[][] local, int[] counts, int op, long nanos) {
+        if (local[op] == null) {
+            local[op] = new long[1024];
+        } else if (counts[op] == local[op].length) {
+            local[op] = Arrays.copyOf(local[op], counts[op] * 2);
+        }
+        local[op][counts[op]++] = nanos;
+    }
+
+    private void report(double elapsed) {
+        System.out.printf("   %-14s %9s %10s %10s %10s %10s%n", "operation", "count", "ops/s", "p50 ms", "p99 ms", "p99.9 ms");
+        for (String op : OPERATIONS) {
+            List<long[]> parts = samples.getOrDefault(op, List.of());
+            long[] all = parts.stream().flatMapToLong(Arrays::stream).sorted().toArray();
+            if (all.length == 0) {
+                System.out.printf("   %-14s %9d%n", op, 0);
+                continue;
+            }
+            System.out.printf("   %-14s %9d %10.1f %10.3f %10.3f %10.3f%n", op, all.length, all.length / elapsed,
+                    percentile(all, 50), percentile(all, 99), percentile(all, 99.9));
+        }
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        int index = (int) Math.ceil(p / 100 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))] / 1e6;
+    }
+
+    private void checkEndState(RentalManager rentalManager, CustomerDAO customerDAO, int firstRentalId) {
+        // Test 1: The load ran without exceptions
+        int bookings = samples.getOrDefault("booking", List.of()).stream().mapToInt(a -> a.length).sum();
+        if (errors.get() == 0 && bookings > 0) {
+            System.out.println("✅ Test 1 PASSED: " + bookings + " bookings completed without errors");
+        } else {
+            System.out.println("❌ Test 1 FAILED: " + errors.get() + " errors, " + bookings + " bookings");
+        }
+
+        // Test 2: No vehicle has two overlapping live rentals among those made under load
+        int doubleBookings = 0;
+        Map<Integer, List<Rental>> byVehicle = new ConcurrentHashMap<>();
+        for (Rental rental : rentalManager.getAllRentals()) {
+            if (rental.getRentalId() >= firstRentalId) {
+                byVehicle.computeIfAbsent(rental.getVehicleId(), k -> new ArrayList<>()).add(rental);
+            }
+        }
+        for (List<Rental> rentals : byVehicle.values()) {
+            rentals.sort(Comparator.comparing(Rental::getStartDate));
+            LocalDate lastEnd = null;
+            for (Rental rental : rentals) {
+                if (lastEnd != null && !rental.getStartDate().isAfter(lastEnd)) {
+                    doubleBookings++;
+                }
+                lastEnd = lastEnd == null || rental.getEndDate().isAfter(lastEnd) ? rental.getEndDate() : lastEnd;
+            }
+        }
+        if (doubleBookings == 0) {
+            System.out.println("✅ Test 2 PASSED: No double bookings");
+        } else {
+            System.out.println("❌ Test 2 FAILED: " + doubleBookings + " double bookings");
+        }
+
+        // Test 3: Every amount added to an outstanding balance is still there
+        int lostUpdates = 0;
+        for (Customer customer : customerDAO.loadAll()) {
+            int number = Integer.parseInt(customer.getCustomerID().substring(1));
+            long expected = Math.round(initialBalance[number] * 100) + expectedBalanceCents.get(number);
+            if (Math.round(customer.getOutstandingBalance() * 100) < expected) {
+                lostUpdates++;
+            }
+        }
+        if (lostUpdates == 0) {
+            System.out.println("✅ Test 3 PASSED: No lost balance updates");
+        } else {
+            System.out.println("❌ Test 3 FAILED: " + lostUpdates + " customers lost balance updates");
+        }
+    }
+}
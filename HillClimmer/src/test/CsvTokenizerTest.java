@@ -0,0 +1,147 @@
+package test;
+
+import hillclimmer.DatabaseModule.CsvTokenizer;
+import hillclimmer.DatabaseModule.DataAccessObject;
+import hillclimmer.DatabaseModule.VehicleDAO;
+import hillclimmer.VehicleModule.MountainBike;
+import hillclimmer.VehicleModule.Vehicle;
+import java.io.File;
+import java.io.FileWriter;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Test to verify the shared CSV tokenizer: RFC 4180 quoting, multi-line records
+ * and the slice parsers against the JDK parsers
+ */
+public class CsvTokenizerTest {
+
+    // Scratch DAO storing two-column rows "id,text" with the text escaped
+    static class TextDAO extends DataAccessObject<String[]> {
+        TextDAO(String path) {
+            super(path);
+        }
+
+        @Override
+        protected String objectToCSV(String[] row) {
+            return row[0] + "," + CsvTokenizer.escape(row[1]);
+        }
+
+        @Override
+        protected String[] csvToObject(String csvLine) {
+            CsvTokenizer fields = CsvTokenizer.forCurrentThread().tokenize(csvLine);
+            return new String[] {fields.field(0), fields.field(1)};
+        }
+
+        @Override
+        protected String getId(String[] row) {
+            return row[0];
+        }
+    }
+
+    public static void main(String[] args) {
+        System.out.println("🧪 CSV Tokenizer Test");
+        System.out.println("=====================");
+
+        String path = System.getProperty("user.dir") + "/data/tokenizertest.csv";
+
+        try {
+            CsvTokenizer tokenizer = CsvTokenizer.forCurrentThread();
+
+            // Test 1: Quoted fields with commas, doubled quotes and empty fields
+            tokenizer.tokenize("a,\"b,c\",\"say \"\"hi\"\"\",,\"\"");
+            if (tokenizer.fieldCount() == 5 && "a".equals(tokenizer.field(0))
+                    && "b,c".equals(tokenizer.field(1)) && "say \"hi\"".equals(tokenizer.field(2))
+                    && tokenizer.isEmpty(3) && tokenizer.isEmpty(4)) {
+                System.out.println("✅ Test 1 PASSED: RFC 4180 quoting handled");
+            } else {
+                System.out.println("❌ Test 1 FAILED: Got " + tokenizer.fieldCount() + " fields");
+            }
+
+            // Test 2: Escaped values with line breaks round-trip through a DAO
+            TextDAO dao = new TextDAO(path);
+            String text = "line one, with comma\nline \"two\"";
+            dao.save(new String[] {"1", text});
+            dao.save(new String[] {"2", "plain"});
+            dao.setCacheEnabled(false);
+            List<String[]> rows = dao.loadAll();
+            if (rows.size() == 2 && text.equals(rows.get(0)[1]) && "plain".equals(rows.get(1)[1])) {
+                System.out.println("✅ Test 2 PASSED: Multi-line quoted record read back intact");
+            } else {
+                System.out.println("❌ Test 2 FAILED: Read " + rows.size() + " rows");
+            }
+
+            // Test 3: Slice parsers agree with the JDK parsers
+            Random random = new Random(42);
+            int mismatches = 0;
+            for (int i = 0; i < 100000; i++) {
+                double d = Math.round(random.nextDouble() * 1_000_000) / 100.0;
+                long l = random.nextLong();
+                LocalDate date = LocalDate.ofEpochDay(random.nextInt(200_000) - 50_000);
+                tokenizer.tokenize(d + "," + l + "," + date + "," + (i % 2 == 0));
+                if (tokenizer.parseDouble(0) != Double.parseDouble(Double.toString(d))
+                        || tokenizer.parseLong(1) != l
+                        || tokenizer.parseEpochDay(2) != date.toEpochDay()
+                        || tokenizer.parseBoolean(3) != (i % 2 == 0)) {
+                    mismatches++;
+                }
+            }
+            if (mismatches == 0) {
+                System.out.println("✅ Test 3 PASSED: 100000 rows parsed identically to the JDK parsers");
+            } else {
+                System.out.println("❌ Test 3 FAILED: " + mismatches + " mismatches");
+            }
+
+            // Test 4: Invalid numbers and dates are rejected
+            tokenizer.tokenize("12a,2025-02-30");
+            int rejected = 0;
+            try {
+                tokenizer.parseInt(0);
+            } catch (NumberFormatException e) {
+                rejected++;
+            }
+            try {
+                tokenizer.parseEpochDay(1);
+            } catch (NumberFormatException e) {
+                rejected++;
+            }
+            if (rejected == 2) {
+                System.out.println("✅ Test 4 PASSED: Invalid number and date rejected");
+            } else {
+                System.out.println("❌ Test 4 FAILED: Only " + rejected + " of 2 invalid fields rejected");
+            }
+
+            // Test 5: Entities with commas in free text survive a save/load
+            VehicleDAO vehicleDAO = new VehicleDAO();
+            vehicleDAO.save(new MountainBike("MB960", "Trek Marlin 7, 2024", 45.0, "Good", true));
+            Vehicle loaded = new VehicleDAO().load("MB960");
+            vehicleDAO.delete("MB960");
+            if (loaded != null && "Trek Marlin 7, 2024".equals(loaded.getVehicleModel())) {
+                System.out.println("✅ Test 5 PASSED: Vehicle model with a comma round-tripped");
+            } else {
+                System.out.println("❌ Test 5 FAILED: Vehicle model lost or split");
+            }
+
+            // Test 6: A stray quote in the middle of an unescaped field does not swallow later lines
+            try (FileWriter writer = new FileWriter(path, true)) {
+                writer.write("3,26\" wheels\n4,after\n");
+            }
+            rows = dao.loadAll();
+            if (rows.size() == 4 && "26\" wheels".equals(rows.get(2)[1]) && "after".equals(rows.get(3)[1])
+                    && !CsvTokenizer.isOpenRecord("3,26\" wheels") && CsvTokenizer.isOpenRecord("3,\"open, \"\"still")) {
+                System.out.println("✅ Test 6 PASSED: Mid-field quote kept as text, next row read separately");
+            } else {
+                System.out.println("❌ Test 6 FAILED: Read " + rows.size() + " rows");
+            }
+
+        } catch (Exception e) {
+            System.out.println("❌ Test FAILED with exception: " + e.getMessage());
+            e.printStackTrace();
+        } finally {
+            new File(path).delete();
+        }
+
+        System.out.println("\n🎯 CSV Tokenizer Test Complete");
+    }
+}
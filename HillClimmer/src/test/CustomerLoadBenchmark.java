@@ -0,0 +1,116 @@
+package test;
+
+import hillclimmer.CustomerModule.Customer;
+import hillclimmer.DatabaseModule.CustomerDAO;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Benchmark for loading the customer table. Rows are restored from their stored
+ * hash and salt, so load time should grow with row count only through parsing,
+ * and stay well below the cost of re-hashing a password per row.
+ */
+public class CustomerLoadBenchmark {
+
+    private static final int[] TABLE_SIZES = {1000, 5000, 20000};
+    private static final int RUNS = 5;
+    private static final String PASSWORD = "Bench1!a";
+
+    public static void main(String[] args) throws IOException {
+        System.out.println("🧪 Customer Load Benchmark");
+        System.out.println("==========================");
+
+        String path = System.getProperty("user.dir") + "/data/customers_bench.csv";
+        Customer template = new Customer("C001", "Bench Customer", "950101-14-5678", "+60123456789",
+                "bench@email.com", "B", LocalDate.of(2030, 1, 1), 30, PASSWORD);
+
+        try {
+            // Test 1: Restored customers keep their credentials
+            writeTable(path, 1, template);
+            CustomerDAO dao = new CustomerDAO(path);
+            Customer restored = dao.loadAll().get(0);
+            if (restored.authenticatePassword(PASSWORD) && !restored.authenticatePassword("Wrong1!a")
+                    && template.getSalt().equals(restored.getSalt())) {
+                System.out.println("✅ Test 1 PASSED: Restored customer authenticates with the stored hash");
+            } else {
+                System.out.println("❌ Test 1 FAILED: Restored credentials do not match");
+            }
+
+            // Test 2: Per-row load cost stays flat as the table grows
+            writeTable(path, TABLE_SIZES[0], template);
+            CustomerDAO warmup = new CustomerDAO(path);
+            warmup.setCacheEnabled(false);
+            for (int i = 0; i < 10; i++) {
+                timeLoad(warmup, TABLE_SIZES[0]); // let the JIT compile the parse path first
+            }
+
+            double cheapest = Double.MAX_VALUE;
+            double dearest = 0;
+            double largest = 0;
+            for (int size : TABLE_SIZES) {
+                writeTable(path, size, template);
+                CustomerDAO sized = new CustomerDAO(path);
+                sized.setCacheEnabled(false);
+                double nanosPerRow = timeLoad(sized, size);
+                System.out.printf("   %6d rows: %.2f ms per load, %.0f ns per row%n",
+                        size, nanosPerRow * size / 1e6, nanosPerRow);
+                cheapest = Math.min(cheapest, nanosPerRow);
+                dearest = Math.max(dearest, nanosPerRow);
+                largest = nanosPerRow;
+            }
+            if (dearest < cheapest * 3) {
+                System.out.println("✅ Test 2 PASSED: Load time scales linearly with row count");
+            } else {
+                System.out.println("❌ Test 2 FAILED: Per-row cost ranged from " + cheapest + " to " + dearest + " ns");
+            }
+
+            // Test 3: Loading a row is cheaper than constructing one with a fresh hash
+            int size = TABLE_SIZES[TABLE_SIZES.length - 1];
+            double loadNanos = largest;
+            long start = System.nanoTime();
+            for (int i = 0; i < size; i++) {
+                new Customer("C001", "Bench Customer", "950101-14-5678", "+60123456789",
+                        "bench@email.com", "B", LocalDate.of(2030, 1, 1), 30, PASSWORD);
+            }
+            double hashNanos = (System.nanoTime() - start) / (double) size;
+            System.out.printf("   hashing constructor: %.0f ns per customer%n", hashNanos);
+            if (loadNanos < hashNanos) {
+                System.out.println("✅ Test 3 PASSED: Loading a row costs less than hashing a password");
+            } else {
+                System.out.println("❌ Test 3 FAILED: Load " + loadNanos + " ns/row vs hash " + hashNanos + " ns");
+            }
+
+        } finally {
+            new File(path).delete();
+        }
+
+        System.out.println("\n🎯 Customer Load Benchmark Complete");
+    }
+
+    // Best of several full loads, in nanoseconds per row
+    private static double timeLoad(CustomerDAO dao, int size) {
+        double best = Double.MAX_VALUE;
+        for (int run = 0; run < RUNS; run++) {
+            long start = System.nanoTime();
+            List<Customer> customers = dao.loadAll();
+            long elapsed = System.nanoTime() - start;
+            if (customers.size() != size) {
+                throw new IllegalStateException("Loaded " + customers.size() + " of " + size + " rows");
+            }
+            best = Math.min(best, elapsed / (double) size);
+        }
+        return best;
+    }
+
+    private static void writeTable(String path, int size, Customer template) throws IOException {
+        try (FileWriter fw = new FileWriter(path, false)) {
+            for (int i = 1; i <= size; i++) {
+                fw.write(String.format("C%05d,Bench Customer %d,950101-14-5678,+60123456789,bench%d@email.com,B,2030-01-01,30,2025-01-01,0.0,true,\"%s\",\"%s\",false,,%n",
+                        i, i, i, template.getHashedPassword(), template.getSalt()));
+            }
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package test;
+
+import hillclimmer.DatabaseModule.DaoRegistry;
+import hillclimmer.DatabaseModule.VehicleDAO;
+import hillclimmer.VehicleModule.MountainBike;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Test to verify DaoRegistry hands out shared instances and that writers on
+ * separate DAO instances of the same file no longer lose each other's updates
+ */
+public class DaoRegistryTest {
+
+    private static final int THREADS = 8;
+    private static final int TEST_ID_BASE = 900;
+
+    public static void main(String[] args) throws InterruptedException {
+        System.out.println("🧪 DAO Registry Test");
+        System.out.println("====================");
+
+        // Test 1: One canonical instance per data file
+        if (DaoRegistry.getVehicleDAO() == DaoRegistry.getVehicleDAO()
+                && DaoRegistry.getRentalDAO() == DaoRegistry.getRentalDAO()) {
+            System.out.println("✅ Test 1 PASSED: Registry returns one instance per data file");
+        } else {
+            System.out.println("❌ Test 1 FAILED: Registry returned different instances for the same file");
+        }
+
+        // Test 2: Concurrent saves through separate instances are all persisted
+        VehicleDAO checkDAO = new VehicleDAO();
+        cleanUp(checkDAO);
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            final String vehicleId = "MB" + (TEST_ID_BASE + i);
+            Thread t = new Thread(() -> {
+                VehicleDAO ownDAO = new VehicleDAO();
+                ownDAO.save(new MountainBike(vehicleId, "Registry Test Bike", 40.0, "Good", true));
+            });
+            threads.add(t);
+            t.start();
+        }
+        for (Thread t : threads) {
+            t.join();
+        }
+
+        int persisted = 0;
+        for (int i = 0; i < THREADS; i++) {
+            if (new VehicleDAO().load("MB" + (TEST_ID_BASE + i)) != null) {
+                persisted++;
+            }
+        }
+        if (persisted == THREADS) {
+            System.out.println("✅ Test 2 PASSED: All " + THREADS + " concurrent saves persisted");
+        } else {
+            System.out.println("❌ Test 2 FAILED: Only " + persisted + "/" + THREADS + " saves persisted (lost updates)");
+        }
+
+        cleanUp(checkDAO);
+        System.out.println("\n🎯 DAO Registry Test Complete");
+    }
+
+    private static void cleanUp(VehicleDAO vehicleDAO) {
+        for (int i = 0; i < THREADS; i++) {
+            vehicleDAO.delete("MB" + (TEST_ID_BASE + i));
+        }
+    }
+}
@@ -0,0 +1,410 @@
+package test;
+
+import hillclimmer.CustomerModule.Customer;
+import hillclimmer.DatabaseModule.CsvTokenizer;
+import hillclimmer.DatabaseModule.CustomerDAO;
+import hillclimmer.DatabaseModule.PaymentDAO;
+import hillclimmer.DatabaseModule.ReminderDAO;
+import hillclimmer.DatabaseModule.RentalDAO;
+import hillclimmer.DatabaseModule.SafetyCheckDAO;
+import hillclimmer.DatabaseModule.VehicleDAO;
+import hillclimmer.RentalModule.Rental;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.BitSet;
+import java.util.Random;
+
+/**
+ * Generates a synthetic data set in the stored CSV formats: customers, vehicles,
+ * rentals, payments, safety checks and reminders. The same seed and --today
+ * always produce the same files.
+ *
+ * The data is referentially consistent: rentals point at generated customers
+ * and vehicles, a vehicle is never double-booked, every booking has a payment,
+ * unpaid bookings show up in the customer's outstanding balance and have a
+ * payment reminder, and customers who passed the safety check point at their
+ * check. Demand is skewed: a few hot vehicles take most bookings (--skew), and
+ * start dates peak in the June-August and November-December holidays.
+ *
+ * Usage: java test.DatasetGenerator [--customers N] [--vehicles N] [--rentals N]
+ *        [--seed N] [--skew X] [--today yyyy-MM-dd] [--dir PATH]
+ * Files go to PATH/data (default ./generated); run the application or a test
+ * with -Duser.dir=PATH to use them.
+ */
+public class DatasetGenerator {
+
+    private static final String PASSWORD = "Generated1!";
+    private static final int PAST_DAYS = 365;
+    private static final int FUTURE_DAYS = 180;
+    private static final int MAX_ATTEMPTS = 20;
+
+    private static final String[] FIRST_NAMES = {"Ahmad", "Siti", "Wei Ming", "Priya", "Muhammad", "Mei Ling",
+            "Rajesh", "Nurul", "Jun Hao", "Kavitha", "Hafiz", "Li Na", "Arjun", "Farah", "Kok Leong", "Aisyah"};
+    private static final String[] LAST_NAMES = {"Abdullah", "Tan", "Lim", "Kumar", "Ismail", "Wong",
+            "Raj", "Hassan", "Lee", "Subramaniam", "Yusof", "Chong", "Nair", "Rahman", "Ng", "Ibrahim"};
+    private static final String[] VEHICLE_TYPES = {"Mountain Bike", "Dirt Bike", "Buggy", "Crossover"};
+    private static final String[] VEHICLE_PREFIXES = {"MB", "DB", "BG", "CR"};
+    private static final String[][] VEHICLE_MODELS = {
+            {"Trek Marlin 7", "Giant Talon 1", "Specialized Rockhopper", "Polygon Siskiu"},
+            {"Honda CRF250L", "Yamaha WR250F", "Kawasaki KLX230", "Suzuki DR-Z400"},
+            {"Polaris RZR", "Yamaha YXZ", "Can-Am Maverick", "Kawasaki Teryx"},
+            {"Honda Pioneer", "Polaris General", "Can-Am Commander", "Arctic Cat Wildcat"}};
+    private static final double[] BASE_PRICES = {40.0, 80.0, 100.0, 120.0};
+    private static final String[] CONDITIONS = {"New", "Excellent", "Good", "Good"};
+    private static final String[] PAYMENT_METHODS = {"Cash", "Credit Card", "Online Banking"};
+    private static final String[] PAYMENT_PREFIXES = {"CASH", "CC", "OB"};
+    private static final DateTimeFormatter PAYMENT_TIME = DateTimeFormatter.ofPattern("dd/MM/yyyy HH:mm");
+
+    private final Random random;
+    private final LocalDate today;
+    private final double skew;
+    private final int customers;
+    private final int vehicles;
+    private final int rentals;
+
+    // Per-vehicle state
+    private final double[] vehiclePrice;
+    private final BitSet[] booked;
+    // Per-rental state; rentals that could not be placed are left with vehicle 0
+    private final int[] rentalCustomer;
+    private final int[] rentalVehicle;
+    private final LocalDate[] rentalStart;
+    private final int[] rentalDays;
+    private final boolean[] rentalPaid;
+    private final boolean[] rentalCancelled;
+    // Per-customer state
+    private final double[] outstanding;
+    private int placed;
+
+    public DatasetGenerator(long seed, double skew, LocalDate today, int customers, int vehicles, int rentals) {
+        this.random = new Random(seed);
+        this.skew = skew;
+        this.today = today;
+        this.customers = customers;
+        this.vehicles = vehicles;
+        this.rentals = rentals;
+        this.vehiclePrice = new double[vehicles + 1];
+        this.booked = new BitSet[vehicles + 1];
+        this.rentalCustomer = new int[rentals + 1];
+        this.rentalVehicle = new int[rentals + 1];
+        this.rentalStart = new LocalDate[rentals + 1];
+        this.rentalDays = new int[rentals + 1];
+        this.rentalPaid = new boolean[rentals + 1];
+        this.rentalCancelled = new boolean[rentals + 1];
+        this.outstanding = new double[customers + 1];
+    }
+
+    public static void main(String[] args) throws IOException {
+        System.out.println("🧪 Dataset Generator");
+        System.out.println("====================");
+
+        int customers = 1000;
+        Integer vehicles = null;
+        Integer rentals = null;
+        long seed = 42;
+        double skew = 2.0;
+        LocalDate today = LocalDate.now();
+        Path base = Paths.get("generated");
+        for (int i = 0; i + 1 < args.length; i += 2) {
+            switch (args[i]) {
+                case "--customers": customers = Integer.parseInt(args[i + 1]); break;
+                case "--vehicles": vehicles = Integer.parseInt(args[i + 1]); break;
+                case "--rentals": rentals = Integer.parseInt(args[i + 1]); break;
+                case "--seed": seed = Long.parseLong(args[i + 1]); break;
+                case "--skew": skew = Double.parseDouble(args[i + 1]); break;
+                case "--today": today = LocalDate.parse(args[i + 1]); break;
+                case "--dir": base = Paths.get(args[i + 1]); break;
+                default:
+                    System.out.println("❌ Unknown option " + args[i]);
+                    return;
+            }
+        }
+        DatasetGenerator generator = new DatasetGenerator(seed, skew, today, customers,
+                vehicles != null ? vehicles : Math.max(customers / 10, 10),
+                rentals != null ? rentals : customers * 2);
+
+        long start = System.nanoTime();
+        Path data = Files.createDirectories(base.toAbsolutePath().resolve("data"));
+        generator.generate(data);
+        System.out.printf("✅ Wrote %d customers, %d vehicles, %d rentals to %s in %.1fs%n",
+                generator.customers, generator.vehicles, generator.placed, data,
+                (System.nanoTime() - start) / 1e9);
+        System.out.println("   Customers log in with password " + PASSWORD);
+        generator.verify(base.toAbsolutePath());
+
+        System.out.println("\n🎯 Dataset Generation Complete");
+    }
+
+    public void generate(Path data) throws IOException {
+        placeRentals();
+        writeVehicles(data.resolve("vehicles.csv"));
+        writeRentalsAndPayments(data.resolve("rentals.csv"), data.resolve("payments.csv"));
+        writeCustomersAndSafetyChecks(data.resolve("customers.csv"), data.resolve("safetychecks.csv"));
+        writeReminders(data.resolve("reminders.csv"));
+    }
+
+    // Read every file back through its DAO, with user.dir pointed at the generated tree
+    private void verify(Path base) {
+        String previous = System.getProperty("user.dir");
+        System.setProperty("user.dir", base.toString());
+        try {
+            CustomerDAO customerDAO = new CustomerDAO();
+            int customerCount = customerDAO.loadAll().size();
+            Customer first = customerDAO.load(customerId(1));
+            int vehicleCount = new VehicleDAO().loadAll().size();
+            int rentalCount = new RentalDAO().loadAll().size();
+            int paymentCount = new PaymentDAO().loadAll().size();
+            int checkCount = new SafetyCheckDAO().loadAll().size();
+            int reminderCount = new ReminderDAO().loadAll().size();
+            if (customerCount == customers && vehicleCount == vehicles && rentalCount == placed
+                    && first != null && first.authenticatePassword(PASSWORD)) {
+                System.out.println("✅ DAOs read back " + customerCount + " customers, " + vehicleCount + " vehicles, "
+                        + rentalCount + " rentals, " + paymentCount + " payments, " + checkCount
+                        + " safety checks, " + reminderCount + " reminders");
+            } else {
+                System.out.println("❌ DAO read-back mismatch: " + customerCount + " customers, "
+                        + vehicleCount + " vehicles, " + rentalCount + " rentals, login "
+                        + (first != null && first.authenticatePassword(PASSWORD)));
+            }
+        } finally {
+            System.setProperty("user.dir", previous);
+        }
+    }
+
+    // Book each rental on a skewed vehicle at a seasonal date, retrying on clashes
+    private void placeRentals() {
+        for (int v = 1; v <= vehicles; v++) {
+            vehiclePrice[v] = BASE_PRICES[(v - 1) % 4] + 10 * random.nextInt(4);
+            booked[v] = new BitSet(PAST_DAYS + FUTURE_DAYS);
+        }
+        for (int r = 1; r <= rentals; r++) {
+            int days = 1 + random.nextInt(3);
+            for (int attempt = 0; attempt < MAX_ATTEMPTS && rentalVehicle[r] == 0; attempt++) {
+                int vehicle = hotVehicle();
+                int offset = seasonalDayOffset(days);
+                int next = booked[vehicle].nextSetBit(offset);
+                if (next < 0 || next >= offset + days) {
+                    booked[vehicle].set(offset, offset + days);
+                    rentalVehicle[r] = vehicle;
+                    rentalStart[r] = today.minusDays(PAST_DAYS).plusDays(offset);
+                    rentalDays[r] = days;
+                }
+            }
+            if (rentalVehicle[r] == 0) {
+                continue; // fleet is saturated around the drawn dates; fewer rentals than asked
+            }
+            placed++;
+            rentalCustomer[r] = 1 + random.nextInt(customers);
+            rentalCancelled[r] = random.nextInt(100) < 3;
+            // Past bookings were almost always settled; future ones are often still unpaid
+            boolean future = rentalStart[r].isAfter(today);
+            rentalPaid[r] = !rentalCancelled[r] && random.nextInt(100) < (future ? 70 : 97);
+            if (!rentalPaid[r] && !rentalCancelled[r]) {
+                outstanding[rentalCustomer[r]] += cost(r);
+            }
+        }
+    }
+
+    // Vehicle number with a power-law bias towards low numbers: skew 1 is uniform
+    private int hotVehicle() {
+        return 1 + (int) (vehicles * Math.pow(random.nextDouble(), skew));
+    }
+
+    // Day offset in the booking window, three times as likely in school-holiday months
+    private int seasonalDayOffset(int days) {
+        while (true) {
+            int offset = random.nextInt(PAST_DAYS + FUTURE_DAYS - days + 1);
+            int month = today.minusDays(PAST_DAYS).plusDays(offset).getMonthValue();
+            boolean peak = month >= 6 && month <= 8 || month >= 11;
+            if (peak || random.nextInt(3) == 0) {
+                return offset;
+            }
+        }
+    }
+
+    private double cost(int r) {
+        return vehiclePrice[rentalVehicle[r]] * rentalDays[r];
+    }
+
+    private void writeVehicles(Path file) throws IOException {
+        int digits = Math.max(3, String.valueOf(vehicles).length());
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            for (int v = 1; v <= vehicles; v++) {
+                int type = (v - 1) % 4;
+                // Vehicle numbers are unique across prefixes because rentals store only the number
+                out.write(vehicleId(v, digits) + "," + VEHICLE_TYPES[type] + ","
+                        + VEHICLE_MODELS[type][random.nextInt(4)] + "," + vehiclePrice[v] + ","
+                        + CONDITIONS[random.nextInt(CONDITIONS.length)] + "," + (random.nextInt(100) >= 5));
+                out.newLine();
+            }
+        }
+    }
+
+    private static String vehicleId(int v, int digits) {
+        return VEHICLE_PREFIXES[(v - 1) % 4] + String.format("%0" + digits + "d", v);
+    }
+
+    private void writeRentalsAndPayments(Path rentalFile, Path paymentFile) throws IOException {
+        try (BufferedWriter rentalOut = Files.newBufferedWriter(rentalFile, StandardCharsets.UTF_8);
+             BufferedWriter paymentOut = Files.newBufferedWriter(paymentFile, StandardCharsets.UTF_8)) {
+            int id = 0;
+            for (int r = 1; r <= rentals; r++) {
+                if (rentalVehicle[r] == 0) {
+                    continue;
+                }
+                id++;
+                Rental rental = new Rental(id, rentalCustomer[r], rentalVehicle[r], rentalStart[r],
+                        rentalStart[r].plusDays(rentalDays[r] - 1), cost(r));
+                rental.setPaymentStatus(rentalPaid[r] ? "Paid" : "Unpaid");
+                rental.setStatus(rentalCancelled[r] ? "Cancelled" : "Pending");
+                rental.setStatus(rental.statusOn(today));
+                rentalOut.write(rental.getRentalId() + "," + rental.getCustomerId() + "," + rental.getVehicleId() + ","
+                        + rental.getStartDate() + "," + rental.getEndDate() + "," + rental.getTotalCost() + ","
+                        + rental.getPaymentStatus() + "," + rental.getStatus());
+                rentalOut.newLine();
+                if (!rentalCancelled[r]) {
+                    paymentOut.write(paymentRow(id, r));
+                    paymentOut.newLine();
+                }
+            }
+        }
+    }
+
+    // Payment row in PaymentDAO's format, slip lines escaped as \n
+    private String paymentRow(int id, int r) {
+        int method = random.nextInt(3);
+        LocalDateTime bookedAt = bookedAt(r);
+        String paymentId = PAYMENT_PREFIXES[method] + (bookedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() + id);
+        String reference = "REF" + (1_000_000_000_000_000L + id);
+        String status = rentalPaid[r] ? "Paid" : "Pending";
+        String customerId = customerId(rentalCustomer[r]);
+        String timestamp = bookedAt.format(PAYMENT_TIME);
+        String slip = "=== HillClimmer " + PAYMENT_METHODS[method].toUpperCase() + " PAYMENT "
+                + (rentalPaid[r] ? "RECEIPT" : "SLIP") + " ===\n"
+                + "Payment ID: " + paymentId + "\n"
+                + "Reference Number: " + reference + "\n"
+                + "Customer ID: " + customerId + "\n"
+                + "Amount: RM" + String.format("%.2f", cost(r)) + "\n"
+                + "Generated: " + timestamp + "\n"
+                + "Status: " + (rentalPaid[r] ? "PAID" : "PENDING PAYMENT");
+        return paymentId + "," + cost(r) + "," + PAYMENT_METHODS[method] + "," + status + "," + timestamp + ","
+                + customerId + "," + reference + "," + CsvTokenizer.escape(slip.replace("\n", "\\n"));
+    }
+
+    // Booked between 1 and 30 days before the start, at a deterministic time of day
+    private LocalDateTime bookedAt(int r) {
+        return rentalStart[r].minusDays(1 + r % 30).atTime(8 + r % 12, r % 60);
+    }
+
+    private static String customerId(int c) {
+        return String.format("C%03d", c);
+    }
+
+    private void writeCustomersAndSafetyChecks(Path customerFile, Path checkFile) throws IOException {
+        MessageDigest sha256;
+        try {
+            sha256 = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 algorithm not available", e);
+        }
+        byte[] passwordBytes = PASSWORD.getBytes();
+        try (BufferedWriter customerOut = Files.newBufferedWriter(customerFile, StandardCharsets.UTF_8);
+             BufferedWriter checkOut = Files.newBufferedWriter(checkFile, StandardCharsets.UTF_8)) {
+            for (int c = 1; c <= customers; c++) {
+                String first = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)];
+                String last = LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+                int age = 18 + random.nextInt(50);
+                LocalDate born = today.minusYears(age).minusDays(random.nextInt(365));
+                String ic = born.format(DateTimeFormatter.ofPattern("yyMMdd")) + "-"
+                        + String.format("%02d", 1 + random.nextInt(14)) + "-" + String.format("%04d", random.nextInt(10000));
+                String phone = "+601" + (2 + random.nextInt(8)) + String.format("%07d", random.nextInt(10_000_000));
+                String email = (first + "." + last).toLowerCase().replace(" ", "") + c + "@example.com";
+                LocalDate registered = today.minusDays(PAST_DAYS + random.nextInt(3 * 365));
+                // Same scheme as Customer.setPassword, but with a seeded salt so output is repeatable
+                byte[] salt = new byte[16];
+                random.nextBytes(salt);
+                String hash = Base64.getEncoder().encodeToString(sha256.digest(concat(salt, passwordBytes)));
+
+                String checkId = "";
+                String checkTime = "";
+                boolean passed = random.nextInt(100) < 80;
+                if (passed) {
+                    long completed = registered.plusDays(random.nextInt(30)).atTime(9 + random.nextInt(9), random.nextInt(60))
+                            .atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+                    checkId = "SC" + completed + String.format("%03d", c % 1000);
+                    checkTime = String.valueOf(completed);
+                    int score = 12 + random.nextInt(4);
+                    StringBuilder wrong = new StringBuilder();
+                    for (int q = score; q < 15; q++) {
+                        wrong.append(wrong.length() > 0 ? ";" : "").append("Section ").append(1 + random.nextInt(3))
+                                .append(" Q").append(1 + random.nextInt(5));
+                    }
+                    checkOut.write(checkId + "," + customerId(c) + "," + score + ",15,true," + completed + "," + wrong);
+                    checkOut.newLine();
+                }
+
+                customerOut.write(customerId(c) + "," + CsvTokenizer.escape(first + " " + last) + "," + ic + "," + phone + ","
+                        + email + "," + (random.nextInt(10) == 0 ? "B2" : "B") + "," + today.plusYears(1 + random.nextInt(5))
+                        + "," + age + "," + registered + "," + Math.round(outstanding[c] * 100) / 100.0 + ",true,"
+                        + "\"" + hash + "\",\"" + Base64.getEncoder().encodeToString(salt) + "\","
+                        + passed + "," + checkId + "," + checkTime);
+                customerOut.newLine();
+            }
+        }
+    }
+
+    private static byte[] concat(byte[] a, byte[] b) {
+        byte[] result = Arrays.copyOf(a, a.length + b.length);
+        System.arraycopy(b, 0, result, a.length, b.length);
+        return result;
+    }
+
+    // Return reminders for rentals ending in the next three days, payment reminders for unpaid bookings
+    private void writeReminders(Path file) throws IOException {
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            int id = 0;
+            int rentalId = 0;
+            for (int r = 1; r <= rentals; r++) {
+                if (rentalVehicle[r] == 0) {
+                    continue;
+                }
+                rentalId++;
+                if (rentalCancelled[r]) {
+                    continue;
+                }
+                LocalDate end = rentalStart[r].plusDays(rentalDays[r] - 1);
+                if (rentalPaid[r] && !end.isBefore(today) && !end.isAfter(today.plusDays(3))) {
+                    LocalDateTime due = end.atStartOfDay();
+                    out.write(reminderRow(++id, "RETURN", "Vehicle return due on " + end, due,
+                            bookedAt(r), "PENDING", rentalId, "HIGH"));
+                    out.newLine();
+                } else if (!rentalPaid[r]) {
+                    LocalDateTime due = bookedAt(r).plusDays(7);
+                    out.write(reminderRow(++id, "PAYMENT", "Payment of $" + cost(r) + " due on " + due.toLocalDate(),
+                            due, bookedAt(r), due.isBefore(today.atStartOfDay()) ? "SENT" : "PENDING",
+                            rentalCustomer[r], "HIGH"));
+                    out.newLine();
+                }
+            }
+        }
+    }
+
+    // Reminder row in ReminderDAO's format
+    private static String reminderRow(int id, String type, String message, LocalDateTime due,
+                                      LocalDateTime created, String status, int associatedId, String priority) {
+        return id + "," + type + "," + message.replace(",", ";") + "," + due + "," + created + ","
+                + status + "," + associatedId + "," + priority;
+    }
+}
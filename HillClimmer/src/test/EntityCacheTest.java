@@ -0,0 +1,116 @@
+package test;
+
+import hillclimmer.DatabaseModule.VehicleDAO;
+import hillclimmer.VehicleModule.MountainBike;
+import hillclimmer.VehicleModule.Vehicle;
+
+/**
+ * Test to verify the write-through entity cache in DataAccessObject
+ */
+public class EntityCacheTest {
+
+    private static final String TEST_VEHICLE_ID = "MB998";
+
+    public static void main(String[] args) {
+        System.out.println("🧪 Entity Cache Test");
+        System.out.println("====================");
+
+        VehicleDAO vehicleDAO = new VehicleDAO();
+        VehicleDAO otherDAO = new VehicleDAO();
+
+        try {
+            vehicleDAO.delete(TEST_VEHICLE_ID);
+
+            // Test 1: First access primes the cache (miss), later lookups are hits
+            vehicleDAO.invalidateCache();
+            long missesBefore = vehicleDAO.getCacheMisses();
+            long hitsBefore = vehicleDAO.getCacheHits();
+            int total = vehicleDAO.loadAll().size();
+            for (int i = 0; i < 100; i++) {
+                vehicleDAO.load("BG001");
+            }
+            if (vehicleDAO.getCacheMisses() == missesBefore + 1 && vehicleDAO.getCacheHits() == hitsBefore + 100
+                    && vehicleDAO.getCacheSize() == total) {
+                System.out.println("✅ Test 1 PASSED: Cache primed once, 100 lookups served from memory");
+            } else {
+                System.out.println("❌ Test 1 FAILED: hits=" + vehicleDAO.getCacheHits() + " misses=" + vehicleDAO.getCacheMisses());
+            }
+
+            // Test 2: Saves are written through to the cache
+            vehicleDAO.save(new MountainBike(TEST_VEHICLE_ID, "Cache Test Bike", 42.0, "Good", true));
+            long missesAfterWarm = vehicleDAO.getCacheMisses();
+            Vehicle saved = vehicleDAO.load(TEST_VEHICLE_ID);
+            if (saved != null && vehicleDAO.getCacheMisses() == missesAfterWarm) {
+                System.out.println("✅ Test 2 PASSED: Saved vehicle served from cache without re-reading the file");
+            } else {
+                System.out.println("❌ Test 2 FAILED: Saved vehicle not found in cache");
+            }
+
+            // Test 3: Another DAO instance on the same file sees the write
+            Vehicle seenByOther = otherDAO.load(TEST_VEHICLE_ID);
+            otherDAO.returnVehicle(TEST_VEHICLE_ID);
+            otherDAO.updateVehicleCondition(TEST_VEHICLE_ID, "Needs Service");
+            Vehicle reloaded = vehicleDAO.load(TEST_VEHICLE_ID);
+            if (seenByOther != null && reloaded != null && "Needs Service".equals(reloaded.getVehicleCon())) {
+                System.out.println("✅ Test 3 PASSED: Cache re-primed after a write from another DAO instance");
+            } else {
+                System.out.println("❌ Test 3 FAILED: Stale data served across DAO instances");
+            }
+
+            // Test 4: Cold mode reads straight from the file
+            vehicleDAO.setCacheEnabled(false);
+            long coldMisses = vehicleDAO.getCacheMisses();
+            vehicleDAO.load(TEST_VEHICLE_ID);
+            vehicleDAO.load(TEST_VEHICLE_ID);
+            if (vehicleDAO.getCacheMisses() == coldMisses + 2 && vehicleDAO.getCacheSize() == 0) {
+                System.out.println("✅ Test 4 PASSED: Cold mode bypasses the cache");
+            } else {
+                System.out.println("❌ Test 4 FAILED: Cold mode still used the cache");
+            }
+            vehicleDAO.setCacheEnabled(true);
+
+            // Test 5: Loaded and saved objects are copies; edits only count once saved
+            Vehicle edited = vehicleDAO.load(TEST_VEHICLE_ID);
+            edited.updateCondition("Unsaved Edit");
+            boolean unsavedHidden = "Needs Service".equals(vehicleDAO.load(TEST_VEHICLE_ID).getVehicleCon());
+            edited.updateCondition("Saved Edit");
+            vehicleDAO.update(edited);
+            edited.updateCondition("Edit After Save");
+            boolean savedKept = "Saved Edit".equals(vehicleDAO.load(TEST_VEHICLE_ID).getVehicleCon());
+            if (unsavedHidden && savedKept && vehicleDAO.load(TEST_VEHICLE_ID) != vehicleDAO.load(TEST_VEHICLE_ID)) {
+                System.out.println("✅ Test 5 PASSED: Cache hands out copies and keeps only saved changes");
+            } else {
+                System.out.println("❌ Test 5 FAILED: unsavedHidden=" + unsavedHidden + " savedKept=" + savedKept);
+            }
+
+            // Test 6: Concurrent modify calls on one entity lose no updates
+            vehicleDAO.modify(TEST_VEHICLE_ID, vehicle -> vehicle.setModelPricing(0.0));
+            Thread[] workers = new Thread[8];
+            for (int t = 0; t < workers.length; t++) {
+                workers[t] = new Thread(() -> {
+                    for (int i = 0; i < 25; i++) {
+                        vehicleDAO.modify(TEST_VEHICLE_ID, vehicle -> vehicle.setModelPricing(vehicle.getModelPricing() + 1.0));
+                    }
+                });
+                workers[t].start();
+            }
+            for (Thread worker : workers) {
+                worker.join();
+            }
+            double price = vehicleDAO.load(TEST_VEHICLE_ID).getModelPricing();
+            if (price == 200.0) {
+                System.out.println("✅ Test 6 PASSED: 200 concurrent increments all applied");
+            } else {
+                System.out.println("❌ Test 6 FAILED: Price " + price + " after 200 increments");
+            }
+
+        } catch (Exception e) {
+            System.out.println("❌ Test FAILED with exception: " + e.getMessage());
+            e.printStackTrace();
+        } finally {
+            vehicleDAO.delete(TEST_VEHICLE_ID);
+        }
+
+        System.out.println("\n🎯 Entity Cache Test Complete");
+    }
+}
@@ -0,0 +1,97 @@
+package test;
+
+import hillclimmer.DatabaseModule.RentalDAO;
+import hillclimmer.RentalModule.Rental;
+import hillclimmer.VehicleModule.FleetSearchService;
+import hillclimmer.VehicleModule.Vehicle;
+import hillclimmer.VehicleModule.VehicleManager;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Test to verify the fleet-wide "available between dates" search
+ */
+public class FleetSearchTest {
+
+    private static final int TEST_CUSTOMER_ID = 994;
+
+    public static void main(String[] args) {
+        System.out.println("🧪 Fleet Search Test");
+        System.out.println("====================");
+
+        VehicleManager vehicleManager = new VehicleManager("VM001", 2, "Ahmad Abdullah", 5);
+        RentalDAO rentalDAO = new RentalDAO();
+        FleetSearchService search = new FleetSearchService(vehicleManager, rentalDAO);
+
+        try {
+            cleanUp(rentalDAO);
+            LocalDate start = LocalDate.now().plusDays(200);
+            LocalDate end = start.plusDays(3);
+
+            // Test 1: Search matches a brute-force scan of vehicles and rentals
+            List<Vehicle> found = search.findAvailableVehicles(start, end, "D");
+            if (ids(found).equals(ids(bruteForce(vehicleManager, rentalDAO, start, end)))) {
+                System.out.println("✅ Test 1 PASSED: " + found.size() + " free vehicles, matches brute-force scan");
+            } else {
+                System.out.println("❌ Test 1 FAILED: Search result differs from brute-force scan");
+            }
+
+            // Test 2: Booking a vehicle removes it from searches over overlapping dates only
+            if (!found.isEmpty()) {
+                Vehicle booked = found.get(0);
+                int vehicleId = FleetSearchService.rentalVehicleId(booked);
+                rentalDAO.save(new Rental(0, TEST_CUSTOMER_ID, vehicleId, end, end.plusDays(2), 100.0));
+                boolean excluded = !ids(search.findAvailableVehicles(start, end, "D")).contains(booked.getVehicleID());
+                boolean freeBefore = ids(search.findAvailableVehicles(start, end.minusDays(1), "D")).contains(booked.getVehicleID());
+                boolean matches = ids(search.findAvailableVehicles(start, end, "D"))
+                        .equals(ids(bruteForce(vehicleManager, rentalDAO, start, end)));
+                if (excluded && freeBefore && matches) {
+                    System.out.println("✅ Test 2 PASSED: Booked vehicle excluded only for overlapping dates");
+                } else {
+                    System.out.println("❌ Test 2 FAILED: excluded=" + excluded + " freeBefore=" + freeBefore + " matches=" + matches);
+                }
+            }
+
+            // Test 3: License, type and price filters
+            List<Vehicle> bikes = search.findAvailableVehicles(start, end, "B");
+            boolean licenseOk = bikes.stream().allMatch(v -> FleetSearchService.isAllowedForLicense(v.getVehicleType(), "B"));
+            List<Vehicle> cheap = search.findAvailableVehicles(start, end, "D", "Mountain Bike", null, 50.0);
+            boolean filterOk = cheap.stream().allMatch(v -> "Mountain Bike".equals(v.getVehicleType()) && v.getModelPricing() <= 50.0);
+            if (licenseOk && filterOk) {
+                System.out.println("✅ Test 3 PASSED: License, type and price filters applied");
+            } else {
+                System.out.println("❌ Test 3 FAILED: license=" + licenseOk + " filters=" + filterOk);
+            }
+
+        } catch (Exception e) {
+            System.out.println("❌ Test FAILED with exception: " + e.getMessage());
+            e.printStackTrace();
+        } finally {
+            cleanUp(rentalDAO);
+        }
+
+        System.out.println("\n🎯 Fleet Search Test Complete");
+    }
+
+    private static List<Vehicle> bruteForce(VehicleManager vehicleManager, RentalDAO rentalDAO, LocalDate start, LocalDate end) {
+        List<Rental> rentals = rentalDAO.loadAll();
+        return vehicleManager.getAllVehicles().stream()
+                .filter(Vehicle::isAvailable)
+                .filter(v -> rentals.stream().noneMatch(r ->
+                        r.getVehicleId() == FleetSearchService.rentalVehicleId(v)
+                        && !"Cancelled".equals(r.getStatus())
+                        && !start.isAfter(r.getEndDate()) && !end.isBefore(r.getStartDate())))
+                .collect(Collectors.toList());
+    }
+
+    private static List<String> ids(List<Vehicle> vehicles) {
+        return vehicles.stream().map(Vehicle::getVehicleID).collect(Collectors.toList());
+    }
+
+    private static void cleanUp(RentalDAO rentalDAO) {
+        for (Rental r : rentalDAO.getByCustomerId(TEST_CUSTOMER_ID)) {
+            rentalDAO.delete(String.valueOf(r.getRentalId()));
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package test;
+
+import hillclimmer.DatabaseModule.DaoRegistry;
+import hillclimmer.DatabaseModule.FleetStatistics;
+import hillclimmer.DatabaseModule.RentalDAO;
+import hillclimmer.DatabaseModule.VehicleDAO;
+import hillclimmer.RentalModule.Rental;
+import hillclimmer.VehicleModule.Buggy;
+import hillclimmer.VehicleModule.Vehicle;
+import hillclimmer.VehicleModule.VehicleManager;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Test to verify the running fleet statistics follow vehicle adds, reprices,
+ * availability changes and removals, and that the report aggregates agree with
+ * a full scan of the data files
+ */
+public class FleetStatisticsTest {
+
+    public static void main(String[] args) {
+        System.out.println("🧪 Fleet Statistics Test");
+        System.out.println("========================");
+
+        VehicleDAO vehicleDAO = DaoRegistry.getVehicleDAO();
+        VehicleManager vehicleManager = new VehicleManager("VM970", 2, "Stats Tester", 5);
+        List<String> createdIds = Arrays.asList("BG970", "BG971");
+
+        try {
+            FleetStatistics before = vehicleManager.getFleetStatistics();
+
+            // Test 1: Adding vehicles updates type, availability and price aggregates
+            vehicleManager.importVehicles(Arrays.asList(
+                    new Buggy("BG970", "Stats Buggy Low", 1.25, "Good", true),
+                    new Buggy("BG971", "Stats Buggy High", 9999.75, "Good", false)));
+            FleetStatistics added = vehicleManager.getFleetStatistics();
+            if (added.getCount("Buggy") - before.getCount("Buggy") == 2
+                    && added.getAvailableCount() - before.getAvailableCount() == 1
+                    && added.getMinPrice() == 1.25 && added.getMaxPrice() == 9999.75) {
+                System.out.println("✅ Test 1 PASSED: Two buggies counted with the new price range");
+            } else {
+                System.out.println("❌ Test 1 FAILED: " + before + " -> " + added);
+            }
+
+            // Test 2: Repricing and availability changes move the old values out
+            vehicleManager.setVehiclePricing("BG971", 50.0);
+            vehicleManager.setVehicleAvailability("BG971", true);
+            FleetStatistics changed = vehicleManager.getFleetStatistics();
+            if (changed.getMaxPrice() == before.getMaxPrice()
+                    && changed.getAvailableCount() - before.getAvailableCount() == 2
+                    && changed.getVehicleCount() - before.getVehicleCount() == 2) {
+                System.out.println("✅ Test 2 PASSED: Reprice and availability change re-counted the vehicle");
+            } else {
+                System.out.println("❌ Test 2 FAILED: " + before + " -> " + changed);
+            }
+
+            // Test 3: Running aggregates match a full scan of the fleet
+            if (matchesScan(changed, vehicleDAO.loadAll())) {
+                System.out.println("✅ Test 3 PASSED: Counts and prices match a full scan");
+            } else {
+                System.out.println("❌ Test 3 FAILED: " + changed + " differs from loadAll");
+            }
+
+            // Test 4: Removing the vehicles restores the starting statistics
+            vehicleDAO.deleteAll(createdIds);
+            FleetStatistics removed = vehicleManager.getFleetStatistics();
+            if (removed.getCountsByType().equals(before.getCountsByType())
+                    && removed.getAvailableCount() == before.getAvailableCount()
+                    && removed.getMinPrice() == before.getMinPrice()
+                    && removed.getMaxPrice() == before.getMaxPrice()) {
+                System.out.println("✅ Test 4 PASSED: Removal restored the starting statistics");
+            } else {
+                System.out.println("❌ Test 4 FAILED: " + before + " -> " + removed);
+            }
+
+            // Test 5: Report aggregates agree with a scan, with and without the cache
+            RentalDAO rentalDAO = DaoRegistry.getRentalDAO();
+            long paidRentals = 0;
+            double paidRevenue = 0;
+            for (Rental rental : rentalDAO.loadAll()) {
+                if ("Paid".equals(rental.getPaymentStatus())) {
+                    paidRentals++;
+                    paidRevenue += rental.getTotalCost();
+                }
+            }
+            RentalDAO coldDAO = new RentalDAO();
+            coldDAO.setCacheEnabled(false);
+            VehicleDAO coldVehicles = new VehicleDAO();
+            coldVehicles.setCacheEnabled(false);
+            if (rentalDAO.countPaidRentals() == paidRentals && coldDAO.countPaidRentals() == paidRentals
+                    && Math.abs(rentalDAO.getPaidRevenue() - paidRevenue) < 0.005
+                    && Math.abs(coldDAO.getPaidRevenue() - paidRevenue) < 0.005
+                    && matchesScan(coldVehicles.getFleetStatistics(), vehicleDAO.loadAll())
+                    && vehicleDAO.count() == coldVehicles.count()) {
+                System.out.println("✅ Test 5 PASSED: " + paidRentals + " paid rentals, RM"
+                        + String.format("%.2f", paidRevenue) + " revenue");
+            } else {
+                System.out.println("❌ Test 5 FAILED: Report aggregates differ from a scan");
+            }
+
+        } catch (Exception e) {
+            System.out.println("❌ Test FAILED with exception: " + e.getMessage());
+            e.printStackTrace();
+        } finally {
+            vehicleDAO.deleteAll(createdIds);
+        }
+
+        System.out.println("\n🎯 Fleet Statistics Test Complete");
+    }
+
+    private static boolean matchesScan(FleetStatistics stats, List<Vehicle> vehicles) {
+        long available = vehicles.stream().filter(Vehicle::isAvailable).count();
+        long buggies = vehicles.stream().filter(v -> "Buggy".equals(v.getVehicleType())).count();
+        double min = vehicles.stream().mapToDouble(Vehicle::getModelPricing).min().orElse(0);
+        double max = vehicles.stream().mapToDouble(Vehicle::getModelPricing).max().orElse(0);
+        double avg = vehicles.stream().mapToDouble(Vehicle::getModelPricing).average().orElse(0);
+        return stats.getVehicleCount() == vehicles.size() && stats.getAvailableCount() == available
+                && stats.getCount("Buggy") == buggies && stats.getMinPrice() == min
+                && stats.getMaxPrice() == max && Math.abs(stats.getAveragePrice() - avg) < 0.005;
+    }
+}
@@ -0,0 +1,181 @@
+package test;
+
+import hillclimmer.DatabaseModule.IdAllocator;
+import hillclimmer.DatabaseModule.RentalDAO;
+import hillclimmer.DatabaseModule.VehicleDAO;
+import hillclimmer.RentalModule.Rental;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.InputStreamReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+
+/**
+ * Test to verify the ID allocator issues unique, monotonic IDs under concurrency
+ * and keeps the existing ID formats. The restart case runs the allocator in two
+ * separate JVMs (this class with --restart-issue / --restart-next) on a temporary
+ * data directory.
+ */
+public class IdAllocatorTest {
+
+    private static final int TEST_CUSTOMER_ID = 992;
+    private static final int THREADS = 8;
+    private static final int IDS_PER_THREAD = 200;
+
+    public static void main(String[] args) throws Exception {
+        if (args.length == 2 && args[0].startsWith("--restart-")) {
+            runRestartPhase(args[0], args[1]);
+            return;
+        }
+        System.out.println("🧪 ID Allocator Test");
+        System.out.println("====================");
+
+        RentalDAO rentalDAO = new RentalDAO();
+
+        try {
+            // Test 1: Concurrent allocation never hands out the same ID twice
+            Set<Integer> rentalIds = ConcurrentHashMap.newKeySet();
+            runConcurrently(() -> {
+                for (int i = 0; i < IDS_PER_THREAD; i++) {
+                    rentalIds.add(rentalDAO.generateNextRentalId());
+                }
+            });
+            if (rentalIds.size() == THREADS * IDS_PER_THREAD) {
+                System.out.println("✅ Test 1 PASSED: " + rentalIds.size() + " concurrent rental IDs are unique");
+            } else {
+                System.out.println("❌ Test 1 FAILED: Only " + rentalIds.size() + " unique IDs out of " + THREADS * IDS_PER_THREAD);
+            }
+
+            // Test 2: Concurrent saves through separate DAO instances get distinct IDs
+            LocalDate start = LocalDate.now().plusDays(400);
+            runConcurrently(() -> {
+                RentalDAO ownDAO = new RentalDAO();
+                for (int i = 0; i < 5; i++) {
+                    ownDAO.save(new Rental(0, TEST_CUSTOMER_ID, 1, start, start.plusDays(1), 50.0));
+                }
+            });
+            List<Rental> saved = rentalDAO.getByCustomerId(TEST_CUSTOMER_ID);
+            long distinct = saved.stream().mapToInt(Rental::getRentalId).distinct().count();
+            if (saved.size() == THREADS * 5 && distinct == saved.size()) {
+                System.out.println("✅ Test 2 PASSED: " + saved.size() + " concurrent saves received distinct IDs");
+            } else {
+                System.out.println("❌ Test 2 FAILED: saved=" + saved.size() + " distinct=" + distinct);
+            }
+
+            // Test 3: IDs keep increasing after the newest row is deleted
+            int highest = saved.stream().mapToInt(Rental::getRentalId).max().orElse(0);
+            rentalDAO.delete(String.valueOf(highest));
+            int next = rentalDAO.generateNextRentalId();
+            if (next > highest) {
+                System.out.println("✅ Test 3 PASSED: Deleted ID " + highest + " not reissued (next " + next + ")");
+            } else {
+                System.out.println("❌ Test 3 FAILED: Got " + next + " after deleting " + highest);
+            }
+
+            // Test 4: Existing ID formats are preserved
+            VehicleDAO vehicleDAO = new VehicleDAO();
+            String bikeId = vehicleDAO.generateNextVehicleId("MB");
+            String buggyId = vehicleDAO.generateNextVehicleId("BG");
+            if (bikeId.matches("MB\\d{3,}") && buggyId.matches("BG\\d{3,}")) {
+                System.out.println("✅ Test 4 PASSED: Formats preserved (" + bikeId + ", " + buggyId + ")");
+            } else {
+                System.out.println("❌ Test 4 FAILED: Got " + bikeId + " and " + buggyId);
+            }
+
+            // Test 5: Timestamp IDs are unique even within the same millisecond
+            Set<String> paymentIds = ConcurrentHashMap.newKeySet();
+            runConcurrently(() -> {
+                for (int i = 0; i < IDS_PER_THREAD; i++) {
+                    paymentIds.add(IdAllocator.nextTimestampId("P"));
+                }
+            });
+            if (paymentIds.size() == THREADS * IDS_PER_THREAD) {
+                System.out.println("✅ Test 5 PASSED: " + paymentIds.size() + " timestamp IDs are unique");
+            } else {
+                System.out.println("❌ Test 5 FAILED: Only " + paymentIds.size() + " unique timestamp IDs");
+            }
+
+            // Test 6: A deleted ID is not reissued after a restart
+            Path base = Files.createTempDirectory("hillclimmer-ids-");
+            Files.createDirectories(base.resolve("data"));
+            try {
+                String issued = runJvm("--restart-issue", base);
+                String afterRestart = runJvm("--restart-next", base);
+                if ("10".equals(issued) && afterRestart != null && Integer.parseInt(afterRestart) > 10) {
+                    System.out.println("✅ Test 6 PASSED: Issued 1..10, deleted 10, next ID after restart is " + afterRestart);
+                } else {
+                    System.out.println("❌ Test 6 FAILED: issued through " + issued + ", next after restart " + afterRestart);
+                }
+            } finally {
+                try (Stream<Path> paths = Files.walk(base)) {
+                    paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+                }
+            }
+
+        } catch (Exception e) {
+            System.out.println("❌ Test FAILED with exception: " + e.getMessage());
+            e.printStackTrace();
+        } finally {
+            List<String> ids = new ArrayList<>();
+            for (Rental r : rentalDAO.getByCustomerId(TEST_CUSTOMER_ID)) {
+                ids.add(String.valueOf(r.getRentalId()));
+            }
+            rentalDAO.deleteAll(ids);
+        }
+
+        System.out.println("\n🎯 ID Allocator Test Complete");
+    }
+
+    // One JVM lifetime of the restart case, against the given directory's data
+    private static void runRestartPhase(String phase, String dir) {
+        System.setProperty("user.dir", dir);
+        RentalDAO dao = new RentalDAO();
+        if (phase.equals("--restart-issue")) {
+            int last = 0;
+            for (int i = 0; i < 10; i++) {
+                last = dao.generateNextRentalId();
+                dao.save(new Rental(last, TEST_CUSTOMER_ID, 1, LocalDate.now(), LocalDate.now().plusDays(1), 50.0));
+            }
+            dao.delete(String.valueOf(last));
+            System.out.println(last);
+        } else {
+            System.out.println(dao.generateNextRentalId());
+        }
+    }
+
+    // Run a restart phase in a fresh JVM and return the last line it printed
+    private static String runJvm(String phase, Path dir) throws Exception {
+        Process process = new ProcessBuilder(
+                System.getProperty("java.home") + File.separator + "bin" + File.separator + "java",
+                "-cp", System.getProperty("java.class.path"), IdAllocatorTest.class.getName(), phase, dir.toString())
+                .redirectErrorStream(true).start();
+        String last = null;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream()))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                last = line.trim();
+            }
+        }
+        process.waitFor();
+        return last;
+    }
+
+    private static void runConcurrently(Runnable task) throws InterruptedException {
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            Thread t = new Thread(task);
+            threads.add(t);
+            t.start();
+        }
+        for (Thread t : threads) {
+            t.join();
+        }
+    }
+}
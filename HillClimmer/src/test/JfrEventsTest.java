@@ -0,0 +1,160 @@
+package test;
+
+import hillclimmer.DatabaseModule.DaoRegistry;
+import hillclimmer.DatabaseModule.VehicleDAO;
+import hillclimmer.PaymentModule.CashPayment;
+import hillclimmer.PaymentModule.CreditCardPaymentProcessor;
+import hillclimmer.PaymentModule.PaymentResult;
+import hillclimmer.RentalModule.RentalStatusScheduler;
+import hillclimmer.VehicleModule.Buggy;
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+/**
+ * Test to verify the custom Java Flight Recorder events for DAO file I/O, lock
+ * waits, payment processing and rental status sweeps are emitted with their
+ * entity type, row and byte counts
+ */
+public class JfrEventsTest {
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("🧪 JFR Events Test");
+        System.out.println("==================");
+
+        String previousDir = System.getProperty("user.dir");
+        InputStream previousIn = System.in;
+        PrintStream console = System.out;
+        Path base = Files.createTempDirectory("hillclimmer-jfr-");
+        Path data = Files.createDirectories(base.resolve("data"));
+        LocalDate today = LocalDate.now();
+
+        try (Recording recording = new Recording()) {
+            // One paid rental starting today, due to move from Upcoming to Active
+            Files.writeString(data.resolve("rentals.csv"),
+                    "1,1,1," + today + "," + today.plusDays(1) + ",100.0,Paid,Upcoming\n");
+            System.setProperty("user.dir", base.toString());
+            DaoRegistry.clear();
+            for (String event : new String[] {"hillclimmer.DaoRead", "hillclimmer.DaoWrite", "hillclimmer.DaoLockWait",
+                    "hillclimmer.PaymentProcessing", "hillclimmer.PaymentGateway", "hillclimmer.RentalStatusSweep"}) {
+                recording.enable(event).withThreshold(Duration.ZERO);
+            }
+            recording.start();
+
+            VehicleDAO vehicleDAO = DaoRegistry.getVehicleDAO();
+            List<Buggy> buggies = new ArrayList<>();
+            for (int i = 1; i <= 5; i++) {
+                buggies.add(new Buggy(String.format("BG%03d", i), "JFR Buggy " + i, 50.0 + i, "Good", true));
+            }
+            vehicleDAO.saveAll(buggies);
+            vehicleDAO.invalidateCache();
+            vehicleDAO.loadAll();
+            vehicleDAO.setAppendOnly(true);
+            vehicleDAO.save(new Buggy("BG006", "JFR Buggy 6", 56.0, "Good", true));
+
+            new RentalStatusScheduler(DaoRegistry.getRentalDAO()).runDueTransitions(today);
+
+            // Payment flows print their prompts; the card processor reads scripted input
+            System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+            new CashPayment("PJFR1", 75.0, "01/01/2026", "C001").processPayment();
+            System.setIn(new ByteArrayInputStream("4111111111111111\nJfr Tester\n12/39\n123\n".getBytes(StandardCharsets.UTF_8)));
+            PaymentResult result = new CreditCardPaymentProcessor().processPayment(120.0);
+            System.setOut(console);
+
+            recording.stop();
+            Path file = base.resolve("events.jfr");
+            recording.dump(file);
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+
+            // Test 1: Full file read carries entity type, row and byte counts
+            List<RecordedEvent> reads = named(events, "hillclimmer.DaoRead", "Vehicle");
+            if (reads.stream().anyMatch(e -> e.getInt("rows") == 5 && e.getLong("bytes") > 0)) {
+                System.out.println("✅ Test 1 PASSED: Vehicle file read recorded with 5 rows");
+            } else {
+                System.out.println("❌ Test 1 FAILED: reads=" + reads);
+            }
+
+            // Test 2: Rewrites and log appends are told apart, with rows and bytes
+            List<RecordedEvent> writes = named(events, "hillclimmer.DaoWrite", "Vehicle");
+            boolean rewrite = writes.stream().anyMatch(e -> "rewrite".equals(e.getString("mode"))
+                    && e.getInt("rows") == 5 && e.getLong("bytes") > 0);
+            boolean append = writes.stream().anyMatch(e -> "append".equals(e.getString("mode"))
+                    && e.getInt("rows") == 1 && e.getLong("bytes") > 0);
+            if (rewrite && append) {
+                System.out.println("✅ Test 2 PASSED: Rewrite of 5 rows and append of 1 row recorded");
+            } else {
+                System.out.println("❌ Test 2 FAILED: writes=" + writes);
+            }
+
+            // Test 3: Lock acquisitions are recorded per file and mode
+            List<RecordedEvent> locks = named(events, "hillclimmer.DaoLockWait", "Vehicle");
+            if (locks.stream().anyMatch(e -> "write".equals(e.getString("mode")))
+                    && locks.stream().anyMatch(e -> "read".equals(e.getString("mode")))) {
+                System.out.println("✅ Test 3 PASSED: " + locks.size() + " vehicle lock acquisitions recorded");
+            } else {
+                System.out.println("❌ Test 3 FAILED: locks=" + locks.size());
+            }
+
+            // Test 4: The rental sweep records the due and changed counts
+            List<RecordedEvent> sweeps = named(events, "hillclimmer.RentalStatusSweep", null);
+            if (sweeps.size() == 1 && sweeps.get(0).getInt("rentalsDue") == 1 && sweeps.get(0).getInt("rentalsChanged") == 1
+                    && today.toString().equals(sweeps.get(0).getString("day"))) {
+                System.out.println("✅ Test 4 PASSED: Status sweep recorded 1 due, 1 changed");
+            } else {
+                System.out.println("❌ Test 4 FAILED: sweeps=" + sweeps);
+            }
+
+            // Test 5: Payment processing spans contain the gateway wait
+            List<RecordedEvent> payments = named(events, "hillclimmer.PaymentProcessing", null);
+            List<RecordedEvent> gateway = named(events, "hillclimmer.PaymentGateway", null);
+            RecordedEvent card = payments.stream().filter(e -> "Credit Card".equals(e.getString("paymentMethod")))
+                    .findFirst().orElse(null);
+            boolean cash = payments.stream().anyMatch(e -> "PJFR1".equals(e.getString("paymentId")));
+            if (result.isSuccessful() && cash && card != null && "Paid".equals(card.getString("status"))
+                    && gateway.size() == 1 && gateway.get(0).getDuration().toMillis() >= 2000
+                    && card.getDuration().compareTo(gateway.get(0).getDuration()) >= 0) {
+                System.out.println("✅ Test 5 PASSED: Card payment took " + card.getDuration().toMillis()
+                        + "ms, " + gateway.get(0).getDuration().toMillis() + "ms of it at the gateway");
+            } else {
+                System.out.println("❌ Test 5 FAILED: payments=" + payments.size() + " gateway=" + gateway.size()
+                        + " result=" + result);
+            }
+
+        } catch (Exception e) {
+            System.setOut(console);
+            System.out.println("❌ Test FAILED with exception: " + e.getMessage());
+            e.printStackTrace();
+        } finally {
+            System.setIn(previousIn);
+            System.setProperty("user.dir", previousDir);
+            DaoRegistry.clear();
+            try (Stream<Path> paths = Files.walk(base)) {
+                paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+            }
+        }
+
+        System.out.println("\n🎯 JFR Events Test Complete");
+    }
+
+    // Events of one type, optionally only those for one entity type
+    private static List<RecordedEvent> named(List<RecordedEvent> events, String name, String entityType) {
+        return events.stream()
+                .filter(e -> e.getEventType().getName().equals(name))
+                .filter(e -> entityType == null || entityType.equals(e.getString("entityType")))
+                .collect(Collectors.toList());
+    }
+}
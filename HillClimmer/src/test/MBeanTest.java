@@ -0,0 +1,166 @@
+package test;
+
+import hillclimmer.DatabaseModule.DaoRegistry;
+import hillclimmer.DatabaseModule.MBeans;
+import hillclimmer.DatabaseModule.VehicleDAO;
+import hillclimmer.DurationModule.DurationManager;
+import hillclimmer.PaymentModule.CashPayment;
+import hillclimmer.PaymentModule.Payment;
+import hillclimmer.PaymentModule.TransactionManager;
+import hillclimmer.VehicleModule.Buggy;
+import hillclimmer.VehicleModule.VehicleManager;
+import java.io.File;
+import java.io.FileWriter;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.stream.Stream;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+import javax.management.openmbean.TabularData;
+
+/**
+ * Test to verify DAOs and managers publish their statistics as MBeans on the
+ * platform MBean server, read the same way JConsole reads them
+ */
+public class MBeanTest {
+
+    public static void main(String[] args) throws Exception {
+        System.out.println("🧪 MBean Test");
+        System.out.println("=============");
+
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        String previousDir = System.getProperty("user.dir");
+        Path base = Files.createTempDirectory("hillclimmer-mbean-");
+        Files.createDirectories(base.resolve("data"));
+
+        try {
+            System.setProperty("user.dir", base.toString());
+            DaoRegistry.clear();
+
+            // Test 1: Registry DAOs are registered by table with operation counts, row count and sizes
+            VehicleDAO vehicleDAO = DaoRegistry.getVehicleDAO();
+            ObjectName vehicles = MBeans.objectName("DataAccessObject", "vehicles");
+            vehicleDAO.save(new Buggy("BG101", "MBean Buggy 1", 50.0, "Good", true));
+            vehicleDAO.save(new Buggy("BG102", "MBean Buggy 2", 60.0, "Good", true));
+            vehicleDAO.save(new Buggy("BG103", "MBean Buggy 3", 70.0, "Good", false));
+            File vehicleFile = base.resolve("data/vehicles.csv").toFile();
+            if (server.isRegistered(vehicles)
+                    && Long.valueOf(3).equals(server.getAttribute(vehicles, "RowCount"))
+                    && count(server.getAttribute(vehicles, "OperationCounts"), "save") == 3
+                    && count(server.getAttribute(vehicles, "OperationCounts"), "count") == 0
+                    && (Long) server.getAttribute(vehicles, "BytesWritten") >= vehicleFile.length()
+                    && Long.valueOf(vehicleFile.length()).equals(server.getAttribute(vehicles, "FileSizeBytes"))) {
+                System.out.println("✅ Test 1 PASSED: vehicles bean reports 3 saves, 3 rows and "
+                        + vehicleFile.length() + " bytes on disk");
+            } else {
+                System.out.println("❌ Test 1 FAILED: rows=" + server.getAttribute(vehicles, "RowCount")
+                        + " ops=" + server.getAttribute(vehicles, "OperationCounts"));
+            }
+
+            // Test 2: Corrupted lines are counted instead of only printed
+            try (FileWriter writer = new FileWriter(vehicleFile, true)) {
+                writer.write("this line is not a vehicle\n");
+            }
+            server.invoke(vehicles, "resetStatistics", null, null);
+            server.invoke(vehicles, "invalidateCache", null, null);
+            vehicleDAO.loadAll();
+            if (Long.valueOf(1).equals(server.getAttribute(vehicles, "CorruptedLinesSkipped"))
+                    && Long.valueOf(3).equals(server.getAttribute(vehicles, "RowsParsed"))) {
+                System.out.println("✅ Test 2 PASSED: 1 corrupted line skipped, 3 rows parsed");
+            } else {
+                System.out.println("❌ Test 2 FAILED: corrupted=" + server.getAttribute(vehicles, "CorruptedLinesSkipped")
+                        + " parsed=" + server.getAttribute(vehicles, "RowsParsed"));
+            }
+
+            // Test 3: Cache hit rate covers the priming miss and the following hits; reading
+            // the row count of a cold DAO reports the last read instead of priming the cache
+            server.invoke(vehicles, "invalidateCache", null, null);
+            server.invoke(vehicles, "resetStatistics", null, null);
+            Object coldRows = server.getAttribute(vehicles, "RowCount");
+            for (int i = 0; i < 4; i++) {
+                vehicleDAO.load("BG101");
+            }
+            double hitRate = (Double) server.getAttribute(vehicles, "CacheHitRate");
+            if (Math.abs(hitRate - 0.75) < 1e-9 && count(server.getAttribute(vehicles, "OperationCounts"), "load") == 4
+                    && Long.valueOf(3).equals(coldRows)) {
+                System.out.println("✅ Test 3 PASSED: Cache hit rate 0.75 after one priming miss and three hits");
+            } else {
+                System.out.println("❌ Test 3 FAILED: hitRate=" + hitRate + " coldRows=" + coldRows);
+            }
+
+            // Test 4: TransactionManager counts recorded and rejected transactions
+            TransactionManager transactionManager = new TransactionManager("TM-MBEAN").registerMBean();
+            ObjectName transactions = MBeans.objectName("TransactionManager", "TM-MBEAN");
+            Payment paid = new CashPayment("PMBEAN1", 120.0, "01/01/2026", "C001");
+            paid.updateStatus("Paid");
+            transactionManager.recordTransaction(paid);
+            transactionManager.recordTransaction(new CashPayment("PMBEAN2", 80.0, "01/01/2026", "C001"));
+            if (Long.valueOf(1).equals(server.getAttribute(transactions, "TransactionsRecorded"))
+                    && Long.valueOf(1).equals(server.getAttribute(transactions, "TransactionsRejected"))
+                    && Long.valueOf(1).equals(server.getAttribute(transactions, "PaymentCount"))
+                    && count(server.getAttribute(transactions, "OperationCounts"), "recordTransaction") == 2) {
+                System.out.println("✅ Test 4 PASSED: TransactionManager bean shows 1 recorded, 1 rejected");
+            } else {
+                System.out.println("❌ Test 4 FAILED: recorded=" + server.getAttribute(transactions, "TransactionsRecorded")
+                        + " rejected=" + server.getAttribute(transactions, "TransactionsRejected"));
+            }
+
+            // Test 5: VehicleManager reports its changes and the fleet size
+            VehicleManager vehicleManager = new VehicleManager("VM-MBEAN", 2, "MBean Manager", 2).registerMBean();
+            ObjectName fleet = MBeans.objectName("VehicleManager", "VM-MBEAN");
+            vehicleManager.addVehicle(new Buggy("BG104", "MBean Buggy 4", 80.0, "Good", true));
+            if (Integer.valueOf(1).equals(server.getAttribute(fleet, "ChangeCount"))
+                    && Long.valueOf(4).equals(server.getAttribute(fleet, "VehicleCount"))
+                    && count(server.getAttribute(fleet, "OperationCounts"), "addVehicle") == 1) {
+                System.out.println("✅ Test 5 PASSED: VehicleManager bean shows 1 change and 4 vehicles");
+            } else {
+                System.out.println("❌ Test 5 FAILED: changes=" + server.getAttribute(fleet, "ChangeCount")
+                        + " vehicles=" + server.getAttribute(fleet, "VehicleCount"));
+            }
+
+            // Test 6: DurationManager exposes pending write-behind work and flushes on request
+            DurationManager durationManager = new DurationManager(DaoRegistry.getReminderDAO(), DaoRegistry.getRentalPeriodDAO()).registerMBean();
+            ObjectName duration = MBeans.objectName("DurationManager", null);
+            durationManager.createPaymentReminder(1, LocalDateTime.now().plusDays(2), 50.0);
+            durationManager.createReturnReminder(2, LocalDateTime.now().plusDays(3));
+            server.invoke(duration, "flush", null, null);
+            if (Integer.valueOf(2).equals(server.getAttribute(duration, "ReminderCount"))
+                    && Integer.valueOf(0).equals(server.getAttribute(duration, "PendingReminderWrites"))
+                    && DaoRegistry.getReminderDAO().count() == 2
+                    && count(server.getAttribute(duration, "ReminderCountsByStatus"), "PENDING") == 2) {
+                System.out.println("✅ Test 6 PASSED: DurationManager bean flushed 2 reminders to disk");
+            } else {
+                System.out.println("❌ Test 6 FAILED: reminders=" + server.getAttribute(duration, "ReminderCount")
+                        + " pendingWrites=" + server.getAttribute(duration, "PendingReminderWrites"));
+            }
+            durationManager.shutdown();
+
+        } catch (Exception e) {
+            System.out.println("❌ Test FAILED with exception: " + e.getMessage());
+            e.printStackTrace();
+        } finally {
+            System.setProperty("user.dir", previousDir);
+            DaoRegistry.clear();
+            try (Stream<Path> paths = Files.walk(base)) {
+                paths.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+            }
+        }
+
+        System.out.println("\n🎯 MBean Test Complete");
+    }
+
+    // Value for one key of a Map attribute, which JMX exposes as TabularData of key/value rows
+    private static long count(Object tabular, String key) {
+        for (Object row : ((TabularData) tabular).values()) {
+            CompositeData entry = (CompositeData) row;
+            if (key.equals(entry.get("key"))) {
+                return ((Number) entry.get("value")).longValue();
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,105 @@
+package test;
+
+import hillclimmer.DatabaseModule.PaymentDAO;
+import hillclimmer.PaymentModule.CashPayment;
+import hillclimmer.PaymentModule.CreditCardPayment;
+import hillclimmer.PaymentModule.Payment;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Test to verify PaymentDAO reference, customer and timestamp indexes
+ */
+public class PaymentIndexTest {
+
+    private static final String TEST_CUSTOMER = "C990";
+    private static final String OTHER_CUSTOMER = "C989";
+
+    public static void main(String[] args) {
+        System.out.println("🧪 Payment Index Test");
+        System.out.println("=====================");
+
+        PaymentDAO paymentDAO = new PaymentDAO();
+        List<String> createdIds = new ArrayList<>();
+
+        try {
+            // Three payments on different days for the test customer
+            List<Payment> payments = new ArrayList<>();
+            payments.add(new CreditCardPayment("PIDX001", 100.0, "01/03/2031 09:15", TEST_CUSTOMER));
+            payments.add(new CashPayment("PIDX002", 200.0, "05/03/2031", TEST_CUSTOMER));
+            payments.add(new CreditCardPayment("PIDX003", 300.0, "20/03/2031 18:40", TEST_CUSTOMER));
+            for (int i = 0; i < payments.size(); i++) {
+                payments.get(i).setReferenceNumber("REFIDX00" + (i + 1));
+                payments.get(i).updateStatus("Paid");
+                createdIds.add(payments.get(i).getPaymentID());
+            }
+            paymentDAO.saveAll(payments);
+
+            // Test 1: Reference lookup survives a reload from disk
+            Payment byRef = new PaymentDAO().getByReferenceNumber("REFIDX002");
+            if (byRef != null && "PIDX002".equals(byRef.getPaymentID())) {
+                System.out.println("✅ Test 1 PASSED: Stored reference number found after reload");
+            } else {
+                System.out.println("❌ Test 1 FAILED: Reference lookup returned " + byRef);
+            }
+
+            // Test 2: Customer history contains exactly that customer's payments
+            List<Payment> history = paymentDAO.getByCustomerId(TEST_CUSTOMER);
+            if (history.size() == 3 && history.stream().allMatch(p -> TEST_CUSTOMER.equals(p.getCustomerID()))) {
+                System.out.println("✅ Test 2 PASSED: Customer history has " + history.size() + " payments");
+            } else {
+                System.out.println("❌ Test 2 FAILED: Customer history has " + history.size() + " payments");
+            }
+
+            // Test 3: Date range scan is inclusive and ordered by time
+            List<Payment> march = paymentDAO.getByDateRange(LocalDate.of(2031, 3, 1), LocalDate.of(2031, 3, 5));
+            if (march.size() == 2 && "PIDX001".equals(march.get(0).getPaymentID())
+                    && "PIDX002".equals(march.get(1).getPaymentID())) {
+                System.out.println("✅ Test 3 PASSED: Date range returned the 2 payments in order");
+            } else {
+                System.out.println("❌ Test 3 FAILED: Date range returned " + march.size() + " payments");
+            }
+
+            // Test 4: Updates move payments between customer buckets
+            Payment moved = paymentDAO.load("PIDX003");
+            Payment reassigned = new CreditCardPayment("PIDX003", moved.getTotalAmount(), moved.getTimestamp(), OTHER_CUSTOMER);
+            reassigned.setReferenceNumber(moved.getReferenceNumber());
+            paymentDAO.update(reassigned);
+            if (paymentDAO.getByCustomerId(TEST_CUSTOMER).size() == 2
+                    && paymentDAO.getByCustomerId(OTHER_CUSTOMER).size() == 1) {
+                System.out.println("✅ Test 4 PASSED: Update re-filed the payment under its new customer");
+            } else {
+                System.out.println("❌ Test 4 FAILED: Customer index not updated");
+            }
+
+            // Test 5: Deleted payments disappear from every index
+            paymentDAO.delete("PIDX001");
+            if (paymentDAO.getByReferenceNumber("REFIDX001") == null
+                    && paymentDAO.getByDateRange(LocalDate.of(2031, 3, 1), LocalDate.of(2031, 3, 1)).isEmpty()) {
+                System.out.println("✅ Test 5 PASSED: Deleted payment removed from the indexes");
+            } else {
+                System.out.println("❌ Test 5 FAILED: Deleted payment still indexed");
+            }
+
+            // Test 6: Cache-off path gives the same answers
+            PaymentDAO coldDAO = new PaymentDAO();
+            coldDAO.setCacheEnabled(false);
+            if (coldDAO.getByReferenceNumber("REFIDX002") != null
+                    && coldDAO.getByCustomerId(TEST_CUSTOMER).size() == 1
+                    && coldDAO.getByDateRange(LocalDate.of(2031, 3, 1), LocalDate.of(2031, 3, 31)).size() == 2) {
+                System.out.println("✅ Test 6 PASSED: Uncached queries match the indexes");
+            } else {
+                System.out.println("❌ Test 6 FAILED: Uncached queries differ");
+            }
+
+        } catch (Exception e) {
+            System.out.println("❌ Test FAILED with exception: " + e.getMessage());
+            e.printStackTrace();
+        } finally {
+            paymentDAO.deleteAll(createdIds);
+        }
+
+        System.out.println("\n🎯 Payment Index Test Complete");
+    }
+}
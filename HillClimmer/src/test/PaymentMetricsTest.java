@@ -0,0 +1,132 @@
+package test;
+
+import hillclimmer.DatabaseModule.DaoRegistry;
+import hillclimmer.DatabaseModule.PaymentDAO;
+import hillclimmer.DatabaseModule.PaymentMetrics;
+import hillclimmer.PaymentModule.CashPayment;
+import hillclimmer.PaymentModule.CreditCardPayment;
+import hillclimmer.PaymentModule.Payment;
+import hillclimmer.PaymentModule.TransactionManager;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Test to verify the running payment aggregates stay in step with saves, status
+ * changes and deletes, match a full rebuild from the file, and add up under
+ * concurrent recording
+ */
+public class PaymentMetricsTest {
+
+    private static final String TEST_CUSTOMER = "C988";
+    private static final int THREADS = 8;
+    private static final int PAYMENTS_PER_THREAD = 25;
+
+    public static void main(String[] args) throws InterruptedException {
+        System.out.println("🧪 Payment Metrics Test");
+        System.out.println("=======================");
+
+        PaymentDAO paymentDAO = DaoRegistry.getPaymentDAO();
+        List<String> createdIds = Collections.synchronizedList(new ArrayList<>());
+
+        try {
+            PaymentMetrics before = paymentDAO.getMetrics();
+
+            // Test 1: A saved Paid payment moves its status, method and revenue counters
+            Payment card = new CreditCardPayment("PMET001", 123.45, "02/04/2031 10:00", TEST_CUSTOMER);
+            card.updateStatus("Paid");
+            createdIds.add("PMET001");
+            paymentDAO.save(card);
+            PaymentMetrics afterSave = paymentDAO.getMetrics();
+            if (afterSave.getRevenueCents() - before.getRevenueCents() == 12345
+                    && afterSave.getCount("Paid") - before.getCount("Paid") == 1
+                    && afterSave.getCountByMethod("Credit Card") - before.getCountByMethod("Credit Card") == 1) {
+                System.out.println("✅ Test 1 PASSED: Save added RM123.45 and one Paid credit card payment");
+            } else {
+                System.out.println("❌ Test 1 FAILED: " + before + " -> " + afterSave);
+            }
+
+            // Test 2: A status change moves the payment between buckets and drops its revenue
+            Payment refunded = paymentDAO.load("PMET001");
+            refunded.updateStatus("Failed");
+            paymentDAO.update(refunded);
+            PaymentMetrics afterUpdate = paymentDAO.getMetrics();
+            if (afterUpdate.getRevenueCents() == before.getRevenueCents()
+                    && afterUpdate.getCount("Paid") == before.getCount("Paid")
+                    && afterUpdate.getCount("Failed") - before.getCount("Failed") == 1
+                    && afterUpdate.getPaymentCount() - before.getPaymentCount() == 1) {
+                System.out.println("✅ Test 2 PASSED: Status change re-counted the payment");
+            } else {
+                System.out.println("❌ Test 2 FAILED: " + before + " -> " + afterUpdate);
+            }
+
+            // Test 3: Deleting restores the original aggregates
+            paymentDAO.delete("PMET001");
+            createdIds.remove("PMET001");
+            PaymentMetrics afterDelete = paymentDAO.getMetrics();
+            if (afterDelete.getPaymentCount() == before.getPaymentCount()
+                    && afterDelete.getCountsByStatus().equals(before.getCountsByStatus())
+                    && afterDelete.getCountsByMethod().equals(before.getCountsByMethod())) {
+                System.out.println("✅ Test 3 PASSED: Delete returned every counter to its starting value");
+            } else {
+                System.out.println("❌ Test 3 FAILED: " + before + " -> " + afterDelete);
+            }
+
+            // Test 4: Concurrent recording adds up exactly, with no lost updates
+            TransactionManager transactionManager = new TransactionManager("TM988");
+            double earningsBefore = transactionManager.getTotalEarnings();
+            ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+            CountDownLatch done = new CountDownLatch(THREADS);
+            for (int t = 0; t < THREADS; t++) {
+                final int thread = t;
+                executor.submit(() -> {
+                    try {
+                        for (int i = 0; i < PAYMENTS_PER_THREAD; i++) {
+                            String id = String.format("PMET%d%03d", thread + 1, i);
+                            Payment payment = new CashPayment(id, 10.10, "03/04/2031 12:00", TEST_CUSTOMER);
+                            payment.updateStatus("Paid");
+                            createdIds.add(id);
+                            transactionManager.recordTransaction(payment);
+                        }
+                    } finally {
+                        done.countDown();
+                    }
+                });
+            }
+            done.await();
+            executor.shutdown();
+            long expectedCents = PaymentMetrics.toCents(earningsBefore) + THREADS * PAYMENTS_PER_THREAD * 1010L;
+            if (PaymentMetrics.toCents(transactionManager.getTotalEarnings()) == expectedCents) {
+                System.out.println("✅ Test 4 PASSED: " + THREADS * PAYMENTS_PER_THREAD
+                        + " concurrent payments added exactly RM" + (expectedCents - PaymentMetrics.toCents(earningsBefore)) / 100.0);
+            } else {
+                System.out.println("❌ Test 4 FAILED: Earnings " + transactionManager.getTotalEarnings()
+                        + ", expected " + expectedCents / 100.0);
+            }
+
+            // Test 5: Running aggregates match a rebuild from the payment file
+            PaymentDAO coldDAO = new PaymentDAO();
+            coldDAO.setCacheEnabled(false);
+            PaymentMetrics running = paymentDAO.getMetrics();
+            PaymentMetrics rebuilt = coldDAO.getMetrics();
+            if (running.getRevenueCents() == rebuilt.getRevenueCents()
+                    && running.getCountsByStatus().equals(rebuilt.getCountsByStatus())
+                    && running.getCountsByMethod().equals(rebuilt.getCountsByMethod())) {
+                System.out.println("✅ Test 5 PASSED: Running aggregates match a full scan");
+            } else {
+                System.out.println("❌ Test 5 FAILED: " + running + " vs " + rebuilt);
+            }
+
+        } catch (Exception e) {
+            System.out.println("❌ Test FAILED with exception: " + e.getMessage());
+            e.printStackTrace();
+        } finally {
+            paymentDAO.deleteAll(new ArrayList<>(createdIds));
+        }
+
+        System.out.println("\n🎯 Payment Metrics Test Complete");
+    }
+}
@@ -0,0 +1,126 @@
+package test;
+
+import hillclimmer.DurationModule.DurationManager;
+import hillclimmer.DurationModule.Reminder;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Test to verify the due-time reminder index answers overdue and due-within
+ * queries like a full scan, follows status changes, and fires reminders in due
+ * order on the dispatch thread
+ */
+public class ReminderSchedulerTest {
+
+    private static final int REMINDERS = 2000;
+
+    public static void main(String[] args) throws InterruptedException {
+        System.out.println("🧪 Reminder Scheduler Test");
+        System.out.println("==========================");
+
+        try {
+            DurationManager durationManager = new DurationManager();
+            Random random = new Random(7);
+            LocalDateTime base = LocalDateTime.now();
+            for (int i = 0; i < REMINDERS; i++) {
+                // Due between 10 days ago and 20 days ahead
+                durationManager.createReturnReminder(i, base.plusMinutes(random.nextInt(30 * 24 * 60) - 10 * 24 * 60));
+            }
+
+            // Test 1: Due-within and overdue answers match a scan of every reminder
+            List<Reminder> all = durationManager.getAllReminders();
+            LocalDateTime now = LocalDateTime.now();
+            long expectedDue48 = all.stream()
+                    .filter(r -> r.getDueDate().isAfter(now) && r.getDueDate().isBefore(now.plusHours(48))).count();
+            long expectedOverdue = all.stream().filter(Reminder::isOverdue).count();
+            List<Reminder> due48 = durationManager.getRemindersDueWithin(48);
+            List<Reminder> overdue = durationManager.getOverdueReminders();
+            if (Math.abs(due48.size() - expectedDue48) <= 1 && Math.abs(overdue.size() - expectedOverdue) <= 1
+                    && isSortedByDue(due48) && isSortedByDue(overdue)) {
+                System.out.println("✅ Test 1 PASSED: " + due48.size() + " due within 48h, " + overdue.size() + " overdue");
+            } else {
+                System.out.println("❌ Test 1 FAILED: due48 " + due48.size() + "/" + expectedDue48
+                        + ", overdue " + overdue.size() + "/" + expectedOverdue);
+            }
+
+            // Test 2: Completing a reminder removes it from the pending and overdue views
+            Reminder done = overdue.get(0);
+            durationManager.markReminderAsCompleted(done.getReminderId());
+            boolean stillPending = durationManager.getPendingReminders().contains(done);
+            boolean stillOverdue = durationManager.getOverdueReminders().contains(done);
+            if (!stillPending && !stillOverdue && durationManager.getTotalActiveReminders() == REMINDERS - 1) {
+                System.out.println("✅ Test 2 PASSED: Completed reminder left the pending and overdue views");
+            } else {
+                System.out.println("❌ Test 2 FAILED: pending=" + stillPending + " overdue=" + stillOverdue);
+            }
+
+            // Test 3: Dispatch fires overdue reminders at once and later ones in due order
+            DurationManager dispatcher = new DurationManager();
+            LinkedBlockingQueue<String> fired = new LinkedBlockingQueue<>();
+            Reminder late = dispatcher.createPaymentReminder(1, LocalDateTime.now().plusNanos(400_000_000L), 10.0);
+            Reminder early = dispatcher.createPaymentReminder(2, LocalDateTime.now().plusNanos(200_000_000L), 10.0);
+            Reminder past = dispatcher.createPaymentReminder(3, LocalDateTime.now().minusHours(1), 10.0);
+            dispatcher.startReminderDispatch(r -> fired.add(r.getAssociatedId() + "@" + Thread.currentThread().getName()));
+            String first = fired.poll(2, TimeUnit.SECONDS);
+            String second = fired.poll(2, TimeUnit.SECONDS);
+            String third = fired.poll(2, TimeUnit.SECONDS);
+            dispatcher.stopReminderDispatch();
+            if ("3@reminder-dispatch".equals(first) && "2@reminder-dispatch".equals(second)
+                    && "1@reminder-dispatch".equals(third)
+                    && "SENT".equals(late.getStatus()) && "SENT".equals(early.getStatus()) && "SENT".equals(past.getStatus())
+                    && dispatcher.getPendingReminders().isEmpty() && !dispatcher.getOverdueReminders().isEmpty()) {
+                System.out.println("✅ Test 3 PASSED: Fired " + first + ", " + second + ", " + third);
+            } else {
+                System.out.println("❌ Test 3 FAILED: Fired " + first + ", " + second + ", " + third);
+            }
+
+            // Test 4: A reminder added while dispatching wakes the thread early
+            dispatcher.startReminderDispatch(r -> fired.add(r.getAssociatedId() + "@" + Thread.currentThread().getName()));
+            dispatcher.createMaintenanceReminder(4, LocalDateTime.now().plusDays(1), "Brake");
+            dispatcher.createMaintenanceReminder(5, LocalDateTime.now().plusNanos(100_000_000L), "Tyre");
+            String woke = fired.poll(2, TimeUnit.SECONDS);
+            dispatcher.stopReminderDispatch();
+            if ("5@reminder-dispatch".equals(woke) && fired.isEmpty()
+                    && dispatcher.getNextReminderDueTime() != null) {
+                System.out.println("✅ Test 4 PASSED: Earlier reminder fired before the day-ahead one");
+            } else {
+                System.out.println("❌ Test 4 FAILED: Fired " + woke);
+            }
+
+            // Test 5: One-day return reminders come from periods ending tomorrow only
+            DurationManager periods = new DurationManager();
+            LocalDate today = LocalDate.now();
+            periods.createBasicRentalPeriod(501, today.minusDays(2), today.plusDays(1), 50.0);
+            periods.createBasicRentalPeriod(502, today.minusDays(2), today.plusDays(2), 50.0);
+            periods.createBasicRentalPeriod(503, today.minusDays(5), today.minusDays(1), 50.0);
+            periods.generateOneDayReturnReminders();
+            List<Integer> remindedRentals = periods.getAllReminders().stream()
+                    .map(Reminder::getAssociatedId).collect(Collectors.toList());
+            if (remindedRentals.equals(List.of(501))) {
+                System.out.println("✅ Test 5 PASSED: Only the period ending tomorrow got a return reminder");
+            } else {
+                System.out.println("❌ Test 5 FAILED: Reminders for rentals " + remindedRentals);
+            }
+
+        } catch (Exception e) {
+            System.out.println("❌ Test FAILED with exception: " + e.getMessage());
+            e.printStackTrace();
+        }
+
+        System.out.println("\n🎯 Reminder Scheduler Test Complete");
+    }
+
+    private static boolean isSortedByDue(List<Reminder> reminders) {
+        for (int i = 1; i < reminders.size(); i++) {
+            if (reminders.get(i).getDueDate().isBefore(reminders.get(i - 1).getDueDate())) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
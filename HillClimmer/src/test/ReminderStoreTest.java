@@ -0,0 +1,164 @@
+package test;
+
+import hillclimmer.DurationModule.DurationManager;
+import hillclimmer.DurationModule.Reminder;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.stream.Collectors;
+
+/**
+ * Test to verify the reminder store's associatedId, type and status indexes
+ * agree with a full scan after concurrent creation and status changes, that
+ * readers running alongside the writers never fail, and that return reminder
+ * generation is idempotent
+ */
+public class ReminderStoreTest {
+
+    private static final int THREADS = 8;
+    private static final int PER_THREAD = 1000;
+    private static final int CUSTOMERS = 50;
+
+    public static void main(String[] args) throws InterruptedException {
+        System.out.println("🧪 Reminder Store Test");
+        System.out.println("======================");
+
+        try {
+            DurationManager durationManager = new DurationManager();
+            LocalDateTime due = LocalDateTime.now().plusDays(7);
+            ConcurrentLinkedQueue<Throwable> errors = new ConcurrentLinkedQueue<>();
+            CountDownLatch ready = new CountDownLatch(1);
+
+            // Writers create reminders and move some of them along; readers query meanwhile
+            List<Thread> threads = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                final int seed = t;
+                threads.add(new Thread(() -> {
+                    Random random = new Random(seed);
+                    try {
+                        ready.await();
+                        for (int i = 0; i < PER_THREAD; i++) {
+                            int customer = random.nextInt(CUSTOMERS);
+                            Reminder reminder = i % 3 == 0
+                                    ? durationManager.createPaymentReminder(customer, due, 25.0)
+                                    : durationManager.createReturnReminder(customer, due);
+                            if (i % 4 == 1) {
+                                durationManager.markReminderAsSent(reminder.getReminderId());
+                            } else if (i % 4 == 2) {
+                                durationManager.markReminderAsCompleted(reminder.getReminderId());
+                            }
+                        }
+                    } catch (Throwable e) {
+                        errors.add(e);
+                    }
+                }));
+                threads.add(new Thread(() -> {
+                    Random random = new Random(seed + 100);
+                    try {
+                        ready.await();
+                        for (int i = 0; i < PER_THREAD; i++) {
+                            for (Reminder r : durationManager.getPendingRemindersForCustomer(random.nextInt(CUSTOMERS))) {
+                                r.getStatus();
+                            }
+                            durationManager.getRemindersByType("PAYMENT").size();
+                        }
+                    } catch (Throwable e) {
+                        errors.add(e);
+                    }
+                }));
+            }
+            threads.forEach(Thread::start);
+            ready.countDown();
+            for (Thread thread : threads) {
+                thread.join();
+            }
+
+            // Test 1: No reader or writer failed, and every reminder got a unique ID
+            List<Reminder> all = durationManager.getAllReminders();
+            long distinctIds = all.stream().mapToInt(Reminder::getReminderId).distinct().count();
+            if (errors.isEmpty() && all.size() == THREADS * PER_THREAD && distinctIds == all.size()) {
+                System.out.println("✅ Test 1 PASSED: " + all.size() + " reminders created concurrently without errors");
+            } else {
+                System.out.println("❌ Test 1 FAILED: errors=" + errors + " size=" + all.size() + " distinct=" + distinctIds);
+            }
+
+            // Test 2: Per-customer pending lookups match a scan
+            boolean customersMatch = true;
+            for (int customer = 0; customer < CUSTOMERS; customer++) {
+                final int id = customer;
+                List<Integer> expected = all.stream()
+                        .filter(r -> r.getAssociatedId() == id && "PENDING".equals(r.getStatus()))
+                        .map(Reminder::getReminderId).collect(Collectors.toList());
+                List<Integer> actual = ids(durationManager.getPendingRemindersForCustomer(customer));
+                customersMatch &= expected.equals(actual);
+            }
+            if (customersMatch) {
+                System.out.println("✅ Test 2 PASSED: Pending reminders for all " + CUSTOMERS + " customers match a scan");
+            } else {
+                System.out.println("❌ Test 2 FAILED: Per-customer index disagrees with a scan");
+            }
+
+            // Test 3: Type and status buckets match a scan
+            boolean bucketsMatch = true;
+            for (String type : List.of("PAYMENT", "RETURN", "MAINTENANCE")) {
+                bucketsMatch &= ids(durationManager.getRemindersByType(type)).equals(ids(all.stream()
+                        .filter(r -> type.equals(r.getReminderType())).collect(Collectors.toList())));
+            }
+            for (String status : List.of("PENDING", "SENT", "COMPLETED")) {
+                bucketsMatch &= ids(durationManager.getRemindersByStatus(status)).equals(ids(all.stream()
+                        .filter(r -> status.equals(r.getStatus())).collect(Collectors.toList())));
+            }
+            if (bucketsMatch && durationManager.getPendingReminders().size() == durationManager.getRemindersByStatus("PENDING").size()) {
+                System.out.println("✅ Test 3 PASSED: Type and status indexes match a scan");
+            } else {
+                System.out.println("❌ Test 3 FAILED: Type or status index disagrees with a scan");
+            }
+
+            // Test 4: Completing by associatedId and type moves the reminder out of the pending bucket
+            DurationManager single = new DurationManager();
+            Reminder returnReminder = single.createReturnReminder(77, due);
+            single.createPaymentReminder(77, due, 10.0);
+            single.markReminderCompleted(77, "RETURN");
+            if ("COMPLETED".equals(returnReminder.getStatus())
+                    && ids(single.getPendingRemindersForCustomer(77)).equals(List.of(2))
+                    && ids(single.getRemindersByStatus("COMPLETED")).equals(List.of(1))
+                    && single.getRemindersForAssociatedId(77).size() == 2) {
+                System.out.println("✅ Test 4 PASSED: Completed return reminder re-indexed; payment reminder still pending");
+            } else {
+                System.out.println("❌ Test 4 FAILED: pending=" + ids(single.getPendingRemindersForCustomer(77)));
+            }
+
+            // Test 5: Repeated generation sweeps create each return reminder once
+            DurationManager sweeps = new DurationManager();
+            LocalDate today = LocalDate.now();
+            sweeps.createBasicRentalPeriod(601, today.minusDays(1), today.plusDays(1), 30.0);
+            sweeps.createBasicRentalPeriod(602, today.minusDays(1), today.plusDays(2), 30.0);
+            sweeps.createReturnReminder(602, today.plusDays(2).atStartOfDay()); // made at booking time
+            int first = sweeps.generateReturnRemindersForActivePeriods();
+            int again = 0;
+            for (int i = 0; i < 5; i++) {
+                again += sweeps.generateReturnRemindersForActivePeriods() + sweeps.generateOneDayReturnReminders();
+            }
+            if (first == 1 && again == 0 && sweeps.getRemindersByType("RETURN").size() == 2) {
+                System.out.println("✅ Test 5 PASSED: Repeated sweeps left one return reminder per period");
+            } else {
+                System.out.println("❌ Test 5 FAILED: first=" + first + " again=" + again
+                        + " reminders=" + sweeps.getRemindersByType("RETURN").size());
+            }
+
+        } catch (Exception e) {
+            System.out.println("❌ Test FAILED with exception: " + e.getMessage());
+            e.printStackTrace();
+        }
+
+        System.out.println("\n🎯 Reminder Store Test Complete");
+    }
+
+    private static List<Integer> ids(List<Reminder> reminders) {
+        return reminders.stream().map(Reminder::getReminderId).sorted().collect(Collectors.toList());
+    }
+}
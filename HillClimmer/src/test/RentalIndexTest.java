@@ -0,0 +1,107 @@
+package test;
+
+import hillclimmer.DatabaseModule.RentalDAO;
+import hillclimmer.RentalModule.Rental;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Test to verify the RentalDAO secondary indexes stay consistent with the data file
+ */
+public class RentalIndexTest {
+
+    private static final int TEST_CUSTOMER_ID = 996;
+    private static final int TEST_VEHICLE_ID = 996;
+
+    public static void main(String[] args) {
+        System.out.println("🧪 Rental Index Test");
+        System.out.println("====================");
+
+        RentalDAO rentalDAO = new RentalDAO();
+        RentalDAO otherDAO = new RentalDAO();
+
+        try {
+            cleanUp(rentalDAO);
+
+            // Test 1: New rentals are filed under their customer and vehicle
+            LocalDate today = LocalDate.now();
+            rentalDAO.save(new Rental(0, TEST_CUSTOMER_ID, TEST_VEHICLE_ID, today.plusDays(50), today.plusDays(52), 120.0));
+            rentalDAO.save(new Rental(0, TEST_CUSTOMER_ID, TEST_VEHICLE_ID, today.plusDays(60), today.plusDays(61), 80.0));
+            List<Rental> byCustomer = rentalDAO.getByCustomerId(TEST_CUSTOMER_ID);
+            List<Rental> byVehicle = rentalDAO.getByVehicleId(TEST_VEHICLE_ID);
+            if (byCustomer.size() == 2 && byVehicle.size() == 2) {
+                System.out.println("✅ Test 1 PASSED: Saved rentals found through customer and vehicle indexes");
+            } else {
+                System.out.println("❌ Test 1 FAILED: customer=" + byCustomer.size() + " vehicle=" + byVehicle.size());
+            }
+
+            // Test 2: In-place status change followed by update moves the rental between status buckets
+            Rental first = byCustomer.get(0);
+            first.setStatus("Active");
+            first.setPaymentStatus("Pending");
+            rentalDAO.update(first);
+            boolean inActive = rentalDAO.getActiveRentalsByCustomerId(TEST_CUSTOMER_ID).size() == 1;
+            boolean inPending = rentalDAO.getByPaymentStatus("Pending").stream()
+                    .anyMatch(r -> r.getRentalId() == first.getRentalId());
+            boolean leftUnpaid = rentalDAO.getByPaymentStatus("Unpaid").stream()
+                    .noneMatch(r -> r.getRentalId() == first.getRentalId());
+            if (inActive && inPending && leftUnpaid) {
+                System.out.println("✅ Test 2 PASSED: Status and payment status indexes follow updates");
+            } else {
+                System.out.println("❌ Test 2 FAILED: active=" + inActive + " pending=" + inPending + " leftUnpaid=" + leftUnpaid);
+            }
+
+            // Test 3: Indexes match a full scan, including after a write from another DAO instance
+            otherDAO.delete(String.valueOf(byCustomer.get(1).getRentalId()));
+            if (matchesScan(rentalDAO)) {
+                System.out.println("✅ Test 3 PASSED: Indexed queries match a full scan after cross-instance delete");
+            } else {
+                System.out.println("❌ Test 3 FAILED: Indexed queries differ from a full scan");
+            }
+
+            // Test 4: Cold mode falls back to scanning
+            rentalDAO.setCacheEnabled(false);
+            if (rentalDAO.getByCustomerId(TEST_CUSTOMER_ID).size() == 1 && matchesScan(rentalDAO)) {
+                System.out.println("✅ Test 4 PASSED: Queries still correct with the cache disabled");
+            } else {
+                System.out.println("❌ Test 4 FAILED: Cold-mode queries returned wrong results");
+            }
+            rentalDAO.setCacheEnabled(true);
+
+        } catch (Exception e) {
+            System.out.println("❌ Test FAILED with exception: " + e.getMessage());
+            e.printStackTrace();
+        } finally {
+            cleanUp(rentalDAO);
+        }
+
+        System.out.println("\n🎯 Rental Index Test Complete");
+    }
+
+    private static boolean matchesScan(RentalDAO rentalDAO) {
+        List<Rental> all = rentalDAO.loadAll();
+        for (Rental r : all) {
+            List<Integer> expectedByCustomer = all.stream()
+                    .filter(x -> x.getCustomerId() == r.getCustomerId())
+                    .map(Rental::getRentalId).collect(Collectors.toList());
+            List<Integer> actualByCustomer = rentalDAO.getByCustomerId(r.getCustomerId()).stream()
+                    .map(Rental::getRentalId).collect(Collectors.toList());
+            List<Integer> expectedByStatus = all.stream()
+                    .filter(x -> x.getStatus().equals(r.getStatus()))
+                    .map(Rental::getRentalId).collect(Collectors.toList());
+            List<Integer> actualByStatus = rentalDAO.getByStatus(r.getStatus()).stream()
+                    .map(Rental::getRentalId).collect(Collectors.toList());
+            if (!expectedByCustomer.equals(actualByCustomer) || !expectedByStatus.equals(actualByStatus)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void cleanUp(RentalDAO rentalDAO) {
+        for (Rental r : rentalDAO.getByCustomerId(TEST_CUSTOMER_ID)) {
+            rentalDAO.delete(String.valueOf(r.getRentalId()));
+        }
+    }
+}
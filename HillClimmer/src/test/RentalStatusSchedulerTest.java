@@ -0,0 +1,147 @@
+package test;
+
+import hillclimmer.DatabaseModule.DaoRegistry;
+import hillclimmer.DatabaseModule.RentalDAO;
+import hillclimmer.RentalModule.Rental;
+import hillclimmer.RentalModule.RentalStatusScheduler;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Test to verify rentals are bucketed by their next status change, that a run
+ * only visits due rentals, that the background scheduler applies the
+ * transitions for its clock's date, and that cancelled rentals stay cancelled
+ */
+public class RentalStatusSchedulerTest {
+
+    private static final int TEST_CUSTOMER = 996;
+    private static final int HISTORY = 200;
+
+    public static void main(String[] args) throws InterruptedException {
+        System.out.println("🧪 Rental Status Scheduler Test");
+        System.out.println("===============================");
+
+        RentalDAO rentalDAO = DaoRegistry.getRentalDAO();
+        LocalDate today = LocalDate.now();
+
+        try {
+            // Finished and unpaid rentals never change with time alone
+            List<Rental> rentals = new ArrayList<>();
+            for (int i = 0; i < HISTORY; i++) {
+                Rental done = new Rental(0, TEST_CUSTOMER, 99600 + i, today.minusDays(30), today.minusDays(28), 50.0);
+                done.setPaymentStatus(i % 2 == 0 ? "Paid" : "Unpaid");
+                done.setStatus(i % 2 == 0 ? "End" : "Pending");
+                rentals.add(done);
+            }
+            Rental upcoming = new Rental(0, TEST_CUSTOMER, 99001, today.plusDays(3), today.plusDays(5), 150.0);
+            upcoming.setPaymentStatus("Paid");
+            upcoming.setStatus("Upcoming");
+            rentals.add(upcoming);
+            Rental active = new Rental(0, TEST_CUSTOMER, 99002, today.minusDays(1), today.plusDays(1), 150.0);
+            active.setPaymentStatus("Paid");
+            active.setStatus("Active");
+            rentals.add(active);
+            rentalDAO.saveAll(rentals);
+            int upcomingId = findByVehicle(rentalDAO, 99001).getRentalId();
+            int activeId = findByVehicle(rentalDAO, 99002).getRentalId();
+
+            // Test 1: Nothing of ours is due today, and history is never due
+            List<Integer> dueToday = ids(rentalDAO.getDueForStatusChange(today));
+            List<Integer> dueLater = ids(rentalDAO.getDueForStatusChange(today.plusDays(3)));
+            long historyDue = rentalDAO.getDueForStatusChange(today.plusYears(5)).stream()
+                    .filter(r -> r.getCustomerId() == TEST_CUSTOMER && r.getVehicleId() >= 99600).count();
+            if (!dueToday.contains(upcomingId) && !dueToday.contains(activeId)
+                    && dueLater.contains(upcomingId) && dueLater.contains(activeId) && historyDue == 0) {
+                System.out.println("✅ Test 1 PASSED: Rentals bucketed by start and end+1; " + HISTORY + " finished rentals never due");
+            } else {
+                System.out.println("❌ Test 1 FAILED: today=" + dueToday + " later=" + dueLater + " history=" + historyDue);
+            }
+
+            // Test 2: A run three days ahead starts the upcoming rental and ends the active one
+            RentalStatusScheduler scheduler = new RentalStatusScheduler(rentalDAO);
+            scheduler.runDueTransitions(today.plusDays(3));
+            Rental started = new RentalDAO().getById(upcomingId);
+            Rental ended = new RentalDAO().getById(activeId);
+            if ("Active".equals(started.getStatus()) && "End".equals(ended.getStatus())) {
+                System.out.println("✅ Test 2 PASSED: Upcoming -> Active and Active -> End persisted");
+            } else {
+                System.out.println("❌ Test 2 FAILED: " + started.getStatus() + ", " + ended.getStatus());
+            }
+
+            // Test 3: Paying for a pending rental makes it due immediately
+            Rental pending = rentalDAO.getById(rentalIdOf(rentalDAO, 99601));
+            pending.setPaymentStatus("Paid");
+            pending.setStartDate(today);
+            pending.setEndDate(today.plusDays(2));
+            rentalDAO.update(pending);
+            boolean dueNow = ids(rentalDAO.getDueForStatusChange(today)).contains(pending.getRentalId());
+            scheduler.runDueTransitions(today);
+            if (dueNow && "Active".equals(rentalDAO.getById(pending.getRentalId()).getStatus())) {
+                System.out.println("✅ Test 3 PASSED: Paid rental re-bucketed and activated on the next run");
+            } else {
+                System.out.println("❌ Test 3 FAILED: due=" + dueNow + " status=" + rentalDAO.getById(pending.getRentalId()).getStatus());
+            }
+
+            // Test 4: Background scheduler catches up to its clock's date on start
+            LocalDate future = today.plusDays(10);
+            Clock futureClock = Clock.fixed(future.atTime(0, 5).atZone(ZoneId.systemDefault()).toInstant(), ZoneId.systemDefault());
+            RentalStatusScheduler background = new RentalStatusScheduler(rentalDAO, futureClock);
+            background.start();
+            for (int i = 0; i < 50 && !future.equals(background.getLastRunDate()); i++) {
+                Thread.sleep(50);
+            }
+            background.stop();
+            if (future.equals(background.getLastRunDate())
+                    && "End".equals(rentalDAO.getById(upcomingId).getStatus())
+                    && !background.isRunning()) {
+                System.out.println("✅ Test 4 PASSED: Background run ended the rental due by " + future);
+            } else {
+                System.out.println("❌ Test 4 FAILED: lastRun=" + background.getLastRunDate()
+                        + " status=" + rentalDAO.getById(upcomingId).getStatus());
+            }
+
+            // Test 5: The DAO buckets by the scheduler's clock, and a paid cancellation is never due
+            Rental cancelled = new Rental(0, TEST_CUSTOMER, 99003, future.minusDays(1), future.plusDays(1), 150.0);
+            cancelled.setPaymentStatus("Paid");
+            cancelled.setStatus("Cancelled");
+            rentalDAO.save(cancelled);
+            int cancelledId = rentalIdOf(rentalDAO, 99003);
+            boolean cancelledDue = ids(rentalDAO.getDueForStatusChange(future.plusYears(1))).contains(cancelledId);
+            background.runDueTransitions(future);
+            if (rentalDAO.getClock() == futureClock && !cancelledDue
+                    && "Cancelled".equals(rentalDAO.getById(cancelledId).getStatus())) {
+                System.out.println("✅ Test 5 PASSED: DAO shares the scheduler's clock; cancelled rental kept its status");
+            } else {
+                System.out.println("❌ Test 5 FAILED: clock=" + rentalDAO.getClock() + " due=" + cancelledDue
+                        + " status=" + rentalDAO.getById(cancelledId).getStatus());
+            }
+
+        } catch (Exception e) {
+            System.out.println("❌ Test FAILED with exception: " + e.getMessage());
+            e.printStackTrace();
+        } finally {
+            rentalDAO.setClock(Clock.systemDefaultZone());
+            rentalDAO.deleteAll(rentalDAO.getByCustomerId(TEST_CUSTOMER).stream()
+                    .map(r -> String.valueOf(r.getRentalId()))
+                    .collect(Collectors.toList()));
+        }
+
+        System.out.println("\n🎯 Rental Status Scheduler Test Complete");
+    }
+
+    private static Rental findByVehicle(RentalDAO rentalDAO, int vehicleId) {
+        return rentalDAO.getByVehicleId(vehicleId).get(0);
+    }
+
+    private static int rentalIdOf(RentalDAO rentalDAO, int vehicleId) {
+        return findByVehicle(rentalDAO, vehicleId).getRentalId();
+    }
+
+    private static List<Integer> ids(List<Rental> rentals) {
+        return rentals.stream().map(Rental::getRentalId).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,130 @@
+package test;
+
+import hillclimmer.CustomerModule.Customer;
+import hillclimmer.DatabaseModule.CustomerDAO;
+import hillclimmer.DatabaseModule.DataAccessObject;
+import hillclimmer.DatabaseModule.PaymentDAO;
+import hillclimmer.PaymentModule.Payment;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Test to verify the DAO streaming API parses lazily, stops early and releases
+ * the read lock on close, and that the aggregate helpers built on it still agree
+ * with loadAll
+ */
+public class StreamCursorTest {
+
+    private static final int ROWS = 1000;
+
+    // Minimal DAO over a scratch file that counts how many rows were parsed
+    static class CountingDAO extends DataAccessObject<String> {
+        int parsed = 0;
+
+        CountingDAO(String path) {
+            super(path);
+        }
+
+        @Override
+        protected String objectToCSV(String row) {
+            return row;
+        }
+
+        @Override
+        protected String csvToObject(String csvLine) {
+            parsed++;
+            return csvLine;
+        }
+
+        @Override
+        protected String getId(String row) {
+            return row;
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        System.out.println("🧪 Stream Cursor Test");
+        System.out.println("=====================");
+
+        String path = System.getProperty("user.dir") + "/data/streamtest.csv";
+        CountingDAO dao = new CountingDAO(path);
+
+        try {
+            List<String> rows = new ArrayList<>();
+            for (int i = 0; i < ROWS; i++) {
+                rows.add(String.format("row%04d", i));
+            }
+            dao.saveAll(rows);
+            dao.setCacheEnabled(false);
+
+            // Test 1: count matches the number of stored rows
+            if (dao.count() == ROWS) {
+                System.out.println("✅ Test 1 PASSED: count() returned " + ROWS);
+            } else {
+                System.out.println("❌ Test 1 FAILED: count() returned " + dao.count());
+            }
+
+            // Test 2: A short-circuiting query stops parsing early
+            dao.parsed = 0;
+            String first;
+            try (Stream<String> stream = dao.stream()) {
+                first = stream.filter(r -> r.endsWith("5")).findFirst().orElse(null);
+            }
+            if ("row0005".equals(first) && dao.parsed < ROWS / 10) {
+                System.out.println("✅ Test 2 PASSED: findFirst parsed only " + dao.parsed + " of " + ROWS + " rows");
+            } else {
+                System.out.println("❌ Test 2 FAILED: first=" + first + " parsed=" + dao.parsed);
+            }
+
+            // Test 3: An open stream holds the read lock; closing it lets writers in
+            CountDownLatch writeDone = new CountDownLatch(1);
+            boolean writerBlocked;
+            try (Stream<String> stream = dao.stream()) {
+                stream.findFirst();
+                new Thread(() -> {
+                    dao.save("row9999");
+                    writeDone.countDown();
+                }).start();
+                writerBlocked = !writeDone.await(300, TimeUnit.MILLISECONDS);
+            }
+            boolean writerFinished = writeDone.await(2, TimeUnit.SECONDS);
+            if (writerBlocked && writerFinished) {
+                System.out.println("✅ Test 3 PASSED: Writer waited for the open stream and ran after close");
+            } else {
+                System.out.println("❌ Test 3 FAILED: blocked=" + writerBlocked + " finished=" + writerFinished);
+            }
+
+            // Test 4: Aggregate helpers agree with a full loadAll scan
+            PaymentDAO paymentDAO = new PaymentDAO();
+            double expectedEarnings = 0;
+            for (Payment p : paymentDAO.loadAll()) {
+                if ("Paid".equals(p.getPaymentStatus())) {
+                    expectedEarnings += p.getTotalAmount();
+                }
+            }
+            CustomerDAO customerDAO = new CustomerDAO();
+            List<Customer> customers = customerDAO.loadAll();
+            boolean emailOk = customers.isEmpty()
+                    || customerDAO.findByEmail(customers.get(0).getEmail()) != null;
+            if (Math.abs(paymentDAO.getTotalEarnings() - expectedEarnings) < 0.001 && emailOk
+                    && customerDAO.count() == customers.size()
+                    && customerDAO.findByEmail("nobody@streamtest.invalid") == null) {
+                System.out.println("✅ Test 4 PASSED: getTotalEarnings, findByEmail and count match loadAll");
+            } else {
+                System.out.println("❌ Test 4 FAILED: Streamed aggregates differ from loadAll");
+            }
+
+        } catch (Exception e) {
+            System.out.println("❌ Test FAILED with exception: " + e.getMessage());
+            e.printStackTrace();
+        } finally {
+            new File(path).delete();
+        }
+
+        System.out.println("\n🎯 Stream Cursor Test Complete");
+    }
+}
@@ -0,0 +1,172 @@
+package test;
+
+import hillclimmer.DatabaseModule.ReminderDAO;
+import hillclimmer.DatabaseModule.RentalPeriodDAO;
+import hillclimmer.DurationModule.DurationManager;
+import hillclimmer.DurationModule.Reminder;
+import hillclimmer.DurationModule.RentalPeriod;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Test to verify DurationManager persists reminders and rental periods through
+ * the write-behind queue: creation does not wait for the file, changes reach
+ * disk in a few batches without an explicit flush, a restart reloads them
+ * with their original creation times, and managers share one flusher thread
+ */
+public class WriteBehindTest {
+
+    private static final int FIRST_RENTAL = 995000;
+    private static final int REMINDERS = 500;
+
+    public static void main(String[] args) throws InterruptedException {
+        System.out.println("🧪 Write-Behind Persistence Test");
+        System.out.println("================================");
+
+        DurationManager manager = null;
+        try {
+            manager = new DurationManager(new ReminderDAO(), new RentalPeriodDAO());
+            LocalDateTime due = LocalDateTime.now().plusDays(30);
+
+            // Test 1: Creating many reminders returns before they are written, then lands on disk
+            long start = System.nanoTime();
+            for (int i = 0; i < REMINDERS; i++) {
+                manager.createReturnReminder(FIRST_RENTAL + i, due);
+            }
+            long createMillis = (System.nanoTime() - start) / 1_000_000;
+            manager.flush();
+            long stored = ours(new ReminderDAO().loadAll()).size();
+            if (stored == REMINDERS) {
+                System.out.println("✅ Test 1 PASSED: " + REMINDERS + " reminders created in " + createMillis + "ms and persisted");
+            } else {
+                System.out.println("❌ Test 1 FAILED: " + stored + " of " + REMINDERS + " reminders on disk");
+            }
+
+            // Test 2: Status changes reach disk within the flush delay, without flush()
+            manager.markReminderCompleted(FIRST_RENTAL, "RETURN");
+            RentalPeriod period = manager.createBasicRentalPeriod(FIRST_RENTAL, LocalDate.now(), LocalDate.now().plusDays(2), 40.0);
+            manager.extendRentalPeriod(period.getPeriodId(), 3);
+            String status = null;
+            RentalPeriod storedPeriod = null;
+            for (int i = 0; i < 40; i++) {
+                Thread.sleep(50);
+                status = statusOf(new ReminderDAO(), FIRST_RENTAL);
+                storedPeriod = new RentalPeriodDAO().load(String.valueOf(period.getPeriodId()));
+                if ("COMPLETED".equals(status) && storedPeriod != null
+                        && storedPeriod.getEndDate().equals(LocalDate.now().plusDays(5))) {
+                    break;
+                }
+            }
+            if ("COMPLETED".equals(status) && storedPeriod != null
+                    && storedPeriod.getEndDate().equals(LocalDate.now().plusDays(5))) {
+                System.out.println("✅ Test 2 PASSED: Completed reminder and extended period written in the background");
+            } else {
+                System.out.println("❌ Test 2 FAILED: status=" + status + " period=" + storedPeriod);
+            }
+
+            // Test 3: Shutdown writes buffered changes; a new manager reloads them and continues the IDs
+            Reminder second = ours(manager.getAllReminders()).get(1);
+            LocalDateTime createdDate = second.getCreatedDate();
+            manager.markReminderAsSent(second.getReminderId());
+            manager.completeRentalPeriod(period.getPeriodId());
+            manager.shutdown();
+            DurationManager restarted = new DurationManager(new ReminderDAO(), new RentalPeriodDAO());
+            int maxId = restarted.getAllReminders().stream().mapToInt(Reminder::getReminderId).max().orElse(0);
+            Reminder fresh = restarted.createReturnReminder(FIRST_RENTAL + REMINDERS, due);
+            RentalPeriod reloaded = restarted.getRentalPeriodById(period.getPeriodId());
+            String sentStatus = statusOf(restarted, FIRST_RENTAL + 1);
+            restarted.shutdown();
+            if (ours(restarted.getAllReminders()).size() == REMINDERS + 1 && "SENT".equals(sentStatus)
+                    && reloaded != null && "COMPLETED".equals(reloaded.getStatus()) && fresh.getReminderId() > maxId) {
+                System.out.println("✅ Test 3 PASSED: Restart reloaded state; new reminder got ID " + fresh.getReminderId());
+            } else {
+                System.out.println("❌ Test 3 FAILED: sent=" + sentStatus + " period=" + reloaded
+                        + " newId=" + fresh.getReminderId() + " maxId=" + maxId);
+            }
+
+            // Test 4: Changes after shutdown are written synchronously
+            restarted.markReminderCompleted(FIRST_RENTAL + REMINDERS, "RETURN");
+            String afterShutdown = statusOf(new ReminderDAO(), FIRST_RENTAL + REMINDERS);
+            if ("COMPLETED".equals(afterShutdown)) {
+                System.out.println("✅ Test 4 PASSED: Change after shutdown written immediately");
+            } else {
+                System.out.println("❌ Test 4 FAILED: status=" + afterShutdown);
+            }
+
+            // Test 5: Reloading and re-saving a reminder keeps its creation time
+            Thread.sleep(5);
+            DurationManager again = new DurationManager(new ReminderDAO(), new RentalPeriodDAO());
+            Reminder reloadedReminder = ours(again.getAllReminders()).get(1);
+            again.markReminderAsCompleted(reloadedReminder.getReminderId());
+            again.shutdown();
+            Reminder onDisk = new ReminderDAO().load(String.valueOf(reloadedReminder.getReminderId()));
+            if (createdDate.equals(reloadedReminder.getCreatedDate()) && onDisk != null
+                    && createdDate.equals(onDisk.getCreatedDate()) && "COMPLETED".equals(onDisk.getStatus())) {
+                System.out.println("✅ Test 5 PASSED: Created date " + createdDate + " kept across restart and re-save");
+            } else {
+                System.out.println("❌ Test 5 FAILED: created=" + createdDate + " reloaded=" + reloadedReminder.getCreatedDate()
+                        + " onDisk=" + (onDisk != null ? onDisk.getCreatedDate() : null));
+            }
+
+            // Test 6: Managers left open share one flusher thread and still write in the background
+            for (int i = 0; i < 20; i++) {
+                new DurationManager(new ReminderDAO(), new RentalPeriodDAO());
+            }
+            DurationManager unclosed = new DurationManager(new ReminderDAO(), new RentalPeriodDAO());
+            unclosed.createReturnReminder(FIRST_RENTAL + REMINDERS + 1, due);
+            String unclosedStatus = null;
+            for (int i = 0; i < 40 && unclosedStatus == null; i++) {
+                Thread.sleep(50);
+                unclosedStatus = statusOf(new ReminderDAO(), FIRST_RENTAL + REMINDERS + 1);
+            }
+            long flushers = Thread.getAllStackTraces().keySet().stream()
+                    .filter(t -> t.getName().startsWith("write-behind")).count();
+            if (flushers == 1 && unclosedStatus != null) {
+                System.out.println("✅ Test 6 PASSED: 21 open managers share 1 flusher thread; reminder written without shutdown");
+            } else {
+                System.out.println("❌ Test 6 FAILED: flusher threads=" + flushers + " status=" + unclosedStatus);
+            }
+
+        } catch (Exception e) {
+            System.out.println("❌ Test FAILED with exception: " + e.getMessage());
+            e.printStackTrace();
+        } finally {
+            if (manager != null) {
+                manager.shutdown();
+            }
+            ReminderDAO reminderDAO = new ReminderDAO();
+            reminderDAO.deleteAll(ours(reminderDAO.loadAll()).stream()
+                    .map(r -> String.valueOf(r.getReminderId()))
+                    .collect(Collectors.toList()));
+            RentalPeriodDAO periodDAO = new RentalPeriodDAO();
+            periodDAO.deleteAll(periodDAO.loadAll().stream()
+                    .filter(p -> p.getRentalId() >= FIRST_RENTAL)
+                    .map(p -> String.valueOf(p.getPeriodId()))
+                    .collect(Collectors.toList()));
+        }
+
+        System.out.println("\n🎯 Write-Behind Persistence Test Complete");
+    }
+
+    private static List<Reminder> ours(List<Reminder> reminders) {
+        return reminders.stream()
+                .filter(r -> r.getAssociatedId() >= FIRST_RENTAL)
+                .sorted((a, b) -> Integer.compare(a.getAssociatedId(), b.getAssociatedId()))
+                .collect(Collectors.toList());
+    }
+
+    private static String statusOf(ReminderDAO reminderDAO, int associatedId) {
+        return statusOf(reminderDAO.loadAll(), associatedId);
+    }
+
+    private static String statusOf(DurationManager manager, int associatedId) {
+        return statusOf(manager.getAllReminders(), associatedId);
+    }
+
+    private static String statusOf(List<Reminder> reminders, int associatedId) {
+        return reminders.stream().filter(r -> r.getAssociatedId() == associatedId)
+                .map(Reminder::getStatus).findFirst().orElse(null);
+    }
+}